@@ -0,0 +1,50 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the JSON serialization of large binary values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BasicNodeBenchmark {
+
+    @Param({"65536", "2097152", "16777216"})
+    private int binarySize;
+    private BasicNode binaryNode;
+
+    @Setup
+    public void setUp() {
+        final byte[] payload = new byte[binarySize];
+        // random bytes are no valid UTF-8, so the node does not create a text editor
+        new Random(42).nextBytes(payload);
+        binaryNode = BasicNodeFactory.createBinaryType(payload, false);
+    }
+
+    @Benchmark
+    public JsonNode binaryToJson() {
+        return binaryNode.toJson();
+    }
+
+    @Benchmark
+    public String binaryToJsonString() {
+        return binaryNode.toJsonString();
+    }
+}
@@ -0,0 +1,97 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.utils.XmlUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sila_java.library.core.models.DataTypeType;
+import sila_java.library.core.models.SiLAElement;
+
+/**
+ * Benchmarks the building of nested <code>CompositNode</code>/<code>ListNode</code> trees from
+ * JSON, as it happens for every displayed command response. Each structure level contains two
+ * basic elements and a list of structures of the next level.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class NodeFactoryBenchmark {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @Param({"1", "2", "3"})
+    private int depth;
+    @Param({"8"})
+    private int listSize;
+    private List<SiLAElement> elements;
+    private JsonNode jsonNode;
+
+    private static String createElementXml(final String id, final String dataTypeXml) {
+        return "<Element>"
+                + "<Identifier>" + id + "</Identifier>"
+                + "<DisplayName>" + id + "</DisplayName>"
+                + "<Description>" + id + "</Description>"
+                + "<DataType>" + dataTypeXml + "</DataType>"
+                + "</Element>";
+    }
+
+    private static String createStructureXml(int level) {
+        final StringBuilder sb = new StringBuilder("<Structure>");
+        sb.append(createElementXml("Number", "<Basic>Integer</Basic>"));
+        sb.append(createElementXml("Label", "<Basic>String</Basic>"));
+        if (level > 0) {
+            sb.append(createElementXml("Children",
+                    "<List><DataType>" + createStructureXml(level - 1) + "</DataType></List>"));
+        }
+        return sb.append("</Structure>").toString();
+    }
+
+    private static ObjectNode createStructureJson(int level, int listSize) {
+        final ObjectNode obj = mapper.createObjectNode();
+        obj.set("Number", mapper.createObjectNode().put("value", level));
+        obj.set("Label", mapper.createObjectNode().put("value", "Level " + level));
+        if (level > 0) {
+            final ArrayNode children = obj.putArray("Children");
+            for (int i = 0; i < listSize; i++) {
+                children.add(createStructureJson(level - 1, listSize));
+            }
+        }
+        return obj;
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        final DataTypeType rootType = XmlUtils.parseXmlDataType("<DataType>" + createStructureXml(depth) + "</DataType>");
+        elements = rootType.getStructure().getElement();
+        jsonNode = createStructureJson(depth, listSize);
+    }
+
+    @Benchmark
+    public SilaNode createFromElementsWithJson() {
+        // the feature context is only needed for defined data types, which are not used here
+        return CompositNode.createFromJson(null, elements, jsonNode, false);
+    }
+
+    @Benchmark
+    public JsonNode createAndSerialize() {
+        return CompositNode.createFromJson(null, elements, jsonNode, false).toJson();
+    }
+}
@@ -0,0 +1,98 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.tasks.CommandTaskModel;
+import de.fau.clients.orchestrator.tasks.DelayTaskModel;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the import and export of synthetic *.silo files with different numbers of tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueueDataBenchmark {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String FEATURE_ID = "org.silastandard/examples/GreetingProvider/v1";
+
+    @Param({"1000", "10000", "100000"})
+    private int taskCount;
+    private TaskQueueData queueData;
+    private Path siloFile;
+    private Path outFile;
+
+    /**
+     * Creates a queue with alternating command and delay tasks. Every command has a small
+     * parameter structure, similar to what the GUI exports.
+     *
+     * @param taskCount The number of tasks.
+     * @return The queue data.
+     */
+    static TaskQueueData createQueueData(int taskCount) {
+        final UUID[] serverUuids = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+        final ArrayList<TaskEntry> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            if (i % 2 == 0) {
+                final CommandTaskModel model = new CommandTaskModel(serverUuids[i % serverUuids.length],
+                        FEATURE_ID,
+                        "SayHello");
+                model.setCommandParams(mapper.createObjectNode()
+                        .set("Name", mapper.createObjectNode().put("value", "Task " + i)));
+                tasks.add(new TaskEntry(i + 1, model, ExecPolicy.HALT_AFTER_ERROR));
+            } else {
+                tasks.add(new TaskEntry(i + 1, new DelayTaskModel(i), ExecPolicy.PROCEED_AFTER_ERROR));
+            }
+        }
+        final TaskQueueData data = new TaskQueueData();
+        data.setTasks(tasks);
+        return data;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        queueData = createQueueData(taskCount);
+        siloFile = Files.createTempFile("benchmark-in-", ".silo");
+        outFile = Files.createTempFile("benchmark-out-", ".silo");
+        TaskQueueData.writeToFile(siloFile, queueData);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(siloFile);
+        Files.deleteIfExists(outFile);
+    }
+
+    @Benchmark
+    public TaskQueueData createFromFile() throws IOException {
+        return TaskQueueData.createFromFile(siloFile.toString());
+    }
+
+    @Benchmark
+    public void writeToFile() throws IOException {
+        TaskQueueData.writeToFile(outFile, queueData);
+    }
+}
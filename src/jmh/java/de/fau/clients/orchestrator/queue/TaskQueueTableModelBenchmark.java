@@ -0,0 +1,110 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.ConnectionStatus;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.TaskProgress;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks bursts of structural changes and cell updates on the queue table model, like they
+ * occur when a large queue gets loaded, reordered or executed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskQueueTableModelBenchmark {
+
+    private static final UUID[] SERVER_UUIDS = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+
+    @Param({"1000", "10000"})
+    private int rowCount;
+    private TaskQueueTableModel model;
+
+    private static Object[] createRow(int idx) {
+        final Object[] row = new Object[Column.size()];
+        row[Column.ROW_NR.ordinal()] = idx + 1;
+        row[Column.TASK_ID.ordinal()] = idx + 1;
+        row[Column.CONNECTION_STATUS.ordinal()] = ConnectionStatus.ONLINE;
+        row[Column.TASK_INSTANCE.ordinal()] = "Task " + idx;
+        row[Column.SERVER_UUID.ordinal()] = SERVER_UUIDS[idx % SERVER_UUIDS.length];
+        row[Column.EXEC_POLICY.ordinal()] = ExecPolicy.HALT_AFTER_ERROR;
+        row[Column.STATE.ordinal()] = TaskState.NEUTRAL;
+        row[Column.START_TIME.ordinal()] = "-";
+        row[Column.END_TIME.ordinal()] = "-";
+        row[Column.DURATION.ordinal()] = "-";
+        row[Column.PROGRESS.ordinal()] = TaskProgress.NONE;
+        row[Column.RESULT.ordinal()] = "";
+        return row;
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        model = new TaskQueueTableModel();
+        for (int i = 0; i < rowCount; i++) {
+            model.addRow(createRow(i));
+        }
+    }
+
+    @Benchmark
+    public TaskQueueTableModel appendRows() {
+        final TaskQueueTableModel newModel = new TaskQueueTableModel();
+        for (int i = 0; i < rowCount; i++) {
+            newModel.addRow(createRow(i));
+        }
+        return newModel;
+    }
+
+    @Benchmark
+    public TaskQueueTableModel insertRowsAtTop() {
+        for (int i = 0; i < 100; i++) {
+            model.insertRow(0, createRow(i));
+        }
+        return model;
+    }
+
+    @Benchmark
+    public TaskQueueTableModel moveRows() {
+        final int lastIdx = model.getRowCount() - 1;
+        for (int i = 0; i < 100; i++) {
+            model.moveRow(0, 0, lastIdx);
+        }
+        return model;
+    }
+
+    @Benchmark
+    public TaskQueueTableModel updateStates() {
+        for (int i = 0; i < rowCount; i++) {
+            model.setValueAt(TaskState.RUNNING, i, Column.STATE);
+            model.setValueAt(TaskState.FINISHED_SUCCESS, i, Column.STATE);
+            model.setValueAt("0:00:01.000", i, Column.DURATION);
+        }
+        return model;
+    }
+
+    @Benchmark
+    public void lookupRowsByServer(final Blackhole bh) {
+        for (int i = 0; i < 100; i++) {
+            // re-assigning a server invalidates the index on each iteration
+            model.setValueAt(SERVER_UUIDS[i % SERVER_UUIDS.length], i, Column.SERVER_UUID);
+            bh.consume(model.getRowsByServerUuid(SERVER_UUIDS[0]));
+        }
+    }
+}
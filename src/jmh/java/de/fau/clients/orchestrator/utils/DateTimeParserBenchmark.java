@@ -0,0 +1,58 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the parsing of ISO-8601 date and time strings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateTimeParserBenchmark {
+
+    @Param({"UTC", "OFFSET"})
+    private String zone;
+    private String dateStr;
+    private String timeStr;
+    private String dateTimeStr;
+
+    @Setup
+    public void setUp() {
+        final String suffix = zone.equals("UTC") ? "Z" : "+02:00";
+        dateStr = "2023-02-28" + suffix;
+        timeStr = "13:37:42.123" + suffix;
+        dateTimeStr = "2023-02-28T13:37:42.123" + suffix;
+    }
+
+    @Benchmark
+    public LocalDate parseIsoDate() {
+        return DateTimeParser.parseIsoDate(dateStr);
+    }
+
+    @Benchmark
+    public OffsetTime parseIsoTime() {
+        return DateTimeParser.parseIsoTime(timeStr);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseIsoDateTime() {
+        return DateTimeParser.parseIsoDateTime(dateTimeStr);
+    }
+}
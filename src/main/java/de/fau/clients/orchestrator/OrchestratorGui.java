@@ -2,11 +2,17 @@
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import de.fau.clients.orchestrator.binary.BlobStore;
 import de.fau.clients.orchestrator.cli.CommandlineArguments;
 import de.fau.clients.orchestrator.cli.CommandlineControls;
 import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.ctx.HealthProber;
+import de.fau.clients.orchestrator.ctx.ReconnectSupervisor;
 import de.fau.clients.orchestrator.dnd.TaskExportTransferHandler;
+import de.fau.clients.orchestrator.journal.RunJournal;
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
 import de.fau.clients.orchestrator.queue.Column;
+import de.fau.clients.orchestrator.queue.QueueForecast;
 import de.fau.clients.orchestrator.queue.TaskQueueData;
 import de.fau.clients.orchestrator.queue.TaskQueueTable;
 import de.fau.clients.orchestrator.tasks.DelayTask;
@@ -14,7 +20,11 @@
 import de.fau.clients.orchestrator.tasks.LocalExecTask;
 import de.fau.clients.orchestrator.tasks.QueueTask;
 import de.fau.clients.orchestrator.tasks.TaskState;
+import de.fau.clients.orchestrator.tracing.Span;
+import de.fau.clients.orchestrator.tracing.Tracer;
 import de.fau.clients.orchestrator.tree.CommandTreeNode;
+import de.fau.clients.orchestrator.tree.PropertyDashboard;
+import de.fau.clients.orchestrator.tree.PropertyTreeNode;
 import de.fau.clients.orchestrator.tree.ServerFeatureTree;
 import de.fau.clients.orchestrator.tree.ServerTreeNode;
 import de.fau.clients.orchestrator.utils.IconProvider;
@@ -31,21 +41,28 @@
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.cert.X509Certificate;
 import java.text.DecimalFormat;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.Properties;
 import java.util.UUID;
 import javax.swing.AbstractAction;
 import javax.swing.JComponent;
+import javax.swing.JDialog;
 import javax.swing.JFileChooser;
+import javax.swing.JLabel;
+import javax.swing.JMenuItem;
 import javax.swing.JOptionPane;
 import javax.swing.JPopupMenu;
 import javax.swing.KeyStroke;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.ToolTipManager;
 import javax.swing.TransferHandler;
 import javax.swing.UIManager;
@@ -75,13 +92,30 @@ public class OrchestratorGui extends javax.swing.JFrame {
     public static final String COPYRIGHT_NOTICE = "Copyright © 2020–2023 The sila-orchestrator Authors";
     private static final Image ICON_IMG = IconProvider.SILA_ORCHESTRATOR_16PX.getIcon().getImage();
     private static final String NO_ERROR_STR = "<No Error>";
+    /**
+     * System property with the path of the trace file. If set, the task executions are traced and
+     * written to the file on exit (e.g. <code>-Dorchestrator.traceFile=trace.json</code>).
+     */
+    private static final String TRACE_FILE_PROPERTY = "orchestrator.traceFile";
+    /**
+     * System property with the path of the run journal file. If set, all queue runs are journaled
+     * to this file.
+     */
+    private static final String JOURNAL_FILE_PROPERTY = "orchestrator.journalFile";
     private static final String AUTHORS;
     private static final String LICENSE;
     private static final Properties GIT_PROPS = new Properties();
     private static ConnectionManager connectionManager;
     private final TaskQueueTable taskQueueTable = new TaskQueueTable();
     private final ServerFeatureTree serverFeatureTree = new ServerFeatureTree();
+    private ReconnectSupervisor reconnectSupervisor = null;
+    private final PropertyDashboard propertyDashboard = new PropertyDashboard();
+    private final JDialog propertyDashboardDialog = new JDialog(this, "Property Dashboard");
+    private final JPopupMenu propertyTreeNodePopupMenu = new JPopupMenu();
+    private final JLabel queueEtaLabel = new JLabel();
+    private final Timer queueEtaTimer = new Timer(1000, evt -> updateQueueEtaLabel());
     private volatile boolean isQueueOnExecution = false;
+    private int queueRunStartRowIdx = 0;
     private boolean wasSaved = false;
     private String certificateStr = null;
     private Path outFilePath = null;
@@ -1040,7 +1074,14 @@ public void actionPerformed(ActionEvent evt) {
                 removeTaskFromQueue(evt);
             }
         });
+        queueEtaLabel.setToolTipText("Estimated remaining time of the queue run based on former executions.");
+        toolBar.addSeparator();
+        toolBar.add(queueEtaLabel);
         connectionManager.addConnectionListener(taskQueueTable);
+        reconnectSupervisor = new ReconnectSupervisor(connectionManager,
+                taskQueueTable::isServerReferenced,
+                ReconnectSupervisor.DEFAULT_MAX_CONCURRENT_ATTEMPTS);
+        connectionManager.addConnectionListener(reconnectSupervisor);
     }
 
     private void initServerTree() {
@@ -1061,6 +1102,8 @@ public void mouseClicked(MouseEvent me) {
                     final Object node = path.getLastPathComponent();
                     if (node instanceof CommandTreeNode) {
                         commandTreeNodePopupMenu.show(serverFeatureTree, me.getX(), me.getY());
+                    } else if (node instanceof PropertyTreeNode) {
+                        propertyTreeNodePopupMenu.show(serverFeatureTree, me.getX(), me.getY());
                     } else if (node instanceof ServerTreeNode) {
                         final ServerTreeNode serverNode = (ServerTreeNode) node;
                         final boolean isServerOnline = serverNode.isOnline();
@@ -1073,7 +1116,34 @@ public void mouseClicked(MouseEvent me) {
                 presenterScrollPane.setViewportView(serverFeatureTree.getPresenter());
             }
         });
+        propertyDashboardDialog.setIconImage(ICON_IMG);
+        propertyDashboardDialog.setDefaultCloseOperation(javax.swing.WindowConstants.HIDE_ON_CLOSE);
+        propertyDashboardDialog.setPreferredSize(new java.awt.Dimension(600, 300));
+        propertyDashboardDialog.getContentPane().add(propertyDashboard);
+        propertyDashboardDialog.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent evt) {
+                // stop all updates when the dashboard is not visible anymore
+                propertyDashboard.clear();
+            }
+        });
+        final JMenuItem addToDashboardMenuItem = new JMenuItem("Add to Dashboard");
+        addToDashboardMenuItem.setToolTipText("Shows the live value of this property in the dashboard.");
+        addToDashboardMenuItem.addActionListener((ActionEvent evt) -> {
+            final Object node = serverFeatureTree.getLastSelectedPathComponent();
+            if (node instanceof PropertyTreeNode) {
+                propertyDashboard.addProperty(((PropertyTreeNode) node).getPropertyCtx());
+                if (!propertyDashboardDialog.isVisible()) {
+                    propertyDashboardDialog.pack();
+                    propertyDashboardDialog.setLocationRelativeTo(this);
+                    propertyDashboardDialog.setVisible(true);
+                }
+            }
+        });
+        propertyTreeNodePopupMenu.setFocusable(false);
+        propertyTreeNodePopupMenu.add(addToDashboardMenuItem);
         connectionManager.addConnectionListener(serverFeatureTree);
+        connectionManager.getHealthProber().start(HealthProber.DEFAULT_PROBE_INTERVAL_IN_SEC);
     }
 
     /**
@@ -1108,6 +1178,7 @@ private void viewSelectedTask() {
     }
 
     private void exitMenuItemActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_exitMenuItemActionPerformed
+        reconnectSupervisor.close();
         connectionManager.close();
         System.exit(0);
     }//GEN-LAST:event_exitMenuItemActionPerformed
@@ -1161,6 +1232,7 @@ private void serverAddressTextFieldActionPerformed(java.awt.event.ActionEvent ev
     }//GEN-LAST:event_serverAddressTextFieldActionPerformed
 
     private void formWindowClosing(java.awt.event.WindowEvent evt) {//GEN-FIRST:event_formWindowClosing
+        reconnectSupervisor.close();
         connectionManager.close();
     }//GEN-LAST:event_formWindowClosing
 
@@ -1288,6 +1360,7 @@ private void openFileActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRS
 
             clearQueueActionPerformed(evt);
             tqd.importToTaskQueue(taskQueueTable);
+            reconnectSupervisor.superviseReferencedServers();
         }
     }//GEN-LAST:event_openFileActionPerformed
 
@@ -1355,6 +1428,21 @@ private void exportQueueActionPerformed(java.awt.event.ActionEvent evt) {//GEN-F
                 } catch (final IOException ex) {
                     log.error(ex.getMessage());
                 }
+
+                // numeric list responses (e.g. spectra) are exported column-wise into a separate file
+                final StringBuilder numericSb = new StringBuilder();
+                if (taskQueueTable.exportNumericResultsAsCsv(numericSb)) {
+                    final String fileName = outPath.getFileName().toString();
+                    final int extIdx = fileName.lastIndexOf('.');
+                    final Path numericOutPath = outPath.resolveSibling(
+                            ((extIdx > 0) ? fileName.substring(0, extIdx) : fileName) + "-results.csv");
+                    try {
+                        Files.writeString(numericOutPath, numericSb);
+                        log.info("Exported file " + numericOutPath);
+                    } catch (final IOException ex) {
+                        log.error(ex.getMessage());
+                    }
+                }
             }
         }
     }//GEN-LAST:event_exportQueueActionPerformed
@@ -1365,32 +1453,48 @@ private void startQueueRunActionPerformed(java.awt.event.ActionEvent evt) {//GEN
             return;
         }
 
-        disableStartRunControls();
         taskQueueTable.resetAllTaskStates();
+        queueRunStartRowIdx = 0;
+        disableStartRunControls();
         isQueueOnExecution = true;
 
         final Runnable queueRunner = () -> {
+            final long runStartTime = System.nanoTime();
+            final Span runSpan = Tracer.getInstance().startSpan("queueRun", Tracer.CATEGORY_QUEUE);
+            final RunJournal journal = RunJournal.getInstance();
+            final String runId = journal.runStarted("gui", taskQueueTable.getRowCount());
+            String outcome = RunJournal.OUTCOME_SUCCESS;
             for (int i = 0; i < taskQueueTable.getRowCount(); i++) {
                 if (!isQueueOnExecution) {
+                    outcome = RunJournal.OUTCOME_ABORTED;
                     break;
                 }
 
                 final QueueTask task = taskQueueTable.getTaskFromRow(i);
-                currentlyExecutedTaskThread = new Thread(task);
-                currentlyExecutedTaskThread.start();
-                try {
+                final int taskId = taskQueueTable.getTaskIdFromRow(i);
+                journal.taskStarted(runId, taskId, task);
+                try (final Span span = Tracer.getInstance().startSpan("runTask", Tracer.CATEGORY_QUEUE)) {
+                    span.setArg("row", i);
+                    currentlyExecutedTaskThread = new Thread(task);
+                    currentlyExecutedTaskThread.start();
                     currentlyExecutedTaskThread.join();
                 } catch (InterruptedException ex) {
                     log.error(ex.getMessage());
                 }
+                journal.taskFinished(runId, taskId, task);
 
                 if (task.getState() != TaskState.FINISHED_SUCCESS) {
                     // apply execution policy
                     if (taskQueueTable.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
+                        outcome = RunJournal.OUTCOME_HALTED;
                         break;
                     }
                 }
             }
+            runSpan.close();
+            final long runDuration = System.nanoTime() - runStartTime;
+            OrchestratorMetrics.QUEUE_RUN_DURATION.observeNanos(runDuration);
+            journal.runFinished(runId, outcome, runDuration);
             currentlyExecutedTaskThread = null;
 
             SwingUtilities.invokeLater(() -> {
@@ -1452,32 +1556,48 @@ private void startQueueRunFromHereMenuItemActionPerformed(java.awt.event.ActionE
             return;
         }
 
-        disableStartRunControls();
         taskQueueTable.resetAllTaskStates();
+        queueRunStartRowIdx = selectedRowIdx;
+        disableStartRunControls();
         isQueueOnExecution = true;
 
         final Runnable queueRunner = () -> {
+            final long runStartTime = System.nanoTime();
+            final Span runSpan = Tracer.getInstance().startSpan("queueRun", Tracer.CATEGORY_QUEUE);
+            final RunJournal journal = RunJournal.getInstance();
+            final String runId = journal.runStarted("gui", taskQueueTable.getRowCount() - selectedRowIdx);
+            String outcome = RunJournal.OUTCOME_SUCCESS;
             for (int i = selectedRowIdx; i < taskQueueTable.getRowCount(); i++) {
                 if (!isQueueOnExecution) {
+                    outcome = RunJournal.OUTCOME_ABORTED;
                     break;
                 }
 
                 final QueueTask task = taskQueueTable.getTaskFromRow(i);
-                currentlyExecutedTaskThread = new Thread(task);
-                currentlyExecutedTaskThread.start();
-                try {
+                final int taskId = taskQueueTable.getTaskIdFromRow(i);
+                journal.taskStarted(runId, taskId, task);
+                try (final Span span = Tracer.getInstance().startSpan("runTask", Tracer.CATEGORY_QUEUE)) {
+                    span.setArg("row", i);
+                    currentlyExecutedTaskThread = new Thread(task);
+                    currentlyExecutedTaskThread.start();
                     currentlyExecutedTaskThread.join();
                 } catch (InterruptedException ex) {
                     log.error(ex.getMessage());
                 }
+                journal.taskFinished(runId, taskId, task);
 
                 if (task.getState() != TaskState.FINISHED_SUCCESS) {
                     // apply execution policy
                     if (taskQueueTable.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
+                        outcome = RunJournal.OUTCOME_HALTED;
                         break;
                     }
                 }
             }
+            runSpan.close();
+            final long runDuration = System.nanoTime() - runStartTime;
+            OrchestratorMetrics.QUEUE_RUN_DURATION.observeNanos(runDuration);
+            journal.runFinished(runId, outcome, runDuration);
             currentlyExecutedTaskThread = null;
 
             SwingUtilities.invokeLater(() -> {
@@ -1503,6 +1623,7 @@ private void openAndAppendFileActionPerformed(java.awt.event.ActionEvent evt) {/
                 return;
             }
             tqd.importToTaskQueue(taskQueueTable);
+            reconnectSupervisor.superviseReferencedServers();
         }
     }//GEN-LAST:event_openAndAppendFileActionPerformed
 
@@ -1538,6 +1659,8 @@ private void disconnectServerMenuItemActionPerformed(java.awt.event.ActionEvent
                 if (!serverNode.isOnline()) {
                     return;
                 }
+                // do not reconnect a server which was disconnected on purpose
+                reconnectSupervisor.exclude(serverNode.getServerUuid());
                 connectionManager.removeServer(serverNode.getServerUuid());
             }
         }
@@ -1556,6 +1679,7 @@ private void reconnectServerMenuItemActionPerformed(java.awt.event.ActionEvent e
                     return;
                 }
 
+                reconnectSupervisor.include(serverNode.getServerUuid());
                 try {
                     connectionManager.reconnectServer(serverNode.getServerUuid());
                 } catch (ServerConnectionException ex) {
@@ -1583,6 +1707,8 @@ private void openCertFileBtnActionPerformed(java.awt.event.ActionEvent evt) {//G
     }//GEN-LAST:event_openCertFileBtnActionPerformed
 
     private void enableStartRunControls() {
+        queueEtaTimer.stop();
+        queueEtaLabel.setText("");
         stopQueueRunBtn.setEnabled(false);
         stopQueueRunMenuItem.setEnabled(false);
 
@@ -1598,6 +1724,19 @@ private void disableStartRunControls() {
 
         stopQueueRunBtn.setEnabled(true);
         stopQueueRunMenuItem.setEnabled(true);
+        updateQueueEtaLabel();
+        queueEtaTimer.start();
+    }
+
+    /**
+     * Updates the label showing the forecast of the current queue run.
+     */
+    private void updateQueueEtaLabel() {
+        final QueueForecast forecast = taskQueueTable.createForecast(queueRunStartRowIdx);
+        final LocalTime endTime = LocalTime.now()
+                .plus(forecast.getRemainingTimeInMs(), ChronoUnit.MILLIS)
+                .truncatedTo(ChronoUnit.SECONDS);
+        queueEtaLabel.setText(forecast.toString() + ", done at " + endTime);
     }
 
     /**
@@ -1682,6 +1821,36 @@ public static void main(String args[]) {
             System.exit(exitVal);
         }
 
+        final String traceFile = System.getProperty(TRACE_FILE_PROPERTY);
+        if (traceFile != null) {
+            Tracer.getInstance().enable(Tracer.DEFAULT_CAPACITY);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Tracer.getInstance().writeToFile(Paths.get(traceFile));
+                } catch (final IOException | InvalidPathException ex) {
+                    System.err.println("Could not write trace file: " + ex.getMessage());
+                }
+            }));
+        }
+
+        final String journalFile = System.getProperty(JOURNAL_FILE_PROPERTY);
+        if (journalFile != null) {
+            try {
+                RunJournal.getInstance().open(Paths.get(journalFile));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    RunJournal.getInstance().close();
+                }));
+            } catch (final IOException | InvalidPathException ex) {
+                System.err.println("Could not open journal file: " + ex.getMessage());
+            }
+        }
+
+        final Thread blobPruner = new Thread(() -> {
+            BlobStore.getInstance().prune(BlobStore.DEFAULT_MAX_AGE);
+        }, "blob-pruner");
+        blobPruner.setDaemon(true);
+        blobPruner.start();
+
         final ToolTipManager ttmSharedInst = ToolTipManager.sharedInstance();
         ttmSharedInst.setInitialDelay(300);
         ttmSharedInst.setDismissDelay(Integer.MAX_VALUE);
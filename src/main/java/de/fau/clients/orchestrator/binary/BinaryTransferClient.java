@@ -0,0 +1,546 @@
+package de.fau.clients.orchestrator.binary;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.protobuf.ByteString;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import io.grpc.Channel;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import sila2.org.silastandard.BinaryDownloadGrpc;
+import sila2.org.silastandard.BinaryUploadGrpc;
+import sila2.org.silastandard.SiLABinaryTransfer.CreateBinaryRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.CreateBinaryResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.DeleteBinaryRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.GetBinaryInfoRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.GetBinaryInfoResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.GetChunkRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.GetChunkResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.UploadChunkRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.UploadChunkResponse;
+
+/**
+ * Client of the SiLA 2 binary transfer, which is used for binaries exceeding the inline limit of
+ * 2 MB. The binary is split into chunks, which are transferred over several parallel streams. On
+ * each stream, the next chunk is sent as soon as the previous one was acknowledged, so only a few
+ * chunks are held in memory at once.
+ * <p>
+ * Transfers are resumable: chunks which failed (e.g. because a stream broke) are transferred
+ * again using the same binary transfer UUID, while already transferred chunks are skipped.
+ * Downloaded binaries are written directly to a file and added to the <code>BlobStore</code>.
+ * </p>
+ * <p>
+ * The chunk size can be set with the system property <code>orchestrator.binaryChunkSize</code>
+ * (in bytes, at most 2 MB).
+ * </p>
+ */
+@Slf4j
+public final class BinaryTransferClient {
+
+    /**
+     * System property with the chunk size in bytes.
+     */
+    public static final String CHUNK_SIZE_PROPERTY = "orchestrator.binaryChunkSize";
+    /**
+     * The maximum chunk size allowed by the SiLA 2 standard.
+     */
+    public static final int MAX_CHUNK_SIZE = 2 * 1024 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 4;
+    /**
+     * The number of attempts to transfer all chunks before a transfer is given up.
+     */
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long CHUNK_TIMEOUT_IN_SEC = 60;
+    private static final String PARAMETER_INFIX = "/Parameter/";
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private final BinaryUploadGrpc.BinaryUploadBlockingStub uploadBlockingStub;
+    private final BinaryUploadGrpc.BinaryUploadStub uploadStub;
+    private final BinaryDownloadGrpc.BinaryDownloadBlockingStub downloadBlockingStub;
+    private final BinaryDownloadGrpc.BinaryDownloadStub downloadStub;
+    private final BlobStore blobStore;
+    private final int chunkSize;
+    private final int parallelism;
+
+    /**
+     * Constructor using the configured chunk size, the default parallelism and the shared blob
+     * store.
+     *
+     * @param channel The channel of the server.
+     */
+    public BinaryTransferClient(@NonNull final Channel channel) {
+        this(channel, BlobStore.getInstance(), getConfiguredChunkSize(), DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param channel The channel of the server.
+     * @param blobStore The store for downloaded binaries.
+     * @param chunkSize The size of the chunks in bytes.
+     * @param parallelism The maximum number of parallel streams per transfer.
+     */
+    public BinaryTransferClient(
+            @NonNull final Channel channel,
+            @NonNull final BlobStore blobStore,
+            int chunkSize,
+            int parallelism
+    ) {
+        if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be between 1 and " + MAX_CHUNK_SIZE + " bytes.");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be greater than zero.");
+        }
+        this.uploadBlockingStub = BinaryUploadGrpc.newBlockingStub(channel);
+        this.uploadStub = BinaryUploadGrpc.newStub(channel);
+        this.downloadBlockingStub = BinaryDownloadGrpc.newBlockingStub(channel);
+        this.downloadStub = BinaryDownloadGrpc.newStub(channel);
+        this.blobStore = blobStore;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Gets the chunk size given by the system property <code>orchestrator.binaryChunkSize</code>.
+     *
+     * @return The configured chunk size or the default chunk size if not set or invalid.
+     */
+    static int getConfiguredChunkSize() {
+        final String chunkSizeStr = System.getProperty(CHUNK_SIZE_PROPERTY);
+        if (chunkSizeStr != null) {
+            try {
+                final int size = Integer.parseInt(chunkSizeStr.strip());
+                if (size > 0 && size <= MAX_CHUNK_SIZE) {
+                    return size;
+                }
+            } catch (final NumberFormatException ex) {
+                // fall through
+            }
+            log.warn("Invalid binary chunk size '" + chunkSizeStr + "', using " + DEFAULT_CHUNK_SIZE + " bytes.");
+        }
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    /**
+     * Creates an uploader for the parameters of the given command.
+     *
+     * @param fullyQualifiedCommandId The fully qualified identifier of the command.
+     * @return The uploader.
+     */
+    public BinaryUploader uploaderFor(@NonNull final String fullyQualifiedCommandId) {
+        return new BinaryUploader() {
+            @Override
+            public String upload(final String parameterId, final Path file) throws IOException {
+                return BinaryTransferClient.this.upload(fullyQualifiedCommandId + PARAMETER_INFIX + parameterId, file);
+            }
+
+            @Override
+            public String upload(final String parameterId, final byte[] data) throws IOException {
+                return BinaryTransferClient.this.upload(fullyQualifiedCommandId + PARAMETER_INFIX + parameterId, data);
+            }
+        };
+    }
+
+    /**
+     * Uploads the content of the given file.
+     *
+     * @param fullyQualifiedParameterId The fully qualified identifier of the command parameter.
+     * @param file The file to upload.
+     * @return The binary transfer UUID.
+     * @throws IOException if the file could not be read or the upload failed.
+     */
+    public String upload(@NonNull final String fullyQualifiedParameterId, @NonNull final Path file) throws IOException {
+        try (final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return upload(fullyQualifiedParameterId, fileChannel.size(), (offset, length) -> {
+                final ByteBuffer buffer = ByteBuffer.allocate(length);
+                while (buffer.hasRemaining()) {
+                    if (fileChannel.read(buffer, offset + buffer.position()) < 0) {
+                        throw new IOException("Unexpected end of file " + file + ".");
+                    }
+                }
+                buffer.flip();
+                return ByteString.copyFrom(buffer);
+            });
+        }
+    }
+
+    /**
+     * Uploads the given data.
+     *
+     * @param fullyQualifiedParameterId The fully qualified identifier of the command parameter.
+     * @param data The data to upload.
+     * @return The binary transfer UUID.
+     * @throws IOException if the upload failed.
+     */
+    public String upload(@NonNull final String fullyQualifiedParameterId, @NonNull final byte[] data) throws IOException {
+        return upload(fullyQualifiedParameterId, data.length,
+                (offset, length) -> ByteString.copyFrom(data, (int) offset, length));
+    }
+
+    private String upload(
+            final String parameterId,
+            long size,
+            final ChunkReader reader
+    ) throws IOException {
+        final int chunkCount = getChunkCount(size);
+        final CreateBinaryResponse created;
+        try {
+            created = uploadBlockingStub.createBinary(CreateBinaryRequest.newBuilder()
+                    .setBinarySize(size)
+                    .setChunkCount(chunkCount)
+                    .setParameterIdentifier(parameterId)
+                    .build());
+        } catch (final StatusRuntimeException ex) {
+            throw new IOException("Could not create binary for " + parameterId + ": " + ex.getMessage(), ex);
+        }
+        final String uuid = created.getBinaryTransferUUID();
+        transferChunks(chunkCount, (chunks, done, latch) -> {
+            final UploadStream stream = new UploadStream(uuid, size, reader, chunks, done, latch);
+            stream.start();
+            return stream;
+        });
+        return uuid;
+    }
+
+    /**
+     * Downloads the binary with the given UUID into the blob store and deletes it on the server
+     * afterwards.
+     *
+     * @param binaryTransferUuid The binary transfer UUID.
+     * @return The SHA-256 hash of the binary in the blob store.
+     * @throws IOException if the download failed.
+     */
+    public String download(@NonNull final String binaryTransferUuid) throws IOException {
+        final GetBinaryInfoResponse info;
+        try {
+            info = downloadBlockingStub.getBinaryInfo(GetBinaryInfoRequest.newBuilder()
+                    .setBinaryTransferUUID(binaryTransferUuid)
+                    .build());
+        } catch (final StatusRuntimeException ex) {
+            throw new IOException("Could not get binary " + binaryTransferUuid + ": " + ex.getMessage(), ex);
+        }
+        final long size = info.getBinarySize();
+        final Path tempFile = blobStore.createTempFile();
+        try {
+            try (final FileChannel fileChannel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                transferChunks(getChunkCount(size), (chunks, done, latch) -> {
+                    final DownloadStream stream = new DownloadStream(binaryTransferUuid, size, fileChannel, chunks, done, latch);
+                    stream.start();
+                    return stream;
+                });
+            }
+            final String hash = blobStore.putFile(tempFile);
+            try {
+                downloadBlockingStub.deleteBinary(DeleteBinaryRequest.newBuilder()
+                        .setBinaryTransferUUID(binaryTransferUuid)
+                        .build());
+            } catch (final StatusRuntimeException ex) {
+                log.warn("Could not delete binary " + binaryTransferUuid + " on the server: " + ex.getMessage());
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Downloads all binaries referenced by a binary transfer UUID in the given command result and
+     * replaces the references by the files in the blob store. This way, the result can be
+     * presented without loading the binaries into memory.
+     *
+     * @param jsonResult The JSON result of a command.
+     * @return The JSON result with file references or the unchanged result if it does not
+     * reference any binary.
+     * @throws IOException if a download failed.
+     */
+    public String downloadReferences(final String jsonResult) throws IOException {
+        if (jsonResult == null || !jsonResult.contains(BinaryParams.FIELD_TRANSFER_UUID)) {
+            return jsonResult;
+        }
+        final JsonNode result;
+        try {
+            result = jsonMapper.readTree(jsonResult);
+        } catch (final JsonProcessingException ex) {
+            return jsonResult;
+        }
+        return jsonMapper.writeValueAsString(replaceReferences(result));
+    }
+
+    private JsonNode replaceReferences(final JsonNode node) throws IOException {
+        if (node.isObject()) {
+            final JsonNode uuidNode = node.get(BinaryParams.FIELD_TRANSFER_UUID);
+            if (uuidNode != null && uuidNode.isTextual() && node.size() == 1) {
+                final String hash = download(uuidNode.asText());
+                return BinaryParams.fileAsJsonNode(blobStore.getPath(hash));
+            }
+            final ObjectNode objNode = (ObjectNode) node;
+            final Iterator<Map.Entry<String, JsonNode>> fields = objNode.fields();
+            final List<Map.Entry<String, JsonNode>> entries = new ArrayList<>();
+            fields.forEachRemaining(entries::add);
+            for (final Map.Entry<String, JsonNode> entry : entries) {
+                objNode.set(entry.getKey(), replaceReferences(entry.getValue()));
+            }
+        } else if (node.isArray()) {
+            final ArrayNode arrNode = (ArrayNode) node;
+            for (int i = 0; i < arrNode.size(); i++) {
+                arrNode.set(i, replaceReferences(arrNode.get(i)));
+            }
+        }
+        return node;
+    }
+
+    int getChunkCount(long size) {
+        return (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+    }
+
+    /**
+     * Transfers all chunks using parallel streams. Chunks which were not acknowledged are
+     * transferred again with fresh streams, up to <code>MAX_ATTEMPTS</code> times.
+     */
+    private void transferChunks(int chunkCount, final StreamFactory streamFactory) throws IOException {
+        final BitSet done = new BitSet(chunkCount);
+        for (int attempt = 1;; attempt++) {
+            final List<Integer> missing = new ArrayList<>();
+            synchronized (done) {
+                for (int i = done.nextClearBit(0); i < chunkCount; i = done.nextClearBit(i + 1)) {
+                    missing.add(i);
+                }
+            }
+            if (missing.isEmpty()) {
+                return;
+            }
+            if (attempt > MAX_ATTEMPTS) {
+                throw new IOException(missing.size() + " of " + chunkCount + " chunks could not be "
+                        + "transferred within " + MAX_ATTEMPTS + " attempts.");
+            }
+            if (attempt > 1) {
+                log.warn("Resuming binary transfer with " + missing.size() + " missing chunks.");
+            }
+            // distribute the missing chunks round robin over the streams
+            final int streamCount = Math.min(parallelism, missing.size());
+            final List<List<Integer>> partitions = new ArrayList<>(streamCount);
+            for (int i = 0; i < streamCount; i++) {
+                partitions.add(new ArrayList<>());
+            }
+            for (int i = 0; i < missing.size(); i++) {
+                partitions.get(i % streamCount).add(missing.get(i));
+            }
+            final CountDownLatch latch = new CountDownLatch(streamCount);
+            final List<ChunkStream> streams = new ArrayList<>(streamCount);
+            for (final List<Integer> partition : partitions) {
+                streams.add(streamFactory.start(partition.iterator(), done, latch));
+            }
+            final long timeout = CHUNK_TIMEOUT_IN_SEC * partitions.get(0).size();
+            try {
+                if (!latch.await(timeout, TimeUnit.SECONDS)) {
+                    streams.forEach(ChunkStream::cancel);
+                    throw new IOException("Binary transfer timed out.");
+                }
+            } catch (final InterruptedException ex) {
+                streams.forEach(ChunkStream::cancel);
+                Thread.currentThread().interrupt();
+                throw new IOException("Binary transfer interrupted.", ex);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader {
+
+        ByteString read(long offset, int length) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface StreamFactory {
+
+        ChunkStream start(Iterator<Integer> chunks, BitSet done, CountDownLatch latch);
+    }
+
+    private interface ChunkStream {
+
+        void cancel();
+    }
+
+    /**
+     * Uploads the chunks of one stream, each after the previous one was acknowledged.
+     */
+    private final class UploadStream implements StreamObserver<UploadChunkResponse>, ChunkStream {
+
+        private final String uuid;
+        private final long size;
+        private final ChunkReader reader;
+        private final Iterator<Integer> chunks;
+        private final BitSet done;
+        private final CountDownLatch latch;
+        private StreamObserver<UploadChunkRequest> requestObserver;
+
+        UploadStream(
+                final String uuid,
+                long size,
+                final ChunkReader reader,
+                final Iterator<Integer> chunks,
+                final BitSet done,
+                final CountDownLatch latch
+        ) {
+            this.uuid = uuid;
+            this.size = size;
+            this.reader = reader;
+            this.chunks = chunks;
+            this.done = done;
+            this.latch = latch;
+        }
+
+        void start() {
+            requestObserver = uploadStub.uploadChunk(this);
+            sendNext();
+        }
+
+        private void sendNext() {
+            if (!chunks.hasNext()) {
+                requestObserver.onCompleted();
+                return;
+            }
+            final int index = chunks.next();
+            final long offset = (long) index * chunkSize;
+            final int length = (int) Math.min(chunkSize, size - offset);
+            try {
+                requestObserver.onNext(UploadChunkRequest.newBuilder()
+                        .setBinaryTransferUUID(uuid)
+                        .setChunkIndex(index)
+                        .setPayload(reader.read(offset, length))
+                        .build());
+            } catch (final IOException ex) {
+                // cancels the call, which ends this stream with an error
+                requestObserver.onError(ex);
+            }
+        }
+
+        @Override
+        public void onNext(final UploadChunkResponse response) {
+            synchronized (done) {
+                done.set(response.getChunkIndex());
+            }
+            sendNext();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            log.warn("Binary upload stream failed: " + t.getMessage());
+            latch.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            latch.countDown();
+        }
+
+        @Override
+        public void cancel() {
+            requestObserver.onError(new IOException("Cancelled."));
+        }
+    }
+
+    /**
+     * Downloads the chunks of one stream, each after the previous one was received.
+     */
+    private final class DownloadStream implements StreamObserver<GetChunkResponse>, ChunkStream {
+
+        private final String uuid;
+        private final long size;
+        private final FileChannel fileChannel;
+        private final Iterator<Integer> chunks;
+        private final BitSet done;
+        private final CountDownLatch latch;
+        private StreamObserver<GetChunkRequest> requestObserver;
+
+        DownloadStream(
+                final String uuid,
+                long size,
+                final FileChannel fileChannel,
+                final Iterator<Integer> chunks,
+                final BitSet done,
+                final CountDownLatch latch
+        ) {
+            this.uuid = uuid;
+            this.size = size;
+            this.fileChannel = fileChannel;
+            this.chunks = chunks;
+            this.done = done;
+            this.latch = latch;
+        }
+
+        void start() {
+            requestObserver = downloadStub.getChunk(this);
+            requestNext();
+        }
+
+        private void requestNext() {
+            if (!chunks.hasNext()) {
+                requestObserver.onCompleted();
+                return;
+            }
+            final int index = chunks.next();
+            final long offset = (long) index * chunkSize;
+            requestObserver.onNext(GetChunkRequest.newBuilder()
+                    .setBinaryTransferUUID(uuid)
+                    .setOffset(offset)
+                    .setLength((int) Math.min(chunkSize, size - offset))
+                    .build());
+        }
+
+        @Override
+        public void onNext(final GetChunkResponse response) {
+            final long offset = response.getOffset();
+            try {
+                final ByteBuffer payload = response.getPayload().asReadOnlyByteBuffer();
+                long position = offset;
+                while (payload.hasRemaining()) {
+                    position += fileChannel.write(payload, position);
+                }
+            } catch (final IOException ex) {
+                // cancels the call, which ends this stream with an error
+                requestObserver.onError(ex);
+                return;
+            }
+            synchronized (done) {
+                done.set((int) (offset / chunkSize));
+            }
+            requestNext();
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            log.warn("Binary download stream failed: " + t.getMessage());
+            latch.countDown();
+        }
+
+        @Override
+        public void onCompleted() {
+            latch.countDown();
+        }
+
+        @Override
+        public void cancel() {
+            requestObserver.onError(new IOException("Cancelled."));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.fau.clients.orchestrator.binary;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Uploads binary parameters which are too large to be sent inline.
+ *
+ * @see BinaryTransferClient
+ */
+public interface BinaryUploader {
+
+    /**
+     * Uploads the content of the given file.
+     *
+     * @param parameterId The identifier of the (top-level) command parameter the binary belongs
+     * to.
+     * @param file The file to upload.
+     * @return The binary transfer UUID to send instead of the content.
+     * @throws IOException if the file could not be read or the upload failed.
+     */
+    String upload(String parameterId, Path file) throws IOException;
+
+    /**
+     * Uploads the given binary data.
+     *
+     * @param parameterId The identifier of the (top-level) command parameter the binary belongs
+     * to.
+     * @param data The data to upload.
+     * @return The binary transfer UUID to send instead of the content.
+     * @throws IOException if the upload failed.
+     */
+    String upload(String parameterId, byte[] data) throws IOException;
+}
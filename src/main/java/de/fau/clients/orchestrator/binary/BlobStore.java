@@ -0,0 +1,291 @@
+package de.fau.clients.orchestrator.binary;
+
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local content-addressed store for binary data (e.g. binary parameters of saved tasks or
+ * downloaded binary responses). Each blob is stored once in a file named by the SHA-256 hash of its
+ * content, so identical binaries share the same file. The files are spread over sub-directories
+ * named by the first two characters of the hash.
+ * <p>
+ * The store is located in <code>~/.sila/blobs</code> by default, next to the log file, which can be
+ * changed with the system property <code>orchestrator.blobStore</code>. Since saved queues hold
+ * their binaries inline and bundles carry their own blobs, the store is only a cache and blobs
+ * unused for a while can be removed with <code>prune</code>.
+ * </p>
+ */
+@Slf4j
+public final class BlobStore {
+
+    /**
+     * System property with the path of the store directory.
+     */
+    public static final String STORE_DIR_PROPERTY = "orchestrator.blobStore";
+    /**
+     * The default time after which unused blobs get pruned.
+     */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofDays(30);
+    private static final String TEMP_DIR_NAME = "tmp";
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private final Path root;
+
+    /**
+     * Creates a store in the given directory. Usually, the shared instance of
+     * <code>getInstance</code> should be used instead.
+     *
+     * @param root The directory of the store, which is created on demand.
+     */
+    public BlobStore(@NonNull final Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public static BlobStore getInstance() {
+        return BlobStoreHolder.INSTANCE;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * Gets the path of the blob with the given hash. The blob does not have to exist.
+     *
+     * @param hash The SHA-256 hash of the blob as lower case hex string.
+     * @return The path of the blob file.
+     * @throws IllegalArgumentException if the hash is not a SHA-256 hex string.
+     */
+    public Path getPath(@NonNull final String hash) {
+        if (!isHash(hash)) {
+            throw new IllegalArgumentException("'" + hash + "' is not a SHA-256 hash.");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    /**
+     * Checks if the store contains the blob with the given hash.
+     *
+     * @param hash The SHA-256 hash of the blob.
+     * @return <code>true</code> if the blob exists, otherwise <code>false</code>.
+     */
+    public boolean contains(final String hash) {
+        return isHash(hash) && Files.isRegularFile(getPath(hash));
+    }
+
+    /**
+     * Gets the hash of the given blob file, if the file is located inside this store.
+     *
+     * @param file The path to check.
+     * @return The SHA-256 hash of the blob or <code>null</code> if the path is not a blob of this
+     * store.
+     */
+    public String getHashOf(@NonNull final Path file) {
+        final Path absFile = file.toAbsolutePath().normalize();
+        final Path fileName = absFile.getFileName();
+        if (fileName == null) {
+            return null;
+        }
+        final String hash = fileName.toString();
+        if (isHash(hash) && absFile.equals(getPath(hash))) {
+            return hash;
+        }
+        return null;
+    }
+
+    /**
+     * Creates an empty temporary file inside the store. Writing a blob to such a file first and
+     * adding it with <code>putFile</code> afterwards ensures that no incomplete blob is ever
+     * visible in the store.
+     *
+     * @return The path of the new temporary file.
+     * @throws IOException if the file could not be created.
+     */
+    public Path createTempFile() throws IOException {
+        final Path tempDir = root.resolve(TEMP_DIR_NAME);
+        Files.createDirectories(tempDir);
+        return Files.createTempFile(tempDir, "blob-", ".part");
+    }
+
+    /**
+     * Moves the given file into the store. If the store already contains the same content, the
+     * file is deleted instead and the existing blob is marked as used.
+     *
+     * @param file The file to add, preferably created by <code>createTempFile</code>.
+     * @return The SHA-256 hash of the content.
+     * @throws IOException if the file could not be read or moved.
+     */
+    public String putFile(@NonNull final Path file) throws IOException {
+        final String hash = hash(file);
+        final Path target = getPath(hash);
+        if (Files.isRegularFile(target)) {
+            Files.delete(file);
+            touch(target);
+            return hash;
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException ex) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return hash;
+    }
+
+    /**
+     * Adds the given data to the store. The data is only written if the store does not already
+     * contain the same content, otherwise the existing blob is marked as used.
+     *
+     * @param data The data to add.
+     * @return The SHA-256 hash of the data.
+     * @throws IOException if the data could not be written.
+     */
+    public String putBytes(@NonNull final byte[] data) throws IOException {
+        final String hash = SilaBasicTypeUtils.sha256Hex(data);
+        if (contains(hash)) {
+            touch(getPath(hash));
+            return hash;
+        }
+        final Path tempFile = createTempFile();
+        try {
+            Files.write(tempFile, data);
+            return putFile(tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Adds the content of the given stream to the store. The stream is copied into a temporary file
+     * first, so the content is never held in memory as a whole.
+     *
+     * @param in The stream to read the content from. The stream is not closed.
+     * @return The SHA-256 hash of the content.
+     * @throws IOException if the stream could not be read or the content could not be written.
+     */
+    public String putStream(@NonNull final InputStream in) throws IOException {
+        final Path tempFile = createTempFile();
+        try {
+            try (final OutputStream out = Files.newOutputStream(tempFile)) {
+                in.transferTo(out);
+            }
+            return putFile(tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Removes all blobs and temporary files which were neither added nor re-added within the given
+     * time. Blobs which can not be deleted (e.g. because they are opened on Windows) are skipped.
+     *
+     * @param maxAge The time a blob is kept after its last use.
+     * @return The number of removed blobs.
+     */
+    public int prune(@NonNull final Duration maxAge) {
+        if (!Files.isDirectory(root)) {
+            return 0;
+        }
+        final FileTime expiry = FileTime.from(Instant.now().minus(maxAge));
+        int removed = 0;
+        try (final DirectoryStream<Path> dirs = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (final Path dir : dirs) {
+                final boolean isTempDir = dir.getFileName().toString().equals(TEMP_DIR_NAME);
+                try (final DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+                    for (final Path file : files) {
+                        if (isTempDir) {
+                            // left over by an aborted transfer
+                            deleteIfExpired(file, expiry);
+                        } else if (getHashOf(file) != null && deleteIfExpired(file, expiry)) {
+                            removed++;
+                        }
+                    }
+                }
+                if (!isTempDir) {
+                    try {
+                        Files.deleteIfExists(dir);
+                    } catch (final DirectoryNotEmptyException ex) {
+                        // still contains blobs
+                    }
+                }
+            }
+        } catch (final IOException ex) {
+            log.warn("Could not prune the blob store " + root + ": " + ex.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Removed " + removed + " unused blobs from " + root + ".");
+        }
+        return removed;
+    }
+
+    private static boolean deleteIfExpired(final Path file, final FileTime expiry) {
+        try {
+            if (Files.getLastModifiedTime(file).compareTo(expiry) < 0) {
+                return Files.deleteIfExists(file);
+            }
+        } catch (final IOException ex) {
+            log.warn("Could not remove blob " + file + ": " + ex.getMessage());
+        }
+        return false;
+    }
+
+    private static void touch(final Path blob) {
+        try {
+            Files.setLastModifiedTime(blob, FileTime.from(Instant.now()));
+        } catch (final IOException ex) {
+            // the blob only gets pruned earlier
+            log.warn("Could not mark blob " + blob + " as used: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given file without loading it into memory.
+     *
+     * @param file The file to hash.
+     * @return The hash as lower case hex string.
+     * @throws IOException if the file could not be read.
+     */
+    public static String hash(@NonNull final Path file) throws IOException {
+        try (final InputStream in = Files.newInputStream(file)) {
+            return SilaBasicTypeUtils.sha256Hex(in);
+        }
+    }
+
+    /**
+     * Checks if the given string is a SHA-256 hash in the format used by the store.
+     *
+     * @param hash The string to check.
+     * @return <code>true</code> if the string is a lower case SHA-256 hex string, otherwise
+     * <code>false</code>.
+     */
+    public static boolean isHash(final String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    private static class BlobStoreHolder {
+
+        private static final BlobStore INSTANCE = new BlobStore(getDefaultRoot());
+
+        private static Path getDefaultRoot() {
+            final String storeDir = System.getProperty(STORE_DIR_PROPERTY);
+            if (storeDir != null) {
+                return Paths.get(storeDir);
+            }
+            return Paths.get(System.getProperty("user.home"), ".sila", "blobs");
+        }
+    }
+}
@@ -24,10 +24,16 @@ public class CommandlineArguments {
     protected static final String ADD_SERVER_LONG_FLAG = "--add-server";
     protected static final char LIST_SERVER_SHORT_FLAG = 'l';
     protected static final String LIST_SERVER_LONG_FLAG = "--list-server";
+    protected static final char PROBE_SERVER_SHORT_FLAG = 'p';
+    protected static final String PROBE_SERVER_LONG_FLAG = "--probe-server";
     protected static final char CHECK_TASKS_SHORT_FLAG = 'c';
     protected static final String CHECK_TASKS_LONG_FLAG = "--check-tasks";
     protected static final char EXECUTE_SHORT_FLAG = 'x';
     protected static final String EXECUTE_LONG_FLAG = "--execute";
+    protected static final String METRICS_FILE_LONG_FLAG = "--metrics-file";
+    protected static final String METRICS_PORT_LONG_FLAG = "--metrics-port";
+    protected static final String TRACE_FILE_LONG_FLAG = "--trace-file";
+    protected static final String JOURNAL_FILE_LONG_FLAG = "--journal-file";
 
     protected static final String USAGE_INFO_MSG = "Usage: java -jar sila-orchestrator.jar [args]"
             + "\n -" + HELP_SHORT_FLAG + ", " + HELP_LONG_FLAG
@@ -41,24 +47,46 @@ public class CommandlineArguments {
             + "\n\t Examples: 'localhost:8080', '127.0.0.1:50052', '[2001:db8::8a2e:370:7334:1234]:50053'."
             + "\n -" + LIST_SERVER_SHORT_FLAG + ", " + LIST_SERVER_LONG_FLAG
             + "\n\t Lists all available servers which can be discoverd by an network scan."
+            + "\n -" + PROBE_SERVER_SHORT_FLAG + ", " + PROBE_SERVER_LONG_FLAG
+            + "\n\t Probes all available servers and prints their response times and error rates."
             + "\n -" + CHECK_TASKS_SHORT_FLAG + " <silo-file>, " + CHECK_TASKS_LONG_FLAG + " <silo-file>"
-            + "\n\t Checks all tasks in the given *.silo-file if they are ready for execution."
+            + "\n\t Checks all tasks in the given *.silo-file if they are ready for execution and validates"
+            + "\n\t the command parameters against the constraints of the features."
             + "\n -" + EXECUTE_SHORT_FLAG + " <silo-file>, " + EXECUTE_LONG_FLAG + " <silo-file>"
-            + "\n\t Loads and executes the provided *.silo-file.";
+            + "\n\t Loads and executes the provided *.silo-file."
+            + "\n " + METRICS_FILE_LONG_FLAG + " <file>"
+            + "\n\t Writes the collected metrics in the OpenMetrics format to the given file after all"
+            + "\n\t other actions (e.g. the execution of a *.silo-file) are done."
+            + "\n " + METRICS_PORT_LONG_FLAG + " <port>"
+            + "\n\t Serves the metrics on http://localhost:<port>/metrics while the other actions are running."
+            + "\n " + TRACE_FILE_LONG_FLAG + " <file>"
+            + "\n\t Traces the phases of all executed tasks and writes them in the Chrome trace format"
+            + "\n\t to the given file (e.g. to be loaded into chrome://tracing or ui.perfetto.dev)."
+            + "\n " + JOURNAL_FILE_LONG_FLAG + " <file>"
+            + "\n\t Appends one JSON line per run and task event of the executed queue to the given file.";
 
     protected static final String ERROR_HOST_PORT_ARG_MSG = "Host address and port option is missing.";
     protected static final String ERROR_HOST_PORT_INVALID_MSG = "Host address and port string is invalid. "
             + "Option must be in the form [host]:[port] e.g. '127.0.0.1:50052'.";
     protected static final String ERROR_SILO_FILE_ARG_MSG = "Path to *.silo-file is missing.";
+    protected static final String ERROR_METRICS_FILE_ARG_MSG = "Path to the metrics file is missing.";
+    protected static final String ERROR_METRICS_PORT_ARG_MSG = "Metrics port is missing or invalid.";
+    protected static final String ERROR_TRACE_FILE_ARG_MSG = "Path to the trace file is missing.";
+    protected static final String ERROR_JOURNAL_FILE_ARG_MSG = "Path to the journal file is missing.";
     protected static final String ERROR_UNKONWN_ARG_MSG = "Unknown argument";
 
     public boolean isHelpToPrint = false;
     public boolean isVersionToPrint = false;
     public boolean isAboutInfoToPrint = false;
     public boolean isServerListToPrint = false;
+    public boolean isServerHealthToPrint = false;
     public ArrayList<String> serverToAdd = new ArrayList<>();
     public String siloFilePathForExec = null;
     public String siloFilePathForCheck = null;
+    public String metricsFilePath = null;
+    public int metricsPort = -1;
+    public String traceFilePath = null;
+    public String journalFilePath = null;
 
     public CommandlineArguments() {
     }
@@ -94,6 +122,22 @@ public boolean isSiloFileToExecute() {
         return (siloFilePathForExec != null);
     }
 
+    public boolean isMetricsFileToWrite() {
+        return (metricsFilePath != null);
+    }
+
+    public boolean isMetricsEndpointToStart() {
+        return (metricsPort >= 0);
+    }
+
+    public boolean isTraceFileToWrite() {
+        return (traceFilePath != null);
+    }
+
+    public boolean isJournalFileToWrite() {
+        return (journalFilePath != null);
+    }
+
     /**
      * Parses and evaluates one single long flag argument.
      *
@@ -123,6 +167,8 @@ private int parseLongArg(int pos, final String[] args) throws IllegalArgumentExc
             }
         } else if (arg.equalsIgnoreCase(LIST_SERVER_LONG_FLAG)) {
             isServerListToPrint = true;
+        } else if (arg.equalsIgnoreCase(PROBE_SERVER_LONG_FLAG)) {
+            isServerHealthToPrint = true;
         } else if (arg.equalsIgnoreCase(CHECK_TASKS_LONG_FLAG)) {
             if (pos + 1 < args.length) {
                 final String siloFile = args[pos + 1];
@@ -139,6 +185,34 @@ private int parseLongArg(int pos, final String[] args) throws IllegalArgumentExc
             } else {
                 throw new IllegalArgumentException(ERROR_SILO_FILE_ARG_MSG);
             }
+        } else if (arg.equalsIgnoreCase(METRICS_FILE_LONG_FLAG)) {
+            if (pos + 1 < args.length) {
+                metricsFilePath = args[pos + 1];
+                return pos + 2;
+            } else {
+                throw new IllegalArgumentException(ERROR_METRICS_FILE_ARG_MSG);
+            }
+        } else if (arg.equalsIgnoreCase(METRICS_PORT_LONG_FLAG)) {
+            if (pos + 1 < args.length && isPortStrValid(args[pos + 1])) {
+                metricsPort = Integer.parseInt(args[pos + 1]);
+                return pos + 2;
+            } else {
+                throw new IllegalArgumentException(ERROR_METRICS_PORT_ARG_MSG);
+            }
+        } else if (arg.equalsIgnoreCase(TRACE_FILE_LONG_FLAG)) {
+            if (pos + 1 < args.length) {
+                traceFilePath = args[pos + 1];
+                return pos + 2;
+            } else {
+                throw new IllegalArgumentException(ERROR_TRACE_FILE_ARG_MSG);
+            }
+        } else if (arg.equalsIgnoreCase(JOURNAL_FILE_LONG_FLAG)) {
+            if (pos + 1 < args.length) {
+                journalFilePath = args[pos + 1];
+                return pos + 2;
+            } else {
+                throw new IllegalArgumentException(ERROR_JOURNAL_FILE_ARG_MSG);
+            }
         } else {
             throw new IllegalArgumentException(ERROR_UNKONWN_ARG_MSG + " '" + arg + "'.");
         }
@@ -202,6 +276,9 @@ private int parseShortArg(int pos, final String[] args) {
                         case LIST_SERVER_SHORT_FLAG:
                             isServerListToPrint = true;
                             break;
+                        case PROBE_SERVER_SHORT_FLAG:
+                            isServerHealthToPrint = true;
+                            break;
                         default:
                             throw new IllegalArgumentException(ERROR_UNKONWN_ARG_MSG + " '" + arg + "'.");
                     }
@@ -225,4 +302,18 @@ private int parseShortArg(int pos, final String[] args) {
     static protected boolean isHostAndPortStrValid(final String hostPort) {
         return hostPort.matches("\\S+\\:\\d{4,5}");
     }
+
+    /**
+     * Checks if the given string is a valid TCP port in the range of [1, 65535].
+     *
+     * @param port The port string.
+     * @return true if valid, otherwise false.
+     */
+    static protected boolean isPortStrValid(final String port) {
+        if (!port.matches("\\d{1,5}")) {
+            return false;
+        }
+        final int value = Integer.parseInt(port);
+        return value > 0 && value <= 65535;
+    }
 }
@@ -3,13 +3,25 @@
 import com.google.common.net.HostAndPort;
 import static de.fau.clients.orchestrator.OrchestratorGui.COPYRIGHT_NOTICE;
 import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.ctx.HealthProber;
+import de.fau.clients.orchestrator.ctx.ServerContext;
+import de.fau.clients.orchestrator.ctx.ServerHealth;
+import de.fau.clients.orchestrator.journal.RunJournal;
+import de.fau.clients.orchestrator.metrics.MetricsHttpServer;
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
 import de.fau.clients.orchestrator.queue.TaskQueueData;
 import de.fau.clients.orchestrator.queue.TaskQueueTable;
+import de.fau.clients.orchestrator.queue.TaskQueueValidator;
+import de.fau.clients.orchestrator.queue.TaskViolation;
 import de.fau.clients.orchestrator.tasks.ConnectionStatus;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
 import de.fau.clients.orchestrator.tasks.QueueTask;
 import de.fau.clients.orchestrator.tasks.TaskState;
+import de.fau.clients.orchestrator.tracing.Span;
+import de.fau.clients.orchestrator.tracing.Tracer;
 import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -26,6 +38,11 @@
  */
 public final class CommandlineControls {
 
+    /**
+     * Number of probes sent to every server when printing the server health.
+     */
+    private static final int PROBES_PER_SERVER = 5;
+
     private final Properties gitProps;
     private final ConnectionManager conManager;
 
@@ -44,7 +61,69 @@ public CommandlineControls(final Properties gitProps, final ConnectionManager co
      * @see CommandlineArguments
      */
     public int processArgs(@NonNull final CommandlineArguments args) {
+        MetricsHttpServer metricsServer = null;
+        if (args.isTraceFileToWrite()) {
+            Tracer.getInstance().enable(Tracer.DEFAULT_CAPACITY);
+        }
+        if (args.isJournalFileToWrite()) {
+            try {
+                RunJournal.getInstance().open(Paths.get(args.journalFilePath));
+            } catch (final IOException | InvalidPathException ex) {
+                System.err.println("Could not open journal file: " + ex.getMessage());
+                return -1;
+            }
+        }
+        if (args.isMetricsEndpointToStart()) {
+            try {
+                metricsServer = new MetricsHttpServer(OrchestratorMetrics.getRegistry(), args.metricsPort);
+            } catch (final IOException ex) {
+                System.err.println("Could not serve metrics on port " + args.metricsPort + ": " + ex.getMessage());
+                RunJournal.getInstance().close();
+                return -1;
+            }
+        }
 
+        int retVal;
+        try {
+            retVal = processActions(args);
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.close();
+            }
+            RunJournal.getInstance().close();
+        }
+
+        if (args.isMetricsFileToWrite()) {
+            try {
+                OrchestratorMetrics.getRegistry().writeToFile(Paths.get(args.metricsFilePath));
+            } catch (final IOException | InvalidPathException ex) {
+                System.err.println("Could not write metrics file: " + ex.getMessage());
+                if (retVal == 0) {
+                    retVal = -1;
+                }
+            }
+        }
+
+        if (args.isTraceFileToWrite()) {
+            try {
+                Tracer.getInstance().writeToFile(Paths.get(args.traceFilePath));
+            } catch (final IOException | InvalidPathException ex) {
+                System.err.println("Could not write trace file: " + ex.getMessage());
+                if (retVal == 0) {
+                    retVal = -1;
+                }
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * Invokes the actions of the given arguments in their fixed order.
+     *
+     * @param args The CommandlineArguments-object containing the CLI arguments.
+     * @return 0 on success, anything else on error.
+     */
+    private int processActions(final CommandlineArguments args) {
         if (args.isHelpToPrint) {
             System.out.println(CommandlineArguments.USAGE_INFO_MSG);
         }
@@ -74,6 +153,10 @@ public int processArgs(@NonNull final CommandlineArguments args) {
             scanNetworkAndListAvailableServer();
         }
 
+        if (args.isServerHealthToPrint) {
+            probeAndListServerHealth();
+        }
+
         if (args.isSiloFileToCheck()) {
             int retVal = checkSiloFile(args.siloFilePathForCheck);
             if (retVal == 0) {
@@ -124,10 +207,37 @@ private void scanNetworkAndListAvailableServer() {
     }
 
     /**
-     * Checks if all tasks within an *.silo-file are online and ready for execution.
+     * Does a network scan, probes every available server a few times and prints the measured
+     * response times and error rates.
+     */
+    private void probeAndListServerHealth() {
+        conManager.scanNetwork();
+        if (conManager.getServerCtxList().isEmpty()) {
+            System.out.println("\nNo server available.");
+            return;
+        }
+        for (final ServerContext serverCtx : conManager.getServerCtxList()) {
+            if (serverCtx.isOnline()) {
+                for (int i = 0; i < PROBES_PER_SERVER; i++) {
+                    HealthProber.probeServer(serverCtx);
+                }
+            }
+            final ServerHealth health = serverCtx.getHealth();
+            System.out.println("\n" + serverCtx.getServer().getConfiguration().getName()
+                    + "\n" + serverCtx.getServerUuid()
+                    + "\nStatus: " + (serverCtx.isOnline() ? "Online" : "Offline")
+                    + (health.isDegraded() ? " (degraded)" : "")
+                    + "\nHealth: " + health.getSummary());
+        }
+    }
+
+    /**
+     * Checks if all tasks within an *.silo-file are online and ready for execution. The parameters
+     * of all command tasks are validated against the feature definitions of their servers and
+     * every found violation is printed.
      *
      * @param siloFilePath The path to the *.silo-file to check.
-     * @return 0 on success, -1 on error or the number of the offline task.
+     * @return 0 on success, -1 on error or the number of the first task which is not ready.
      */
     private int checkSiloFile(final String siloFilePath) {
         final TaskQueueData tcd;
@@ -142,15 +252,36 @@ private int checkSiloFile(final String siloFilePath) {
         TaskQueueTable tqt = new TaskQueueTable();
         tcd.importToTaskQueue(tqt);
 
+        int firstFailedTask = 0;
         for (int i = 0; i < tqt.getRowCount(); i++) {
             final QueueTask task = tqt.getTaskFromRow(i);
             if (task.getConnectionStatus() == ConnectionStatus.OFFLINE) {
                 System.out.println("Task #" + (i + 1) + " '" + task.toString()
                         + "' is offline or not ready.");
-                return i + 1;
+                if (firstFailedTask == 0) {
+                    firstFailedTask = i + 1;
+                }
             }
         }
-        return 0;
+
+        final List<TaskViolation> violations;
+        try {
+            violations = TaskQueueValidator.validate(tqt, Runtime.getRuntime().availableProcessors());
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            System.err.println("Validation of the task parameters was interrupted.");
+            return -1;
+        }
+        for (final TaskViolation violation : violations) {
+            final int row = violation.getRow();
+            System.out.println("Task #" + (row + 1) + " (ID " + violation.getTaskId() + ") '"
+                    + tqt.getTaskFromRow(row).toString() + "' has an invalid parameter at "
+                    + violation.getPath() + ": " + violation.getMessage());
+            if (firstFailedTask == 0 || row + 1 < firstFailedTask) {
+                firstFailedTask = row + 1;
+            }
+        }
+        return firstFailedTask;
     }
 
     /**
@@ -172,9 +303,38 @@ private int executeSiloFile(final String siloFilePath) {
         TaskQueueTable tqt = new TaskQueueTable();
         tcd.importToTaskQueue(tqt);
 
+        final long runStartTime = System.nanoTime();
+        final RunJournal journal = RunJournal.getInstance();
+        final String runId = journal.runStarted(siloFilePath, tqt.getRowCount());
+        int retVal = -1;
+        try (final Span span = Tracer.getInstance().startSpan("queueRun", Tracer.CATEGORY_QUEUE)) {
+            span.setArg("file", siloFilePath);
+            retVal = runQueue(tqt, runId);
+            return retVal;
+        } finally {
+            final long runDuration = System.nanoTime() - runStartTime;
+            OrchestratorMetrics.QUEUE_RUN_DURATION.observeNanos(runDuration);
+            journal.runFinished(runId,
+                    (retVal == 0) ? RunJournal.OUTCOME_SUCCESS : RunJournal.OUTCOME_HALTED,
+                    runDuration);
+        }
+    }
+
+    /**
+     * Runs all tasks of the given queue in order and applies their execution policies.
+     *
+     * @param tqt The queue to run.
+     * @param runId The ID of the run used for the journal entries.
+     * @return 0 on success or the number of the failed task.
+     */
+    private int runQueue(final TaskQueueTable tqt, final String runId) {
+        final RunJournal journal = RunJournal.getInstance();
         for (int i = 0; i < tqt.getRowCount(); i++) {
             final QueueTask task = tqt.getTaskFromRow(i);
+            final int taskId = tqt.getTaskIdFromRow(i);
+            journal.taskStarted(runId, taskId, task);
             task.run();
+            journal.taskFinished(runId, taskId, task);
             if (task.getState() != TaskState.FINISHED_SUCCESS) {
                 // apply execution policy
                 if (tqt.getTaskPolicyFromRow(i) == ExecPolicy.HALT_AFTER_ERROR) {
@@ -7,6 +7,7 @@ public class CommandContext implements FullyQualifiedIdentifieable, Comparable<C
 
     private final FeatureContext featureCtx;
     private final Feature.Command command;
+    private final String fullyQualifiedIdentifier;
 
     protected CommandContext(
             @NonNull final FeatureContext featureCtx,
@@ -14,6 +15,8 @@ protected CommandContext(
     ) {
         this.featureCtx = featureCtx;
         this.command = command;
+        this.fullyQualifiedIdentifier = (featureCtx.getFullyQualifiedIdentifier()
+                + "/Command/" + command.getIdentifier()).intern();
     }
 
     public FeatureContext getFeatureCtx() {
@@ -30,7 +33,7 @@ public String getDisplayName() {
 
     @Override
     public String getFullyQualifiedIdentifier() {
-        return featureCtx.getFullyQualifiedIdentifier() + "/Command/" + command.getIdentifier();
+        return fullyQualifiedIdentifier;
     }
 
     @Override
@@ -0,0 +1,124 @@
+package de.fau.clients.orchestrator.ctx;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Event bus which collects the connection events of the <code>ConnectionManager</code> and
+ * forwards them to the registered <code>ConnectionListener</code> in the GUI thread. All events
+ * arriving within a short time window get coalesced, so a flapping server only causes one update
+ * of the listeners per window.
+ *
+ * @see ConnectionManager
+ * @see ConnectionListener
+ */
+@Slf4j
+final class ConnectionEventBus implements AutoCloseable {
+
+    /**
+     * Time window in milliseconds in which connection events get coalesced.
+     */
+    static final long COALESCE_WINDOW_IN_MS = 100;
+    private final List<ConnectionListener> connectionListenerList;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                final Thread thread = new Thread(runnable, "connection-event-bus");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private final Object lock = new Object();
+    private Set<ServerContext> pendingAddedSet = new LinkedHashSet<>();
+    private Set<ServerContext> pendingChangedSet = new LinkedHashSet<>();
+    private boolean isFlushScheduled = false;
+
+    /**
+     * Constructor.
+     *
+     * @param connectionListenerList The listeners to notify. Changes on the list are reflected.
+     */
+    ConnectionEventBus(@NonNull final List<ConnectionListener> connectionListenerList) {
+        this.connectionListenerList = connectionListenerList;
+    }
+
+    /**
+     * Queues the notification about an added server.
+     *
+     * @param serverCtx The context of the added server.
+     */
+    void postServerAdded(@NonNull final ServerContext serverCtx) {
+        synchronized (lock) {
+            pendingAddedSet.add(serverCtx);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Queues the notification about a changed server connection. Multiple changes of the same
+     * server within the coalescing window result in a single notification.
+     *
+     * @param serverCtx The context of the changed server.
+     */
+    void postServerChanged(@NonNull final ServerContext serverCtx) {
+        synchronized (lock) {
+            pendingChangedSet.add(serverCtx);
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Schedules the delivery of the pending events, if not already done. Must be called while
+     * holding the lock.
+     */
+    private void scheduleFlush() {
+        if (isFlushScheduled || scheduler.isShutdown()) {
+            return;
+        }
+        isFlushScheduled = true;
+        scheduler.schedule(this::flush, COALESCE_WINDOW_IN_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Takes all pending events and delivers them in the GUI thread.
+     */
+    private void flush() {
+        final Set<ServerContext> addedSet;
+        final Set<ServerContext> changedSet;
+        synchronized (lock) {
+            addedSet = pendingAddedSet;
+            changedSet = pendingChangedSet;
+            pendingAddedSet = new LinkedHashSet<>();
+            pendingChangedSet = new LinkedHashSet<>();
+            isFlushScheduled = false;
+        }
+
+        if (addedSet.isEmpty() && changedSet.isEmpty()) {
+            return;
+        }
+        final Set<ServerContext> unmodChangedSet = Collections.unmodifiableSet(changedSet);
+        SwingUtilities.invokeLater(() -> {
+            for (final ConnectionListener listener : connectionListenerList) {
+                try {
+                    addedSet.forEach(listener::onServerConnectionAdded);
+                    if (!unmodChangedSet.isEmpty()) {
+                        listener.onServerConnectionsChanged(unmodChangedSet);
+                    }
+                } catch (final Exception ex) {
+                    log.error("Connection listener failed: " + ex.getMessage());
+                }
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
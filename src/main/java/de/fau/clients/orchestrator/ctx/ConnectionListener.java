@@ -1,5 +1,7 @@
 package de.fau.clients.orchestrator.ctx;
 
+import java.util.Set;
+
 /**
  * Listener for connection states within a ServerContext. Contrary to the SiLA ServerListener
  * provided by the ServerManager, this listener is providing a ServerContext object for a better
@@ -23,4 +25,14 @@ public interface ConnectionListener {
      */
     void onServerConnectionChanged(final ServerContext serverCtx);
 
+    /**
+     * Method which gets invoked in the GUI thread with all server contexts whose connection state
+     * has changed within the last coalescing window. On default, the call gets forwarded to
+     * <code>onServerConnectionChanged</code> for each context.
+     *
+     * @param serverCtxSet The unmodifiable set of the affected server contexts.
+     */
+    default void onServerConnectionsChanged(final Set<ServerContext> serverCtxSet) {
+        serverCtxSet.forEach(this::onServerConnectionChanged);
+    }
 }
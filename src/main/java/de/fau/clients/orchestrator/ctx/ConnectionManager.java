@@ -1,12 +1,16 @@
 package de.fau.clients.orchestrator.ctx;
 
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 import sila_java.library.manager.server_management.ServerConnectionException;
 import sila_java.library.manager.ServerListener;
 import sila_java.library.manager.ServerManager;
@@ -15,15 +19,25 @@
 /**
  * Singleton to manage connections and server handling.
  */
+@Slf4j
 public class ConnectionManager implements AutoCloseable, ServerListener {
 
     private final ServerManager serverManager;
-    private final Map<UUID, ServerContext> serverMap = new HashMap<>();
+    private final Map<UUID, ServerContext> serverMap = new ConcurrentHashMap<>();
     private final List<ConnectionListener> connectionListenerList = new CopyOnWriteArrayList<>();
+    private final ConnectionEventBus eventBus = new ConnectionEventBus(connectionListenerList);
+    private final HealthProber healthProber;
+    /**
+     * Global index of the contexts of all connected servers by their Fully Qualified Identifier.
+     * Since the same feature can be provided by several servers, the contexts of one FQI are kept
+     * per server UUID.
+     */
+    private final Map<String, Map<UUID, FullyQualifiedIdentifieable>> fqiIndex = new ConcurrentHashMap<>();
 
     private ConnectionManager(@NonNull final ServerManager serverManager) {
         this.serverManager = serverManager;
         this.serverManager.addServerListener(this);
+        this.healthProber = new HealthProber(this, HealthProber.DEFAULT_MAX_PARALLEL_PROBES);
     }
 
     public static ConnectionManager getInstance() {
@@ -87,12 +101,40 @@ public UUID addServer(final String host, int port, String cert) throws Exception
     private void addServerToContext(final UUID serverUuid, final Server server) {
         final ServerContext serverCtx = new ServerContext(this, server);
         serverMap.put(serverUuid, serverCtx);
-        connectionListenerList.forEach(listener -> listener.onServerConnectionAdded(serverCtx));
+        indexServer(serverCtx);
+        eventBus.postServerAdded(serverCtx);
+    }
+
+    /**
+     * Adds the contexts of the given server to the global FQI index. Entries of a former context
+     * of the same server get replaced.
+     *
+     * @param serverCtx The server context to index.
+     */
+    private void indexServer(final ServerContext serverCtx) {
+        final UUID serverUuid = serverCtx.getServerUuid();
+        for (final FullyQualifiedIdentifieable ctx : serverCtx.getFqiCtxList()) {
+            fqiIndex.computeIfAbsent(ctx.getFullyQualifiedIdentifier(),
+                    fqi -> new ConcurrentHashMap<>()).put(serverUuid, ctx);
+        }
+    }
+
+    /**
+     * Removes all contexts of the given server from the global FQI index.
+     *
+     * @param serverUuid The UUID of the server.
+     */
+    private void unindexServer(final UUID serverUuid) {
+        fqiIndex.values().removeIf(ctxMap -> {
+            ctxMap.remove(serverUuid);
+            return ctxMap.isEmpty();
+        });
     }
 
     public void reconnectServer(@NonNull final UUID serverUuid) throws ServerConnectionException {
         final ServerContext serverCtx = serverMap.get(serverUuid);
         if (serverCtx != null) {
+            OrchestratorMetrics.RECONNECTS.labels(serverUuid.toString()).inc();
             final Server server = serverCtx.getServer();
             serverManager.addServer(
                     server.getHost(),
@@ -104,6 +146,7 @@ public void reconnectServer(@NonNull final UUID serverUuid) throws ServerConnect
     public void removeServer(@NonNull final UUID serverUuid) {
         final ServerContext serverCtx = serverMap.get(serverUuid);
         if (serverCtx != null) {
+            unindexServer(serverUuid);
             serverManager.removeServer(serverUuid);
         }
     }
@@ -112,10 +155,48 @@ public ServerContext getServerCtx(@NonNull final UUID serverUuid) {
         return serverMap.get(serverUuid);
     }
 
+    /**
+     * Gets the contexts of all connected servers which provide the element with the given Fully
+     * Qualified Identifier. This avoids walking through the server, feature and command maps.
+     *
+     * @param fullyQualifiedIdentifier The FQI of the feature, command, property or metadata.
+     * @return The matching contexts (may be empty).
+     */
+    public List<FullyQualifiedIdentifieable> getCtxListByFqi(
+            @NonNull final String fullyQualifiedIdentifier
+    ) {
+        final Map<UUID, FullyQualifiedIdentifieable> ctxMap = fqiIndex.get(fullyQualifiedIdentifier);
+        if (ctxMap == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(ctxMap.values());
+    }
+
+    /**
+     * Gets the context of the element with the given Fully Qualified Identifier provided by the
+     * given server.
+     *
+     * @param serverUuid The UUID of the server.
+     * @param fullyQualifiedIdentifier The FQI of the feature, command, property or metadata.
+     * @return The context or <code>null</code> if the server does not provide the element or is
+     * not connected.
+     */
+    public FullyQualifiedIdentifieable getCtxByFqi(
+            @NonNull final UUID serverUuid,
+            @NonNull final String fullyQualifiedIdentifier
+    ) {
+        final Map<UUID, FullyQualifiedIdentifieable> ctxMap = fqiIndex.get(fullyQualifiedIdentifier);
+        return (ctxMap != null) ? ctxMap.get(serverUuid) : null;
+    }
+
     public Collection<ServerContext> getServerCtxList() {
         return serverMap.values();
     }
 
+    public HealthProber getHealthProber() {
+        return healthProber;
+    }
+
     public ServerManager getServerManager() {
         return serverManager;
     }
@@ -130,6 +211,7 @@ public void setServerName(@NonNull final UUID serverUuid, @NonNull final String
 
     public void clear() {
         serverMap.clear();
+        fqiIndex.clear();
         serverManager.clear();
     }
 
@@ -141,6 +223,12 @@ public void removeServerListener(@NonNull final ServerListener siLAServerListene
         serverManager.removeServerListener(siLAServerListener);
     }
 
+    /**
+     * Registers a connection listener. The listener gets notified in the GUI thread, with changes
+     * coalesced over a short time window.
+     *
+     * @param conListener The listener to add.
+     */
     public void addConnectionListener(@NonNull final ConnectionListener conListener) {
         connectionListenerList.add(conListener);
     }
@@ -151,6 +239,8 @@ public void removeConnectionListener(@NonNull final ConnectionListener conListen
 
     @Override
     public void close() {
+        healthProber.close();
+        eventBus.close();
         serverManager.close();
     }
 
@@ -158,7 +248,7 @@ public void close() {
     public void onServerChange(UUID uuid, Server server) {
         final ServerContext serverCtx = serverMap.get(uuid);
         if (serverCtx != null) {
-            connectionListenerList.forEach(listener -> listener.onServerConnectionChanged(serverCtx));
+            eventBus.postServerChanged(serverCtx);
         }
     }
 
@@ -167,7 +257,8 @@ public void onServerAdded(UUID uuid, Server server) {
         final ServerContext serverCtx = serverMap.get(uuid);
         if (serverCtx != null) {
             serverCtx.getServer().setStatus(Server.Status.ONLINE);
-            connectionListenerList.forEach(listener -> listener.onServerConnectionChanged(serverCtx));
+            indexServer(serverCtx);
+            eventBus.postServerChanged(serverCtx);
         } else {
             addServerToContext(uuid, server);
         }
@@ -178,13 +269,13 @@ public void onServerRemoved(UUID uuid, Server server) {
         final ServerContext serverCtx = serverMap.get(uuid);
         if (serverCtx != null) {
             serverCtx.getServer().setStatus(Server.Status.OFFLINE);
-            connectionListenerList.forEach(listener -> listener.onServerConnectionChanged(serverCtx));
+            eventBus.postServerChanged(serverCtx);
         }
     }
 
     @Override
     public void onServerAdditionFail(String host, int port, String reason) {
-        // todo display error
+        log.warn("Adding server " + host + ":" + port + " failed: " + reason);
     }
 
     private static class ConnectionManagerHolder {
@@ -22,6 +22,7 @@ public class FeatureContext implements FullyQualifiedIdentifieable, Comparable<F
     private final ServerContext serverCtx;
     private final Feature feature;
     private final boolean isCoreFeature;
+    private final String fullyQualifiedIdentifier;
     private final Map<String, CommandContext> commandMap = new HashMap<>();
     private final Map<String, PropertyContext> propertyMap = new HashMap<>();
     private final Map<String, MetadataContext> metadataMap = new HashMap<>();
@@ -35,6 +36,13 @@ protected FeatureContext(
         this.serverCtx = serverCtx;
         this.feature = feature;
         this.isCoreFeature = isCoreFeature;
+        // The FQI has to be known before creating the member contexts, since they derive their own
+        // identifier from it.
+        final VersionNumber featVer = VersionNumber.parseVersionString(feature.getFeatureVersion());
+        this.fullyQualifiedIdentifier = (feature.getOriginator()
+                + "/" + feature.getCategory()
+                + "/" + feature.getIdentifier()
+                + "/v" + featVer.getMajorNumber()).intern();
 
         for (final Feature.Command cmd : feature.getCommand()) {
             commandMap.put(cmd.getIdentifier(), new CommandContext(this, cmd));
@@ -117,11 +125,7 @@ public Collection<MetadataContext> getMetadataCtxList() {
 
     @Override
     public String getFullyQualifiedIdentifier() {
-        final VersionNumber featVer = VersionNumber.parseVersionString(feature.getFeatureVersion());
-        return feature.getOriginator()
-                + "/" + feature.getCategory()
-                + "/" + feature.getIdentifier()
-                + "/v" + featVer.getMajorNumber();
+        return fullyQualifiedIdentifier;
     }
 
     /**
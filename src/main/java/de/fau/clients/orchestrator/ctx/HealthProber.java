@@ -0,0 +1,178 @@
+package de.fau.clients.orchestrator.ctx;
+
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import sila_java.library.manager.ServerManager;
+import sila_java.library.manager.executor.ExecutableServerCall;
+import sila_java.library.manager.models.SiLACall;
+
+/**
+ * Background prober which periodically issues a cheap call (reading the <code>ServerName</code>
+ * property of the mandatory <code>SiLAService</code> feature) to every online server and records
+ * the round-trip time and failures in the <code>ServerHealth</code> of the server context. The
+ * number of concurrently running probes is bounded by a fixed thread budget and a server is never
+ * probed twice at the same time.
+ *
+ * @see ServerHealth
+ * @see ServerContext#getHealth()
+ */
+@Slf4j
+public final class HealthProber implements AutoCloseable {
+
+    public static final String SILA_SERVICE_FQFI = "org.silastandard/core/SiLAService/v1";
+    public static final String SERVER_NAME_PROPERTY = "ServerName";
+    public static final int DEFAULT_PROBE_INTERVAL_IN_SEC = 10;
+    public static final int DEFAULT_MAX_PARALLEL_PROBES = 2;
+    private static final int MAX_PROBE_RESPONSE_TIME_IN_SEC = 3;
+    private final ConnectionManager conManager;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService probeExecutor;
+    private final Set<UUID> pendingProbes = ConcurrentHashMap.newKeySet();
+    private ScheduledFuture<?> probeRound = null;
+
+    /**
+     * Constructor.
+     *
+     * @param conManager The connection manager providing the servers to probe.
+     * @param maxParallelProbes The maximum number of probes running at the same time.
+     */
+    public HealthProber(@NonNull final ConnectionManager conManager, int maxParallelProbes) {
+        if (maxParallelProbes <= 0) {
+            throw new IllegalArgumentException("Number of parallel probes must be greater than zero.");
+        }
+        this.conManager = conManager;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "health-prober");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.probeExecutor = new ThreadPoolExecutor(
+                maxParallelProbes,
+                maxParallelProbes,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "health-probe");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ((ThreadPoolExecutor) this.probeExecutor).allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Starts the periodic probing of all online servers. Calling this function on an already
+     * running prober restarts it with the new interval.
+     *
+     * @param intervalInSec The time between two probe rounds in seconds.
+     */
+    public synchronized void start(long intervalInSec) {
+        stop();
+        probeRound = scheduler.scheduleWithFixedDelay(this::probeAllServers,
+                0,
+                intervalInSec,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops the periodic probing. Probes which are already running are not interrupted.
+     */
+    public synchronized void stop() {
+        if (probeRound != null) {
+            probeRound.cancel(false);
+            probeRound = null;
+        }
+    }
+
+    /**
+     * Queues a probe for every online server which has no pending probe.
+     */
+    private void probeAllServers() {
+        for (final ServerContext serverCtx : conManager.getServerCtxList()) {
+            if (!serverCtx.isOnline()) {
+                continue;
+            }
+            final UUID serverUuid = serverCtx.getServerUuid();
+            if (!pendingProbes.add(serverUuid)) {
+                // the last probe of this server has not returned yet
+                continue;
+            }
+            try {
+                probeExecutor.execute(() -> {
+                    try {
+                        probeServer(serverCtx);
+                    } finally {
+                        pendingProbes.remove(serverUuid);
+                    }
+                });
+            } catch (final Exception ex) {
+                pendingProbes.remove(serverUuid);
+                log.warn("Could not queue health probe: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Probes the given server once by reading its <code>ServerName</code> property and records the
+     * result in the health statistic of the server. This function blocks until the server
+     * responded or the probe timed out.
+     *
+     * @param serverCtx The context of the server to probe.
+     * @return <code>true</code> if the probe was successful, otherwise <code>false</code>.
+     */
+    public static boolean probeServer(@NonNull final ServerContext serverCtx) {
+        final ServerHealth health = serverCtx.getHealth();
+        final SiLACall.Builder callBuilder = new SiLACall.Builder(
+                serverCtx.getServerUuid(),
+                SILA_SERVICE_FQFI,
+                SERVER_NAME_PROPERTY,
+                SiLACall.Type.UNOBSERVABLE_PROPERTY
+        );
+
+        final long startTime = System.nanoTime();
+        Future<String> futureCallResult = null;
+        try {
+            final ExecutableServerCall executableServerCall = ExecutableServerCall.newBuilder(callBuilder.build()).build();
+            futureCallResult = ServerManager.getInstance().getServerCallManager().runAsync(executableServerCall);
+            futureCallResult.get(MAX_PROBE_RESPONSE_TIME_IN_SEC, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            futureCallResult.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final TimeoutException ex) {
+            // do not let the calls to a hung server pile up
+            futureCallResult.cancel(true);
+            log.debug("Health probe of server " + serverCtx.getServerUuid() + " timed out.");
+            health.recordFailure();
+            return false;
+        } catch (final Exception ex) {
+            log.debug("Health probe of server " + serverCtx.getServerUuid() + " failed: " + ex.getMessage());
+            health.recordFailure();
+            return false;
+        }
+        final long elapsedNanos = System.nanoTime() - startTime;
+        OrchestratorMetrics.SERVER_CALL_DURATION.labels(serverCtx.getServerUuid().toString(), OrchestratorMetrics.CALL_PROBE)
+                .observeNanos(elapsedNanos);
+        health.recordSuccess(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        return true;
+    }
+
+    @Override
+    public void close() {
+        stop();
+        scheduler.shutdownNow();
+        probeExecutor.shutdownNow();
+    }
+}
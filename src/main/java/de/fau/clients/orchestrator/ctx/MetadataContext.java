@@ -7,6 +7,7 @@ public class MetadataContext implements FullyQualifiedIdentifieable {
 
     private final FeatureContext featureCtx;
     private final Feature.Metadata metadata;
+    private final String fullyQualifiedIdentifier;
 
     protected MetadataContext(
             @NonNull final FeatureContext featureCtx,
@@ -14,6 +15,8 @@ protected MetadataContext(
     ) {
         this.featureCtx = featureCtx;
         this.metadata = metadata;
+        this.fullyQualifiedIdentifier = (featureCtx.getFullyQualifiedIdentifier()
+                + "/Metadata/" + metadata.getIdentifier()).intern();
     }
 
     public FeatureContext getFeatureCtx() {
@@ -26,6 +29,6 @@ public Feature.Metadata getMetadata() {
 
     @Override
     public String getFullyQualifiedIdentifier() {
-        return featureCtx.getFullyQualifiedIdentifier() + "/Metadata/" + metadata.getIdentifier();
+        return fullyQualifiedIdentifier;
     }
 }
@@ -7,6 +7,7 @@ public class PropertyContext implements FullyQualifiedIdentifieable, Comparable<
 
     private final FeatureContext featureCtx;
     private final Feature.Property property;
+    private final String fullyQualifiedIdentifier;
 
     protected PropertyContext(
             @NonNull final FeatureContext featureCtx,
@@ -14,6 +15,8 @@ protected PropertyContext(
     ) {
         this.featureCtx = featureCtx;
         this.property = property;
+        this.fullyQualifiedIdentifier = (featureCtx.getFullyQualifiedIdentifier()
+                + "/Property/" + property.getIdentifier()).intern();
     }
 
     public FeatureContext getFeatureCtx() {
@@ -24,13 +27,17 @@ public Feature.Property getProperty() {
         return property;
     }
 
+    public boolean isObservable() {
+        return property.getObservable().equalsIgnoreCase("yes");
+    }
+
     public String getDisplayName() {
         return property.getDisplayName();
     }
 
     @Override
     public String getFullyQualifiedIdentifier() {
-        return featureCtx.getFullyQualifiedIdentifier() + "/Property/" + property.getIdentifier();
+        return fullyQualifiedIdentifier;
     }
 
     @Override
@@ -0,0 +1,293 @@
+package de.fau.clients.orchestrator.ctx;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Singleton which periodically polls the values of unobservable SiLA Properties. All requests for
+ * the same (server, property) get coalesced into one poll entry which uses the shortest requested
+ * interval. Due entries are batched per server and each server has at most one batch in flight
+ * with a limited number of parallel requests, which keeps the load on the instruments predictable.
+ * When a value does not change, the poll interval of the entry is stretched up to a maximum factor
+ * and reset again as soon as the value changes.
+ *
+ * @see PropertyValueListener
+ */
+@Slf4j
+public final class PropertyPoller implements AutoCloseable {
+
+    public static final long DEFAULT_POLL_INTERVAL_IN_MS = 5000;
+    public static final long MIN_POLL_INTERVAL_IN_MS = 250;
+    /**
+     * Maximum factor by which the poll interval gets stretched on unchanged values.
+     */
+    public static final int MAX_INTERVAL_FACTOR = 8;
+    /**
+     * Maximum number of parallel requests per server.
+     */
+    public static final int MAX_REQUESTS_PER_SERVER = 2;
+    private static final long TICK_INTERVAL_IN_MS = 100;
+    private static final int MAX_SERVER_RESPONSE_TIME_IN_SEC = 3;
+    private final Map<String, PollEntry> entryMap = new HashMap<>();
+    private final Set<UUID> serversInFlight = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "property-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService batchExecutor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "property-poll-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PropertyPoller() {
+        ticker.scheduleWithFixedDelay(this::tick,
+                TICK_INTERVAL_IN_MS,
+                TICK_INTERVAL_IN_MS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static PropertyPoller getInstance() {
+        return PropertyPollerHolder.INSTANCE;
+    }
+
+    /**
+     * Computes the next poll interval of an entry.
+     *
+     * @param currentInterval The current poll interval.
+     * @param baseInterval The shortest requested poll interval.
+     * @param wasChanged Whether the value changed with the last poll.
+     * @return The next poll interval.
+     */
+    static long adaptInterval(long currentInterval, long baseInterval, boolean wasChanged) {
+        if (wasChanged) {
+            return baseInterval;
+        }
+        return Math.min(currentInterval * 2, baseInterval * MAX_INTERVAL_FACTOR);
+    }
+
+    /**
+     * Starts polling the given property for the given listener. If the property is already polled,
+     * the listener joins the existing entry and receives the last known value right away.
+     *
+     * @param propCtx The context of the property to poll.
+     * @param intervalInMs The requested poll interval in milliseconds.
+     * @param listener The listener to notify in the GUI thread.
+     */
+    public synchronized void watch(
+            @NonNull final PropertyContext propCtx,
+            long intervalInMs,
+            @NonNull final PropertyValueListener listener
+    ) {
+        final String key = createKey(propCtx);
+        PollEntry entry = entryMap.get(key);
+        if (entry == null) {
+            entry = new PollEntry(propCtx);
+            entryMap.put(key, entry);
+        } else if (entry.lastValue != null) {
+            final String lastValue = entry.lastValue;
+            SwingUtilities.invokeLater(() -> listener.onPropertyValue(propCtx, lastValue));
+        }
+        entry.listenerIntervals.put(listener, Math.max(MIN_POLL_INTERVAL_IN_MS, intervalInMs));
+        entry.updateBaseInterval();
+    }
+
+    /**
+     * Stops polling the given property for the given listener. The poll entry gets removed when no
+     * listener is left.
+     *
+     * @param propCtx The context of the polled property.
+     * @param listener The listener to remove.
+     */
+    public synchronized void unwatch(
+            @NonNull final PropertyContext propCtx,
+            @NonNull final PropertyValueListener listener
+    ) {
+        final String key = createKey(propCtx);
+        final PollEntry entry = entryMap.get(key);
+        if (entry == null) {
+            return;
+        }
+        entry.listenerIntervals.remove(listener);
+        if (entry.listenerIntervals.isEmpty()) {
+            entryMap.remove(key);
+        } else {
+            entry.updateBaseInterval();
+        }
+    }
+
+    /**
+     * Gets the number of currently polled properties.
+     *
+     * @return The number of poll entries.
+     */
+    public synchronized int getEntryCount() {
+        return entryMap.size();
+    }
+
+    /**
+     * Collects all due entries, groups them by server and starts one batch per server which has
+     * no batch in flight.
+     */
+    private void tick() {
+        final long now = System.currentTimeMillis();
+        final Map<UUID, List<PollEntry>> dueEntries = new HashMap<>();
+        synchronized (this) {
+            for (final PollEntry entry : entryMap.values()) {
+                if (entry.nextPollTime <= now) {
+                    final UUID serverUuid = entry.propCtx.getFeatureCtx().getServerUuid();
+                    dueEntries.computeIfAbsent(serverUuid, uuid -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+
+        dueEntries.forEach((serverUuid, entries) -> {
+            if (!serversInFlight.add(serverUuid)) {
+                // the last batch of this server is still running
+                return;
+            }
+            try {
+                batchExecutor.execute(() -> {
+                    try {
+                        runBatch(entries);
+                    } finally {
+                        serversInFlight.remove(serverUuid);
+                    }
+                });
+            } catch (final Exception ex) {
+                serversInFlight.remove(serverUuid);
+                log.warn("Could not start poll batch: " + ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Polls the given entries of one server with at most <code>MAX_REQUESTS_PER_SERVER</code>
+     * requests at the same time.
+     *
+     * @param entries The due entries of one server.
+     */
+    private void runBatch(final List<PollEntry> entries) {
+        for (int i = 0; i < entries.size(); i += MAX_REQUESTS_PER_SERVER) {
+            final List<PollEntry> chunk = entries.subList(i, Math.min(i + MAX_REQUESTS_PER_SERVER, entries.size()));
+            final List<Future<String>> futures = new ArrayList<>(chunk.size());
+            for (final PollEntry entry : chunk) {
+                if (entry.propCtx.getFeatureCtx().getServerCtx().isOnline()) {
+                    futures.add(PropertyReader.readAsync(entry.propCtx));
+                } else {
+                    futures.add(null);
+                }
+            }
+
+            for (int j = 0; j < chunk.size(); j++) {
+                final PollEntry entry = chunk.get(j);
+                final Future<String> future = futures.get(j);
+                if (future == null) {
+                    processResult(entry, null, "Server is offline.");
+                    continue;
+                }
+                try {
+                    processResult(entry, future.get(MAX_SERVER_RESPONSE_TIME_IN_SEC, TimeUnit.SECONDS), null);
+                } catch (final InterruptedException ex) {
+                    future.cancel(true);
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (final Exception ex) {
+                    future.cancel(true);
+                    processResult(entry, null, PropertyReader.formatErrorMsg(ex, MAX_SERVER_RESPONSE_TIME_IN_SEC));
+                }
+            }
+        }
+    }
+
+    private void processResult(final PollEntry entry, final String value, final String errorMsg) {
+        final boolean wasChanged;
+        synchronized (this) {
+            if (errorMsg != null) {
+                wasChanged = (entry.lastValue != null || !errorMsg.equals(entry.lastErrorMsg));
+                entry.lastValue = null;
+                entry.lastErrorMsg = errorMsg;
+            } else {
+                wasChanged = !value.equals(entry.lastValue);
+                entry.lastValue = value;
+                entry.lastErrorMsg = null;
+            }
+            entry.currentInterval = adaptInterval(entry.currentInterval, entry.baseInterval, wasChanged);
+            entry.nextPollTime = System.currentTimeMillis() + entry.currentInterval;
+        }
+
+        if (!wasChanged) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (final PropertyValueListener listener : entry.listenerIntervals.keySet()) {
+                if (errorMsg == null) {
+                    listener.onPropertyValue(entry.propCtx, value);
+                } else {
+                    listener.onPropertyError(entry.propCtx, errorMsg);
+                }
+            }
+        });
+    }
+
+    private static String createKey(final PropertyContext propCtx) {
+        return propCtx.getFeatureCtx().getServerUuid() + "/" + propCtx.getFullyQualifiedIdentifier();
+    }
+
+    @Override
+    public synchronized void close() {
+        entryMap.clear();
+        ticker.shutdownNow();
+        batchExecutor.shutdownNow();
+    }
+
+    /**
+     * The coalesced poll state of one (server, property).
+     */
+    private static final class PollEntry {
+
+        private final PropertyContext propCtx;
+        private final Map<PropertyValueListener, Long> listenerIntervals = new ConcurrentHashMap<>();
+        private long baseInterval = DEFAULT_POLL_INTERVAL_IN_MS;
+        private long currentInterval = DEFAULT_POLL_INTERVAL_IN_MS;
+        private long nextPollTime = 0;
+        private String lastValue = null;
+        private String lastErrorMsg = null;
+
+        private PollEntry(final PropertyContext propCtx) {
+            this.propCtx = propCtx;
+        }
+
+        /**
+         * Sets the base interval to the shortest requested interval and polls faster if needed.
+         */
+        private void updateBaseInterval() {
+            baseInterval = listenerIntervals.values().stream()
+                    .mapToLong(Long::longValue)
+                    .min()
+                    .orElse(DEFAULT_POLL_INTERVAL_IN_MS);
+            if (currentInterval > baseInterval * MAX_INTERVAL_FACTOR || currentInterval < baseInterval) {
+                currentInterval = baseInterval;
+            }
+        }
+    }
+
+    private static class PropertyPollerHolder {
+
+        private static final PropertyPoller INSTANCE = new PropertyPoller();
+    }
+}
@@ -0,0 +1,120 @@
+package de.fau.clients.orchestrator.ctx;
+
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.NonNull;
+import sila_java.library.core.sila.errors.SiLAErrorException;
+import sila_java.library.manager.ServerManager;
+import sila_java.library.manager.executor.CallListener;
+import sila_java.library.manager.executor.ExecutableServerCall;
+import sila_java.library.manager.models.SiLACall;
+
+/**
+ * Utility class to read the value of a SiLA Property from its server or to subscribe to it.
+ */
+public final class PropertyReader {
+
+    private PropertyReader() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Reads the current value of the given property. Observable properties are read by
+     * subscribing and taking the next value of the subscription. This function blocks until the
+     * server responded or the timeout elapsed.
+     *
+     * @param propCtx The context of the property to read.
+     * @param timeout The maximum time to wait for the response.
+     * @param unit The time unit of the timeout.
+     * @return The JSON response string of the server.
+     * @throws TimeoutException if the server did not respond in time.
+     * @throws ExecutionException if the call failed (e.g. on a SiLA error).
+     * @throws InterruptedException if the waiting thread was interrupted.
+     */
+    public static String read(
+            @NonNull final PropertyContext propCtx,
+            long timeout,
+            @NonNull final TimeUnit unit
+    ) throws TimeoutException, ExecutionException, InterruptedException {
+        final String serverLabel = propCtx.getFeatureCtx().getServerUuid().toString();
+        final long startTime = System.nanoTime();
+        final Future<String> futureCallResult = readAsync(propCtx);
+        try {
+            final String response = futureCallResult.get(timeout, unit);
+            OrchestratorMetrics.JSON_BYTES_RECEIVED.labels(serverLabel).inc(OrchestratorMetrics.utf8Length(response));
+            return response;
+        } catch (final TimeoutException | InterruptedException ex) {
+            futureCallResult.cancel(true);
+            throw ex;
+        } finally {
+            OrchestratorMetrics.SERVER_CALL_DURATION.labels(serverLabel, OrchestratorMetrics.CALL_PROPERTY)
+                    .observeNanos(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Starts reading the current value of the given property without blocking.
+     *
+     * @param propCtx The context of the property to read.
+     * @return The future of the JSON response string.
+     * @see #read(PropertyContext, long, TimeUnit)
+     */
+    public static Future<String> readAsync(@NonNull final PropertyContext propCtx) {
+        final SiLACall.Type callType = propCtx.isObservable()
+                ? SiLACall.Type.OBSERVABLE_PROPERTY_READ
+                : SiLACall.Type.UNOBSERVABLE_PROPERTY;
+        return ServerManager.getInstance().getServerCallManager().runAsync(createCall(propCtx, callType));
+    }
+
+    /**
+     * Subscribes to the given observable property. Every value sent by the server is passed to
+     * <code>CallListener.onObservablePropertyUpdate</code> of the given listener. The returned
+     * future completes when the server closes the subscription and cancelling the future ends the
+     * subscription.
+     *
+     * @param propCtx The context of the observable property.
+     * @param listener The listener to receive the values.
+     * @return The future of the subscription call.
+     */
+    public static Future<String> subscribeAsync(
+            @NonNull final PropertyContext propCtx,
+            @NonNull final CallListener listener
+    ) {
+        final ExecutableServerCall executableServerCall = createCall(propCtx, SiLACall.Type.OBSERVABLE_PROPERTY);
+        return ServerManager.getInstance().getServerCallManager().runAsync(executableServerCall, listener);
+    }
+
+    private static ExecutableServerCall createCall(
+            final PropertyContext propCtx,
+            final SiLACall.Type callType
+    ) {
+        final FeatureContext featCtx = propCtx.getFeatureCtx();
+        final SiLACall.Builder callBuilder = new SiLACall.Builder(
+                featCtx.getServerUuid(),
+                featCtx.getFullyQualifiedIdentifier(),
+                propCtx.getProperty().getIdentifier(),
+                callType
+        );
+        return ExecutableServerCall.newBuilder(callBuilder.build()).build();
+    }
+
+    /**
+     * Creates a human readable error message from an exception thrown by <code>read</code>.
+     *
+     * @param ex The exception to format.
+     * @param timeoutInSec The timeout used for the call, to be shown on a timeout.
+     * @return The error message.
+     */
+    public static String formatErrorMsg(@NonNull final Exception ex, long timeoutInSec) {
+        if (ex instanceof TimeoutException) {
+            return "Timeout: Server did not responde within " + timeoutInSec + " sec.";
+        } else if (ex instanceof ExecutionException && ex.getCause() instanceof SiLAErrorException) {
+            return SilaBasicTypeUtils.formatSilaErrorToMsgString(((SiLAErrorException) ex.getCause()).getSiLAError());
+        }
+        return ex.getMessage();
+    }
+}
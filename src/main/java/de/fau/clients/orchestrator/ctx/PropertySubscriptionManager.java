@@ -0,0 +1,213 @@
+package de.fau.clients.orchestrator.ctx;
+
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import sila_java.library.manager.executor.CallListener;
+import sila_java.library.manager.models.SiLACall;
+
+/**
+ * Singleton which manages the subscriptions of observable SiLA Properties. There is only one
+ * subscription call per (server, property) which is shared among all listeners. Listeners only
+ * get notified when the value actually changed and the subscription is closed as soon as the last
+ * listener unsubscribed.
+ *
+ * @see PropertyValueListener
+ */
+@Slf4j
+public final class PropertySubscriptionManager implements AutoCloseable {
+
+    /**
+     * Minimum delay before a closed or failed subscription call gets reopened.
+     */
+    private static final long MIN_RESUBSCRIBE_DELAY_IN_MS = 500;
+    private static final long MAX_RESUBSCRIBE_DELAY_IN_MS = 30000;
+    private final Map<String, Subscription> subscriptionMap = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "property-subscription");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PropertySubscriptionManager() {
+    }
+
+    public static PropertySubscriptionManager getInstance() {
+        return PropertySubscriptionManagerHolder.INSTANCE;
+    }
+
+    /**
+     * Subscribes the given listener to the values of the given observable property. If the
+     * property is already subscribed, the listener joins the existing subscription and receives
+     * the last known value right away.
+     *
+     * @param propCtx The context of the observable property.
+     * @param listener The listener to notify.
+     */
+    public synchronized void subscribe(
+            @NonNull final PropertyContext propCtx,
+            @NonNull final PropertyValueListener listener
+    ) {
+        final String key = createKey(propCtx);
+        Subscription sub = subscriptionMap.get(key);
+        if (sub == null) {
+            sub = new Subscription(propCtx);
+            subscriptionMap.put(key, sub);
+            sub.listeners.add(listener);
+            final Subscription newSub = sub;
+            sub.future = executor.submit(() -> runSubscription(newSub));
+            log.info("Opened subscription of " + key);
+        } else if (!sub.listeners.contains(listener)) {
+            sub.listeners.add(listener);
+            final String lastValue = sub.lastValue;
+            if (lastValue != null) {
+                SwingUtilities.invokeLater(() -> listener.onPropertyValue(propCtx, lastValue));
+            }
+        }
+    }
+
+    /**
+     * Removes the given listener from the subscription of the given property. The subscription
+     * gets closed if no listener is left.
+     *
+     * @param propCtx The context of the observable property.
+     * @param listener The listener to remove.
+     */
+    public synchronized void unsubscribe(
+            @NonNull final PropertyContext propCtx,
+            @NonNull final PropertyValueListener listener
+    ) {
+        final String key = createKey(propCtx);
+        final Subscription sub = subscriptionMap.get(key);
+        if (sub == null) {
+            return;
+        }
+        sub.listeners.remove(listener);
+        if (sub.listeners.isEmpty()) {
+            subscriptionMap.remove(key);
+            sub.isActive = false;
+            if (sub.future != null) {
+                sub.future.cancel(true);
+            }
+            log.info("Closed subscription of " + key);
+        }
+    }
+
+    /**
+     * Gets the number of currently open subscriptions.
+     *
+     * @return The number of subscriptions.
+     */
+    public int getSubscriptionCount() {
+        return subscriptionMap.size();
+    }
+
+    /**
+     * The subscription loop. One <code>OBSERVABLE_PROPERTY</code> call is kept open as long as the
+     * subscription is active and every value pushed by the server is forwarded by the call
+     * listener. Only changed values are passed on to the listeners. If the server closes the
+     * stream or the call fails, the call gets reopened with a growing delay.
+     *
+     * @param sub The subscription to run.
+     */
+    private void runSubscription(final Subscription sub) {
+        final String serverLabel = sub.propCtx.getFeatureCtx().getServerUuid().toString();
+        final AtomicInteger errorCount = new AtomicInteger();
+        final CallListener callListener = new CallListener() {
+            @Override
+            public void onObservablePropertyUpdate(final SiLACall baseCall, final String value) {
+                errorCount.set(0);
+                OrchestratorMetrics.JSON_BYTES_RECEIVED.labels(serverLabel).inc(OrchestratorMetrics.utf8Length(value));
+                if (!value.equals(sub.lastValue)) {
+                    sub.lastValue = value;
+                    notifyListeners(sub, value, null);
+                }
+            }
+        };
+        while (sub.isActive && !Thread.currentThread().isInterrupted()) {
+            final Future<String> callFuture = PropertyReader.subscribeAsync(sub.propCtx, callListener);
+            try {
+                callFuture.get();
+                log.info("Server closed the subscription of " + createKey(sub.propCtx));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (final Exception ex) {
+                if (!sub.isActive) {
+                    break;
+                }
+                sub.lastValue = null;
+                notifyListeners(sub, null, PropertyReader.formatErrorMsg(ex, 0));
+            } finally {
+                callFuture.cancel(true);
+            }
+            try {
+                Thread.sleep(ReconnectSupervisor.computeBackoffDelay(errorCount.getAndIncrement(),
+                        MIN_RESUBSCRIBE_DELAY_IN_MS,
+                        MAX_RESUBSCRIBE_DELAY_IN_MS,
+                        ThreadLocalRandom.current().nextDouble()));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void notifyListeners(final Subscription sub, final String value, final String errorMsg) {
+        if (!sub.isActive) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (final PropertyValueListener listener : sub.listeners) {
+                if (errorMsg == null) {
+                    listener.onPropertyValue(sub.propCtx, value);
+                } else {
+                    listener.onPropertyError(sub.propCtx, errorMsg);
+                }
+            }
+        });
+    }
+
+    private static String createKey(final PropertyContext propCtx) {
+        return propCtx.getFeatureCtx().getServerUuid() + "/" + propCtx.getFullyQualifiedIdentifier();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (final Subscription sub : subscriptionMap.values()) {
+            sub.isActive = false;
+        }
+        subscriptionMap.clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * One shared subscription of an observable property.
+     */
+    private static final class Subscription {
+
+        private final PropertyContext propCtx;
+        private final List<PropertyValueListener> listeners = new CopyOnWriteArrayList<>();
+        private volatile boolean isActive = true;
+        private volatile String lastValue = null;
+        private Future<?> future = null;
+
+        private Subscription(final PropertyContext propCtx) {
+            this.propCtx = propCtx;
+        }
+    }
+
+    private static class PropertySubscriptionManagerHolder {
+
+        private static final PropertySubscriptionManager INSTANCE = new PropertySubscriptionManager();
+    }
+}
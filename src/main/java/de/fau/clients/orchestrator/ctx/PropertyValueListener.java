@@ -0,0 +1,26 @@
+package de.fau.clients.orchestrator.ctx;
+
+/**
+ * Listener for values of a SiLA Property which are delivered by the
+ * <code>PropertySubscriptionManager</code>. All methods are invoked in the GUI thread.
+ *
+ * @see PropertySubscriptionManager
+ */
+public interface PropertyValueListener {
+
+    /**
+     * Method which gets invoked when a new value of the property was received.
+     *
+     * @param propCtx The context of the property.
+     * @param jsonValue The JSON response string of the server.
+     */
+    void onPropertyValue(final PropertyContext propCtx, final String jsonValue);
+
+    /**
+     * Method which gets invoked when reading the property failed.
+     *
+     * @param propCtx The context of the property.
+     * @param errorMsg The error message.
+     */
+    void onPropertyError(final PropertyContext propCtx, final String errorMsg);
+}
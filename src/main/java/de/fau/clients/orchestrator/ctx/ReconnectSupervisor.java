@@ -0,0 +1,195 @@
+package de.fau.clients.orchestrator.ctx;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Supervisor which automatically tries to reconnect offline servers as long as they are referenced
+ * (e.g. by tasks in the queue). The attempts are retried with an exponential backoff and random
+ * jitter, and the number of concurrent attempts is capped. A successful reconnect is reported by
+ * the <code>ServerManager</code> and therefore reaches all <code>ConnectionListener</code> through
+ * the usual path of the <code>ConnectionManager</code>.
+ *
+ * The supervisor itself is a <code>ConnectionListener</code> and has to be registered at the
+ * <code>ConnectionManager</code>. The given predicate is only evaluated in the GUI thread.
+ *
+ * @see ConnectionManager#reconnectServer(UUID)
+ */
+@Slf4j
+public final class ReconnectSupervisor implements ConnectionListener, AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENT_ATTEMPTS = 2;
+    public static final long BASE_DELAY_IN_MS = 1000;
+    public static final long MAX_DELAY_IN_MS = 60000;
+    private final ConnectionManager conManager;
+    private final Predicate<UUID> isServerReferenced;
+    private final ScheduledExecutorService scheduler;
+    /**
+     * The scheduled reconnect attempts by server UUID.
+     */
+    private final Map<UUID, ScheduledFuture<?>> pendingAttempts = new ConcurrentHashMap<>();
+    /**
+     * Servers which were disconnected on purpose and shall not be reconnected automatically.
+     */
+    private final Set<UUID> excludedServers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param conManager The connection manager used to reconnect the servers.
+     * @param isServerReferenced Predicate to decide whether the server with the given UUID is still
+     * needed and shall be reconnected. It is checked again before every attempt.
+     * @param maxConcurrentAttempts The maximum number of reconnect attempts running at the same
+     * time.
+     */
+    public ReconnectSupervisor(
+            @NonNull final ConnectionManager conManager,
+            @NonNull final Predicate<UUID> isServerReferenced,
+            int maxConcurrentAttempts
+    ) {
+        if (maxConcurrentAttempts <= 0) {
+            throw new IllegalArgumentException("Number of concurrent attempts must be greater than zero.");
+        }
+        this.conManager = conManager;
+        this.isServerReferenced = isServerReferenced;
+        this.scheduler = Executors.newScheduledThreadPool(maxConcurrentAttempts, runnable -> {
+            final Thread thread = new Thread(runnable, "reconnect-supervisor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Computes the delay before the next reconnect attempt. The delay doubles with every attempt,
+     * is capped by the given maximum and is randomized to the range of [delay / 2, delay] to avoid
+     * all servers being retried at the same time.
+     *
+     * @param attempt The number of the upcoming attempt starting with 0.
+     * @param baseDelayInMs The delay of the first attempt.
+     * @param maxDelayInMs The maximum delay.
+     * @param random A random value in the range of [0, 1).
+     * @return The delay in milliseconds.
+     */
+    static long computeBackoffDelay(
+            int attempt,
+            long baseDelayInMs,
+            long maxDelayInMs,
+            double random
+    ) {
+        final int exp = Math.min(Math.max(attempt, 0), 30);
+        final long delay = Math.min(maxDelayInMs, baseDelayInMs << exp);
+        final long halfDelay = delay / 2;
+        return halfDelay + (long) (random * (delay - halfDelay));
+    }
+
+    /**
+     * Schedules a reconnect for every known server which is offline and still referenced. Has to
+     * be called in the GUI thread (e.g. after a queue was loaded).
+     */
+    public void superviseReferencedServers() {
+        for (final ServerContext serverCtx : conManager.getServerCtxList()) {
+            checkServer(serverCtx);
+        }
+    }
+
+    /**
+     * Excludes the given server from the automatic reconnect, e.g. when the user disconnected the
+     * server on purpose. Pending attempts get canceled.
+     *
+     * @param serverUuid The UUID of the server to exclude.
+     */
+    public void exclude(@NonNull final UUID serverUuid) {
+        excludedServers.add(serverUuid);
+        cancel(serverUuid);
+    }
+
+    /**
+     * Allows the automatic reconnect of a previously excluded server again.
+     *
+     * @param serverUuid The UUID of the server to include.
+     */
+    public void include(@NonNull final UUID serverUuid) {
+        excludedServers.remove(serverUuid);
+    }
+
+    private void checkServer(final ServerContext serverCtx) {
+        final UUID serverUuid = serverCtx.getServerUuid();
+        if (serverCtx.isOnline() || excludedServers.contains(serverUuid)
+                || !isServerReferenced.test(serverUuid)) {
+            cancel(serverUuid);
+            return;
+        }
+        if (!pendingAttempts.containsKey(serverUuid)) {
+            scheduleAttempt(serverUuid, 0);
+        }
+    }
+
+    private void scheduleAttempt(final UUID serverUuid, int attempt) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        final long delay = computeBackoffDelay(attempt,
+                BASE_DELAY_IN_MS,
+                MAX_DELAY_IN_MS,
+                ThreadLocalRandom.current().nextDouble());
+        log.info("Reconnect attempt " + (attempt + 1) + " for server " + serverUuid + " in " + delay + " ms");
+        pendingAttempts.put(serverUuid, scheduler.schedule(
+                () -> runAttempt(serverUuid, attempt),
+                delay,
+                TimeUnit.MILLISECONDS));
+    }
+
+    private void runAttempt(final UUID serverUuid, int attempt) {
+        final ServerContext serverCtx = conManager.getServerCtx(serverUuid);
+        if (serverCtx == null || serverCtx.isOnline() || excludedServers.contains(serverUuid)
+                || !isServerReferenced.test(serverUuid)) {
+            pendingAttempts.remove(serverUuid);
+            return;
+        }
+
+        try {
+            conManager.reconnectServer(serverUuid);
+        } catch (final Exception ex) {
+            log.debug("Reconnect of server " + serverUuid + " failed: " + ex.getMessage());
+        }
+
+        if (serverCtx.isOnline() || Thread.currentThread().isInterrupted()) {
+            pendingAttempts.remove(serverUuid);
+        } else {
+            scheduleAttempt(serverUuid, attempt + 1);
+        }
+    }
+
+    private void cancel(final UUID serverUuid) {
+        final ScheduledFuture<?> future = pendingAttempts.remove(serverUuid);
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    @Override
+    public void onServerConnectionAdded(final ServerContext serverCtx) {
+        checkServer(serverCtx);
+    }
+
+    @Override
+    public void onServerConnectionChanged(final ServerContext serverCtx) {
+        checkServer(serverCtx);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        pendingAttempts.clear();
+    }
+}
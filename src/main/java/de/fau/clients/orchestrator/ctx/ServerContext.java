@@ -1,5 +1,6 @@
 package de.fau.clients.orchestrator.ctx;
 
+import io.grpc.ManagedChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -11,6 +12,7 @@
 import lombok.extern.slf4j.Slf4j;
 import sila_java.library.core.models.Feature;
 import sila_java.library.manager.models.Server;
+import sila_java.library.manager.server_management.Connection;
 
 @Slf4j
 public class ServerContext {
@@ -20,6 +22,12 @@ public class ServerContext {
     private final ConnectionManager connectionManager;
     private final Server server;
     private final Map<String, FeatureContext> featureMap = new HashMap<>();
+    /**
+     * Flat index of all feature, command, property and metadata contexts of this server, accessible
+     * by their Fully Qualified Identifier.
+     */
+    private final Map<String, FullyQualifiedIdentifieable> fqiCtxMap = new HashMap<>();
+    private final ServerHealth health = new ServerHealth();
 
     public ServerContext(
             @NonNull final ConnectionManager connectionManager,
@@ -31,6 +39,16 @@ public ServerContext(
             final boolean isCore = feat.getCategory().startsWith(CATEGORY_CORE);
             final FeatureContext featCtx = new FeatureContext(this, feat, isCore);
             featureMap.put(featCtx.getFullyQualifiedIdentifier(), featCtx);
+            fqiCtxMap.put(featCtx.getFullyQualifiedIdentifier(), featCtx);
+            for (final CommandContext cmdCtx : featCtx.getCommandCtxList()) {
+                fqiCtxMap.put(cmdCtx.getFullyQualifiedIdentifier(), cmdCtx);
+            }
+            for (final PropertyContext propCtx : featCtx.getPropertyCtxList()) {
+                fqiCtxMap.put(propCtx.getFullyQualifiedIdentifier(), propCtx);
+            }
+            for (final MetadataContext metaCtx : featCtx.getMetadataCtxList()) {
+                fqiCtxMap.put(metaCtx.getFullyQualifiedIdentifier(), metaCtx);
+            }
         }
     }
 
@@ -42,10 +60,33 @@ public UUID getServerUuid() {
         return server.getConfiguration().getUuid();
     }
 
+    /**
+     * Gets the gRPC channel of the connection to this server, e.g. for the binary transfer which
+     * is not covered by the call manager.
+     *
+     * @return The channel or <code>null</code> if the server is not connected.
+     */
+    public ManagedChannel getChannel() {
+        final Connection connection = connectionManager.getServerManager()
+                .getConnections()
+                .get(getServerUuid());
+        return (connection != null) ? connection.getManagedChannel() : null;
+    }
+
     public boolean isOnline() {
         return (server.getStatus() == Server.Status.ONLINE);
     }
 
+    /**
+     * Gets the rolling health statistic (round-trip time and error rate) of this server, which is
+     * fed by the <code>HealthProber</code>.
+     *
+     * @return The health statistic of the server.
+     */
+    public ServerHealth getHealth() {
+        return health;
+    }
+
     public boolean isConnectionServerInitiated() {
         return (server.getConnectionType() == Server.ConnectionType.SERVER_INITIATED);
     }
@@ -54,6 +95,30 @@ public FeatureContext getFeatureCtx(@NonNull final String fullyQualifiedFeatureI
         return featureMap.get(fullyQualifiedFeatureIdentifier);
     }
 
+    /**
+     * Gets the context of a feature, command, property or metadata element of this server by its
+     * Fully Qualified Identifier. The lookup goes through the global FQI index of the
+     * <code>ConnectionManager</code>.
+     *
+     * @param fullyQualifiedIdentifier The FQI of the element to look up (e.g.
+     * <code>org.silastandard/core/SiLAService/v1/Property/ServerName</code>).
+     * @return The context or <code>null</code> if the server does not provide the element or is
+     * not connected.
+     * @see ConnectionManager#getCtxByFqi(UUID, String)
+     */
+    public FullyQualifiedIdentifieable getCtxByFqi(@NonNull final String fullyQualifiedIdentifier) {
+        return connectionManager.getCtxByFqi(getServerUuid(), fullyQualifiedIdentifier);
+    }
+
+    /**
+     * Gets all contexts of this server indexed by their Fully Qualified Identifier.
+     *
+     * @return All feature, command, property and metadata contexts of this server.
+     */
+    public Collection<FullyQualifiedIdentifieable> getFqiCtxList() {
+        return fqiCtxMap.values();
+    }
+
     public Collection<FeatureContext> getFeatureCtxList() {
         return featureMap.values();
     }
@@ -0,0 +1,183 @@
+package de.fau.clients.orchestrator.ctx;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+
+/**
+ * Rolling health statistic of a server connection. The statistic is fed by the
+ * <code>HealthProber</code> and keeps the round-trip times (RTT) and the failures of the last
+ * probes within a fixed sized window.
+ *
+ * @see HealthProber
+ */
+public final class ServerHealth {
+
+    /**
+     * The default number of probes kept in the rolling window.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64;
+    /**
+     * The upper bounds (inclusive) in milliseconds of the RTT histogram buckets. The last bucket of
+     * the histogram collects all values above the highest bound.
+     */
+    public static final long[] RTT_BUCKET_BOUNDS_IN_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+    /**
+     * The error rate above which a server is considered degraded.
+     */
+    public static final double DEGRADED_ERROR_RATE = 0.25;
+    /**
+     * Marker for a failed probe inside the RTT window.
+     */
+    private static final long FAILED_PROBE = -1;
+    private final long[] rttWindow;
+    private int nextIdx = 0;
+    private int sampleCount = 0;
+    private OffsetDateTime lastProbeTimeStamp = null;
+
+    /**
+     * Constructor using the default window size.
+     */
+    public ServerHealth() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param windowSize The number of probes to keep in the rolling window.
+     */
+    public ServerHealth(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than zero.");
+        }
+        this.rttWindow = new long[windowSize];
+    }
+
+    /**
+     * Records a successful probe.
+     *
+     * @param rttInMs The measured round-trip time in milliseconds.
+     */
+    public synchronized void recordSuccess(long rttInMs) {
+        record(Math.max(0, rttInMs));
+    }
+
+    /**
+     * Records a failed probe (e.g. on timeout or on an error response).
+     */
+    public synchronized void recordFailure() {
+        record(FAILED_PROBE);
+    }
+
+    private void record(long value) {
+        rttWindow[nextIdx] = value;
+        nextIdx = (nextIdx + 1) % rttWindow.length;
+        if (sampleCount < rttWindow.length) {
+            sampleCount++;
+        }
+        lastProbeTimeStamp = OffsetDateTime.now();
+    }
+
+    /**
+     * Gets the number of probes within the window.
+     *
+     * @return The number of probes.
+     */
+    public synchronized int getSampleCount() {
+        return sampleCount;
+    }
+
+    public synchronized OffsetDateTime getLastProbeTimeStamp() {
+        return lastProbeTimeStamp;
+    }
+
+    /**
+     * Gets the ratio of failed probes within the window.
+     *
+     * @return The error rate in the range of [0, 1] or 0 if no probes were recorded yet.
+     */
+    public synchronized double getErrorRate() {
+        if (sampleCount == 0) {
+            return 0.0;
+        }
+        int failures = 0;
+        for (int i = 0; i < sampleCount; i++) {
+            if (rttWindow[i] == FAILED_PROBE) {
+                failures++;
+            }
+        }
+        return (double) failures / sampleCount;
+    }
+
+    /**
+     * Gets the given percentile of the round-trip times of all successful probes within the
+     * window.
+     *
+     * @param percentile The percentile in the range of [0, 100] (e.g. <code>95</code> for the
+     * 95th percentile).
+     * @return The RTT in milliseconds or <code>-1</code> if no successful probe was recorded.
+     */
+    public synchronized long getRttPercentile(double percentile) {
+        final long[] rtts = getSuccessfulRtts();
+        if (rtts.length == 0) {
+            return -1;
+        }
+        Arrays.sort(rtts);
+        final double p = Math.min(100.0, Math.max(0.0, percentile));
+        // nearest-rank method
+        final int rank = (int) Math.ceil(p / 100.0 * rtts.length);
+        return rtts[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Gets the histogram of the round-trip times of all successful probes within the window. The
+     * bucket boundaries are defined by <code>RTT_BUCKET_BOUNDS_IN_MS</code>.
+     *
+     * @return The number of probes per bucket. The array has one element more than the bucket
+     * boundaries for the values above the highest bound.
+     */
+    public synchronized int[] getRttHistogram() {
+        final int[] histogram = new int[RTT_BUCKET_BOUNDS_IN_MS.length + 1];
+        for (final long rtt : getSuccessfulRtts()) {
+            int bucket = 0;
+            while (bucket < RTT_BUCKET_BOUNDS_IN_MS.length && rtt > RTT_BUCKET_BOUNDS_IN_MS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Checks whether the server is considered degraded, which is the case when the error rate
+     * within the window exceeds <code>DEGRADED_ERROR_RATE</code>.
+     *
+     * @return <code>true</code> if degraded, otherwise <code>false</code>.
+     */
+    public synchronized boolean isDegraded() {
+        return (getErrorRate() > DEGRADED_ERROR_RATE);
+    }
+
+    /**
+     * Gets a short, human readable summary of the health statistic.
+     *
+     * @return The summary string.
+     */
+    public synchronized String getSummary() {
+        if (sampleCount == 0) {
+            return "No probes yet";
+        }
+        final long p50 = getRttPercentile(50);
+        final long p95 = getRttPercentile(95);
+        return "RTT p50: " + ((p50 >= 0) ? p50 + " ms" : "-")
+                + ", p95: " + ((p95 >= 0) ? p95 + " ms" : "-")
+                + ", Errors: " + Math.round(getErrorRate() * 100) + " %"
+                + " (" + sampleCount + " probes)";
+    }
+
+    private long[] getSuccessfulRtts() {
+        return Arrays.stream(rttWindow, 0, sampleCount)
+                .filter(rtt -> rtt != FAILED_PROBE)
+                .toArray();
+    }
+}
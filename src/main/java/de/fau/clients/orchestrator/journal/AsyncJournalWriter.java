@@ -0,0 +1,152 @@
+package de.fau.clients.orchestrator.journal;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends lines to a file without blocking the calling threads. The lines are put into a bounded
+ * queue and written by a background thread, which drains the queue in batches and flushes the file
+ * once per batch. If the queue is full, further lines are dropped and counted instead of slowing
+ * down the producers.
+ */
+@Slf4j
+public final class AsyncJournalWriter implements AutoCloseable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    private static final long CLOSE_TIMEOUT_IN_SEC = 5;
+    private final BlockingQueue<String> lineQueue;
+    private final int batchSize;
+    private final BufferedWriter writer;
+    private final Thread writerThread;
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private volatile boolean isClosed = false;
+
+    /**
+     * Opens the given file for appending and starts the writer thread.
+     *
+     * @param path The path of the journal file. The file gets created if it does not exist.
+     * @param queueCapacity The maximum number of pending lines.
+     * @param batchSize The maximum number of lines written at once.
+     * @throws IOException if the file could not be opened.
+     */
+    public AsyncJournalWriter(@NonNull final Path path, int queueCapacity, int batchSize) throws IOException {
+        if (queueCapacity <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be greater than zero.");
+        }
+        this.lineQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.writerThread = new Thread(this::writeLoop, "journal-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a line for writing. Never blocks.
+     *
+     * @param line The line without the trailing line break.
+     * @return <code>true</code> if the line was queued, <code>false</code> if it was dropped
+     * because the queue is full or the writer is closed.
+     */
+    public boolean append(@NonNull final String line) {
+        if (isClosed || !lineQueue.offer(line)) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of lines dropped so far.
+     *
+     * @return The number of dropped lines.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Gets the number of lines written to the file so far.
+     *
+     * @return The number of written lines.
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    private void writeLoop() {
+        final List<String> batch = new ArrayList<>(batchSize);
+        try {
+            while (!isClosed || !lineQueue.isEmpty()) {
+                final String first = lineQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                lineQueue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } catch (final InterruptedException ex) {
+            // write what is left and quit
+            lineQueue.drainTo(batch);
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(final List<String> batch) {
+        try {
+            for (final String line : batch) {
+                writer.write(line);
+                writer.newLine();
+            }
+            writer.flush();
+            writtenCount.addAndGet(batch.size());
+        } catch (final IOException ex) {
+            droppedCount.addAndGet(batch.size());
+            log.warn("Could not write journal: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Stops accepting new lines, writes all pending lines and closes the file.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(CLOSE_TIMEOUT_IN_SEC));
+        } catch (final InterruptedException ex) {
+            writerThread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        try {
+            writer.close();
+        } catch (final IOException ex) {
+            log.warn("Could not close journal: " + ex.getMessage());
+        }
+        if (droppedCount.get() > 0) {
+            log.warn(droppedCount.get() + " journal entries were dropped.");
+        }
+    }
+}
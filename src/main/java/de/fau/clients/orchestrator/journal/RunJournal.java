@@ -0,0 +1,193 @@
+package de.fau.clients.orchestrator.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import de.fau.clients.orchestrator.tasks.CommandTask;
+import de.fau.clients.orchestrator.tasks.QueueTask;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Singleton writing a machine-readable journal of the queue runs. Each event (start and end of a
+ * run or task) is written as a single JSON object per line, so the journal can be processed with
+ * tools like <code>jq</code> or be ingested by a log collector. The journal is disabled by default
+ * and all events are dropped until <code>open</code> was called.
+ * <p>
+ * The lines are serialized in the calling thread, but written by an
+ * <code>AsyncJournalWriter</code>, so the task execution never waits for the file system.
+ * </p>
+ */
+@Slf4j
+public final class RunJournal {
+
+    public static final String EVENT_RUN_STARTED = "runStarted";
+    public static final String EVENT_RUN_FINISHED = "runFinished";
+    public static final String EVENT_TASK_STARTED = "taskStarted";
+    public static final String EVENT_TASK_FINISHED = "taskFinished";
+    public static final String OUTCOME_SUCCESS = "success";
+    public static final String OUTCOME_HALTED = "halted";
+    public static final String OUTCOME_ABORTED = "aborted";
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private volatile AsyncJournalWriter writer = null;
+
+    RunJournal() {
+    }
+
+    public static RunJournal getInstance() {
+        return RunJournalHolder.INSTANCE;
+    }
+
+    /**
+     * Opens the given journal file. New entries are appended to an already existing file. A
+     * previously opened journal gets closed.
+     *
+     * @param path The path of the journal file.
+     * @throws IOException if the file could not be opened.
+     */
+    public synchronized void open(@NonNull final Path path) throws IOException {
+        close();
+        writer = new AsyncJournalWriter(path,
+                AsyncJournalWriter.DEFAULT_QUEUE_CAPACITY,
+                AsyncJournalWriter.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Writes all pending entries and closes the journal file. Has no effect if the journal is not
+     * open.
+     */
+    public synchronized void close() {
+        final AsyncJournalWriter oldWriter = writer;
+        writer = null;
+        if (oldWriter != null) {
+            oldWriter.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Signals the start of a queue run.
+     *
+     * @param source The origin of the run (e.g. the path of the executed *.silo-file).
+     * @param taskCount The number of tasks in the queue.
+     * @return The unique ID of the new run, which has to be passed to all further events of this
+     * run.
+     */
+    public String runStarted(final String source, int taskCount) {
+        final String runId = UUID.randomUUID().toString();
+        if (isEnabled()) {
+            final ObjectNode entry = createEntry(EVENT_RUN_STARTED, runId);
+            entry.put("source", source);
+            entry.put("taskCount", taskCount);
+            append(entry);
+        }
+        return runId;
+    }
+
+    /**
+     * Signals the end of a queue run.
+     *
+     * @param runId The ID of the run.
+     * @param outcome The outcome of the run (e.g. <code>OUTCOME_SUCCESS</code>).
+     * @param durationNanos The duration of the run in nanoseconds.
+     */
+    public void runFinished(final String runId, final String outcome, long durationNanos) {
+        if (isEnabled()) {
+            final ObjectNode entry = createEntry(EVENT_RUN_FINISHED, runId);
+            entry.put("outcome", outcome);
+            entry.put("durationMs", durationNanos / 1_000_000L);
+            append(entry);
+        }
+    }
+
+    /**
+     * Signals the start of a task. Has to be called before the task is executed.
+     *
+     * @param runId The ID of the run.
+     * @param taskId The ID of the task in the queue.
+     * @param task The task to start.
+     */
+    public void taskStarted(final String runId, int taskId, @NonNull final QueueTask task) {
+        if (isEnabled()) {
+            final ObjectNode entry = createTaskEntry(EVENT_TASK_STARTED, runId, taskId, task);
+            append(entry);
+        }
+    }
+
+    /**
+     * Signals the end of a task. Has to be called after the task was executed.
+     *
+     * @param runId The ID of the run.
+     * @param taskId The ID of the task in the queue.
+     * @param task The executed task.
+     */
+    public void taskFinished(final String runId, int taskId, @NonNull final QueueTask task) {
+        if (isEnabled()) {
+            final ObjectNode entry = createTaskEntry(EVENT_TASK_FINISHED, runId, taskId, task);
+            final OffsetDateTime start = task.getStartTime();
+            final OffsetDateTime end = task.getEndTime();
+            entry.put("startTime", (start != null) ? start.toString() : null);
+            entry.put("endTime", (end != null) ? end.toString() : null);
+            final Duration elapsed = task.getElapsedTime();
+            if (elapsed != null) {
+                entry.put("durationMs", elapsed.toMillis());
+            } else {
+                entry.putNull("durationMs");
+            }
+            entry.put("resultSize", OrchestratorMetrics.utf8Length(task.getLastExecResult()));
+            append(entry);
+        }
+    }
+
+    private static ObjectNode createEntry(final String event, final String runId) {
+        final ObjectNode entry = jsonMapper.createObjectNode();
+        entry.put("time", OffsetDateTime.now().toString());
+        entry.put("event", event);
+        entry.put("runId", runId);
+        return entry;
+    }
+
+    private static ObjectNode createTaskEntry(
+            final String event,
+            final String runId,
+            int taskId,
+            final QueueTask task
+    ) {
+        final ObjectNode entry = createEntry(event, runId);
+        entry.put("taskId", taskId);
+        entry.put("taskType", task.getClass().getSimpleName());
+        if (task instanceof CommandTask) {
+            entry.put("command", ((CommandTask) task).getFullyQualifiedCommandId());
+        } else {
+            entry.putNull("command");
+        }
+        entry.put("state", task.getState().name());
+        return entry;
+    }
+
+    private void append(final ObjectNode entry) {
+        final AsyncJournalWriter currentWriter = writer;
+        if (currentWriter == null) {
+            return;
+        }
+        try {
+            currentWriter.append(jsonMapper.writeValueAsString(entry));
+        } catch (final JsonProcessingException ex) {
+            log.warn("Could not serialize journal entry: " + ex.getMessage());
+        }
+    }
+
+    private static class RunJournalHolder {
+
+        private static final RunJournal INSTANCE = new RunJournal();
+    }
+}
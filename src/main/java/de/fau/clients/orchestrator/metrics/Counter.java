@@ -0,0 +1,66 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonically increasing counter (e.g. the number of executed tasks). According to the
+ * OpenMetrics conventions, the family name has no "_total" suffix, whereas the exposed sample has.
+ */
+public final class Counter extends MetricFamily<Counter.Child> {
+
+    Counter(final String name, final String help, final String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    @Override
+    protected Child createChild() {
+        return new Child();
+    }
+
+    @Override
+    protected String getType() {
+        return "counter";
+    }
+
+    @Override
+    protected void writeChild(
+            final Appendable out,
+            final List<String> labelValues,
+            final Child child
+    ) throws IOException {
+        writeSample(out, "_total", labelValues, null, null, Long.toString(child.get()));
+    }
+
+    /**
+     * The counter of a single label combination.
+     */
+    public static final class Child {
+
+        private final LongAdder value = new LongAdder();
+
+        private Child() {
+        }
+
+        public void inc() {
+            value.increment();
+        }
+
+        /**
+         * Increments the counter by the given amount.
+         *
+         * @param amount The amount to add. Must not be negative.
+         */
+        public void inc(long amount) {
+            if (amount < 0) {
+                throw new IllegalArgumentException("Counters can only be increased.");
+            }
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Integer value which can go up and down (e.g. the number of active executions).
+ */
+public final class Gauge extends MetricFamily<Gauge.Child> {
+
+    Gauge(final String name, final String help, final String... labelNames) {
+        super(name, help, labelNames);
+    }
+
+    @Override
+    protected Child createChild() {
+        return new Child();
+    }
+
+    @Override
+    protected String getType() {
+        return "gauge";
+    }
+
+    @Override
+    protected void writeChild(
+            final Appendable out,
+            final List<String> labelValues,
+            final Child child
+    ) throws IOException {
+        writeSample(out, "", labelValues, null, null, Long.toString(child.get()));
+    }
+
+    /**
+     * The gauge of a single label combination.
+     */
+    public static final class Child {
+
+        private final AtomicLong value = new AtomicLong();
+
+        private Child() {
+        }
+
+        public void inc() {
+            value.incrementAndGet();
+        }
+
+        public void dec() {
+            value.decrementAndGet();
+        }
+
+        public void set(long newValue) {
+            value.set(newValue);
+        }
+
+        public long get() {
+            return value.get();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+
+/**
+ * Histogram with fixed bucket bounds (e.g. for durations in seconds). Each observation is counted
+ * in the first bucket whose upper bound is greater or equal to the observed value. The exposition
+ * contains the cumulative bucket counts, the total count and the sum of all observations.
+ */
+public final class Histogram extends MetricFamily<Histogram.Child> {
+
+    /**
+     * Bucket bounds in seconds, covering everything from fast server calls to long lasting runs.
+     */
+    public static final double[] DEFAULT_DURATION_BUCKETS = {
+        0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 300, 900, 3600
+    };
+    private final double[] upperBounds;
+
+    Histogram(
+            final String name,
+            final String help,
+            @NonNull final double[] upperBounds,
+            final String... labelNames
+    ) {
+        super(name, help, labelNames);
+        if (upperBounds.length == 0) {
+            throw new IllegalArgumentException("At least one bucket is required.");
+        }
+        for (int i = 1; i < upperBounds.length; i++) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly increasing.");
+            }
+        }
+        this.upperBounds = upperBounds.clone();
+    }
+
+    @Override
+    protected Child createChild() {
+        return new Child(upperBounds);
+    }
+
+    @Override
+    protected String getType() {
+        return "histogram";
+    }
+
+    @Override
+    protected void writeChild(
+            final Appendable out,
+            final List<String> labelValues,
+            final Child child
+    ) throws IOException {
+        // take the total count first, so the +Inf bucket is never lower than the other buckets
+        final long count = child.getCount();
+        long cumulative = 0;
+        for (int i = 0; i < upperBounds.length; i++) {
+            cumulative += child.bucketCounts[i].sum();
+            writeSample(out, "_bucket", labelValues, "le", Double.toString(upperBounds[i]),
+                    Long.toString(Math.min(cumulative, count)));
+        }
+        writeSample(out, "_bucket", labelValues, "le", "+Inf", Long.toString(count));
+        writeSample(out, "_count", labelValues, null, null, Long.toString(count));
+        writeSample(out, "_sum", labelValues, null, null, formatDouble(child.getSum()));
+    }
+
+    /**
+     * The histogram of a single label combination.
+     */
+    public static final class Child {
+
+        private final double[] upperBounds;
+        private final LongAdder[] bucketCounts;
+        private final LongAdder count = new LongAdder();
+        private final DoubleAdder sum = new DoubleAdder();
+
+        private Child(final double[] upperBounds) {
+            this.upperBounds = upperBounds;
+            this.bucketCounts = new LongAdder[upperBounds.length];
+            for (int i = 0; i < bucketCounts.length; i++) {
+                bucketCounts[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records a single observation.
+         *
+         * @param value The observed value (e.g. a duration in seconds).
+         */
+        public void observe(double value) {
+            for (int i = 0; i < upperBounds.length; i++) {
+                if (value <= upperBounds[i]) {
+                    bucketCounts[i].increment();
+                    break;
+                }
+            }
+            sum.add(value);
+            count.increment();
+        }
+
+        /**
+         * Records a duration measured with <code>System.nanoTime()</code> in seconds.
+         *
+         * @param durationInNanos The duration in nanoseconds.
+         */
+        public void observeNanos(long durationInNanos) {
+            observe(durationInNanos / 1e9);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getSum() {
+            return sum.sum();
+        }
+    }
+}
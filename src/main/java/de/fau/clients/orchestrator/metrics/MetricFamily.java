@@ -0,0 +1,181 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * Base class of a metric family, which is a named metric with a fixed set of label names. Every
+ * distinct combination of label values has its own child holding the actual value(s).
+ *
+ * @param <T> The type of the children.
+ * @see MetricsRegistry
+ */
+public abstract class MetricFamily<T> {
+
+    private static final String NAME_PATTERN = "[a-zA-Z_:][a-zA-Z0-9_:]*";
+    private static final String LABEL_NAME_PATTERN = "[a-zA-Z_][a-zA-Z0-9_]*";
+    private final String name;
+    private final String help;
+    private final List<String> labelNames;
+    private final Map<List<String>, T> childMap = new ConcurrentHashMap<>();
+
+    protected MetricFamily(@NonNull final String name, @NonNull final String help, @NonNull final String... labelNames) {
+        if (!name.matches(NAME_PATTERN)) {
+            throw new IllegalArgumentException("Invalid metric name '" + name + "'.");
+        }
+        for (final String labelName : labelNames) {
+            if (!labelName.matches(LABEL_NAME_PATTERN) || labelName.equals("le")) {
+                throw new IllegalArgumentException("Invalid label name '" + labelName + "'.");
+            }
+        }
+        this.name = name;
+        this.help = help;
+        this.labelNames = List.of(labelNames);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public List<String> getLabelNames() {
+        return labelNames;
+    }
+
+    /**
+     * Gets the child for the given label values and creates it on first use.
+     *
+     * @param labelValues The label values in the order of the label names.
+     * @return The child of the label combination.
+     */
+    public T labels(@NonNull final String... labelValues) {
+        if (labelValues.length != labelNames.size()) {
+            throw new IllegalArgumentException("Metric '" + name + "' expects " + labelNames.size()
+                    + " label values, but got " + labelValues.length + ".");
+        }
+        return childMap.computeIfAbsent(List.of(labelValues), key -> createChild());
+    }
+
+    protected abstract T createChild();
+
+    /**
+     * Gets the metric type as used in the OpenMetrics exposition (e.g. "counter").
+     *
+     * @return The type name.
+     */
+    protected abstract String getType();
+
+    /**
+     * Writes all samples of a single child.
+     *
+     * @param out The output to write to.
+     * @param labelValues The label values of the child.
+     * @param child The child to write.
+     * @throws IOException if writing failed.
+     */
+    protected abstract void writeChild(
+            final Appendable out,
+            final List<String> labelValues,
+            final T child
+    ) throws IOException;
+
+    /**
+     * Writes the metadata and all samples of this family in the OpenMetrics text format. The
+     * children are sorted by their label values to get a stable output.
+     *
+     * @param out The output to write to.
+     * @throws IOException if writing failed.
+     */
+    void write(final Appendable out) throws IOException {
+        out.append("# TYPE ").append(name).append(' ').append(getType()).append('\n');
+        out.append("# HELP ").append(name).append(' ').append(escape(help)).append('\n');
+        final List<Map.Entry<List<String>, T>> entries = new ArrayList<>(childMap.entrySet());
+        entries.sort((a, b) -> {
+            for (int i = 0; i < a.getKey().size(); i++) {
+                final int cmp = a.getKey().get(i).compareTo(b.getKey().get(i));
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return 0;
+        });
+        for (final Map.Entry<List<String>, T> entry : entries) {
+            writeChild(out, entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes a single sample line.
+     *
+     * @param out The output to write to.
+     * @param suffix The suffix appended to the family name (e.g. "_total").
+     * @param labelValues The label values of the child.
+     * @param extraLabel An additional label name (e.g. "le") or <code>null</code>.
+     * @param extraValue The value of the additional label.
+     * @param value The formatted sample value.
+     * @throws IOException if writing failed.
+     */
+    protected void writeSample(
+            final Appendable out,
+            final String suffix,
+            final List<String> labelValues,
+            final String extraLabel,
+            final String extraValue,
+            final String value
+    ) throws IOException {
+        out.append(name).append(suffix);
+        final List<String> names = new ArrayList<>(labelNames);
+        final List<String> values = new ArrayList<>(labelValues);
+        if (extraLabel != null) {
+            names.add(extraLabel);
+            values.add(extraValue);
+        }
+        if (!names.isEmpty()) {
+            out.append('{');
+            for (int i = 0; i < names.size(); i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                out.append(names.get(i)).append("=\"").append(escape(values.get(i))).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    /**
+     * Escapes backslashes, double-quotes and line feeds of label values and help texts.
+     *
+     * @param str The string to escape.
+     * @return The escaped string.
+     */
+    static String escape(final String str) {
+        return str.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Formats a floating point value as used in the OpenMetrics exposition.
+     *
+     * @param value The value to format.
+     * @return The formatted value.
+     */
+    static String formatDouble(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        } else if (value == Double.POSITIVE_INFINITY) {
+            return "+Inf";
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            return "-Inf";
+        } else if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+}
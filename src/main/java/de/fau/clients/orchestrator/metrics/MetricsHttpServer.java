@@ -0,0 +1,82 @@
+package de.fau.clients.orchestrator.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Minimal HTTP server exposing the metrics of a <code>MetricsRegistry</code> in the OpenMetrics
+ * format under <code>/metrics</code>. The server only listens on the loopback interface, so the
+ * metrics are not reachable from other hosts without a local scraper or proxy.
+ */
+@Slf4j
+public final class MetricsHttpServer implements AutoCloseable {
+
+    public static final String METRICS_PATH = "/metrics";
+    public static final String CONTENT_TYPE = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private final MetricsRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Creates and starts the server.
+     *
+     * @param registry The registry to expose.
+     * @param port The port to listen on or 0 to use a free port.
+     * @throws IOException if the server could not be bound.
+     */
+    public MetricsHttpServer(@NonNull final MetricsRegistry registry, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext(METRICS_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+        log.info("Serving metrics on http://localhost:" + getPort() + METRICS_PATH);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try {
+            final String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            final byte[] body = registry.toOpenMetrics().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (final OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
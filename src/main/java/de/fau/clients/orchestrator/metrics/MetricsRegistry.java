@@ -0,0 +1,137 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+/**
+ * Registry of all metric families. The registry can be exported in the OpenMetrics text format,
+ * which is understood by Prometheus and most other monitoring systems. The families are written
+ * in alphabetical order of their names.
+ *
+ * @see OrchestratorMetrics
+ * @see MetricsHttpServer
+ */
+public final class MetricsRegistry {
+
+    private final Map<String, MetricFamily<?>> familyMap = new ConcurrentSkipListMap<>();
+
+    MetricsRegistry() {
+    }
+
+    public static MetricsRegistry getInstance() {
+        return MetricsRegistryHolder.INSTANCE;
+    }
+
+    /**
+     * Gets or registers a counter.
+     *
+     * @param name The name of the counter without the "_total" suffix.
+     * @param help A short description.
+     * @param labelNames The names of the labels.
+     * @return The registered counter.
+     * @throws IllegalArgumentException if another metric type with the same name exists.
+     */
+    public Counter counter(final String name, final String help, final String... labelNames) {
+        return register(Counter.class, name, () -> new Counter(name, help, labelNames));
+    }
+
+    /**
+     * Gets or registers a gauge.
+     *
+     * @param name The name of the gauge.
+     * @param help A short description.
+     * @param labelNames The names of the labels.
+     * @return The registered gauge.
+     * @throws IllegalArgumentException if another metric type with the same name exists.
+     */
+    public Gauge gauge(final String name, final String help, final String... labelNames) {
+        return register(Gauge.class, name, () -> new Gauge(name, help, labelNames));
+    }
+
+    /**
+     * Gets or registers a histogram.
+     *
+     * @param name The name of the histogram.
+     * @param help A short description.
+     * @param upperBounds The strictly increasing upper bounds of the buckets.
+     * @param labelNames The names of the labels.
+     * @return The registered histogram.
+     * @throws IllegalArgumentException if another metric type with the same name exists.
+     */
+    public Histogram histogram(
+            final String name,
+            final String help,
+            final double[] upperBounds,
+            final String... labelNames
+    ) {
+        return register(Histogram.class, name, () -> new Histogram(name, help, upperBounds, labelNames));
+    }
+
+    private <T extends MetricFamily<?>> T register(
+            final Class<T> type,
+            @NonNull final String name,
+            final Supplier<T> factory
+    ) {
+        final MetricFamily<?> family = familyMap.computeIfAbsent(name, key -> factory.get());
+        if (!type.isInstance(family)) {
+            throw new IllegalArgumentException("Metric '" + name + "' is already registered as "
+                    + family.getType() + ".");
+        }
+        return type.cast(family);
+    }
+
+    /**
+     * Writes all metrics in the OpenMetrics text format, including the terminating
+     * <code># EOF</code> line.
+     *
+     * @param out The output to write to.
+     * @throws IOException if writing failed.
+     */
+    public void writeOpenMetrics(@NonNull final Appendable out) throws IOException {
+        for (final MetricFamily<?> family : familyMap.values()) {
+            family.write(out);
+        }
+        out.append("# EOF\n");
+    }
+
+    /**
+     * Gets all metrics in the OpenMetrics text format.
+     *
+     * @return The exposition as String.
+     */
+    public String toOpenMetrics() {
+        final StringBuilder sb = new StringBuilder();
+        try {
+            writeOpenMetrics(sb);
+        } catch (final IOException ex) {
+            // a StringBuilder does not throw
+            throw new IllegalStateException(ex);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes all metrics in the OpenMetrics text format to the given file. An existing file gets
+     * overwritten.
+     *
+     * @param path The path of the file.
+     * @throws IOException if the file could not be written.
+     */
+    public void writeToFile(@NonNull final Path path) throws IOException {
+        try (final Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writeOpenMetrics(writer);
+        }
+    }
+
+    private static class MetricsRegistryHolder {
+
+        private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+}
@@ -0,0 +1,92 @@
+package de.fau.clients.orchestrator.metrics;
+
+/**
+ * The metrics collected by the orchestrator. All metrics are registered in the default
+ * <code>MetricsRegistry</code>. Servers are labeled by their UUID, since server names are neither
+ * unique nor stable.
+ * <p>
+ * The sent and received JSON bytes are the UTF-8 sizes of the JSON parameters and responses passed
+ * to and returned by the call manager of sila_java, which converts them from and to protobuf. They
+ * measure the payload handled by the orchestrator, not the traffic on the wire, which is usually
+ * smaller. Chunks of the binary transfer are not included.
+ * </p>
+ */
+public final class OrchestratorMetrics {
+
+    public static final String CALL_COMMAND = "command";
+    public static final String CALL_PROPERTY = "property";
+    public static final String CALL_PROBE = "probe";
+    private static final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    /**
+     * Executed command tasks by fully qualified command identifier and final task state.
+     */
+    public static final Counter TASKS = registry.counter("orchestrator_tasks",
+            "Number of executed command tasks.", "command", "state");
+    public static final Histogram TASK_DURATION = registry.histogram("orchestrator_task_duration_seconds",
+            "Execution duration of command tasks.", Histogram.DEFAULT_DURATION_BUCKETS, "command");
+    /**
+     * Latency of server calls by server UUID and call type (command, property or probe).
+     */
+    public static final Histogram SERVER_CALL_DURATION = registry.histogram("orchestrator_server_call_duration_seconds",
+            "Latency of calls to SiLA servers.", Histogram.DEFAULT_DURATION_BUCKETS, "server", "call");
+    public static final Histogram.Child QUEUE_RUN_DURATION = registry.histogram("orchestrator_queue_run_duration_seconds",
+            "Duration of queue runs.", Histogram.DEFAULT_DURATION_BUCKETS).labels();
+    public static final Gauge.Child ACTIVE_EXECUTIONS = registry.gauge("orchestrator_active_executions",
+            "Number of currently running command tasks.").labels();
+    public static final Counter RECONNECTS = registry.counter("orchestrator_reconnects",
+            "Number of reconnect attempts.", "server");
+    /**
+     * UTF-8 size of the JSON parameters of the commands sent to a server.
+     */
+    public static final Counter JSON_BYTES_SENT = registry.counter("orchestrator_server_sent_json_bytes",
+            "Size of the JSON parameters sent to the server.", "server");
+    /**
+     * UTF-8 size of the JSON responses of the commands and properties received from a server.
+     */
+    public static final Counter JSON_BYTES_RECEIVED = registry.counter("orchestrator_server_received_json_bytes",
+            "Size of the JSON responses received from the server.", "server");
+
+    private OrchestratorMetrics() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Gets the registry holding the orchestrator metrics. Unlike
+     * <code>MetricsRegistry.getInstance()</code>, this ensures all metrics are registered, even if
+     * nothing was recorded yet.
+     *
+     * @return The default registry.
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Computes the length of the UTF-8 encoding of the given string without encoding it.
+     *
+     * @param str The string or <code>null</code>.
+     * @return The number of bytes.
+     */
+    public static long utf8Length(final String str) {
+        if (str == null) {
+            return 0;
+        }
+        long len = 0;
+        for (int i = 0; i < str.length(); i++) {
+            final char ch = str.charAt(i);
+            if (ch < 0x80) {
+                len += 1;
+            } else if (ch < 0x800) {
+                len += 2;
+            } else if (Character.isHighSurrogate(ch) && i + 1 < str.length()
+                    && Character.isLowSurrogate(str.charAt(i + 1))) {
+                len += 4;
+                i++;
+            } else {
+                len += 3;
+            }
+        }
+        return len;
+    }
+}
@@ -1,13 +1,14 @@
 package de.fau.clients.orchestrator.nodes;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import de.fau.clients.orchestrator.utils.BinaryParams;
 import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
-import java.util.Base64;
 import java.util.function.Supplier;
 import javax.swing.JComponent;
 import lombok.NonNull;
@@ -63,12 +64,14 @@ public JsonNode toJson() {
                 return jsonMapper.createObjectNode().put(SilaBasicTypeUtils.FIELD_VALUE,
                         valueSupplier.get().toString());
             case BINARY:
-                final byte[] initVal = (byte[]) valueSupplier.get();
+                final Object initVal = valueSupplier.get();
                 if (initVal == null) {
                     return null;
+                } else if (initVal instanceof Path) {
+                    return BinaryParams.fileAsJsonNode((Path) initVal);
                 }
-                final String payload = Base64.getEncoder().encodeToString(initVal);
-                return jsonMapper.createObjectNode().put(SilaBasicTypeUtils.FIELD_VALUE, payload);
+                // the bytes are only Base64 encoded on serialization
+                return jsonMapper.createObjectNode().put(SilaBasicTypeUtils.FIELD_VALUE, (byte[]) initVal);
             case DATE:
                 final LocalDate initDate = (LocalDate) valueSupplier.get();
                 if (initDate == null) {
@@ -8,6 +8,8 @@
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.binary.BlobStore;
+import de.fau.clients.orchestrator.utils.BinaryParams;
 import de.fau.clients.orchestrator.utils.DateTimeParser;
 import de.fau.clients.orchestrator.utils.LocalDateSpinnerEditor;
 import de.fau.clients.orchestrator.utils.LocalDateSpinnerModel;
@@ -19,7 +21,10 @@
 import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
 import de.fau.clients.orchestrator.utils.ValidatorUtils;
 import de.fau.clients.orchestrator.utils.XmlUtils;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
@@ -27,16 +32,25 @@
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import javax.swing.Box;
+import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JEditorPane;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
+import javax.swing.JMenuItem;
+import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JSpinner;
 import javax.swing.JTextField;
 import javax.swing.SpinnerModel;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import sila2.org.silastandard.SiLAFramework;
@@ -59,6 +73,11 @@ final class BasicNodeFactory {
      * <code>0.999</code>, etc.)
      */
     private static final double REAL_STEP_SIZE = 0.1;
+    /**
+     * The maximum size of binaries shown as editable text. Larger binaries are only represented by
+     * their hash, so they are not copied into the text component.
+     */
+    static final int MAX_TEXT_BINARY_SIZE = 1024 * 1024;
 
     private BasicNodeFactory() {
         throw new UnsupportedOperationException("Instantiation not allowed.");
@@ -123,6 +142,10 @@ protected static SilaNode createFromJson(
                 }
                 return createAnyType(null, dtt, payload, isEditable);
             case BINARY: {
+                final Path file = BinaryParams.getFileReference(jsonNode);
+                if (file != null) {
+                    return createBinaryFileType(file, isEditable);
+                }
                 try {
                     return createBinaryType(jsonNode.get("value").binaryValue(), isEditable);
                 } catch (final Exception ex) {
@@ -289,8 +312,9 @@ protected static SilaNode createAnyType(
 
     /**
      * Creates a <code>BasicNode</code> of the type <code>BasicType.Binary</code>. Input data which
-     * can not be interpreted as UTF-8 string is not editable even if the provided parameter states
-     * otherwise.
+     * can not be interpreted as UTF-8 string or exceeds <code>MAX_TEXT_BINARY_SIZE</code> is not
+     * editable even if the provided parameter states otherwise. The context menu of editable nodes
+     * offers to reference a file, whose content is then not loaded into memory.
      *
      * @param byteValue The byte array to initialize the node with.
      * @param isEditable Determines whether the user can edit the represented value or not.
@@ -301,10 +325,11 @@ protected static BasicNode createBinaryType(
             boolean isEditable
     ) {
         final JComponent comp;
-        final Supplier<byte[]> supp;
+        final Supplier<Object> supp;
         String binaryReprStr;
-        final boolean isUtf8 = ValidatorUtils.isValidUtf8(byteValue);
-        if (isUtf8) {
+        final boolean isText = (byteValue.length <= MAX_TEXT_BINARY_SIZE)
+                && ValidatorUtils.isValidUtf8(byteValue);
+        if (isText) {
             binaryReprStr = new String(byteValue, StandardCharsets.UTF_8);
             final JEditorPane editorPane = new JEditorPane();
             editorPane.setEditable(isEditable);
@@ -313,8 +338,48 @@ protected static BasicNode createBinaryType(
             scrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
             scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
             scrollPane.setMaximumSize(MaxDim.TEXT_FIELD_MULTI_LINE.getDim());
+            // the initial bytes are passed on as long as the text is unchanged
+            final AtomicBoolean isModified = new AtomicBoolean(false);
+            editorPane.getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent de) {
+                    isModified.set(true);
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent de) {
+                    isModified.set(true);
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent de) {
+                    // not used in plain text components
+                }
+            });
+            final AtomicReference<Path> fileRef = new AtomicReference<>(null);
+            if (isEditable) {
+                final JMenuItem fileItem = new JMenuItem("Reference File...");
+                fileItem.addActionListener(evt -> {
+                    final Path file = chooseBinaryFile(editorPane);
+                    if (file != null) {
+                        fileRef.set(file);
+                        editorPane.setText(describeBinaryFile(file));
+                        editorPane.setEditable(false);
+                        fileItem.setEnabled(false);
+                    }
+                });
+                final JPopupMenu popupMenu = new JPopupMenu();
+                popupMenu.add(fileItem);
+                editorPane.setComponentPopupMenu(popupMenu);
+            }
             comp = scrollPane;
-            supp = () -> (editorPane.getText().getBytes(StandardCharsets.UTF_8));
+            supp = () -> {
+                final Path file = fileRef.get();
+                if (file != null) {
+                    return file;
+                }
+                return isModified.get() ? editorPane.getText().getBytes(StandardCharsets.UTF_8) : byteValue;
+            };
         } else {
             try {
                 final MessageDigest md = MessageDigest.getInstance("SHA-256");
@@ -334,6 +399,68 @@ protected static BasicNode createBinaryType(
         return new BasicNode(BasicType.BINARY, comp, supp, isEditable);
     }
 
+    /**
+     * Creates a <code>BasicNode</code> of the type <code>BasicType.Binary</code> referencing a
+     * file. The file content is not loaded into memory, but streamed when the parameters are sent
+     * to the server.
+     *
+     * @param file The path of the file holding the binary content.
+     * @param isEditable Determines whether the user can choose another file or not.
+     * @return The initialized BasicNode representing a file-backed binary value.
+     *
+     * @see BinaryParams
+     */
+    protected static BasicNode createBinaryFileType(
+            @NonNull final Path file,
+            boolean isEditable
+    ) {
+        final AtomicReference<Path> fileRef = new AtomicReference<>(file);
+        final JTextField textField = new JTextField(describeBinaryFile(file));
+        textField.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+        textField.setEditable(false);
+        final JComponent comp;
+        if (isEditable) {
+            final JButton fileBtn = new JButton("File...");
+            fileBtn.addActionListener(evt -> {
+                final Path newFile = chooseBinaryFile(fileBtn);
+                if (newFile != null) {
+                    fileRef.set(newFile);
+                    textField.setText(describeBinaryFile(newFile));
+                }
+            });
+            final Box hBox = Box.createHorizontalBox();
+            hBox.add(textField);
+            hBox.add(Box.createHorizontalStrut(5));
+            hBox.add(fileBtn);
+            hBox.setMaximumSize(MaxDim.TEXT_FIELD.getDim());
+            comp = hBox;
+        } else {
+            textField.setMaximumSize(MaxDim.TEXT_FIELD.getDim());
+            comp = textField;
+        }
+        final Supplier<Path> supp = () -> (fileRef.get());
+        return new BasicNode(BasicType.BINARY, comp, supp, isEditable);
+    }
+
+    private static Path chooseBinaryFile(final JComponent parent) {
+        final JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setFileSelectionMode(JFileChooser.FILES_ONLY);
+        if (fileChooser.showOpenDialog(parent) == JFileChooser.APPROVE_OPTION) {
+            return fileChooser.getSelectedFile().toPath();
+        }
+        return null;
+    }
+
+    private static String describeBinaryFile(final Path file) {
+        final String hash = BlobStore.getInstance().getHashOf(file);
+        final String name = (hash != null) ? "Blob: " + hash : "File: " + file;
+        try {
+            return name + " (" + Files.size(file) + " bytes)";
+        } catch (final IOException ex) {
+            return name + ((hash != null) ? " (missing)" : " (not readable)");
+        }
+    }
+
     /**
      * Creates a <code>BasicNode</code> of the type <code>BasicType.BOOLEAN</code>.
      *
@@ -9,7 +9,9 @@
 import java.awt.Dimension;
 import java.awt.event.ItemEvent;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.JComponent;
@@ -53,9 +55,31 @@ protected final static CompositNode createFromJson(
             @NonNull final List<SiLAElement> elements,
             @NonNull final JsonNode jsonNode,
             boolean isEditable
+    ) {
+        return createFromJson(featCtx, elements, jsonNode, Collections.emptyMap(), isEditable);
+    }
+
+    /**
+     * Creates a node from the given JSON, except for the elements with already read list values.
+     *
+     * @param listValuesMap The list values mapped by the identifier of their element. The lists are
+     * presented non-editable.
+     */
+    protected final static CompositNode createFromJson(
+            final FeatureContext featCtx,
+            @NonNull final List<SiLAElement> elements,
+            @NonNull final JsonNode jsonNode,
+            @NonNull final Map<String, ListValues> listValuesMap,
+            boolean isEditable
     ) {
         final CompositNode node = new CompositNode(featCtx, elements);
         for (final SiLAElement elem : node.elements) {
+            final ListValues listValues = listValuesMap.get(elem.getIdentifier());
+            if (listValues != null) {
+                node.children.add(ListNode.createFromValues(
+                        featCtx, elem.getDataType().getList(), listValues));
+                continue;
+            }
             node.children.add(NodeFactory.createFromJson(
                     featCtx,
                     elem.getDataType(),
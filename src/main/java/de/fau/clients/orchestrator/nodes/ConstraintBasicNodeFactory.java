@@ -8,10 +8,13 @@
 import com.google.protobuf.util.JsonFormat;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
 import static de.fau.clients.orchestrator.nodes.BasicNodeFactory.createErrorType;
+import de.fau.clients.orchestrator.utils.BinaryParams;
 import de.fau.clients.orchestrator.utils.DateTimeParser;
+import de.fau.clients.orchestrator.utils.DebouncedValidator;
 import de.fau.clients.orchestrator.utils.DocumentLengthFilter;
 import de.fau.clients.orchestrator.utils.IconProvider;
 import de.fau.clients.orchestrator.utils.ImagePanel;
+import de.fau.clients.orchestrator.utils.ImageThumbnailCache;
 import de.fau.clients.orchestrator.utils.LocalDateSpinnerEditor;
 import de.fau.clients.orchestrator.utils.OffsetDateTimeSpinnerEditor;
 import de.fau.clients.orchestrator.utils.OffsetDateTimeSpinnerEditor.FormatterType;
@@ -21,22 +24,19 @@
 import de.fau.clients.orchestrator.utils.XmlUtils;
 import java.awt.event.FocusAdapter;
 import java.awt.event.FocusEvent;
-import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.Base64;
 import java.util.List;
 import java.util.Vector;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
-import javax.imageio.ImageIO;
 import javax.swing.Box;
 import javax.swing.JComboBox;
 import javax.swing.JComponent;
@@ -74,6 +74,7 @@ class ConstraintBasicNodeFactory {
     private static final String GREATER_OR_EQUAL = "≥ "; // '\u2265'
     private static final String AND_SIGN = " ∧ "; // '\u2227'
     private static final String INVALID_CONSTRAINT = "Invalid Constraint";
+    private static final String IMAGE_LOADING_STR = "Loading image...";
 
     private ConstraintBasicNodeFactory() {
         throw new UnsupportedOperationException("Instantiation not allowed.");
@@ -134,6 +135,16 @@ protected static SilaNode createFromJson(
                 return createConstrainedAnyType(featCtx, constraints, dtt, payload);
             }
             case BINARY: {
+                final Path file = BinaryParams.getFileReference(jsonNode);
+                if (file != null) {
+                    if (constraints.getContentType() != null
+                            && getSupportedContentType(constraints.getContentType()) == InternalContentType.IMAGE) {
+                        return createImageNodeFromFile(constraints, file);
+                    }
+                    final BasicNode fileNode = BasicNodeFactory.createBinaryFileType(file, true);
+                    return new ConstraintBasicNode(BasicType.BINARY, fileNode.getComponent(),
+                            fileNode.valueSupplier, constraints);
+                }
                 final byte[] binaryVal;
                 try {
                     binaryVal = jsonNode.get("value").binaryValue();
@@ -569,7 +580,7 @@ protected static ConstraintBasicNode createConstrainedStringTypeFromJson(
             final String conditionDesc;
             if (constraints.getPattern() != null) {
                 final String pattern = constraints.getPattern();
-                validator = () -> (strField.getText().matches(pattern));
+                validator = () -> (ValidatorUtils.isPatternMatching(strField.getText(), pattern));
                 conditionDesc = "match " + pattern;
             } else if (constraints.getLength() != null) {
                 final int len = constraints.getLength().intValue();
@@ -650,7 +661,7 @@ protected static ConstraintBasicNode createSchemaConstrainedStringTypeFromJson(
             @NonNull final Constraints constraints,
             final JsonNode jsonNode
     ) {
-        final Supplier<Boolean> validator;
+        final Predicate<String> validator;
         final String conditionDesc;
         final JEditorPane editorPane = new JEditorPane();
         final JScrollPane scrollPane = new JScrollPane(editorPane);
@@ -658,53 +669,37 @@ protected static ConstraintBasicNode createSchemaConstrainedStringTypeFromJson(
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
         final Constraints.Schema schema = constraints.getSchema();
         final String schemaType = schema.getType();
-        if (schemaType.equalsIgnoreCase("Xml")) {
-            if (schema.getUrl() != null) {
-                validator = () -> (ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(
-                        editorPane.getText().getBytes(StandardCharsets.UTF_8))) // 
-                        // FIXME: A proper validation against the schema is not done
-                        //        yet due to the poor support and the optional 
-                        //        character of this feature. To enable validation,
-                        //        simply uncomment the code blocks below. 
-                        //        (2020-09-06, florian.bauer.dev@gmail.com)
-                        /* && ValidatorUtils.isXmlValid(new ByteArrayInputStream(
-                                                   editorPane.getText().getBytes(StandardCharsets.UTF_8)),
-                                                   new StreamSource(schema.getUrl())) */);
-            } else if (schema.getInline() != null) {
-                validator = () -> (ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(
-                        editorPane.getText().getBytes(StandardCharsets.UTF_8))) /*
-                                        && ValidatorUtils.isXmlValid(new ByteArrayInputStream(
-                                                editorPane.getText().getBytes(StandardCharsets.UTF_8)),
-                                                new StreamSource(new ByteArrayInputStream(schema
-                                                        .getInline()
-                                                        .getBytes(StandardCharsets.UTF_8))))*/);
+        if (schemaType.equalsIgnoreCase("Xml") || schemaType.equalsIgnoreCase("Json")) {
+            if (schema.getUrl() != null || schema.getInline() != null) {
+                validator = (text) -> (ValidatorUtils.getSchemaViolation(text, schema) == null);
             } else {
-                validator = () -> (false);
+                validator = (text) -> (false);
             }
-            conditionDesc = "Xml";
-        } else if (schemaType.equalsIgnoreCase("Json")) {
-            // TODO: Implement proper JSON schema handling by URL and Inline.
-            validator = () -> (false /*ValidatorUtils.isJsonValid(editorPane.getText())*/);
-            conditionDesc = "Json";
+            conditionDesc = schemaType.equalsIgnoreCase("Xml") ? "Xml" : "Json";
         } else {
-            validator = () -> (false);
+            validator = (text) -> (false);
             conditionDesc = INVALID_CONSTRAINT;
         }
 
         final JLabel validationLabel = new JLabel(IconProvider.STATUS_OK.getIcon());
         validationLabel.setDisabledIcon(IconProvider.STATUS_WARNING.getIcon());
         validationLabel.setEnabled(false);
+        final DebouncedValidator debouncedValidator = new DebouncedValidator(
+                editorPane::getText,
+                validator,
+                validationLabel::setEnabled,
+                DebouncedValidator.DEFAULT_DELAY_IN_MS);
 
         // validate on edit
         editorPane.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent de) {
-                validationLabel.setEnabled(validator.get());
+                debouncedValidator.trigger();
             }
 
             @Override
             public void removeUpdate(DocumentEvent de) {
-                validationLabel.setEnabled(validator.get());
+                debouncedValidator.trigger();
             }
 
             @Override
@@ -724,7 +719,7 @@ public void changedUpdate(DocumentEvent de) {
         if (jsonNode != null) {
             editorPane.setText(jsonNode.asText());
             // validate after import
-            validationLabel.setEnabled(validator.get());
+            debouncedValidator.validateNow();
         }
         return new ConstraintBasicNode(BasicType.STRING, hBox, () -> (editorPane.getText()), constraints);
     }
@@ -956,16 +951,20 @@ public static ConstraintBasicNode createXmlNodeFromBinary(
     ) {
         final String plainText = new String(binaryValue, StandardCharsets.UTF_8);
         final JEditorPane editorPane = new JEditorPane();
-        final Supplier<Boolean> validator = () -> (ValidatorUtils.isXmlWellFormed(
-                new ByteArrayInputStream(editorPane.getText().getBytes(StandardCharsets.UTF_8))));
         final JLabel validationLabel = new JLabel(IconProvider.STATUS_OK.getIcon());
         validationLabel.setDisabledIcon(IconProvider.STATUS_WARNING.getIcon());
         validationLabel.setEnabled(false);
+        final DebouncedValidator validator = new DebouncedValidator(
+                editorPane::getText,
+                (text) -> (ValidatorUtils.isXmlWellFormed(
+                        new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)))),
+                validationLabel::setEnabled,
+                DebouncedValidator.DEFAULT_DELAY_IN_MS);
         // validate after focus was lost
         editorPane.addFocusListener(new FocusAdapter() {
             @Override
             public void focusLost(final FocusEvent evt) {
-                validationLabel.setEnabled(validator.get());
+                validator.validateNow();
             }
         });
 
@@ -982,52 +981,54 @@ public void focusLost(final FocusEvent evt) {
 
         editorPane.setText(plainText);
         // validate after import
-        validationLabel.setEnabled(validator.get());
+        validator.validateNow();
 
         final Supplier<byte[]> supp = () -> (editorPane.getText().getBytes(StandardCharsets.UTF_8));
         return new ConstraintBasicNode(BasicType.BINARY, hBox, supp, constraints);
     }
 
     /**
-     * Creates a image node from binary data. Only jpeg, png, bmp and gif formats are supported.
+     * Creates a image node from binary data. Only jpeg, png, bmp and gif formats are supported. The
+     * image is decoded in the background to a thumbnail of the display size, meanwhile a
+     * placeholder is shown. The value of the node is the original binary data.
      *
      * @param binaryValue The binary data of the image.
      * @param constraints The constraints.
      * @return The image type constrained node.
+     *
+     * @see ImageThumbnailCache
      */
     protected static ConstraintBasicNode createImageNodeFromBinary(
             @NonNull final Constraints constraints,
             @NonNull final byte[] binaryValue
     ) {
-        final BufferedImage img;
-        try {
-            img = ImageIO.read(new ByteArrayInputStream(binaryValue));
-        } catch (final IOException ex) {
-            return new ConstraintBasicNode(BasicType.BINARY,
-                    new JLabel("Error: " + ex.getMessage()),
-                    () -> ("".getBytes()),
-                    constraints);
-        }
+        final ImagePanel imgPanel = new ImagePanel(IMAGE_LOADING_STR);
+        ImageThumbnailCache.getInstance().loadAsync(binaryValue,
+                imgPanel::setImage,
+                errMsg -> imgPanel.setMessage("Error: " + errMsg));
+        return new ConstraintBasicNode(BasicType.BINARY, imgPanel, () -> (binaryValue), constraints);
+    }
 
-        final ImagePanel imgPanel = new ImagePanel(img);
-        final Supplier<byte[]> supp = () -> {
-            final ByteArrayOutputStream os = new ByteArrayOutputStream();
-            final boolean hasWriter;
-            try {
-                hasWriter = ImageIO.write(img,
-                        constraints.getContentType().getSubtype().toLowerCase(),
-                        Base64.getEncoder().wrap(os));
-                os.close();
-            } catch (final Exception ex) {
-                return "".getBytes();
-            }
-            if (hasWriter) {
-                return os.toByteArray();
-            } else {
-                return "".getBytes();
-            }
-        };
-        return new ConstraintBasicNode(BasicType.BINARY, imgPanel, supp, constraints);
+    /**
+     * Creates a image node from a file-backed binary value (e.g. a downloaded image response). The
+     * image is decoded in the background to a thumbnail of the display size, meanwhile a
+     * placeholder is shown. The value of the node is the file reference.
+     *
+     * @param constraints The constraints.
+     * @param file The image file.
+     * @return The image type constrained node.
+     *
+     * @see ImageThumbnailCache
+     */
+    protected static ConstraintBasicNode createImageNodeFromFile(
+            @NonNull final Constraints constraints,
+            @NonNull final Path file
+    ) {
+        final ImagePanel imgPanel = new ImagePanel(IMAGE_LOADING_STR);
+        ImageThumbnailCache.getInstance().loadAsync(file,
+                imgPanel::setImage,
+                errMsg -> imgPanel.setMessage("Error: " + errMsg));
+        return new ConstraintBasicNode(BasicType.BINARY, imgPanel, () -> (file), constraints);
     }
 
     /**
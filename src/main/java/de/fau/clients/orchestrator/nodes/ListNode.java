@@ -4,28 +4,57 @@
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
 import de.fau.clients.orchestrator.utils.IconProvider;
+import java.awt.Component;
+import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
+import javax.swing.DefaultListCellRenderer;
 import javax.swing.JButton;
 import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import sila_java.library.core.models.Constraints;
+import sila_java.library.core.models.DataTypeType;
 import sila_java.library.core.models.ListType;
 
 /**
  * A Node representing a list consisting of other <code>SilaNode</code>s.
+ * <p>
+ * Non-editable lists with more than <code>VIRTUALIZATION_THRESHOLD</code> elements (e.g. large
+ * responses) are not split into nodes. Instead, the elements are kept in a compact
+ * <code>ListValues</code> model and presented in a <code>JList</code>, which only renders the
+ * visible rows. Elements which are not shown completely as text are shown as node once selected.
+ * Integers and reals of such lists are held in primitive arrays and shown in their canonical
+ * format (e.g. <code>1.0E-7</code>), while smaller lists keep the formatting of their nodes.
+ * </p>
  *
  * @see SilaNode
+ * @see ListValues
  */
 @Slf4j
 final class ListNode extends SilaNode {
 
+    /**
+     * The minimum size of non-editable lists to be presented virtualized.
+     */
+    static final int VIRTUALIZATION_THRESHOLD = 100;
+    private static final int MAX_VISIBLE_ROWS = 15;
+    /**
+     * The number of elements used to estimate the cell width of the virtualized list.
+     */
+    private static final int CELL_WIDTH_SAMPLE_SIZE = 100;
+    private static final int MAX_CELL_WIDTH = 800;
+
     /**
      * Context to look-up data-types defined by the corresponding SiLA-Feature.
      */
@@ -64,6 +93,15 @@ final class ListNode extends SilaNode {
      * Constraint object holding various constraints (e.g. min. and max. list elements).
      */
     private Constraints constraints;
+    /**
+     * The compact elements of a virtualized list or <code>null</code> if the elements are held in
+     * the <code>nodeList</code>.
+     */
+    private ListValues listValues = null;
+    /**
+     * The data type of the elements of a virtualized list.
+     */
+    private DataTypeType elementType = null;
 
     private ListNode(
             final FeatureContext featCtx,
@@ -142,13 +180,16 @@ protected static ListNode createFromJson(
         boolean isCreatedEmpty = true;
         if (jsonNode != null) {
             isCreatedEmpty = false;
-            final Iterator<JsonNode> iter;
-            if (jsonNode.has("value")) {
-                iter = jsonNode.get("value").elements();
-            } else {
-                iter = jsonNode.elements();
+            final JsonNode elementsNode = jsonNode.has("value") ? jsonNode.get("value") : jsonNode;
+            if (!isEditable && elementsNode.size() > VIRTUALIZATION_THRESHOLD) {
+                final List<JsonNode> elements = new ArrayList<>(elementsNode.size());
+                elementsNode.elements().forEachRemaining(elements::add);
+                listNode.elementType = type.getDataType();
+                listNode.listValues = ListValues.create(type.getDataType(), elements);
+                return listNode;
             }
 
+            final Iterator<JsonNode> iter = elementsNode.elements();
             while (iter.hasNext()) {
                 listNode.nodeList.add(NodeFactory.createFromJson(
                         featCtx,
@@ -161,6 +202,26 @@ protected static ListNode createFromJson(
         return listNode;
     }
 
+    /**
+     * Creates a non-editable, virtualized list from already read list values (e.g. the numeric
+     * results of a command).
+     *
+     * @param featCtx The context of the feature.
+     * @param type The list type.
+     * @param listValues The elements of the list.
+     * @return The list node.
+     */
+    protected static ListNode createFromValues(
+            final FeatureContext featCtx,
+            @NonNull final ListType type,
+            @NonNull final ListValues listValues
+    ) {
+        final ListNode listNode = new ListNode(featCtx, null, false);
+        listNode.elementType = type.getDataType();
+        listNode.listValues = listValues;
+        return listNode;
+    }
+
     @Override
     public ListNode cloneNode() {
         if (constraints != null) {
@@ -171,6 +232,9 @@ public ListNode cloneNode() {
 
     @Override
     public JsonNode toJson() {
+        if (listValues != null) {
+            return listValues.toJson();
+        }
         final ArrayNode arrayNode = jsonMapper.createObjectNode().arrayNode(nodeList.size());
         for (int i = 0; i < nodeList.size(); i++) {
             final JsonNode child = nodeList.get(i).toJson();
@@ -192,6 +256,11 @@ public JComponent getComponent() {
                     BorderFactory.createEtchedBorder(),
                     BorderFactory.createEmptyBorder(4, 16, 4, 4)));
 
+            if (listValues != null) {
+                buildVirtualizedList();
+                return listPanel;
+            }
+
             for (final SilaNode node : nodeList) {
                 listPanel.add(node.getComponent());
             }
@@ -219,6 +288,62 @@ public JComponent getComponent() {
         return listPanel;
     }
 
+    /**
+     * Fills the list panel with a <code>JList</code> presenting the compact list values. Only the
+     * visible rows get rendered. For elements of non-numeric types, the selected element is shown
+     * as node below the list.
+     */
+    private void buildVirtualizedList() {
+        final JLabel sizeLabel = new JLabel(listValues.getSize() + " elements");
+        sizeLabel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+        listPanel.add(sizeLabel);
+
+        final JList<String> list = new JList<>(listValues);
+        final IndexedCellRenderer renderer = new IndexedCellRenderer();
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(renderer);
+        list.setVisibleRowCount(Math.min(listValues.getSize(), MAX_VISIBLE_ROWS));
+        // Fixed cell dimensions prevent the list from measuring all elements. The width is
+        // estimated by the first elements, rendered with the longest index prefix.
+        int cellWidth = 0;
+        int cellHeight = 0;
+        for (int i = 0; i < Math.min(listValues.getSize(), CELL_WIDTH_SAMPLE_SIZE); i++) {
+            final Dimension dim = renderer.getListCellRendererComponent(list,
+                    listValues.getElementAt(i), listValues.getSize() - 1, false, false).getPreferredSize();
+            cellWidth = Math.max(cellWidth, dim.width);
+            cellHeight = Math.max(cellHeight, dim.height);
+        }
+        list.setFixedCellWidth(Math.min(cellWidth, MAX_CELL_WIDTH));
+        list.setFixedCellHeight(cellHeight);
+
+        final JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+        scrollPane.setMaximumSize(scrollPane.getPreferredSize());
+        listPanel.add(scrollPane);
+
+        if (!listValues.isNumeric()) {
+            final JPanel detailPanel = new JPanel();
+            detailPanel.setLayout(new BoxLayout(detailPanel, BoxLayout.PAGE_AXIS));
+            detailPanel.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            listPanel.add(detailPanel);
+            list.addListSelectionListener(evt -> {
+                if (evt.getValueIsAdjusting()) {
+                    return;
+                }
+                detailPanel.removeAll();
+                final int idx = list.getSelectedIndex();
+                if (idx >= 0) {
+                    // only the selected element gets materialized as node
+                    final SilaNode node = NodeFactory.createFromJson(featCtx, elementType,
+                            listValues.getJson(idx), false);
+                    detailPanel.add(node.getComponent());
+                }
+                listPanel.revalidate();
+                listPanel.repaint();
+            });
+        }
+    }
+
     /**
      * Query whether this <code>ListNode</code> is editable or not.
      *
@@ -234,6 +359,9 @@ public boolean isEditable() {
      * @return The current list size.
      */
     public int getListSize() {
+        if (listValues != null) {
+            return listValues.getSize();
+        }
         return nodeList.size();
     }
 
@@ -369,4 +497,23 @@ private void addBtnActionPerformed() {
         // re-enable the "Remove"-button
         removeBtn.setEnabled(true);
     }
+
+    /**
+     * Renders the list elements prefixed by their index.
+     */
+    @SuppressWarnings("serial")
+    private static final class IndexedCellRenderer extends DefaultListCellRenderer {
+
+        @Override
+        public Component getListCellRendererComponent(
+                JList<?> list,
+                Object value,
+                int index,
+                boolean isSelected,
+                boolean cellHasFocus
+        ) {
+            return super.getListCellRendererComponent(list, "[" + index + "] " + value, index,
+                    isSelected, cellHasFocus);
+        }
+    }
 }
@@ -0,0 +1,352 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.AbstractListModel;
+import lombok.NonNull;
+import sila_java.library.core.models.BasicType;
+import sila_java.library.core.models.DataTypeType;
+
+/**
+ * Compact, read-only representation of the elements of a large list, which is used as model for
+ * the virtualized list presentation of the <code>ListNode</code>. Instead of one node with its own
+ * Swing components per element, lists of integers and reals are stored in a primitive array and
+ * all other lists keep the plain JSON of their elements. The text of an element is only created
+ * when the element gets rendered.
+ * <p>
+ * Numeric lists can also be read straight from a JSON stream with <code>readNumeric</code>, so
+ * large numeric responses (e.g. spectra) are never held as tree of boxed JSON nodes.
+ * </p>
+ *
+ * @see ListNode
+ */
+@SuppressWarnings("serial")
+public abstract class ListValues extends AbstractListModel<String> {
+
+    /**
+     * The maximum length of the text shown for a single element.
+     */
+    public static final int MAX_TEXT_LENGTH = 256;
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Checks if lists of the given element type are stored in a primitive array.
+     *
+     * @param elementType The data type of the list elements.
+     * @return <code>true</code> for the basic types Integer and Real, otherwise <code>false</code>.
+     */
+    public static boolean isNumericType(@NonNull final DataTypeType elementType) {
+        return elementType.getBasic() == BasicType.INTEGER || elementType.getBasic() == BasicType.REAL;
+    }
+
+    /**
+     * Reads a JSON array of numeric values (e.g. <code>[{"value":"1.5"},{"value":"2"}]</code>)
+     * directly into a primitive array, without creating a JSON node per element.
+     *
+     * @param parser The parser, whose current token is the start of the array.
+     * @param basicType The basic type of the elements, either Integer or Real.
+     * @return The numeric list values.
+     * @throws IOException if the stream could not be read or an element is not a number.
+     * @throws IllegalArgumentException if the given type is not numeric.
+     */
+    public static ListValues readNumeric(
+            @NonNull final JsonParser parser,
+            @NonNull final BasicType basicType
+    ) throws IOException {
+        final boolean isInteger;
+        if (basicType == BasicType.INTEGER) {
+            isInteger = true;
+        } else if (basicType == BasicType.REAL) {
+            isInteger = false;
+        } else {
+            throw new IllegalArgumentException(basicType + " is not a numeric type.");
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array of numeric values.");
+        }
+
+        long[] longValues = isInteger ? new long[INITIAL_CAPACITY] : null;
+        double[] doubleValues = isInteger ? null : new double[INITIAL_CAPACITY];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() == JsonToken.START_OBJECT) {
+                // SiLA basic values are wrapped into an object (e.g. {"value": "1.5"})
+                boolean hasValue = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final boolean isValueField = SilaBasicTypeUtils.FIELD_VALUE.equals(parser.getCurrentName());
+                    parser.nextToken();
+                    if (isValueField && !hasValue) {
+                        hasValue = true;
+                    } else {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    if (isInteger) {
+                        if (size == longValues.length) {
+                            longValues = Arrays.copyOf(longValues, size * 2);
+                        }
+                        longValues[size] = readLong(parser);
+                    } else {
+                        if (size == doubleValues.length) {
+                            doubleValues = Arrays.copyOf(doubleValues, size * 2);
+                        }
+                        doubleValues[size] = readDouble(parser);
+                    }
+                }
+                if (!hasValue) {
+                    throw new JsonParseException(parser, "Element " + size + " has no value.");
+                }
+                size++;
+            } else {
+                throw new JsonParseException(parser, "Expected a numeric value object.");
+            }
+        }
+        if (isInteger) {
+            return new IntegerValues(Arrays.copyOf(longValues, size));
+        }
+        return new RealValues(Arrays.copyOf(doubleValues, size));
+    }
+
+    private static long readLong(final JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+        try {
+            return Long.parseLong(parser.getValueAsString("").trim());
+        } catch (final NumberFormatException ex) {
+            throw new JsonParseException(parser, "Not an integer: " + parser.getText());
+        }
+    }
+
+    private static double readDouble(final JsonParser parser) throws IOException {
+        if (parser.currentToken().isNumeric()) {
+            return parser.getDoubleValue();
+        }
+        try {
+            return Double.parseDouble(parser.getValueAsString("").trim());
+        } catch (final NumberFormatException ex) {
+            throw new JsonParseException(parser, "Not a real: " + parser.getText());
+        }
+    }
+
+    /**
+     * Creates the compact representation of the given list elements. Numeric elements are parsed
+     * the same way as by <code>readNumeric</code>. If an element is malformed, all elements are
+     * kept as JSON instead, so the malformed value is shown as received and not as zero.
+     *
+     * @param elementType The data type of the list elements.
+     * @param elements The JSON nodes of the list elements.
+     * @return The list values with the most compact representation for the element type.
+     */
+    public static ListValues create(
+            @NonNull final DataTypeType elementType,
+            @NonNull final List<JsonNode> elements
+    ) {
+        final BasicType basicType = elementType.getBasic();
+        try {
+            if (basicType == BasicType.INTEGER) {
+                final long[] values = new long[elements.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = parseLong(elements.get(i).path(SilaBasicTypeUtils.FIELD_VALUE));
+                }
+                return new IntegerValues(values);
+            } else if (basicType == BasicType.REAL) {
+                final double[] values = new double[elements.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = parseDouble(elements.get(i).path(SilaBasicTypeUtils.FIELD_VALUE));
+                }
+                return new RealValues(values);
+            }
+        } catch (final NumberFormatException ex) {
+            // fall through
+        }
+        return new JsonValues(elements.toArray(new JsonNode[0]));
+    }
+
+    private static long parseLong(final JsonNode valueNode) {
+        if (valueNode.isIntegralNumber() && valueNode.canConvertToLong()) {
+            return valueNode.longValue();
+        } else if (valueNode.isTextual()) {
+            return Long.parseLong(valueNode.textValue().trim());
+        }
+        throw new NumberFormatException("Not an integer: " + valueNode);
+    }
+
+    private static double parseDouble(final JsonNode valueNode) {
+        if (valueNode.isNumber()) {
+            return valueNode.doubleValue();
+        } else if (valueNode.isTextual()) {
+            return Double.parseDouble(valueNode.textValue().trim());
+        }
+        throw new NumberFormatException("Not a real: " + valueNode);
+    }
+
+    /**
+     * Gets the JSON node of the element at the given index in the format of the corresponding
+     * <code>SilaNode</code>.
+     *
+     * @param index The index of the element.
+     * @return The JSON node of the element.
+     */
+    public abstract JsonNode getJson(int index);
+
+    /**
+     * Checks if the elements are stored in a primitive array.
+     *
+     * @return <code>true</code> for lists of integers or reals, otherwise <code>false</code>.
+     */
+    public boolean isNumeric() {
+        return false;
+    }
+
+    /**
+     * Gets the numeric value of the element at the given index without boxing (e.g. for exports or
+     * plots).
+     *
+     * @param index The index of the element.
+     * @return The value of the element.
+     * @throws UnsupportedOperationException if the list is not numeric.
+     */
+    public double getDouble(int index) {
+        throw new UnsupportedOperationException("Not a numeric list.");
+    }
+
+    /**
+     * Converts all elements into a JSON array in the format of the <code>ListNode</code>.
+     *
+     * @return The JSON array of all elements.
+     */
+    public ArrayNode toJson() {
+        final ArrayNode arrayNode = jsonMapper.createArrayNode();
+        for (int i = 0; i < getSize(); i++) {
+            arrayNode.add(getJson(i));
+        }
+        return arrayNode;
+    }
+
+    private static JsonNode valueAsJsonNode(final String value) {
+        return jsonMapper.createObjectNode().put(SilaBasicTypeUtils.FIELD_VALUE, value);
+    }
+
+    /**
+     * Integer elements stored in a <code>long</code> array.
+     */
+    static final class IntegerValues extends ListValues {
+
+        private final long[] values;
+
+        IntegerValues(@NonNull final long[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int getSize() {
+            return values.length;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return Long.toString(values[index]);
+        }
+
+        @Override
+        public JsonNode getJson(int index) {
+            return valueAsJsonNode(Long.toString(values[index]));
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return true;
+        }
+
+        @Override
+        public double getDouble(int index) {
+            return values[index];
+        }
+    }
+
+    /**
+     * Real elements stored in a <code>double</code> array.
+     */
+    static final class RealValues extends ListValues {
+
+        private final double[] values;
+
+        RealValues(@NonNull final double[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public int getSize() {
+            return values.length;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return Double.toString(values[index]);
+        }
+
+        @Override
+        public JsonNode getJson(int index) {
+            return valueAsJsonNode(Double.toString(values[index]));
+        }
+
+        @Override
+        public boolean isNumeric() {
+            return true;
+        }
+
+        @Override
+        public double getDouble(int index) {
+            return values[index];
+        }
+    }
+
+    /**
+     * Elements of any other type kept as JSON. Basic values are shown by their value, all other
+     * elements by their compact JSON string.
+     */
+    static final class JsonValues extends ListValues {
+
+        private final JsonNode[] elements;
+
+        JsonValues(@NonNull final JsonNode[] elements) {
+            this.elements = elements;
+        }
+
+        @Override
+        public int getSize() {
+            return elements.length;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            final JsonNode element = elements[index];
+            final JsonNode valueNode = element.get(SilaBasicTypeUtils.FIELD_VALUE);
+            final String text;
+            if (element.size() == 1 && valueNode != null && valueNode.isValueNode()) {
+                text = valueNode.asText();
+            } else {
+                text = element.toString();
+            }
+            if (text.length() > MAX_TEXT_LENGTH) {
+                return text.substring(0, MAX_TEXT_LENGTH) + "…"; // '\u2026'
+            }
+            return text;
+        }
+
+        @Override
+        public JsonNode getJson(int index) {
+            return elements[index];
+        }
+    }
+}
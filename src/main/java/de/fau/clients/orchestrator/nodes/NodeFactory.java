@@ -1,8 +1,15 @@
 package de.fau.clients.orchestrator.nodes;
 
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
+import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import sila_java.library.core.models.DataTypeType;
@@ -41,6 +48,58 @@ public final static SilaNode createFromElementsWithJson(
         return CompositNode.createFromJson(featCtx, elements, jsonNode, isEditable);
     }
 
+    /**
+     * Creates a non-editable node from the JSON result of a command. Plain lists of integers or
+     * reals with more than <code>ListNode.VIRTUALIZATION_THRESHOLD</code> elements are taken from
+     * the given, already extracted numeric results and skipped while parsing, so their elements are
+     * never read into JSON nodes.
+     *
+     * @param featCtx The context of the feature.
+     * @param responses The response definitions of the command.
+     * @param jsonResult The JSON result of the command.
+     * @param numericResults The numeric lists of the result (see
+     * {@link NumericResults#extract(String, List)}).
+     * @return The node presenting the result or <code>null</code> if the result is empty.
+     * @throws IOException if the result is no valid JSON object.
+     */
+    public final static SilaNode createFromResult(
+            @NonNull final FeatureContext featCtx,
+            @NonNull final List<SiLAElement> responses,
+            @NonNull final String jsonResult,
+            @NonNull final Map<String, ListValues> numericResults
+    ) throws IOException {
+        final Map<String, ListValues> virtualizedLists = new HashMap<>();
+        for (final SiLAElement response : responses) {
+            final ListValues values = numericResults.get(response.getIdentifier());
+            if (values != null && response.getDataType().getList() != null
+                    && values.getSize() > ListNode.VIRTUALIZATION_THRESHOLD) {
+                virtualizedLists.put(response.getIdentifier(), values);
+            }
+        }
+
+        final ObjectNode resultNode = SilaNode.jsonMapper.createObjectNode();
+        try (final JsonParser parser = SilaNode.jsonMapper.getFactory().createParser(jsonResult)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object.");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String identifier = parser.getCurrentName();
+                parser.nextToken();
+                if (virtualizedLists.containsKey(identifier)) {
+                    parser.skipChildren();
+                    // keeps the result from being considered empty
+                    resultNode.putNull(identifier);
+                } else {
+                    resultNode.set(identifier, parser.readValueAsTree());
+                }
+            }
+        }
+        if (resultNode.isEmpty()) {
+            return null;
+        }
+        return CompositNode.createFromJson(featCtx, responses, resultNode, virtualizedLists, false);
+    }
+
     public final static SilaNode createFromDataType(
             final FeatureContext featCtx,
             @NonNull final DataTypeType type
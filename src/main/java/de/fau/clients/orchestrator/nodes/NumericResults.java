@@ -0,0 +1,151 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import sila_java.library.core.models.DataTypeType;
+import sila_java.library.core.models.ListType;
+import sila_java.library.core.models.SiLAElement;
+
+/**
+ * Extracts the numeric list responses (lists of the basic types Integer or Real, e.g. spectra or
+ * absorbance readings) from the JSON result of a command. The result is read as stream and the
+ * values are stored in primitive arrays, so no JSON tree of the whole result is created.
+ *
+ * @see ListValues
+ */
+public final class NumericResults {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+
+    private NumericResults() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Extracts the numeric list responses from the given command result.
+     *
+     * @param jsonResult The result of the command execution as JSON string.
+     * @param responses The response definitions of the command.
+     * @return The numeric lists mapped by their response identifier in the order of the result.
+     * @throws IOException if the result is no valid JSON or a numeric list contains other values.
+     */
+    public static Map<String, ListValues> extract(
+            @NonNull final String jsonResult,
+            @NonNull final List<SiLAElement> responses
+    ) throws IOException {
+        final Map<String, ListType> numericLists = new HashMap<>();
+        for (final SiLAElement response : responses) {
+            final ListType listType = getNumericListType(response.getDataType());
+            if (listType != null) {
+                numericLists.put(response.getIdentifier(), listType);
+            }
+        }
+        if (numericLists.isEmpty() || jsonResult.isBlank()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, ListValues> results = new LinkedHashMap<>();
+        try (final JsonParser parser = jsonFactory.createParser(jsonResult)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Collections.emptyMap();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String identifier = parser.getCurrentName();
+                final ListType listType = numericLists.get(identifier);
+                parser.nextToken();
+                if (listType == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                results.put(identifier, readList(parser, listType));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Appends the given numeric lists column-wise as CSV-table. The first column holds the index of
+     * the element, shorter lists leave their remaining cells empty.
+     *
+     * @param exportStr The StringBuilder instance to append the table.
+     * @param columns The numeric lists mapped by their column header.
+     */
+    public static void appendAsCsv(
+            @NonNull final StringBuilder exportStr,
+            @NonNull final Map<String, ListValues> columns
+    ) {
+        final char sep = ';'; // use semicolon as separator
+        int rowCount = 0;
+        exportStr.append("Index");
+        for (final Map.Entry<String, ListValues> column : columns.entrySet()) {
+            exportStr.append(sep);
+            exportStr.append(column.getKey());
+            rowCount = Math.max(rowCount, column.getValue().getSize());
+        }
+        exportStr.append("\n");
+
+        for (int i = 0; i < rowCount; i++) {
+            exportStr.append(i);
+            for (final ListValues values : columns.values()) {
+                exportStr.append(sep);
+                if (i < values.getSize()) {
+                    exportStr.append(values.getElementAt(i));
+                }
+            }
+            exportStr.append("\n");
+        }
+    }
+
+    private static ListValues readList(
+            final JsonParser parser,
+            final ListType listType
+    ) throws IOException {
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            // the elements may be wrapped into a value field (e.g. {"value": [...]})
+            ListValues values = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final boolean isValueField = SilaBasicTypeUtils.FIELD_VALUE.equals(parser.getCurrentName());
+                parser.nextToken();
+                if (isValueField && values == null) {
+                    values = ListValues.readNumeric(parser, listType.getDataType().getBasic());
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return (values != null)
+                    ? values
+                    : ListValues.create(listType.getDataType(), Collections.emptyList());
+        }
+        return ListValues.readNumeric(parser, listType.getDataType().getBasic());
+    }
+
+    /**
+     * Gets the list type of the given data type, if it is a list of integers or reals.
+     *
+     * @param type The data type of a response.
+     * @return The list type or <code>null</code> if the type is no numeric list.
+     */
+    static ListType getNumericListType(final DataTypeType type) {
+        if (type == null) {
+            return null;
+        }
+        ListType listType = type.getList();
+        if (listType == null && type.getConstrained() != null) {
+            listType = type.getConstrained().getDataType().getList();
+        }
+        if (listType != null && listType.getDataType() != null
+                && ListValues.isNumericType(listType.getDataType())) {
+            return listType;
+        }
+        return null;
+    }
+}
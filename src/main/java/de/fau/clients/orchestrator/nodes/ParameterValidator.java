@@ -0,0 +1,440 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import de.fau.clients.orchestrator.utils.ValidatorUtils;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import lombok.NonNull;
+import sila_java.library.core.models.BasicType;
+import sila_java.library.core.models.Constraints;
+import sila_java.library.core.models.DataTypeType;
+import sila_java.library.core.models.SiLAElement;
+
+/**
+ * Validates JSON parameter values against the data types and constraints of a SiLA feature without
+ * building any <code>SilaNode</code> or view. This allows to check whole task queues before their
+ * execution.
+ * <p>
+ * Checked are the presence and format of all basic values, the set, pattern and length constraints
+ * of strings, the set and range constraints of numbers, the length constraints of binaries, fully
+ * qualified identifier constraints (if a feature context is given), the XML and JSON schemas of
+ * strings, the content types of binaries and the element count constraints of lists. The content
+ * type is checked the same way the binary would be presented (see
+ * {@link ConstraintBasicNodeFactory#getSupportedContentType}): text must be valid UTF-8, XML must be
+ * well-formed and images must be in a format readable by <code>ImageIO</code>. Binaries referencing
+ * a file are only checked by the size of the file without reading its content.
+ * </p>
+ *
+ * @see ParameterViolation
+ */
+public final class ParameterValidator {
+
+    private static final String ROOT_PATH = "$";
+
+    private ParameterValidator() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Validates the JSON parameters of a command.
+     *
+     * @param featCtx The feature context holding the type definitions and the server context or
+     * <code>null</code>. Without a context, defined data types and fully qualified identifiers can
+     * not be checked.
+     * @param elements The parameter elements of the command.
+     * @param jsonParams The JSON parameters (e.g. the <code>commandParams</code> of a task model).
+     * @return All found violations, which is an empty list if the parameters are valid.
+     */
+    public static List<ParameterViolation> validate(
+            final FeatureContext featCtx,
+            @NonNull final List<SiLAElement> elements,
+            final JsonNode jsonParams
+    ) {
+        final List<ParameterViolation> violations = new ArrayList<>();
+        if (elements.isEmpty()) {
+            return violations;
+        }
+        if (jsonParams == null || !jsonParams.isObject()) {
+            violations.add(new ParameterViolation(ROOT_PATH, "Parameters are missing."));
+            return violations;
+        }
+        validateElements(featCtx, elements, jsonParams, ROOT_PATH, violations);
+        return violations;
+    }
+
+    private static void validateElements(
+            final FeatureContext featCtx,
+            final List<SiLAElement> elements,
+            final JsonNode jsonNode,
+            final String path,
+            final List<ParameterViolation> violations
+    ) {
+        for (final SiLAElement elem : elements) {
+            validateDataType(featCtx,
+                    elem.getDataType(),
+                    jsonNode.get(elem.getIdentifier()),
+                    path + "." + elem.getIdentifier(),
+                    violations);
+        }
+    }
+
+    private static void validateDataType(
+            final FeatureContext featCtx,
+            final DataTypeType type,
+            final JsonNode jsonNode,
+            final String path,
+            final List<ParameterViolation> violations
+    ) {
+        if (jsonNode == null || jsonNode.isNull()) {
+            violations.add(new ParameterViolation(path, "Value is missing."));
+            return;
+        }
+
+        if (type.getBasic() != null) {
+            validateBasic(type.getBasic(), jsonNode, path, violations);
+        } else if (type.getConstrained() != null) {
+            final DataTypeType conType = type.getConstrained().getDataType();
+            final Constraints constraints = type.getConstrained().getConstraints();
+            if (conType == null || constraints == null) {
+                violations.add(new ParameterViolation(path, "Invalid constrained type."));
+            } else if (conType.getBasic() != null) {
+                if (validateBasic(conType.getBasic(), jsonNode, path, violations)) {
+                    validateConstrainedBasic(featCtx, conType.getBasic(), constraints, jsonNode, path, violations);
+                }
+            } else if (conType.getList() != null) {
+                validateList(featCtx, conType.getList().getDataType(), constraints, jsonNode, path, violations);
+            } else {
+                violations.add(new ParameterViolation(path, "A constrained type can only contain a basic or a list type."));
+            }
+        } else if (type.getList() != null) {
+            validateList(featCtx, type.getList().getDataType(), null, jsonNode, path, violations);
+        } else if (type.getStructure() != null) {
+            validateElements(featCtx, type.getStructure().getElement(), jsonNode, path, violations);
+        } else if (type.getDataTypeIdentifier() != null) {
+            if (featCtx == null) {
+                // the type definition is not available
+                return;
+            }
+            final String typeId = type.getDataTypeIdentifier();
+            final DataTypeType defType = featCtx.getElement(typeId);
+            if (defType == null) {
+                violations.add(new ParameterViolation(path, "Unknown data type '" + typeId + "'."));
+                return;
+            }
+            validateDataType(featCtx, defType, jsonNode.get(typeId), path + "." + typeId, violations);
+        }
+    }
+
+    /**
+     * Checks the presence and format of a basic value.
+     *
+     * @return <code>true</code> if the value is well-formed, otherwise <code>false</code>.
+     */
+    private static boolean validateBasic(
+            final BasicType type,
+            final JsonNode jsonNode,
+            final String path,
+            final List<ParameterViolation> violations
+    ) {
+        final String valuePath = path + "." + SilaBasicTypeUtils.FIELD_VALUE;
+        final JsonNode value = jsonNode.get(SilaBasicTypeUtils.FIELD_VALUE);
+        switch (type) {
+            case ANY:
+                return true;
+            case DATE:
+                return checkFormat(SilaBasicTypeUtils.dateFromJsonNode(jsonNode) != null,
+                        path, "Invalid date.", violations);
+            case TIME:
+                return checkFormat(SilaBasicTypeUtils.timeFromJsonNode(jsonNode) != null,
+                        path, "Invalid time.", violations);
+            case TIMESTAMP:
+                return checkFormat(SilaBasicTypeUtils.timestampFromJsonNode(jsonNode) != null,
+                        path, "Invalid timestamp.", violations);
+            default:
+                break;
+        }
+
+        if (type == BasicType.BINARY) {
+            final Path file = BinaryParams.getFileReference(jsonNode);
+            if (file != null) {
+                final String hash = BinaryParams.getBlobReference(jsonNode);
+                return checkFormat(Files.isReadable(file), getReferencePath(path, jsonNode),
+                        (hash != null)
+                                ? "Blob '" + hash + "' is missing in the local store."
+                                : "File '" + file + "' is not readable.",
+                        violations);
+            }
+        }
+        if (value == null || value.isNull()) {
+            violations.add(new ParameterViolation(valuePath, "Value is missing."));
+            return false;
+        }
+        switch (type) {
+            case BINARY:
+                return checkFormat(decodeBinary(value) != null, valuePath, "Invalid Base64 encoding.", violations);
+            case BOOLEAN:
+                return checkFormat(value.isBoolean()
+                        || value.asText().equalsIgnoreCase("true")
+                        || value.asText().equalsIgnoreCase("false"),
+                        valuePath, "Not a boolean.", violations);
+            case INTEGER:
+                return checkFormat(parseNumber(value.asText(), true) != null, valuePath, "Not an integer.", violations);
+            case REAL:
+                return checkFormat(parseNumber(value.asText(), false) != null, valuePath, "Not a number.", violations);
+            case STRING:
+                return checkFormat(value.isTextual(), valuePath, "Not a string.", violations);
+            default:
+                return true;
+        }
+    }
+
+    private static void validateConstrainedBasic(
+            final FeatureContext featCtx,
+            final BasicType type,
+            final Constraints constraints,
+            final JsonNode jsonNode,
+            final String path,
+            final List<ParameterViolation> violations
+    ) {
+        final String valuePath = path + "." + SilaBasicTypeUtils.FIELD_VALUE;
+        final JsonNode value = jsonNode.get(SilaBasicTypeUtils.FIELD_VALUE);
+        switch (type) {
+            case STRING: {
+                final String str = value.asText();
+                final String msg = ValidatorUtils.getStringConstraintViolation(str, constraints);
+                if (msg != null) {
+                    violations.add(new ParameterViolation(valuePath, msg));
+                } else if (constraints.getSchema() != null) {
+                    final String schemaMsg = ValidatorUtils.getSchemaViolation(str, constraints.getSchema());
+                    if (schemaMsg != null) {
+                        violations.add(new ParameterViolation(valuePath, schemaMsg));
+                    }
+                } else if (constraints.getFullyQualifiedIdentifier() != null && featCtx != null) {
+                    final FullyQualifiedIdentifier fqiType;
+                    try {
+                        fqiType = FullyQualifiedIdentifier.fromString(constraints.getFullyQualifiedIdentifier());
+                    } catch (final RuntimeException ex) {
+                        violations.add(new ParameterViolation(valuePath, ex.getMessage()));
+                        return;
+                    }
+                    if (!ValidatorUtils.isFullyQualifiedIdentifierValid(fqiType, str, featCtx)) {
+                        violations.add(new ParameterViolation(valuePath,
+                                "'" + str + "' is not a known " + fqiType + "."));
+                    }
+                }
+                break;
+            }
+            case INTEGER:
+            case REAL: {
+                final String msg = getNumberConstraintViolation(
+                        parseNumber(value.asText(), type == BasicType.INTEGER),
+                        constraints);
+                if (msg != null) {
+                    violations.add(new ParameterViolation(valuePath, msg));
+                }
+                break;
+            }
+            case BINARY: {
+                final Path file = BinaryParams.getFileReference(jsonNode);
+                final long len;
+                if (file != null) {
+                    try {
+                        len = Files.size(file);
+                    } catch (final IOException ex) {
+                        violations.add(new ParameterViolation(getReferencePath(path, jsonNode), ex.getMessage()));
+                        break;
+                    }
+                } else {
+                    len = decodeBinary(value).length;
+                }
+                String msg = getLengthViolation(len, constraints);
+                if (msg == null && file == null && constraints.getContentType() != null) {
+                    msg = getContentTypeViolation(decodeBinary(value), constraints.getContentType());
+                }
+                if (msg != null) {
+                    violations.add(new ParameterViolation(valuePath, msg));
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static void validateList(
+            final FeatureContext featCtx,
+            final DataTypeType elemType,
+            final Constraints constraints,
+            final JsonNode jsonNode,
+            final String path,
+            final List<ParameterViolation> violations
+    ) {
+        final boolean isWrapped = jsonNode.has(SilaBasicTypeUtils.FIELD_VALUE);
+        final JsonNode arrayNode = isWrapped ? jsonNode.get(SilaBasicTypeUtils.FIELD_VALUE) : jsonNode;
+        final String listPath = isWrapped ? path + "." + SilaBasicTypeUtils.FIELD_VALUE : path;
+        if (!arrayNode.isArray()) {
+            violations.add(new ParameterViolation(listPath, "Not a list."));
+            return;
+        }
+
+        final int count = arrayNode.size();
+        if (constraints != null) {
+            final BigInteger exactCount = constraints.getElementCount();
+            final BigInteger minCount = constraints.getMinimalElementCount();
+            final BigInteger maxCount = constraints.getMaximalElementCount();
+            if (exactCount != null && count != exactCount.intValue()) {
+                violations.add(new ParameterViolation(listPath,
+                        "Element count " + count + " is not " + exactCount + "."));
+            } else if (minCount != null && count < minCount.intValue()) {
+                violations.add(new ParameterViolation(listPath,
+                        "Element count " + count + " is less than " + minCount + "."));
+            } else if (maxCount != null && count > maxCount.intValue()) {
+                violations.add(new ParameterViolation(listPath,
+                        "Element count " + count + " is greater than " + maxCount + "."));
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            validateDataType(featCtx, elemType, arrayNode.get(i), listPath + "[" + i + "]", violations);
+        }
+    }
+
+    /**
+     * Checks the number against the set and range constraints.
+     *
+     * @param number The number to check.
+     * @param constraints The constraints.
+     * @return A description of the violation or <code>null</code> if valid.
+     */
+    static String getNumberConstraintViolation(final BigDecimal number, final Constraints constraints) {
+        final Constraints.Set conSet = constraints.getSet();
+        if (conSet != null && conSet.getValue() != null) {
+            for (final String item : conSet.getValue()) {
+                final BigDecimal allowed = parseNumber(item, false);
+                if (allowed != null && allowed.compareTo(number) == 0) {
+                    return null;
+                }
+            }
+            return number.toPlainString() + " is not in the set of allowed values.";
+        }
+        final BigDecimal minEx = parseNumber(constraints.getMinimalExclusive(), false);
+        if (minEx != null && number.compareTo(minEx) <= 0) {
+            return number.toPlainString() + " is not greater than " + minEx.toPlainString() + ".";
+        }
+        final BigDecimal minIn = parseNumber(constraints.getMinimalInclusive(), false);
+        if (minIn != null && number.compareTo(minIn) < 0) {
+            return number.toPlainString() + " is less than " + minIn.toPlainString() + ".";
+        }
+        final BigDecimal maxEx = parseNumber(constraints.getMaximalExclusive(), false);
+        if (maxEx != null && number.compareTo(maxEx) >= 0) {
+            return number.toPlainString() + " is not less than " + maxEx.toPlainString() + ".";
+        }
+        final BigDecimal maxIn = parseNumber(constraints.getMaximalInclusive(), false);
+        if (maxIn != null && number.compareTo(maxIn) > 0) {
+            return number.toPlainString() + " is greater than " + maxIn.toPlainString() + ".";
+        }
+        return null;
+    }
+
+    private static String getLengthViolation(long len, final Constraints constraints) {
+        final BigInteger exactLen = constraints.getLength();
+        if (exactLen != null && len != exactLen.longValue()) {
+            return "Length " + len + " is not " + exactLen + ".";
+        }
+        final BigInteger minLen = constraints.getMinimalLength();
+        if (minLen != null && len < minLen.longValue()) {
+            return "Length " + len + " is less than " + minLen + ".";
+        }
+        final BigInteger maxLen = constraints.getMaximalLength();
+        if (maxLen != null && len > maxLen.longValue()) {
+            return "Length " + len + " is greater than " + maxLen + ".";
+        }
+        return null;
+    }
+
+    /**
+     * Checks the binary content against the content type constraint. Unknown and unsupported
+     * content types are accepted as they are.
+     *
+     * @param binary The binary content to check.
+     * @param contentType The content type constraint.
+     * @return A description of the violation or <code>null</code> if valid.
+     */
+    static String getContentTypeViolation(
+            @NonNull final byte[] binary,
+            @NonNull final Constraints.ContentType contentType
+    ) {
+        switch (ConstraintBasicNodeFactory.getSupportedContentType(contentType)) {
+            case TEXT:
+                return ValidatorUtils.isValidUtf8(binary) ? null : "Not a valid UTF-8 text.";
+            case TEXT_XML:
+                return ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(binary))
+                        ? null
+                        : "Not a well-formed XML document.";
+            case IMAGE:
+                try (final ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(binary))) {
+                    if (iis != null && ImageIO.getImageReaders(iis).hasNext()) {
+                        return null;
+                    }
+                } catch (final IOException ex) {
+                    // fall through to the violation
+                }
+                return "Not a supported image format.";
+            default:
+                return null;
+        }
+    }
+
+    private static boolean checkFormat(
+            boolean isValid,
+            final String path,
+            final String message,
+            final List<ParameterViolation> violations
+    ) {
+        if (!isValid) {
+            violations.add(new ParameterViolation(path, message));
+        }
+        return isValid;
+    }
+
+    private static BigDecimal parseNumber(final String str, boolean isInteger) {
+        if (str == null) {
+            return null;
+        }
+        try {
+            final BigDecimal number = new BigDecimal(str.trim());
+            if (isInteger && number.stripTrailingZeros().scale() > 0) {
+                return null;
+            }
+            return number;
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static byte[] decodeBinary(final JsonNode value) {
+        try {
+            return value.binaryValue();
+        } catch (final IOException ex) {
+            return null;
+        }
+    }
+
+    private static String getReferencePath(final String path, final JsonNode jsonNode) {
+        if (BinaryParams.getBlobReference(jsonNode) != null) {
+            return path + "." + BinaryParams.FIELD_BLOB;
+        }
+        return path + "." + BinaryParams.FIELD_FILE;
+    }
+}
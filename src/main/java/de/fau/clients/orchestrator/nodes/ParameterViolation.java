@@ -0,0 +1,37 @@
+package de.fau.clients.orchestrator.nodes;
+
+import lombok.NonNull;
+
+/**
+ * A parameter value violating its data type or constraints.
+ *
+ * @see ParameterValidator
+ */
+public final class ParameterViolation {
+
+    private final String path;
+    private final String message;
+
+    public ParameterViolation(@NonNull final String path, @NonNull final String message) {
+        this.path = path;
+        this.message = message;
+    }
+
+    /**
+     * Gets the location of the violating value.
+     *
+     * @return The JSON path of the value (e.g. <code>$.Barcode.value</code>).
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public String toString() {
+        return path + ": " + message;
+    }
+}
@@ -2,6 +2,8 @@
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import java.io.UncheckedIOException;
 import javax.swing.JComponent;
 
 /**
@@ -37,11 +39,13 @@ public abstract class SilaNode {
     public abstract JComponent getComponent();
 
     /**
-     * Generates a JSON String out of the current SiLA node data.
+     * Generates a JSON String out of the current SiLA node data. Binaries referencing a file are
+     * replaced by the encoded file content.
      *
      * @return A JSON formatted string.
+     * @throws UncheckedIOException if a referenced file could not be read.
      */
     public String toJsonString() {
-        return toJson().toString();
+        return BinaryParams.toJsonString(toJson());
     }
 }
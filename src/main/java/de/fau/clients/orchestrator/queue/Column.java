@@ -15,6 +15,7 @@ public enum Column {
     START_TIME("Start Time", true),
     END_TIME("End Time", true),
     DURATION("Duration"),
+    PROGRESS("Progress"),
     RESULT("Result");
 
     public final String title;
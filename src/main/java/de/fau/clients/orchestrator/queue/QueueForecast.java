@@ -0,0 +1,138 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.TaskProgress;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Forecast of the remaining time of a queue run, based on the expected durations of the tasks.
+ * Besides the plain sum of the remaining task durations, the forecast contains the critical path,
+ * which is the chain of dependent tasks with the longest total duration and therefore determines
+ * the end of the run. As long as the queue is executed strictly sequential, every task depends on
+ * its predecessor and the critical path covers all remaining tasks.
+ *
+ * @see TaskQueueTable#createForecast(int)
+ */
+public final class QueueForecast {
+
+    private final long remainingTimeInMs;
+    private final int unknownTaskCount;
+    private final List<Integer> criticalPath;
+
+    QueueForecast(long remainingTimeInMs, int unknownTaskCount, final List<Integer> criticalPath) {
+        this.remainingTimeInMs = remainingTimeInMs;
+        this.unknownTaskCount = unknownTaskCount;
+        this.criticalPath = Collections.unmodifiableList(criticalPath);
+    }
+
+    /**
+     * Estimates the remaining time of a single task.
+     *
+     * @param expectedTimeInMs The expected duration of the task or -1 if unknown.
+     * @param elapsedTimeInMs The elapsed time of a running task.
+     * @param state The current state of the task.
+     * @return The remaining time in milliseconds or -1 if unknown.
+     */
+    static long estimateRemainingTime(long expectedTimeInMs, long elapsedTimeInMs, final TaskState state) {
+        switch (state) {
+            case FINISHED_SUCCESS:
+            case FINISHED_ERROR:
+                return 0;
+            case RUNNING:
+                return (expectedTimeInMs < 0) ? -1 : Math.max(0, expectedTimeInMs - elapsedTimeInMs);
+            default:
+                return expectedTimeInMs;
+        }
+    }
+
+    /**
+     * Finds the critical path, i.e. the longest path through the dependency graph of the tasks.
+     * The tasks have to be given in a topological order, which means that each task may only
+     * depend on tasks with a lower index (like it is the case for the rows of the queue).
+     *
+     * @param durationsInMs The remaining durations of the tasks. Unknown durations (negative
+     * values) are counted as zero.
+     * @param predecessors The indices of the tasks each task depends on.
+     * @return The indices of the tasks on the critical path in execution order.
+     */
+    static List<Integer> findCriticalPath(final long[] durationsInMs, final int[][] predecessors) {
+        if (durationsInMs.length != predecessors.length) {
+            throw new IllegalArgumentException("Number of durations and predecessor lists differ.");
+        }
+        final int size = durationsInMs.length;
+        final long[] finishTime = new long[size];
+        final int[] prevOnPath = new int[size];
+        int lastIdx = -1;
+        for (int i = 0; i < size; i++) {
+            long startTime = 0;
+            prevOnPath[i] = -1;
+            for (final int pred : predecessors[i]) {
+                if (pred < 0 || pred >= i) {
+                    throw new IllegalArgumentException("Tasks are not in topological order.");
+                }
+                // a task starts as soon as its latest predecessor finished
+                if (prevOnPath[i] == -1 || finishTime[pred] > startTime) {
+                    startTime = finishTime[pred];
+                    prevOnPath[i] = pred;
+                }
+            }
+            finishTime[i] = startTime + Math.max(0, durationsInMs[i]);
+            if (lastIdx == -1 || finishTime[i] >= finishTime[lastIdx]) {
+                lastIdx = i;
+            }
+        }
+
+        final List<Integer> path = new ArrayList<>();
+        for (int i = lastIdx; i >= 0; i = prevOnPath[i]) {
+            path.add(i);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Gets the estimated remaining time of the run. Tasks with unknown durations are not included.
+     *
+     * @return The remaining time in milliseconds.
+     * @see #getUnknownTaskCount()
+     */
+    public long getRemainingTimeInMs() {
+        return remainingTimeInMs;
+    }
+
+    /**
+     * Gets the number of remaining tasks without any duration estimate.
+     *
+     * @return The number of tasks with unknown duration.
+     */
+    public int getUnknownTaskCount() {
+        return unknownTaskCount;
+    }
+
+    /**
+     * Gets the row indices of the tasks on the critical path.
+     *
+     * @return An unmodifiable list of row indices in execution order.
+     */
+    public List<Integer> getCriticalPath() {
+        return criticalPath;
+    }
+
+    /**
+     * Creates a short, human readable representation of the forecast (e.g. "ETA 0:12:30 (+2
+     * unknown)").
+     *
+     * @return The forecast as String.
+     */
+    @Override
+    public String toString() {
+        final String eta = "ETA " + TaskProgress.formatDuration(Duration.ofMillis(remainingTimeInMs));
+        if (unknownTaskCount > 0) {
+            return eta + " (+" + unknownTaskCount + " unknown)";
+        }
+        return eta;
+    }
+}
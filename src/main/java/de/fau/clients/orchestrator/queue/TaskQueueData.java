@@ -4,7 +4,10 @@
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.binary.BlobStore;
 import de.fau.clients.orchestrator.tasks.CommandTask;
 import de.fau.clients.orchestrator.tasks.CommandTaskModel;
 import de.fau.clients.orchestrator.tasks.DelayTask;
@@ -13,20 +16,38 @@
 import de.fau.clients.orchestrator.tasks.LocalExecTaskModel;
 import de.fau.clients.orchestrator.tasks.TaskEntry;
 import de.fau.clients.orchestrator.tasks.TaskModel;
+import de.fau.clients.orchestrator.utils.BinaryParams;
 import de.fau.clients.orchestrator.utils.VersionNumber;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Class responsible for importing and exporting the task-queue from/to a JSON-file.
+ * <p>
+ * A *.silo file holds all binary parameters inline, so it does not depend on any local files. A
+ * queue can also be saved as bundle (<code>*.siloz</code>), which is a ZIP archive containing the
+ * *.silo file and the binary parameters as separate blobs. In a bundle, binaries are referenced by
+ * their hash, so the same binary used in several tasks is only stored once. The blobs of a bundle
+ * are imported into the local <code>BlobStore</code> on loading. The task models of the queue are
+ * never modified on saving.
+ * </p>
  *
  * @see TaskEntry
+ * @see BlobStore
  */
 @Slf4j
 @JsonPropertyOrder({"siloFileVersion", "tasks"})
@@ -36,7 +57,14 @@ public class TaskQueueData {
      * Save-file version identifier to allow managing compatibility with potential older or future
      * releases.
      */
-    public static final VersionNumber SILO_FILE_VERSION = new VersionNumber(2, 0, 0);
+    public static final VersionNumber SILO_FILE_VERSION = new VersionNumber(2, 1, 0);
+    /**
+     * The file suffix of bundles, which contain the queue together with its binaries.
+     */
+    public static final String BUNDLE_SUFFIX = ".siloz";
+    private static final String BUNDLE_QUEUE_ENTRY = "queue.silo";
+    private static final String BUNDLE_BLOB_DIR = "blobs/";
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
     private static final ObjectMapper mapper = new ObjectMapper();
     private VersionNumber loadedFile = null;
     private ArrayList<TaskEntry> tasks = null;
@@ -61,7 +89,9 @@ public static TaskQueueData createFromTaskQueue(final TaskQueueTable queue) {
     }
 
     /**
-     * Writes the given queue data into the given file.
+     * Writes the given queue data into the given file. If the file name ends with
+     * <code>BUNDLE_SUFFIX</code>, a bundle with the binary parameters as blobs is written,
+     * otherwise all binaries are written inline.
      *
      * @param outFile The file to write out.
      * @param queueData The queue data to write.
@@ -69,13 +99,60 @@ public static TaskQueueData createFromTaskQueue(final TaskQueueTable queue) {
      */
     public static void writeToFile(final Path outFile, final TaskQueueData queueData)
             throws IOException {
-        final BufferedWriter bw = Files.newBufferedWriter(outFile);
-        mapper.writerWithDefaultPrettyPrinter().writeValue(bw, queueData);
+        writeToFile(outFile, queueData, BlobStore.getInstance());
+    }
+
+    static void writeToFile(final Path outFile, final TaskQueueData queueData, final BlobStore store)
+            throws IOException {
+        if (outFile.getFileName().toString().endsWith(BUNDLE_SUFFIX)) {
+            writeBundle(outFile,
+                    queueData.withCommandParams(params -> BinaryParams.toBlobReferences(params, store)),
+                    store);
+            return;
+        }
+        // blob references of a loaded bundle are resolved to stay independent of the local store
+        final TaskQueueData inlineData = queueData.withCommandParams(
+                params -> BinaryParams.toInlineBinaries(params, store));
+        try (final BufferedWriter bw = Files.newBufferedWriter(outFile)) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(bw, inlineData);
+        }
+    }
+
+    private static void writeBundle(final Path outFile, final TaskQueueData queueData, final BlobStore store)
+            throws IOException {
+        final Set<String> hashes = new LinkedHashSet<>();
+        for (final TaskEntry entry : queueData.tasks) {
+            if (entry.getTaskModel() instanceof CommandTaskModel) {
+                final JsonNode params = ((CommandTaskModel) entry.getTaskModel()).getCommandParams();
+                if (params != null) {
+                    BinaryParams.collectBlobReferences(params, hashes);
+                }
+            }
+        }
+
+        try (final ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(outFile)))) {
+            zos.putNextEntry(new ZipEntry(BUNDLE_QUEUE_ENTRY));
+            mapper.writerWithDefaultPrettyPrinter()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .writeValue(zos, queueData);
+            zos.closeEntry();
+            for (final String hash : hashes) {
+                final Path blob = store.getPath(hash);
+                if (!Files.isRegularFile(blob)) {
+                    log.warn("Blob " + hash + " is missing in the local store and was not bundled.");
+                    continue;
+                }
+                zos.putNextEntry(new ZipEntry(BUNDLE_BLOB_DIR + hash));
+                Files.copy(blob, zos);
+                zos.closeEntry();
+            }
+        }
     }
 
     /**
      * Loads the given *.silo file and returns its content as <code>TaskQueueData</code> object for
-     * further processing.
+     * further processing. Bundles are detected by their content and their blobs are imported into
+     * the local <code>BlobStore</code>.
      *
      * @param siloFile The path to the *.silo file.
      * @return The initialized <code>TaskQueueData</code> object containing the data from the file.
@@ -85,19 +162,29 @@ public static void writeToFile(final Path outFile, final TaskQueueData queueData
      */
     public static TaskQueueData createFromFile(final String siloFile)
             throws IllegalArgumentException, IOException {
+        return createFromFile(siloFile, BlobStore.getInstance());
+    }
+
+    static TaskQueueData createFromFile(final String siloFile, final BlobStore store)
+            throws IllegalArgumentException, IOException {
         final Path filePath = Paths.get(siloFile);
         if (Files.notExists(filePath)) {
             throw new FileNotFoundException("Could not find file '" + filePath + "'.");
         }
 
         log.info("Opend file: " + filePath);
+        final JsonNode rootNode;
+        if (isZipFile(filePath)) {
+            rootNode = readBundle(filePath, store);
+        } else {
+            try (final InputStream in = Files.newInputStream(filePath)) {
+                rootNode = mapper.readTree(in);
+            }
+        }
+
         final String loadedVersionStr;
         try {
-            loadedVersionStr = mapper.readTree(Files.newInputStream(filePath))
-                    .get("siloFileVersion")
-                    .asText();
-        } catch (final IOException ex) {
-            throw ex;
+            loadedVersionStr = rootNode.get("siloFileVersion").asText();
         } catch (final Exception ex) {
             throw new IllegalArgumentException("Could not query file version number: " + ex.getMessage() + ".");
         }
@@ -120,7 +207,7 @@ public static TaskQueueData createFromFile(final String siloFile)
 
         final TaskQueueData tqd;
         try {
-            tqd = mapper.readValue(Files.newInputStream(filePath), TaskQueueData.class);
+            tqd = mapper.treeToValue(rootNode, TaskQueueData.class);
         } catch (final IOException ex) {
             if (isMajorLower) {
                 throw new IllegalArgumentException("The opened file with its format version "
@@ -141,6 +228,82 @@ public static TaskQueueData createFromFile(final String siloFile)
         return tqd;
     }
 
+    private static boolean isZipFile(final Path file) throws IOException {
+        final byte[] header = new byte[ZIP_MAGIC.length];
+        try (final InputStream in = Files.newInputStream(file)) {
+            return in.readNBytes(header, 0, header.length) == header.length
+                    && Arrays.equals(header, ZIP_MAGIC);
+        }
+    }
+
+    /**
+     * Reads the queue of the given bundle and imports its blobs into the given store.
+     *
+     * @param bundleFile The bundle to read.
+     * @param store The store to import the blobs into.
+     * @return The root node of the contained *.silo file.
+     * @throws IOException if the bundle could not be read.
+     * @throws IllegalArgumentException if the bundle does not contain a queue.
+     */
+    private static JsonNode readBundle(final Path bundleFile, final BlobStore store) throws IOException {
+        JsonNode rootNode = null;
+        try (final ZipInputStream zis = new ZipInputStream(Files.newInputStream(bundleFile))) {
+            ZipEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                final String name = entry.getName();
+                if (name.equals(BUNDLE_QUEUE_ENTRY)) {
+                    rootNode = mapper.readTree(zis.readAllBytes());
+                } else if (name.startsWith(BUNDLE_BLOB_DIR)) {
+                    // the entry name is only used as hash and never as path
+                    final String hash = name.substring(BUNDLE_BLOB_DIR.length());
+                    if (!BlobStore.isHash(hash)) {
+                        log.warn("Skipped invalid blob entry '" + name + "' in bundle.");
+                    } else if (!store.contains(hash)) {
+                        final String storedHash = store.putStream(zis);
+                        if (!storedHash.equals(hash)) {
+                            log.warn("Content of blob " + hash + " in bundle does not match its hash.");
+                        }
+                    }
+                }
+                zis.closeEntry();
+            }
+        }
+        if (rootNode == null) {
+            throw new IllegalArgumentException("The bundle does not contain a task queue.");
+        }
+        return rootNode;
+    }
+
+    /**
+     * Creates a copy of this queue data with the converted parameters of all command tasks. The
+     * task models of this instance are not modified.
+     *
+     * @param converter The conversion of the command parameters.
+     * @return The copy with the converted parameters.
+     * @throws IOException if a conversion failed.
+     */
+    private TaskQueueData withCommandParams(final ParamsConverter converter) throws IOException {
+        final TaskQueueData copy = new TaskQueueData();
+        copy.tasks = new ArrayList<>(tasks.size());
+        for (final TaskEntry entry : tasks) {
+            TaskModel taskModel = entry.getTaskModel();
+            if (taskModel instanceof CommandTaskModel) {
+                final CommandTaskModel ctm = (CommandTaskModel) taskModel;
+                final JsonNode params = ctm.getCommandParams();
+                final JsonNode converted = (params != null) ? converter.convert(params) : null;
+                if (converted != params) {
+                    final CommandTaskModel ctmCopy = new CommandTaskModel(ctm.getServerUuid(),
+                            ctm.getFullyQualifiedFeatureIdentifier(),
+                            ctm.getCommandId());
+                    ctmCopy.setCommandParams(converted);
+                    taskModel = ctmCopy;
+                }
+            }
+            copy.tasks.add(new TaskEntry(entry.getTaskId(), taskModel, entry.getTaskPolicy()));
+        }
+        return copy;
+    }
+
     /**
      * Imports the data (tasks) hold by this instance into the given task queue.
      *
@@ -187,4 +350,10 @@ public void setSiloFileVersion(final String version) {
     public VersionNumber getLoadedSiloFileVersion() {
         return loadedFile;
     }
+
+    @FunctionalInterface
+    private interface ParamsConverter {
+
+        JsonNode convert(JsonNode params) throws IOException;
+    }
 }
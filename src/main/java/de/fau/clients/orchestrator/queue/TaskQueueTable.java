@@ -3,15 +3,24 @@
 import de.fau.clients.orchestrator.ctx.ConnectionListener;
 import de.fau.clients.orchestrator.ctx.ServerContext;
 import de.fau.clients.orchestrator.dnd.TaskImportTransferHandler;
+import de.fau.clients.orchestrator.nodes.ListValues;
+import de.fau.clients.orchestrator.nodes.NumericResults;
 import de.fau.clients.orchestrator.tasks.CommandTask;
 import de.fau.clients.orchestrator.tasks.ConnectionStatus;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
 import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.TaskProgress;
 import de.fau.clients.orchestrator.tasks.TaskState;
 import java.awt.Component;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import javax.swing.DefaultCellEditor;
 import javax.swing.DropMode;
@@ -19,6 +28,7 @@
 import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPopupMenu;
+import javax.swing.JProgressBar;
 import javax.swing.JScrollPane;
 import javax.swing.JTable;
 import javax.swing.ListSelectionModel;
@@ -95,6 +105,10 @@ public TaskQueueTable() {
         taskStateColumn.setMaxWidth(48);
         taskStateColumn.setCellRenderer(new TaskStateCellRenderer());
 
+        final TableColumn progressColumn = columnModel.getColumn(Column.PROGRESS.ordinal());
+        progressColumn.setPreferredWidth(140);
+        progressColumn.setCellRenderer(new TaskProgressCellRenderer());
+
         final TableColumn resultColumn = columnModel.getColumn(Column.RESULT.ordinal());
         resultColumn.setMaxWidth(64);
         // Set the editor and renderer for the result cell to view the returned response.
@@ -203,6 +217,7 @@ public boolean isEmpty() {
      * <li>start-time</li>
      * <li>end-time</li>
      * <li>duration</li>
+     * <li>progress</li>
      * <li>result</li>
      * </ul>
      */
@@ -340,6 +355,57 @@ public void addUuidToSelectionSet(UUID serverUuid) {
         }
     }
 
+    /**
+     * Checks whether at least one task in the queue is assigned to the server with the given UUID.
+     *
+     * @param serverUuid The server UUID to look for.
+     * @return <code>true</code> if the server is referenced, otherwise <code>false</code>.
+     */
+    public boolean isServerReferenced(final UUID serverUuid) {
+        return !((TaskQueueTableModel) dataModel).getRowsByServerUuid(serverUuid).isEmpty();
+    }
+
+    /**
+     * Creates a forecast of the remaining run time of the queue starting at the given row. The
+     * forecast uses the states of the table and the expected durations of the tasks.
+     *
+     * @param startRowIdx The index of the first row of the run.
+     * @return The forecast of the remaining run.
+     * @see QueueForecast
+     */
+    public QueueForecast createForecast(int startRowIdx) {
+        final int startIdx = Math.max(0, startRowIdx);
+        final int size = Math.max(0, dataModel.getRowCount() - startIdx);
+        final long[] remainingTimes = new long[size];
+        final int[][] predecessors = new int[size][];
+        long remainingTimeSum = 0;
+        int unknownTaskCount = 0;
+        for (int i = 0; i < size; i++) {
+            final int rowIdx = startIdx + i;
+            final QueueTask task = getTaskFromRow(rowIdx);
+            final Duration expected = task.getExpectedDuration();
+            final Duration elapsed = task.getElapsedTime();
+            // use the state of the table, since the task keeps the state of its last execution
+            remainingTimes[i] = QueueForecast.estimateRemainingTime(
+                    (expected != null) ? expected.toMillis() : -1,
+                    (elapsed != null) ? elapsed.toMillis() : 0,
+                    (TaskState) dataModel.getValueAt(rowIdx, Column.STATE.ordinal()));
+            if (remainingTimes[i] < 0) {
+                unknownTaskCount++;
+            } else {
+                remainingTimeSum += remainingTimes[i];
+            }
+            // the queue is executed sequentially, so each task depends on its predecessor
+            predecessors[i] = (i > 0) ? new int[]{i - 1} : new int[0];
+        }
+
+        final List<Integer> criticalPath = new ArrayList<>();
+        for (final int idx : QueueForecast.findCriticalPath(remainingTimes, predecessors)) {
+            criticalPath.add(startIdx + idx);
+        }
+        return new QueueForecast(remainingTimeSum, unknownTaskCount, criticalPath);
+    }
+
     public void showColumn(final Column col) {
         tch.showColumn(col);
         headerItems[col.ordinal()].setSelected(true);
@@ -382,6 +448,34 @@ public void exportTableContentsAsCsv(final StringBuilder exportStr) {
         }
     }
 
+    /**
+     * Exports the numeric list responses (e.g. spectra) of all command tasks column-wise as
+     * CSV-table. Each column is named by the task ID and the response identifier (e.g.
+     * <code>3:Absorbance</code>).
+     *
+     * @param exportStr The StringBuilder instance to append the numeric results.
+     * @return <code>true</code> if any numeric results were exported, otherwise <code>false</code>.
+     */
+    public boolean exportNumericResultsAsCsv(final StringBuilder exportStr) {
+        final Map<String, ListValues> columns = new LinkedHashMap<>();
+        for (int i = 0; i < this.getRowCount(); i++) {
+            final QueueTask task = getTaskFromRow(i);
+            if (!(task instanceof CommandTask)) {
+                continue;
+            }
+            final int taskId = getTaskIdFromRow(i);
+            for (final Map.Entry<String, ListValues> entry
+                    : ((CommandTask) task).getNumericResults().entrySet()) {
+                columns.put(taskId + ":" + entry.getKey(), entry.getValue());
+            }
+        }
+        if (columns.isEmpty()) {
+            return false;
+        }
+        NumericResults.appendAsCsv(exportStr, columns);
+        return true;
+    }
+
     /**
      * Changes the server UUID of the given task to the UUID in the corresponding ComboBox of the
      * same row. Invalid UUIDs are allowed and the connection status icon changes accordingly as
@@ -438,30 +532,24 @@ private int generateAndRegisterTaskId() {
 
     /**
      * Function to update the connection symbols in the queue table according to the changed server
-     * state (online/offline).
+     * state (online/offline). Only the rows assigned to the given server get touched.
      *
      * @param serverCtx The changed server context.
      */
     private void updateConnectionStateOfQueueEntries(final ServerContext serverCtx) {
-        for (int i = 0; i < getRowCount(); i++) {
-            final Object obj = dataModel.getValueAt(i, Column.SERVER_UUID.ordinal());
-
-            if (obj instanceof UUID) {
-                UUID taskUuid = (UUID) obj;
-                if (taskUuid.compareTo(serverCtx.getServerUuid()) == 0) {
-                    if (serverCtx.isOnline()) {
-                        final CommandTask task = (CommandTask) dataModel.getValueAt(i,
-                                Column.TASK_INSTANCE.ordinal());
-                        task.changeServerByCtx(serverCtx);
-                        dataModel.setValueAt(ConnectionStatus.ONLINE,
-                                i,
-                                Column.CONNECTION_STATUS.ordinal());
-                    } else {
-                        dataModel.setValueAt(ConnectionStatus.OFFLINE,
-                                i,
-                                Column.CONNECTION_STATUS.ordinal());
-                    }
+        final TaskQueueTableModel tqtModel = (TaskQueueTableModel) dataModel;
+        final boolean isOnline = serverCtx.isOnline();
+        // copy the indices, since the index may get invalidated while updating the rows
+        final List<Integer> rows = new ArrayList<>(tqtModel.getRowsByServerUuid(serverCtx.getServerUuid()));
+        for (final int i : rows) {
+            if (isOnline) {
+                final Object obj = tqtModel.getValueAt(i, Column.TASK_INSTANCE);
+                if (obj instanceof CommandTask) {
+                    ((CommandTask) obj).changeServerByCtx(serverCtx);
                 }
+                tqtModel.setValueAt(ConnectionStatus.ONLINE, i, Column.CONNECTION_STATUS);
+            } else {
+                tqtModel.setValueAt(ConnectionStatus.OFFLINE, i, Column.CONNECTION_STATUS);
             }
         }
     }
@@ -490,6 +578,22 @@ public void onServerConnectionChanged(final ServerContext serverCtx) {
         updateConnectionStateOfQueueEntries(serverCtx);
     }
 
+    /**
+     * Listener function which gets invoked with all servers whose connection state changed within
+     * the last coalescing window.
+     *
+     * @param serverCtxSet The changed server contexts.
+     */
+    @Override
+    public void onServerConnectionsChanged(final Set<ServerContext> serverCtxSet) {
+        if (isEmpty()) {
+            return;
+        }
+        for (final ServerContext serverCtx : serverCtxSet) {
+            updateConnectionStateOfQueueEntries(serverCtx);
+        }
+    }
+
     /**
      * A custom cell renderer for displaying UUID objects in the table. This renderer shows the UUID
      * inside a <code>JComboBox</code> for the sole purpose of signaling the user a editable cell.
@@ -561,6 +665,59 @@ public Component getTableCellRendererComponent(
         }
     }
 
+    /**
+     * A custom cell renderer which shows the <code>TaskProgress</code> as progress bar if the
+     * progress is known, otherwise as plain text (e.g. the elapsed time).
+     */
+    private static final class TaskProgressCellRenderer extends DefaultTableCellRenderer {
+
+        private final JProgressBar progressBar = new JProgressBar(0, 100);
+
+        private TaskProgressCellRenderer() {
+            progressBar.setStringPainted(true);
+            progressBar.setBorderPainted(false);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(
+                JTable table,
+                Object value,
+                boolean isSelected,
+                boolean hasFocus,
+                int row,
+                int col
+        ) {
+            final String toolTip = createToolTip(table.getModel().getValueAt(row, Column.TASK_INSTANCE.ordinal()));
+            if (value instanceof TaskProgress && ((TaskProgress) value).isProgressKnown()) {
+                final TaskProgress progress = (TaskProgress) value;
+                progressBar.setValue((int) Math.round(progress.getProgress() * 100));
+                progressBar.setString(progress.toString());
+                progressBar.setToolTipText(toolTip);
+                return progressBar;
+            }
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, col);
+            this.setToolTipText(toolTip);
+            return this;
+        }
+
+        /**
+         * Creates a tool-tip with the expected duration of the given task.
+         *
+         * @param taskObj The task of the rendered row.
+         * @return The tool-tip or <code>null</code> if there is no estimate.
+         */
+        private static String createToolTip(final Object taskObj) {
+            if (taskObj instanceof CommandTask) {
+                final String summary = ((CommandTask) taskObj).getDurationStatsSummary();
+                return summary.isEmpty() ? null : summary;
+            } else if (taskObj instanceof QueueTask) {
+                final Duration expected = ((QueueTask) taskObj).getExpectedDuration();
+                return (expected != null) ? "Expected: " + TaskProgress.formatDuration(expected) : null;
+            }
+            return null;
+        }
+    }
+
     private final class TaskStateCellRenderer extends DefaultTableCellRenderer {
 
         @Override
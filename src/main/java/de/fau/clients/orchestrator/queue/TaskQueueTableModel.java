@@ -4,8 +4,17 @@
 import de.fau.clients.orchestrator.tasks.ConnectionStatus;
 import de.fau.clients.orchestrator.tasks.ExecPolicy;
 import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.TaskProgress;
 import de.fau.clients.orchestrator.tasks.TaskState;
 import java.beans.PropertyChangeEvent;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import javax.swing.SwingUtilities;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.DefaultTableModel;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,6 +27,50 @@
 @SuppressWarnings("serial")
 class TaskQueueTableModel extends DefaultTableModel {
 
+    /**
+     * Index of the row positions by the assigned server UUID. The index gets invalidated on every
+     * structural change of the table or on a change of a server UUID and is rebuilt lazily on the
+     * next lookup.
+     */
+    private Map<UUID, List<Integer>> serverUuidRowIdx = null;
+
+    /**
+     * Constructor.
+     */
+    TaskQueueTableModel() {
+        addTableModelListener((TableModelEvent evt) -> {
+            if (evt.getType() != TableModelEvent.UPDATE
+                    || evt.getColumn() == TableModelEvent.ALL_COLUMNS
+                    || evt.getColumn() == Column.SERVER_UUID.ordinal()) {
+                serverUuidRowIdx = null;
+            }
+        });
+    }
+
+    /**
+     * Gets the indices of all rows which are assigned to the given server UUID.
+     *
+     * @param serverUuid The server UUID to look for.
+     * @return An unmodifiable list of row indices in ascending order (may be empty).
+     */
+    protected List<Integer> getRowsByServerUuid(final UUID serverUuid) {
+        if (serverUuidRowIdx == null) {
+            final Map<UUID, List<Integer>> rowIdx = new HashMap<>();
+            for (int i = 0; i < getRowCount(); i++) {
+                final Object obj = getValueAt(i, Column.SERVER_UUID);
+                if (obj instanceof UUID) {
+                    rowIdx.computeIfAbsent((UUID) obj, uuid -> new ArrayList<>()).add(i);
+                }
+            }
+            serverUuidRowIdx = rowIdx;
+        }
+        final List<Integer> rows = serverUuidRowIdx.get(serverUuid);
+        if (rows == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(rows);
+    }
+
     /**
      * Adds the given command task at the end of the table and registers a change listener on the
      * state property.
@@ -46,6 +99,7 @@ protected void addCommandTask(
             cmdTask.getStartTimeStamp(),
             cmdTask.getEndTimeStamp(),
             cmdTask.getDuration(),
+            cmdTask.getProgress(),
             cmdTask.getLastExecResult()});
         addStateListener(cmdTask);
     }
@@ -83,6 +137,7 @@ protected void insertCommandTask(
                     cmdTask.getStartTimeStamp(),
                     cmdTask.getEndTimeStamp(),
                     cmdTask.getDuration(),
+                    cmdTask.getProgress(),
                     cmdTask.getLastExecResult()});
         addStateListener(cmdTask);
     }
@@ -104,6 +159,7 @@ protected void addTask(
             task.getStartTimeStamp(),
             task.getEndTimeStamp(),
             task.getDuration(),
+            task.getProgress(),
             task.getLastExecResult()});
         addStateListener(task);
     }
@@ -127,6 +183,7 @@ protected void insertTask(
                     task.getStartTimeStamp(),
                     task.getEndTimeStamp(),
                     task.getDuration(),
+                    task.getProgress(),
                     task.getLastExecResult()});
         addStateListener(task);
     }
@@ -137,24 +194,42 @@ protected void resetTaskStates() {
             setValueAt("-", i, Column.DURATION);
             setValueAt("-", i, Column.END_TIME);
             setValueAt("-", i, Column.START_TIME);
+            setValueAt(TaskProgress.NONE, i, Column.PROGRESS);
             setValueAt("", i, Column.RESULT);
         }
     }
 
+    /**
+     * Finds the row of the given task. This has to be done dynamically, since the order of rows
+     * might change during runtime.
+     *
+     * @param taskEntry The task to look for.
+     * @return The row index or -1 if not found.
+     */
+    private int findTaskRow(final QueueTask taskEntry) {
+        for (int i = 0; i < getRowCount(); i++) {
+            if (getValueAt(i, Column.TASK_INSTANCE).equals(taskEntry)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private void addStateListener(final QueueTask taskEntry) {
         taskEntry.addStatusChangeListener((PropertyChangeEvent pcEvt) -> {
-            if (pcEvt.getPropertyName().equals(QueueTask.TASK_STATE_PROPERTY)) {
-                final TaskState state = (TaskState) pcEvt.getNewValue();
-                // Find the row of the changed entry. This has to be done dynamically, since 
-                // the order of rows might change during runtime.
-                int rowIdx = -1;
-                for (int i = 0; i < getRowCount(); i++) {
-                    if (getValueAt(i, Column.TASK_INSTANCE).equals(taskEntry)) {
-                        rowIdx = i;
-                        break;
+            if (pcEvt.getPropertyName().equals(QueueTask.TASK_PROGRESS_PROPERTY)) {
+                // progress updates arrive frequently from the worker thread, so hand them over to
+                // the GUI thread instead of updating the table directly
+                final TaskProgress progress = (TaskProgress) pcEvt.getNewValue();
+                SwingUtilities.invokeLater(() -> {
+                    final int rowIdx = findTaskRow(taskEntry);
+                    if (rowIdx != -1) {
+                        setValueAt(progress, rowIdx, Column.PROGRESS);
                     }
-                }
-
+                });
+            } else if (pcEvt.getPropertyName().equals(QueueTask.TASK_STATE_PROPERTY)) {
+                final TaskState state = (TaskState) pcEvt.getNewValue();
+                final int rowIdx = findTaskRow(taskEntry);
                 if (rowIdx == -1) {
                     log.error("Could not find entry in table");
                     return;
@@ -204,6 +279,8 @@ public Class getColumnClass(int col) {
                 return ConnectionStatus.class;
             case STATE:
                 return TaskState.class;
+            case PROGRESS:
+                return TaskProgress.class;
             default:
                 return String.class;
         }
@@ -0,0 +1,120 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import de.fau.clients.orchestrator.ctx.CommandContext;
+import de.fau.clients.orchestrator.nodes.ParameterValidator;
+import de.fau.clients.orchestrator.nodes.ParameterViolation;
+import de.fau.clients.orchestrator.tasks.CommandTask;
+import de.fau.clients.orchestrator.tasks.CommandTaskModel;
+import de.fau.clients.orchestrator.tasks.QueueTask;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks the parameters of all command tasks in a queue against the feature definitions of their
+ * servers before the queue gets executed. The tasks are validated in parallel and all violations
+ * are reported, so a faulty queue can be fixed at once instead of failing in the middle of a run.
+ *
+ * @see ParameterValidator
+ */
+@Slf4j
+public final class TaskQueueValidator {
+
+    private TaskQueueValidator() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Validates all command tasks of the given queue. Tasks whose command is not available on the
+     * server are skipped, since they are already reported as offline by their connection status.
+     *
+     * @param tqt The queue to validate.
+     * @param parallelism The maximum number of tasks validated at once.
+     * @return All found violations ordered by the position of the task in the queue.
+     * @throws InterruptedException If the calling thread got interrupted before all tasks were
+     * checked. The validation is incomplete in this case.
+     */
+    public static List<TaskViolation> validate(
+            @NonNull final TaskQueueTable tqt,
+            int parallelism
+    ) throws InterruptedException {
+        // collect the task data in the calling thread, since the table is not thread-safe
+        final List<TaskParams> taskParams = new ArrayList<>();
+        for (int i = 0; i < tqt.getRowCount(); i++) {
+            final QueueTask task = tqt.getTaskFromRow(i);
+            if (task instanceof CommandTask) {
+                final CommandTask cmdTask = (CommandTask) task;
+                if (cmdTask.getCommandCtx() == null) {
+                    continue;
+                }
+                final CommandTaskModel model = (CommandTaskModel) cmdTask.getCurrentTaskModel();
+                taskParams.add(new TaskParams(i, tqt.getTaskIdFromRow(i),
+                        cmdTask.getCommandCtx(),
+                        model.getCommandParams()));
+            }
+        }
+        if (taskParams.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final int threadCount = Math.max(1, Math.min(parallelism, taskParams.size()));
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            final Thread thread = new Thread(runnable, "task-validator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<List<TaskViolation>>> futures = new ArrayList<>(taskParams.size());
+            for (final TaskParams params : taskParams) {
+                futures.add(executor.submit(() -> validateTask(params)));
+            }
+            final List<TaskViolation> violations = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    violations.addAll(futures.get(i).get());
+                } catch (final ExecutionException ex) {
+                    log.error("Validation of task " + taskParams.get(i).taskId + " failed.", ex.getCause());
+                    violations.add(new TaskViolation(taskParams.get(i).row, taskParams.get(i).taskId,
+                            new ParameterViolation("$", "Validation failed: " + ex.getCause())));
+                }
+            }
+            return violations;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<TaskViolation> validateTask(final TaskParams params) {
+        final List<TaskViolation> violations = new ArrayList<>();
+        final List<ParameterViolation> paramViolations = ParameterValidator.validate(
+                params.cmdCtx.getFeatureCtx(),
+                params.cmdCtx.getCommand().getParameter(),
+                params.jsonParams);
+        for (final ParameterViolation violation : paramViolations) {
+            violations.add(new TaskViolation(params.row, params.taskId, violation));
+        }
+        return violations;
+    }
+
+    private static class TaskParams {
+
+        private final int row;
+        private final int taskId;
+        private final CommandContext cmdCtx;
+        private final JsonNode jsonParams;
+
+        private TaskParams(int row, int taskId, final CommandContext cmdCtx, final JsonNode jsonParams) {
+            this.row = row;
+            this.taskId = taskId;
+            this.cmdCtx = cmdCtx;
+            this.jsonParams = jsonParams;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.nodes.ParameterViolation;
+import lombok.NonNull;
+
+/**
+ * A violation found in a task of the queue.
+ *
+ * @see TaskQueueValidator
+ */
+public final class TaskViolation {
+
+    private final int row;
+    private final int taskId;
+    private final ParameterViolation violation;
+
+    public TaskViolation(int row, int taskId, @NonNull final ParameterViolation violation) {
+        this.row = row;
+        this.taskId = taskId;
+        this.violation = violation;
+    }
+
+    /**
+     * Gets the row of the violating task in the queue at the time of the validation.
+     *
+     * @return The zero-based row index.
+     */
+    public int getRow() {
+        return row;
+    }
+
+    public int getTaskId() {
+        return taskId;
+    }
+
+    /**
+     * Gets the location of the violating value inside the task parameters.
+     *
+     * @return The JSON path of the value (e.g. <code>$.Barcode.value</code>).
+     */
+    public String getPath() {
+        return violation.getPath();
+    }
+
+    public String getMessage() {
+        return violation.getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return "Task " + taskId + " " + violation.toString();
+    }
+}
@@ -1,18 +1,33 @@
 package de.fau.clients.orchestrator.tasks;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.protobuf.DynamicMessage;
+import com.google.protobuf.InvalidProtocolBufferException;
+import de.fau.clients.orchestrator.binary.BinaryTransferClient;
 import de.fau.clients.orchestrator.ctx.CommandContext;
 import de.fau.clients.orchestrator.ctx.ConnectionManager;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.ctx.FullyQualifiedIdentifieable;
 import de.fau.clients.orchestrator.ctx.ServerContext;
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import de.fau.clients.orchestrator.nodes.ListValues;
 import de.fau.clients.orchestrator.nodes.NodeFactory;
+import de.fau.clients.orchestrator.nodes.NumericResults;
 import de.fau.clients.orchestrator.nodes.SilaNode;
+import de.fau.clients.orchestrator.tracing.Span;
+import de.fau.clients.orchestrator.tracing.Tracer;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import de.fau.clients.orchestrator.utils.RingBuffer;
 import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import io.grpc.ManagedChannel;
 import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -26,8 +41,11 @@
 import javax.swing.JPanel;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import sila2.org.silastandard.SiLAFramework;
 import sila_java.library.core.models.SiLAElement;
 import sila_java.library.core.sila.errors.SiLAErrorException;
+import sila_java.library.core.sila.mapping.grpc.ProtoMapper;
+import sila_java.library.manager.executor.CallListener;
 import sila_java.library.manager.executor.ExecutableServerCall;
 import sila_java.library.manager.models.SiLACall;
 
@@ -41,9 +59,18 @@
 @Slf4j
 public class CommandTask extends QueueTask {
 
+    /**
+     * Maximum number of intermediate responses kept per task. Older responses get dropped, so the
+     * memory stays constant even for commands streaming thousands of updates.
+     */
+    public static final int MAX_INTERMEDIATE_RESPONSES = 128;
     private static final int MAX_SERVER_RESPONSE_TIME_IN_HOURS = 3;
+    /**
+     * Interval in which the progress of a running task gets published to the listeners.
+     */
+    private static final long PROGRESS_UPDATE_INTERVAL_IN_MS = 250;
     private static final ConnectionManager manager = ConnectionManager.getInstance();
-    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final Tracer tracer = Tracer.getInstance();
     private final CommandTaskModel commandModel;
     private CommandContext cmdCtx = null;
     private boolean isCommandValid = false;
@@ -52,9 +79,25 @@ public class CommandTask extends QueueTask {
     private JButton execBtn = null;
     private boolean isNodeBuilt = false;
     private SilaNode cmdNode = null;
+    private final RingBuffer<String> intermediateResponses = new RingBuffer<>(MAX_INTERMEDIATE_RESPONSES);
+    private volatile ExecutionInfo lastExecInfo = null;
+    /**
+     * Hash of the parameters of the last execution, used as key for the duration statistic. The
+     * hash is always computed from the compact JSON of the parameters as stored in the task model,
+     * so file references and binaries sent by the binary transfer do not change the key.
+     */
+    private volatile String paramsHash = null;
+    /**
+     * The result the cached numeric results were extracted from.
+     */
+    private String numericResultsSource = null;
+    private Map<String, ListValues> numericResults = Collections.emptyMap();
 
     public CommandTask(@NonNull final CommandTaskModel commandModel) {
         this.commandModel = commandModel;
+        if (commandModel.getCommandParams() != null) {
+            this.paramsHash = TaskDurationStats.hashParams(commandModel.getCommandParams().toString());
+        }
         final ServerContext serverCtx = manager.getServerCtx(this.commandModel.getServerUuid());
         if (serverCtx == null) {
             conStatus = ConnectionStatus.OFFLINE;
@@ -101,13 +144,11 @@ private boolean tryToSetServerInstance(final ServerContext serverCtx) {
             return false;
         }
 
-        final FeatureContext featCtx = serverCtx.getFeatureCtx(commandModel.getFullyQualifiedFeatureIdentifier());
-        if (featCtx != null) {
-            final CommandContext tmpCmdCtx = featCtx.getCommandCtx(commandModel.getCommandId());
-            if (tmpCmdCtx != null) {
-                this.cmdCtx = tmpCmdCtx;
-                return true;
-            }
+        final FullyQualifiedIdentifieable ctx = serverCtx.getCtxByFqi(
+                commandModel.getFullyQualifiedFeatureIdentifier() + "/Command/" + commandModel.getCommandId());
+        if (ctx instanceof CommandContext) {
+            this.cmdCtx = (CommandContext) ctx;
+            return true;
         }
         log.warn("Feature " + commandModel.getFullyQualifiedFeatureIdentifier() + " for " + commandModel.getCommandId()
                 + " not found on server.");
@@ -185,6 +226,33 @@ public JPanel getPresenter() {
         return panel;
     }
 
+    /**
+     * Gets the numeric list responses (e.g. spectra) of the latest result, stored in primitive
+     * arrays. The values are extracted once per result and kept until the next execution.
+     *
+     * @return The numeric lists mapped by their response identifier or an empty map if the result
+     * contains no numeric lists.
+     */
+    public synchronized Map<String, ListValues> getNumericResults() {
+        final String result = lastExecResult;
+        if (result == numericResultsSource) {
+            return numericResults;
+        }
+        numericResultsSource = result;
+        numericResults = Collections.emptyMap();
+        if (cmdCtx == null || result.isEmpty()) {
+            return numericResults;
+        }
+        try {
+            numericResults = Collections.unmodifiableMap(
+                    NumericResults.extract(result, cmdCtx.getCommand().getResponse()));
+        } catch (final IOException ex) {
+            // e.g. an error message instead of a JSON result
+            log.debug("No numeric results: " + ex.getMessage());
+        }
+        return numericResults;
+    }
+
     /**
      * Creates the Presenter to view the latest result within a widget component.
      *
@@ -196,24 +264,23 @@ public JComponent getResultPresenter() {
             return null;
         }
 
-        final JsonNode results;
+        // large numeric lists are taken from the already extracted numeric results
+        final SilaNode silaNode;
         try {
-            results = jsonMapper.readTree(lastExecResult);
-        } catch (final JsonProcessingException ex) {
+            silaNode = NodeFactory.createFromResult(
+                    cmdCtx.getFeatureCtx(),
+                    cmdCtx.getCommand().getResponse(),
+                    lastExecResult,
+                    getNumericResults());
+        } catch (final IOException ex) {
             log.error(ex.getMessage());
             return null;
         }
 
-        if (results.isEmpty()) {
+        if (silaNode == null) {
             return null;
         }
 
-        final List<SiLAElement> params = cmdCtx.getCommand().getResponse();
-        final SilaNode silaNode = NodeFactory.createFromElementsWithJson(
-                cmdCtx.getFeatureCtx(),
-                params,
-                results,
-                false);
         final JComponent comp = silaNode.getComponent();
         comp.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         return comp;
@@ -262,6 +329,87 @@ public UUID getServerUuid() {
         return commandModel.getServerUuid();
     }
 
+    /**
+     * Gets the context of the command on the server.
+     *
+     * @return The command context or <code>null</code> if the command is not available.
+     */
+    public CommandContext getCommandCtx() {
+        return cmdCtx;
+    }
+
+    /**
+     * Gets the fully qualified identifier of the command.
+     *
+     * @return The fully qualified command identifier.
+     */
+    public String getFullyQualifiedCommandId() {
+        return commandModel.getFullyQualifiedFeatureIdentifier() + "/Command/" + commandModel.getCommandId();
+    }
+
+    /**
+     * Gets the expected duration based on the median duration of the former executions of this
+     * command. Executions with the same parameters are preferred.
+     *
+     * @return The expected duration or <code>null</code> if the command was never executed.
+     * @see TaskDurationStats
+     */
+    @Override
+    public Duration getExpectedDuration() {
+        final long p50 = TaskDurationStats.getInstance().getPercentile(getFullyQualifiedCommandId(), paramsHash, 50);
+        return (p50 >= 0) ? Duration.ofMillis(p50) : null;
+    }
+
+    /**
+     * Gets a summary of the duration statistic of this command.
+     *
+     * @return The summary or an empty string if the command was never executed.
+     */
+    public String getDurationStatsSummary() {
+        return TaskDurationStats.getInstance().getSummary(getFullyQualifiedCommandId(), paramsHash);
+    }
+
+    /**
+     * Reports the execution info of the running observable command. The info is only stored and
+     * published to the listeners with the next progress update, so it is safe to call this method
+     * with a high frequency from any thread.
+     *
+     * @param progress The progress in the range of [0, 1] or <code>Double.NaN</code> if unknown.
+     * @param remainingTime The estimated remaining time or <code>null</code> if unknown.
+     */
+    public void publishExecutionInfo(double progress, final Duration remainingTime) {
+        lastExecInfo = new ExecutionInfo(progress, remainingTime, System.nanoTime());
+    }
+
+    /**
+     * Reports an intermediate response of the running observable command. Only the last
+     * <code>MAX_INTERMEDIATE_RESPONSES</code> responses are kept.
+     *
+     * @param jsonResponse The intermediate response as JSON string.
+     */
+    public void publishIntermediateResponse(@NonNull final String jsonResponse) {
+        intermediateResponses.add(jsonResponse);
+    }
+
+    /**
+     * Gets the kept intermediate responses of the last execution.
+     *
+     * @return The intermediate responses ordered from the oldest to the newest.
+     */
+    public List<String> getIntermediateResponses() {
+        return intermediateResponses.toList();
+    }
+
+    /**
+     * Gets the number of all intermediate responses received during the last execution, including
+     * the dropped ones.
+     *
+     * @return The total number of intermediate responses.
+     */
+    public long getIntermediateResponseCount() {
+        return intermediateResponses.getTotalCount();
+    }
+
     /**
      * Changes the server instance of this task by the given UUID. The UUID gets changed in the
      * model even if no valid server instance for the command could be found.
@@ -301,15 +449,45 @@ public void changeServerByCtx(final ServerContext serverCtx) {
      */
     @Override
     public void run() {
+        try (final Span span = tracer.startSpan("CommandTask.run", Tracer.CATEGORY_TASK)) {
+            span.setArg("command", getFullyQualifiedCommandId());
+            span.setArg("server", commandModel.getServerUuid());
+            runCommand();
+            span.setArg("state", taskState);
+        }
+    }
+
+    /**
+     * Executes the command and records the task metrics on every exit, also if the task failed
+     * before the server was called.
+     */
+    private void runCommand() {
+        final long startTime = System.nanoTime();
+        try {
+            executeCommand();
+        } finally {
+            final String commandId = getFullyQualifiedCommandId();
+            OrchestratorMetrics.TASKS.labels(commandId, taskState.name()).inc();
+            OrchestratorMetrics.TASK_DURATION.labels(commandId).observeNanos(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Executes the command. Each phase of the execution is traced separately.
+     */
+    private void executeCommand() {
         TaskState oldState = taskState;
         if (!isNodeBuilt) {
-            buildNode();
+            try (final Span span = tracer.startSpan("buildNode", Tracer.CATEGORY_PHASE)) {
+                buildNode();
+                span.setArg("valid", isCommandValid);
+            }
         }
 
         if (!isCommandValid) {
             lastExecResult = "Error: Offline or invalid server instance.";
             taskState = TaskState.FINISHED_ERROR;
-            stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+            fireStateChange(oldState, taskState);
             return;
         }
 
@@ -317,9 +495,13 @@ public void run() {
             execBtn.setEnabled(false);
         }
 
+        intermediateResponses.clear();
+        lastExecInfo = null;
         startTimeStamp = OffsetDateTime.now();
+        final long startTime = System.nanoTime();
+        setProgress(TaskProgress.NONE);
         taskState = TaskState.RUNNING;
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        fireStateChange(oldState, taskState);
         oldState = taskState;
         final SiLACall.Type callType = cmdCtx.getCommand().getObservable().equalsIgnoreCase("yes")
                 ? SiLACall.Type.OBSERVABLE_COMMAND
@@ -330,19 +512,69 @@ public void run() {
                 commandModel.getCommandId(),
                 callType
         );
+        final BinaryTransferClient transferClient = createTransferClient();
+        String jsonParams = "";
+        String modelParams = "";
         if (cmdNode != null) {
-            String jsonParams = cmdNode.toJsonString();
+            final JsonNode paramsNode = cmdNode.toJson();
+            modelParams = paramsNode.toString();
+            try (final Span span = tracer.startSpan("encodeParams", Tracer.CATEGORY_PHASE)) {
+                jsonParams = BinaryParams.toJsonString(paramsNode, (transferClient != null)
+                        ? transferClient.uploaderFor(getFullyQualifiedCommandId())
+                        : null);
+                span.setArg("length", jsonParams.length());
+            } catch (final UncheckedIOException ex) {
+                // a file referenced by a binary parameter is not readable or the upload failed
+                final String msg = "Error: Could not send binary parameter: " + ex.getCause().getMessage();
+                log.error(msg);
+                lastExecResult = msg;
+                endTimeStamp = OffsetDateTime.now();
+                taskState = TaskState.FINISHED_ERROR;
+                fireStateChange(oldState, taskState);
+                if (isPanelBuilt) {
+                    execBtn.setEnabled(true);
+                }
+                return;
+            }
             if (!jsonParams.isEmpty()) {
                 callBuilder.withParameters(jsonParams);
             }
         }
+        paramsHash = TaskDurationStats.hashParams(modelParams);
+        final Duration expectedDuration = getExpectedDuration();
 
+        final String serverLabel = String.valueOf(commandModel.getServerUuid());
+        OrchestratorMetrics.JSON_BYTES_SENT.labels(serverLabel).inc(OrchestratorMetrics.utf8Length(jsonParams));
         taskState = TaskState.FINISHED_ERROR;
+        OrchestratorMetrics.ACTIVE_EXECUTIONS.inc();
         try {
-            final ExecutableServerCall executableServerCall = ExecutableServerCall.newBuilder(callBuilder.build()).build();
-            final Future<String> futureCallResult = manager.getServerManager().getServerCallManager().runAsync(executableServerCall);
-            lastExecResult = futureCallResult.get(MAX_SERVER_RESPONSE_TIME_IN_HOURS, TimeUnit.HOURS);
+            // the call duration only covers the interval from the submission to the result
+            final long callStartTime = System.nanoTime();
+            try {
+                final Future<String> futureCallResult;
+                try (final Span span = tracer.startSpan("submitCall", Tracer.CATEGORY_PHASE)) {
+                    final ExecutableServerCall executableServerCall = ExecutableServerCall.newBuilder(callBuilder.build()).build();
+                    futureCallResult = manager.getServerManager().getServerCallManager().runAsync(
+                            executableServerCall,
+                            new ObservableCommandListener());
+                    span.setArg("type", callType);
+                }
+                try (final Span span = tracer.startSpan("awaitResult", Tracer.CATEGORY_PHASE)) {
+                    lastExecResult = awaitResult(futureCallResult, startTime, expectedDuration);
+                    span.setArg("length", (lastExecResult != null) ? lastExecResult.length() : 0);
+                }
+            } finally {
+                OrchestratorMetrics.SERVER_CALL_DURATION.labels(serverLabel, OrchestratorMetrics.CALL_COMMAND)
+                        .observeNanos(System.nanoTime() - callStartTime);
+            }
+            if (transferClient != null) {
+                try (final Span span = tracer.startSpan("downloadBinaries", Tracer.CATEGORY_PHASE)) {
+                    lastExecResult = transferClient.downloadReferences(lastExecResult);
+                    span.setArg("length", (lastExecResult != null) ? lastExecResult.length() : 0);
+                }
+            }
             taskState = TaskState.FINISHED_SUCCESS;
+            OrchestratorMetrics.JSON_BYTES_RECEIVED.labels(serverLabel).inc(OrchestratorMetrics.utf8Length(lastExecResult));
         } catch (final TimeoutException ex) {
             final String msg = "Timeout: Task did not finish within " + MAX_SERVER_RESPONSE_TIME_IN_HOURS + " hours.";
             log.error(msg);
@@ -359,12 +591,147 @@ public void run() {
         } catch (final Exception ex) {
             log.error(ex.getMessage());
             lastExecResult = ex.getMessage();
+        } finally {
+            OrchestratorMetrics.ACTIVE_EXECUTIONS.dec();
         }
         endTimeStamp = OffsetDateTime.now();
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        final Duration elapsedTime = Duration.ofNanos(System.nanoTime() - startTime);
+        if (taskState == TaskState.FINISHED_SUCCESS) {
+            TaskDurationStats.getInstance().record(getFullyQualifiedCommandId(), paramsHash, elapsedTime.toMillis());
+            setProgress(TaskProgress.of(1.0, Duration.ZERO, elapsedTime));
+        } else {
+            setProgress(TaskProgress.of(taskProgress.getProgress(), null, elapsedTime));
+        }
+        fireStateChange(oldState, taskState);
 
         if (isPanelBuilt) {
             execBtn.setEnabled(true);
         }
     }
+
+    /**
+     * Creates a client for the binary transfer with the server of this task.
+     *
+     * @return The client or <code>null</code> if the server is not connected.
+     */
+    private BinaryTransferClient createTransferClient() {
+        final ManagedChannel channel = cmdCtx.getFeatureCtx().getServerCtx().getChannel();
+        return (channel != null) ? new BinaryTransferClient(channel) : null;
+    }
+
+    /**
+     * Waits for the result of the given call and publishes the progress in the meantime.
+     *
+     * @param futureCallResult The future of the running call.
+     * @param startTime The start time of the execution in nanoseconds.
+     * @param expectedDuration The expected duration or <code>null</code> if unknown.
+     * @return The result of the call.
+     * @throws TimeoutException If the call did not finish in time.
+     * @throws ExecutionException If the call failed.
+     * @throws InterruptedException If the waiting thread got interrupted.
+     */
+    private String awaitResult(
+            final Future<String> futureCallResult,
+            long startTime,
+            final Duration expectedDuration
+    ) throws TimeoutException, ExecutionException, InterruptedException {
+        final long timeout = TimeUnit.HOURS.toNanos(MAX_SERVER_RESPONSE_TIME_IN_HOURS);
+        while (true) {
+            try {
+                return futureCallResult.get(PROGRESS_UPDATE_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+            } catch (final TimeoutException ex) {
+                if (System.nanoTime() - startTime >= timeout) {
+                    futureCallResult.cancel(true);
+                    throw ex;
+                }
+                updateProgress(startTime, expectedDuration);
+            }
+        }
+    }
+
+    /**
+     * Publishes the current progress based on the last reported execution info. The remaining time
+     * is extrapolated from the time of the report, so the ETA keeps counting down between the
+     * reports of the server. Without any report, the remaining time is derived from the expected
+     * duration.
+     *
+     * @param startTime The start time of the execution in nanoseconds.
+     * @param expectedDuration The expected duration or <code>null</code> if unknown.
+     */
+    private void updateProgress(long startTime, final Duration expectedDuration) {
+        final long now = System.nanoTime();
+        final Duration elapsedTime = Duration.ofNanos(now - startTime);
+        final ExecutionInfo execInfo = lastExecInfo;
+        if (execInfo == null) {
+            final Duration remainingTime = (expectedDuration != null) ? expectedDuration.minus(elapsedTime) : null;
+            setProgress(TaskProgress.of(Double.NaN, remainingTime, elapsedTime));
+            return;
+        }
+        final Duration remainingTime = (execInfo.remainingTime != null)
+                ? execInfo.remainingTime.minusNanos(now - execInfo.reportTime)
+                : null;
+        setProgress(TaskProgress.of(execInfo.progress, remainingTime, elapsedTime));
+    }
+
+    private void setProgress(final TaskProgress progress) {
+        final TaskProgress oldProgress = taskProgress;
+        taskProgress = progress;
+        stateChanges.firePropertyChange(TASK_PROGRESS_PROPERTY, oldProgress, progress);
+    }
+
+    /**
+     * Listener which feeds the execution infos and intermediate responses of a running observable
+     * command into this task. The subscriptions of the <code>_Info</code> and
+     * <code>_Intermediate</code> streams are done by the call executor of the server manager on the
+     * channel of the server connection.
+     */
+    private final class ObservableCommandListener implements CallListener {
+
+        @Override
+        public void onObservableCommandExecutionInfo(
+                final SiLACall baseCall,
+                final SiLAFramework.ExecutionInfo execInfo
+        ) {
+            if (!execInfo.hasProgressInfo() && !execInfo.hasEstimatedRemainingTime()) {
+                // status only (e.g. the initial waiting state), keep the last reported progress
+                return;
+            }
+            final double progress = execInfo.hasProgressInfo()
+                    ? execInfo.getProgressInfo().getValue()
+                    : Double.NaN;
+            final Duration remainingTime = execInfo.hasEstimatedRemainingTime()
+                    ? Duration.ofSeconds(execInfo.getEstimatedRemainingTime().getSeconds(),
+                            execInfo.getEstimatedRemainingTime().getNanos())
+                    : null;
+            publishExecutionInfo(progress, remainingTime);
+        }
+
+        @Override
+        public void onObservableIntermediateResponse(
+                final SiLACall baseCall,
+                final DynamicMessage response
+        ) {
+            try {
+                publishIntermediateResponse(ProtoMapper.serializeToJson(response));
+            } catch (final InvalidProtocolBufferException ex) {
+                log.warn("Malformed intermediate response: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The execution info as last reported by the server.
+     */
+    private static final class ExecutionInfo {
+
+        private final double progress;
+        private final Duration remainingTime;
+        private final long reportTime;
+
+        private ExecutionInfo(double progress, final Duration remainingTime, long reportTime) {
+            this.progress = progress;
+            this.remainingTime = remainingTime;
+            this.reportTime = reportTime;
+        }
+    }
 }
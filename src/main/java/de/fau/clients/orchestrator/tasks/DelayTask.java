@@ -1,6 +1,9 @@
 package de.fau.clients.orchestrator.tasks;
 
 import de.fau.clients.orchestrator.nodes.MaxDim;
+import de.fau.clients.orchestrator.tracing.Span;
+import de.fau.clients.orchestrator.tracing.Tracer;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -59,6 +62,17 @@ public void setDelayInMilisec(long delayInMillisec) {
         delayModel.setDelayInMillisec(delayInMillisec);
     }
 
+    /**
+     * Gets the expected duration, which is simply the currently set delay.
+     *
+     * @return The set delay.
+     */
+    @Override
+    public Duration getExpectedDuration() {
+        getCurrentTaskModel();
+        return Duration.ofMillis(delayModel.getDelayInMillisec());
+    }
+
     @Override
     public String toString() {
         return "Delay";
@@ -134,6 +148,16 @@ public JPanel getPresenter() {
 
     @Override
     public void run() {
+        try (final Span span = Tracer.getInstance().startSpan("DelayTask.run", Tracer.CATEGORY_TASK)) {
+            runDelay();
+            span.setArg("state", taskState);
+        }
+    }
+
+    /**
+     * Waits for the configured delay.
+     */
+    private void runDelay() {
         if (isPanelBuilt) {
             execBtn.setEnabled(false);
             int min = minModel.getNumber().intValue();
@@ -145,11 +169,12 @@ public void run() {
         startTimeStamp = OffsetDateTime.now();
         TaskState oldState = taskState;
         taskState = TaskState.RUNNING;
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        fireStateChange(oldState, taskState);
         oldState = taskState;
 
         boolean wasCanceled = false;
-        try {
+        try (final Span span = Tracer.getInstance().startSpan("sleep", Tracer.CATEGORY_PHASE)) {
+            span.setArg("delayInMs", delayModel.getDelayInMillisec());
             Thread.sleep(delayModel.getDelayInMillisec());
         } catch (final InterruptedException ex) {
             wasCanceled = true;
@@ -157,7 +182,7 @@ public void run() {
 
         taskState = (wasCanceled) ? TaskState.FINISHED_ERROR : TaskState.FINISHED_SUCCESS;
         endTimeStamp = OffsetDateTime.now();
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        fireStateChange(oldState, taskState);
         if (isPanelBuilt) {
             execBtn.setEnabled(true);
         }
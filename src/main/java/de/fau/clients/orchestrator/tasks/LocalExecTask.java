@@ -1,7 +1,8 @@
 package de.fau.clients.orchestrator.tasks;
 
 import de.fau.clients.orchestrator.nodes.MaxDim;
-import static de.fau.clients.orchestrator.tasks.QueueTask.TASK_STATE_PROPERTY;
+import de.fau.clients.orchestrator.tracing.Span;
+import de.fau.clients.orchestrator.tracing.Tracer;
 import java.io.IOException;
 import java.text.DecimalFormat;
 import java.time.OffsetDateTime;
@@ -59,6 +60,16 @@ public TaskModel getCurrentTaskModel() {
 
     @Override
     public void run() {
+        try (final Span span = Tracer.getInstance().startSpan("LocalExecTask.run", Tracer.CATEGORY_TASK)) {
+            runExec();
+            span.setArg("state", taskState);
+        }
+    }
+
+    /**
+     * Runs the local executable and waits for its termination.
+     */
+    private void runExec() {
         if (isPanelBuilt) {
             execBtn.setEnabled(false);
             execTaskModel.setExec(execTextField.getText());
@@ -68,13 +79,15 @@ public void run() {
         startTimeStamp = OffsetDateTime.now();
         TaskState oldState = taskState;
         taskState = TaskState.RUNNING;
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        fireStateChange(oldState, taskState);
         oldState = taskState;
 
         final ProcessBuilder pb = new ProcessBuilder(execTaskModel.getExecWithArgsAsList());
-        try {
+        try (final Span span = Tracer.getInstance().startSpan("process", Tracer.CATEGORY_PHASE)) {
+            span.setArg("exec", execTaskModel.getExec());
             Process proc = pb.start();
             exitValue = proc.waitFor();
+            span.setArg("exitValue", exitValue);
         } catch (IOException ex) {
             log.error(ex.getMessage());
             exitValue = 2;
@@ -86,7 +99,7 @@ public void run() {
                 ? TaskState.FINISHED_SUCCESS
                 : TaskState.FINISHED_ERROR;
         endTimeStamp = OffsetDateTime.now();
-        stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, taskState);
+        fireStateChange(oldState, taskState);
         if (isPanelBuilt) {
             execBtn.setEnabled(true);
         }
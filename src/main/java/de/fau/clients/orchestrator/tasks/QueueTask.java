@@ -1,6 +1,8 @@
 package de.fau.clients.orchestrator.tasks;
 
 import de.fau.clients.orchestrator.Presentable;
+import de.fau.clients.orchestrator.tracing.Span;
+import de.fau.clients.orchestrator.tracing.Tracer;
 import de.fau.clients.orchestrator.utils.IconProvider;
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
@@ -21,6 +23,10 @@ public abstract class QueueTask implements Runnable, Presentable {
      * Identifier for signaling change events on the task state property.
      */
     public static final String TASK_STATE_PROPERTY = "taskState";
+    /**
+     * Identifier for signaling change events on the task progress property.
+     */
+    public static final String TASK_PROGRESS_PROPERTY = "taskProgress";
     /**
      * Use a "ISO 8601-ish" date-time representation.
      */
@@ -31,6 +37,7 @@ public abstract class QueueTask implements Runnable, Presentable {
     protected String lastExecResult = "";
     protected ConnectionStatus conStatus = ConnectionStatus.NEUTRAL;
     protected TaskState taskState = TaskState.NEUTRAL;
+    protected volatile TaskProgress taskProgress = TaskProgress.NONE;
 
     /**
      * Gets the current <code>TaskModel</code> by collecting the set parameters form the view and
@@ -68,6 +75,24 @@ public String getEndTimeStamp() {
         return "-";
     }
 
+    /**
+     * Gets the start of the current or last execution.
+     *
+     * @return The start time or <code>null</code> if no execution was started so far.
+     */
+    public OffsetDateTime getStartTime() {
+        return startTimeStamp;
+    }
+
+    /**
+     * Gets the end of the last execution.
+     *
+     * @return The end time or <code>null</code> if no execution was finished so far.
+     */
+    public OffsetDateTime getEndTime() {
+        return endTimeStamp;
+    }
+
     /**
      * Gets the duration time of the last execution.
      *
@@ -88,6 +113,31 @@ public String getDuration() {
         return "-";
     }
 
+    /**
+     * Gets the elapsed time of the current or, if finished, the last execution.
+     *
+     * @return The elapsed time or <code>null</code> if no execution was started so far.
+     */
+    public Duration getElapsedTime() {
+        if (startTimeStamp == null) {
+            return null;
+        }
+        final OffsetDateTime end = (endTimeStamp != null && !endTimeStamp.isBefore(startTimeStamp))
+                ? endTimeStamp
+                : OffsetDateTime.now();
+        return Duration.between(startTimeStamp, end);
+    }
+
+    /**
+     * Gets the expected duration of the next execution (e.g. derived from the durations of former
+     * executions). Used to forecast the remaining time of a queue run.
+     *
+     * @return The expected duration or <code>null</code> if unknown.
+     */
+    public Duration getExpectedDuration() {
+        return null;
+    }
+
     /**
      * Gets the result of the last execution. The result value usually gets overwritten on each
      * execution.
@@ -114,7 +164,7 @@ public ConnectionStatus getConnectionStatus() {
      * The implementing <code>run()</code> method should thereby set the state accordingly like e.g. <code>
      * TaskState oldState = state;
      * state = TaskState.RUNNING;
-     * stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, state);
+     * fireStateChange(oldState, state);
      * oldState = state;
      * </code>
      *
@@ -126,11 +176,36 @@ public TaskState getState() {
         return taskState;
     }
 
+    /**
+     * Gets the current execution progress of this task. Changes are signaled to the listeners with
+     * the property name <code>TASK_PROGRESS_PROPERTY</code>.
+     *
+     * @return The current progress or <code>TaskProgress.NONE</code> if not available.
+     * @see TaskProgress
+     */
+    public TaskProgress getProgress() {
+        return taskProgress;
+    }
+
+    /**
+     * Signals a changed task state to all listeners. The dispatch is traced, since the listeners
+     * (e.g. the task-queue table) run synchronously in the executing thread.
+     *
+     * @param oldState The former state.
+     * @param newState The new state.
+     */
+    protected void fireStateChange(final TaskState oldState, final TaskState newState) {
+        try (final Span span = Tracer.getInstance().startSpan("dispatchState", Tracer.CATEGORY_PHASE)) {
+            span.setArg("state", newState);
+            stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, newState);
+        }
+    }
+
     /**
      * Adds a Listener which gets notified when the <code>TaskState</code> changes. Therefore the
      * signaled in the implementation of the <code>run()</code> method by firing the changed state
      * like e.g.<code>
-     * stateChanges.firePropertyChange(TASK_STATE_PROPERTY, oldState, newState);
+     * fireStateChange(oldState, newState);
      * </code>
      *
      * @param listener The listener which gets notified when the TaskeState changes.
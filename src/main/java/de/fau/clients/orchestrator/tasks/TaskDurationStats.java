@@ -0,0 +1,161 @@
+package de.fau.clients.orchestrator.tasks;
+
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * Singleton which records the execution durations of commands and provides the percentiles of the
+ * last executions as estimate for upcoming runs. Each duration is recorded twice: once for the
+ * exact combination of fully qualified command identifier and parameter hash, and once for the
+ * command regardless of its parameters. Lookups prefer the exact combination and fall back to the
+ * command-wide statistic.
+ */
+public final class TaskDurationStats {
+
+    /**
+     * The number of durations kept per key.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64;
+    private static final String ANY_PARAMS = "*";
+    private final int windowSize;
+    private final Map<String, DurationWindow> windowMap = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param windowSize The number of durations kept per key.
+     */
+    TaskDurationStats(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be greater than zero.");
+        }
+        this.windowSize = windowSize;
+    }
+
+    public static TaskDurationStats getInstance() {
+        return TaskDurationStatsHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a short, stable hash of the given command parameters.
+     *
+     * @param jsonParams The parameters as JSON string or <code>null</code>.
+     * @return The hex encoded hash (first 8 bytes of the SHA-256 digest) or an empty string for
+     * commands without parameters.
+     */
+    public static String hashParams(final String jsonParams) {
+        if (jsonParams == null || jsonParams.isEmpty()) {
+            return "";
+        }
+        return SilaBasicTypeUtils.sha256Hex(jsonParams).substring(0, 16);
+    }
+
+    /**
+     * Records the duration of a successful execution.
+     *
+     * @param commandId The fully qualified command identifier.
+     * @param paramsHash The hash of the used parameters.
+     * @param durationInMs The execution duration in milliseconds.
+     * @see #hashParams(java.lang.String)
+     */
+    public void record(@NonNull final String commandId, @NonNull final String paramsHash, long durationInMs) {
+        if (durationInMs < 0) {
+            return;
+        }
+        windowMap.computeIfAbsent(createKey(commandId, paramsHash), key -> new DurationWindow(windowSize))
+                .add(durationInMs);
+        windowMap.computeIfAbsent(createKey(commandId, ANY_PARAMS), key -> new DurationWindow(windowSize))
+                .add(durationInMs);
+    }
+
+    /**
+     * Gets the percentile of the recorded durations (nearest-rank method).
+     *
+     * @param commandId The fully qualified command identifier.
+     * @param paramsHash The hash of the parameters or <code>null</code> to use the command-wide
+     * statistic only.
+     * @param percentile The percentile in the range of [0, 100].
+     * @return The duration in milliseconds or -1 if no duration was recorded yet.
+     */
+    public long getPercentile(@NonNull final String commandId, final String paramsHash, double percentile) {
+        DurationWindow window = (paramsHash != null) ? windowMap.get(createKey(commandId, paramsHash)) : null;
+        if (window == null) {
+            window = windowMap.get(createKey(commandId, ANY_PARAMS));
+            if (window == null) {
+                return -1;
+            }
+        }
+        return window.getPercentile(percentile);
+    }
+
+    /**
+     * Gets a short summary of the statistic (e.g. for tool-tips).
+     *
+     * @param commandId The fully qualified command identifier.
+     * @param paramsHash The hash of the parameters or <code>null</code>.
+     * @return The summary or an empty string if no duration was recorded yet.
+     */
+    public String getSummary(@NonNull final String commandId, final String paramsHash) {
+        final long p50 = getPercentile(commandId, paramsHash, 50);
+        if (p50 < 0) {
+            return "";
+        }
+        final long p95 = getPercentile(commandId, paramsHash, 95);
+        return "Duration p50: " + TaskProgress.formatDuration(Duration.ofMillis(p50))
+                + ", p95: " + TaskProgress.formatDuration(Duration.ofMillis(p95));
+    }
+
+    /**
+     * Removes all recorded durations.
+     */
+    public void clear() {
+        windowMap.clear();
+    }
+
+    private static String createKey(final String commandId, final String paramsHash) {
+        return commandId + "#" + paramsHash;
+    }
+
+    /**
+     * Fixed sized window of the last durations with cached percentiles.
+     */
+    private static final class DurationWindow {
+
+        private final long[] durations;
+        private int nextIdx = 0;
+        private int count = 0;
+        private long[] sorted = null;
+
+        private DurationWindow(int windowSize) {
+            this.durations = new long[windowSize];
+        }
+
+        private synchronized void add(long durationInMs) {
+            durations[nextIdx] = durationInMs;
+            nextIdx = (nextIdx + 1) % durations.length;
+            if (count < durations.length) {
+                count++;
+            }
+            sorted = null;
+        }
+
+        private synchronized long getPercentile(double percentile) {
+            if (sorted == null) {
+                sorted = Arrays.copyOf(durations, count);
+                Arrays.sort(sorted);
+            }
+            final double p = Math.min(100.0, Math.max(0.0, percentile));
+            final int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+
+    private static class TaskDurationStatsHolder {
+
+        private static final TaskDurationStats INSTANCE = new TaskDurationStats(DEFAULT_WINDOW_SIZE);
+    }
+}
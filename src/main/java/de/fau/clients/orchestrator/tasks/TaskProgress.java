@@ -0,0 +1,114 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.time.Duration;
+
+/**
+ * Immutable snapshot of the execution progress of a task. The progress and the estimated remaining
+ * time are reported by the server (e.g. via the execution info of an observable SiLA Command) and
+ * may be unknown, whereas the elapsed time is measured locally.
+ */
+public final class TaskProgress {
+
+    /**
+     * Progress of a task which is not running and has no progress information.
+     */
+    public static final TaskProgress NONE = new TaskProgress(Double.NaN, null, null);
+    private final double progress;
+    private final Duration remainingTime;
+    private final Duration elapsedTime;
+
+    private TaskProgress(double progress, final Duration remainingTime, final Duration elapsedTime) {
+        this.progress = progress;
+        this.remainingTime = remainingTime;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Creates a new progress snapshot.
+     *
+     * @param progress The progress in the range of [0, 1] or <code>Double.NaN</code> if unknown.
+     * Values out of range get clamped.
+     * @param remainingTime The estimated remaining time or <code>null</code> if unknown. Negative
+     * durations are treated as zero.
+     * @param elapsedTime The elapsed time since the start of the execution or <code>null</code>.
+     * @return The progress snapshot.
+     */
+    public static TaskProgress of(
+            double progress,
+            final Duration remainingTime,
+            final Duration elapsedTime
+    ) {
+        final double clamped = Double.isNaN(progress) ? Double.NaN : Math.min(1.0, Math.max(0.0, progress));
+        final Duration remaining = (remainingTime != null && remainingTime.isNegative())
+                ? Duration.ZERO
+                : remainingTime;
+        return new TaskProgress(clamped, remaining, elapsedTime);
+    }
+
+    /**
+     * Formats the given duration like <code>H:MM:SS</code>.
+     *
+     * @param dur The duration to format.
+     * @return The formatted duration.
+     */
+    public static String formatDuration(final Duration dur) {
+        return String.format("%d:%02d:%02d", dur.toHours(), dur.toMinutesPart(), dur.toSecondsPart());
+    }
+
+    public boolean isProgressKnown() {
+        return !Double.isNaN(progress);
+    }
+
+    /**
+     * Gets the progress.
+     *
+     * @return The progress in the range of [0, 1] or <code>Double.NaN</code> if unknown.
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Gets the estimated remaining time.
+     *
+     * @return The remaining time or <code>null</code> if unknown.
+     */
+    public Duration getRemainingTime() {
+        return remainingTime;
+    }
+
+    /**
+     * Gets the elapsed time since the start of the execution.
+     *
+     * @return The elapsed time or <code>null</code> if unknown.
+     */
+    public Duration getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * Creates a short, human readable representation of the progress (e.g. "42 % (ETA 0:01:05)").
+     *
+     * @return The progress as String or "-" if nothing is known.
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        if (isProgressKnown()) {
+            sb.append(Math.round(progress * 100)).append(" %");
+        }
+        if (remainingTime != null) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append("(ETA ").append(formatDuration(remainingTime)).append(')');
+        }
+        if (sb.length() == 0) {
+            if (elapsedTime == null) {
+                return "-";
+            }
+            sb.append(formatDuration(elapsedTime)).append(" elapsed");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package de.fau.clients.orchestrator.tracing;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.NonNull;
+
+/**
+ * A timed section of the execution (e.g. a phase of a task run). A span starts on creation and
+ * ends on <code>close()</code>, so it is meant to be used in a try-with-resources statement. Spans
+ * are recorded by the <code>Tracer</code> when they end and belong to the thread which created
+ * them.
+ *
+ * @see Tracer#startSpan(String, String)
+ */
+public final class Span implements AutoCloseable {
+
+    /**
+     * Span returned while tracing is disabled. It is never recorded and ignores all arguments.
+     */
+    static final Span NOOP = new Span(null, "", "");
+    private final Tracer tracer;
+    private final String name;
+    private final String category;
+    private final long startNanos;
+    private final long threadId;
+    private final String threadName;
+    private Map<String, String> args = null;
+    private long endNanos = -1;
+
+    Span(final Tracer tracer, @NonNull final String name, @NonNull final String category) {
+        this.tracer = tracer;
+        this.name = name;
+        this.category = category;
+        this.startNanos = System.nanoTime();
+        final Thread thread = Thread.currentThread();
+        this.threadId = thread.getId();
+        this.threadName = thread.getName();
+    }
+
+    /**
+     * Adds an argument (e.g. the command identifier) which is shown along with the span.
+     *
+     * @param key The name of the argument.
+     * @param value The value of the argument, converted with <code>String.valueOf()</code>.
+     * @return This span.
+     */
+    public synchronized Span setArg(@NonNull final String key, final Object value) {
+        if (tracer != null) {
+            if (args == null) {
+                args = new LinkedHashMap<>();
+            }
+            args.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    /**
+     * Ends the span and hands it over to the tracer. Further calls have no effect.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (tracer == null || endNanos >= 0) {
+                return;
+            }
+            endNanos = System.nanoTime();
+        }
+        tracer.record(this);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Gets the duration of the span.
+     *
+     * @return The duration in nanoseconds or -1 if the span has not ended yet.
+     */
+    public synchronized long getDurationNanos() {
+        return (endNanos >= 0) ? endNanos - startNanos : -1;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public synchronized Map<String, String> getArgs() {
+        return (args == null) ? Collections.emptyMap() : new LinkedHashMap<>(args);
+    }
+}
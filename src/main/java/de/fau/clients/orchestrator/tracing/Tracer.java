@@ -0,0 +1,174 @@
+package de.fau.clients.orchestrator.tracing;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import de.fau.clients.orchestrator.utils.RingBuffer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * Singleton collecting the spans of the task executions and queue runs. Tracing is disabled by
+ * default, so <code>startSpan</code> returns a shared no-op span without any bookkeeping. Once
+ * enabled, the last ended spans are kept in a fixed sized buffer and can be exported in the
+ * Chrome trace event format, which can be loaded into <code>chrome://tracing</code>, Perfetto or
+ * Speedscope.
+ */
+public final class Tracer {
+
+    public static final int DEFAULT_CAPACITY = 100_000;
+    public static final String CATEGORY_QUEUE = "queue";
+    public static final String CATEGORY_TASK = "task";
+    public static final String CATEGORY_PHASE = "phase";
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private volatile RingBuffer<Span> spanBuffer = null;
+    private volatile long epochNanos = System.nanoTime();
+    /**
+     * The spans recorded before the tracing was disabled.
+     */
+    private List<Span> disabledSpans = Collections.emptyList();
+
+    Tracer() {
+    }
+
+    public static Tracer getInstance() {
+        return TracerHolder.INSTANCE;
+    }
+
+    /**
+     * Enables the tracing and discards all former spans.
+     *
+     * @param capacity The maximum number of kept spans. If exceeded, the oldest spans get
+     * dropped.
+     */
+    public synchronized void enable(int capacity) {
+        epochNanos = System.nanoTime();
+        disabledSpans = Collections.emptyList();
+        spanBuffer = new RingBuffer<>(capacity);
+    }
+
+    /**
+     * Disables the tracing. Already recorded spans are kept until the tracing gets enabled again.
+     */
+    public synchronized void disable() {
+        final RingBuffer<Span> buffer = spanBuffer;
+        spanBuffer = null;
+        disabledSpans = (buffer != null) ? buffer.toList() : disabledSpans;
+    }
+
+    public boolean isEnabled() {
+        return spanBuffer != null;
+    }
+
+    /**
+     * Starts a new span in the current thread.
+     *
+     * @param name The name of the span (e.g. the name of the phase).
+     * @param category The category of the span (e.g. <code>CATEGORY_TASK</code>).
+     * @return The started span or a no-op span if tracing is disabled.
+     */
+    public Span startSpan(@NonNull final String name, @NonNull final String category) {
+        if (spanBuffer == null) {
+            return Span.NOOP;
+        }
+        return new Span(this, name, category);
+    }
+
+    void record(final Span span) {
+        final RingBuffer<Span> buffer = spanBuffer;
+        if (buffer != null) {
+            buffer.add(span);
+        }
+    }
+
+    /**
+     * Gets the recorded spans in the order they ended.
+     *
+     * @return A copy of the recorded spans.
+     */
+    public synchronized List<Span> getSpans() {
+        final RingBuffer<Span> buffer = spanBuffer;
+        return (buffer != null) ? buffer.toList() : disabledSpans;
+    }
+
+    /**
+     * Writes all recorded spans as complete events ("ph": "X") in the Chrome trace event format.
+     * The timestamps are given in microseconds relative to the moment the tracing was enabled.
+     * Additionally, metadata events with the thread names are written, so the viewer shows
+     * meaningful track names.
+     *
+     * @param os The output stream to write to. The stream is not closed.
+     * @throws IOException if writing failed.
+     */
+    public void writeChromeTrace(@NonNull final OutputStream os) throws IOException {
+        final List<Span> spans = getSpans();
+        final long epoch = epochNanos;
+        try (final JsonGenerator gen = jsonFactory.createGenerator(os, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            gen.writeArrayFieldStart("traceEvents");
+            final Set<Long> namedThreads = new HashSet<>();
+            for (final Span span : spans) {
+                if (namedThreads.add(span.getThreadId())) {
+                    gen.writeStartObject();
+                    gen.writeStringField("name", "thread_name");
+                    gen.writeStringField("ph", "M");
+                    gen.writeNumberField("pid", 1);
+                    gen.writeNumberField("tid", span.getThreadId());
+                    gen.writeObjectFieldStart("args");
+                    gen.writeStringField("name", span.getThreadName());
+                    gen.writeEndObject();
+                    gen.writeEndObject();
+                }
+            }
+            for (final Span span : spans) {
+                gen.writeStartObject();
+                gen.writeStringField("name", span.getName());
+                gen.writeStringField("cat", span.getCategory());
+                gen.writeStringField("ph", "X");
+                gen.writeNumberField("ts", (span.getStartNanos() - epoch) / 1000.0);
+                gen.writeNumberField("dur", span.getDurationNanos() / 1000.0);
+                gen.writeNumberField("pid", 1);
+                gen.writeNumberField("tid", span.getThreadId());
+                final Map<String, String> args = span.getArgs();
+                if (!args.isEmpty()) {
+                    gen.writeObjectFieldStart("args");
+                    for (final Map.Entry<String, String> arg : args.entrySet()) {
+                        gen.writeStringField(arg.getKey(), arg.getValue());
+                    }
+                    gen.writeEndObject();
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeStringField("displayTimeUnit", "ms");
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes all recorded spans in the Chrome trace event format to the given file. An existing
+     * file gets overwritten.
+     *
+     * @param path The path of the file.
+     * @throws IOException if the file could not be written.
+     */
+    public void writeToFile(@NonNull final Path path) throws IOException {
+        try (final OutputStream os = Files.newOutputStream(path)) {
+            writeChromeTrace(os);
+        }
+    }
+
+    private static class TracerHolder {
+
+        private static final Tracer INSTANCE = new Tracer();
+    }
+}
@@ -52,10 +52,17 @@ public class FeatureInfoTreeNode extends DefaultMutableTreeNode implements Prese
      * Fully Qualified Feature Identifier string
      */
     private final String fqfi;
+    /**
+     * The feature context to populate the child nodes from or <code>null</code> if the node was
+     * created from a plain feature.
+     */
+    private final FeatureContext featureCtx;
+    private boolean isPopulated = false;
     private JPanel panel = null;
 
     public FeatureInfoTreeNode(final Feature feature) {
         this.feature = feature;
+        this.featureCtx = null;
         final VersionNumber featVer = VersionNumber.parseVersionString(this.feature.getFeatureVersion());
         this.fqfi = this.feature.getOriginator()
                 + "/" + this.feature.getCategory()
@@ -66,6 +73,39 @@ public FeatureInfoTreeNode(final Feature feature) {
      public FeatureInfoTreeNode(final FeatureContext featureCtx) {
         this.feature = featureCtx.getFeature();
         this.fqfi = featureCtx.getFullyQualifiedIdentifier();
+        this.featureCtx = featureCtx;
+    }
+
+    public FeatureContext getFeatureCtx() {
+        return featureCtx;
+    }
+
+    /**
+     * Query whether the property and command child nodes were already added to this node.
+     *
+     * @return <code>true</code> if the children are populated, otherwise <code>false</code>.
+     */
+    public boolean isPopulated() {
+        return isPopulated;
+    }
+
+    protected void setPopulated(boolean isPopulated) {
+        this.isPopulated = isPopulated;
+    }
+
+    /**
+     * Overwritten to show the expand handle in the tree even though the child nodes are only
+     * populated on the first expansion.
+     *
+     * @return <code>true</code> if the node has no children and the feature has nothing to populate
+     * them with, otherwise <code>false</code>.
+     */
+    @Override
+    public boolean isLeaf() {
+        if (!isPopulated && featureCtx != null) {
+            return (feature.getCommand().isEmpty() && feature.getProperty().isEmpty());
+        }
+        return super.isLeaf();
     }
 
     @Override
@@ -0,0 +1,147 @@
+package de.fau.clients.orchestrator.tree;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.ctx.PropertyContext;
+import de.fau.clients.orchestrator.ctx.PropertyPoller;
+import de.fau.clients.orchestrator.ctx.PropertySubscriptionManager;
+import de.fau.clients.orchestrator.ctx.PropertyValueListener;
+import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.io.IOException;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.table.DefaultTableModel;
+import lombok.NonNull;
+
+/**
+ * Dashboard panel which shows the live values of several SiLA Properties in one table. Observable
+ * properties are subscribed, unobservable properties are polled periodically by the shared
+ * <code>PropertyPoller</code>.
+ *
+ * @see PropertyPoller
+ * @see PropertySubscriptionManager
+ */
+@SuppressWarnings("serial")
+public final class PropertyDashboard extends JPanel implements PropertyValueListener {
+
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private static final int VALUE_COL = 2;
+    private static final int UPDATED_COL = 3;
+    private final List<PropertyContext> propCtxList = new ArrayList<>();
+    private final DefaultTableModel tableModel = new DefaultTableModel(
+            new Object[]{"Server", "Property", "Value", "Updated"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int col) {
+            return false;
+        }
+    };
+    private final JTable table = new JTable(tableModel);
+
+    /**
+     * Constructor.
+     */
+    public PropertyDashboard() {
+        super(new BorderLayout());
+        setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 5));
+        table.getSelectionModel().setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        table.setFillsViewportHeight(true);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+
+        final JButton removeBtn = new JButton("Remove");
+        removeBtn.addActionListener((ActionEvent evt) -> {
+            final int rowIdx = table.getSelectedRow();
+            if (rowIdx >= 0) {
+                removeProperty(propCtxList.get(rowIdx));
+            }
+        });
+        final JPanel btnPanel = new JPanel();
+        btnPanel.add(removeBtn);
+        add(btnPanel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Adds the given property to the dashboard, if not already present.
+     *
+     * @param propCtx The context of the property to add.
+     */
+    public void addProperty(@NonNull final PropertyContext propCtx) {
+        if (propCtxList.contains(propCtx)) {
+            return;
+        }
+        propCtxList.add(propCtx);
+        tableModel.addRow(new Object[]{
+            propCtx.getFeatureCtx().getServerCtx().getServer().getConfiguration().getName(),
+            propCtx.getDisplayName(),
+            "",
+            "-"});
+        if (propCtx.isObservable()) {
+            PropertySubscriptionManager.getInstance().subscribe(propCtx, this);
+        } else {
+            PropertyPoller.getInstance().watch(propCtx, PropertyPoller.DEFAULT_POLL_INTERVAL_IN_MS, this);
+        }
+    }
+
+    /**
+     * Removes the given property from the dashboard and stops its updates.
+     *
+     * @param propCtx The context of the property to remove.
+     */
+    public void removeProperty(@NonNull final PropertyContext propCtx) {
+        final int rowIdx = propCtxList.indexOf(propCtx);
+        if (rowIdx < 0) {
+            return;
+        }
+        if (propCtx.isObservable()) {
+            PropertySubscriptionManager.getInstance().unsubscribe(propCtx, this);
+        } else {
+            PropertyPoller.getInstance().unwatch(propCtx, this);
+        }
+        propCtxList.remove(rowIdx);
+        tableModel.removeRow(rowIdx);
+    }
+
+    /**
+     * Removes all properties from the dashboard.
+     */
+    public void clear() {
+        for (final PropertyContext propCtx : new ArrayList<>(propCtxList)) {
+            removeProperty(propCtx);
+        }
+    }
+
+    @Override
+    public void onPropertyValue(final PropertyContext propCtx, final String jsonValue) {
+        final int rowIdx = propCtxList.indexOf(propCtx);
+        if (rowIdx < 0) {
+            return;
+        }
+        String value;
+        try {
+            final JsonNode valueNode = jsonMapper.readTree(jsonValue).get(propCtx.getProperty().getIdentifier());
+            value = (valueNode != null) ? valueNode.toString() : jsonValue;
+        } catch (final IOException ex) {
+            value = jsonValue;
+        }
+        tableModel.setValueAt(value, rowIdx, VALUE_COL);
+        tableModel.setValueAt(LocalTime.now().truncatedTo(ChronoUnit.SECONDS).toString(), rowIdx, UPDATED_COL);
+    }
+
+    @Override
+    public void onPropertyError(final PropertyContext propCtx, final String errorMsg) {
+        final int rowIdx = propCtxList.indexOf(propCtx);
+        if (rowIdx < 0) {
+            return;
+        }
+        tableModel.setValueAt(errorMsg, rowIdx, VALUE_COL);
+        tableModel.setValueAt(LocalTime.now().truncatedTo(ChronoUnit.SECONDS).toString(), rowIdx, UPDATED_COL);
+    }
+}
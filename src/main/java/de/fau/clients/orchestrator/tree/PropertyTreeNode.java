@@ -3,51 +3,70 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.fau.clients.orchestrator.Presentable;
-import de.fau.clients.orchestrator.ctx.FeatureContext;
 import de.fau.clients.orchestrator.ctx.PropertyContext;
+import de.fau.clients.orchestrator.ctx.PropertyPoller;
+import de.fau.clients.orchestrator.ctx.PropertyReader;
+import de.fau.clients.orchestrator.ctx.PropertySubscriptionManager;
+import de.fau.clients.orchestrator.ctx.PropertyValueListener;
 import de.fau.clients.orchestrator.nodes.NodeFactory;
 import de.fau.clients.orchestrator.nodes.SilaNode;
 import de.fau.clients.orchestrator.utils.IconProvider;
-import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
 import java.awt.event.ActionEvent;
 import java.io.IOException;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
 import javax.swing.tree.DefaultMutableTreeNode;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import sila_java.library.core.models.Feature;
-import sila_java.library.core.sila.errors.SiLAErrorException;
-import sila_java.library.manager.ServerManager;
-import sila_java.library.manager.executor.ExecutableServerCall;
-import sila_java.library.manager.models.SiLACall;
 
 /**
- * Representation of a SiLA Property in the Feature tree.
+ * Representation of a SiLA Property in the Feature tree. Observable properties are subscribed via
+ * the <code>PropertySubscriptionManager</code> while the node is presented, unobservable properties
+ * are requested on demand or polled by the <code>PropertyPoller</code> when auto refresh is on.
  */
 @Slf4j
 @SuppressWarnings("serial")
-public class PropertyTreeNode extends DefaultMutableTreeNode implements Presentable {
+public class PropertyTreeNode extends DefaultMutableTreeNode implements Presentable, PropertyValueListener {
 
     /**
      * Index to place and update the contents of the panel.
      */
     private static final int CONTENT_COMPONENT_IDX = 0;
     private static final int MAX_SERVER_RESPONSE_TIME_IN_SEC = 3;
+    private static final String LOADING_STR = "Loading...";
     private static final ObjectMapper jsonMapper = new ObjectMapper();
+    /**
+     * Executor for the server requests, so the GUI thread never blocks on a slow server.
+     */
+    private static final ExecutorService requestExecutor = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "property-request");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final PropertyContext propCtx;
     private JPanel panel;
     private JButton refreshBtn;
+    private JCheckBox autoRefreshCheckBox;
     private SilaNode node;
     private String lastResult = "";
+    private boolean isWatching = false;
+    private boolean isLoading = false;
+    /**
+     * Generation of the latest request. Responses of older requests are stale and get dropped.
+     */
+    private int requestGeneration = 0;
+    private Future<?> pendingRequest = null;
 
     /**
      * Constructor.
@@ -59,7 +78,8 @@ public PropertyTreeNode(@NonNull final PropertyContext propCtx) {
     }
 
     /**
-     * Gets a <code>JPanel</code> populated with widgets viewing the current SiLA Property.
+     * Gets a <code>JPanel</code> populated with widgets viewing the current SiLA Property. On
+     * observable properties, the subscription of the value gets started.
      *
      * @return A <code>JPanel</code> representing the SiLA Property.
      */
@@ -75,6 +95,15 @@ public JPanel getPresenter() {
             refreshBtn.addActionListener((ActionEvent evt) -> {
                 refreshBtnActionPerformed();
             });
+            autoRefreshCheckBox = new JCheckBox("Auto Refresh");
+            autoRefreshCheckBox.setToolTipText("Refresh the value periodically.");
+            autoRefreshCheckBox.addActionListener((ActionEvent evt) -> {
+                if (autoRefreshCheckBox.isSelected()) {
+                    startWatching();
+                } else {
+                    stopWatching();
+                }
+            });
         } else {
             panel.removeAll();
         }
@@ -82,60 +111,138 @@ public JPanel getPresenter() {
         if (node != null) {
             panel.add(node.getComponent(), CONTENT_COMPONENT_IDX);
         } else {
-            // node is null -> show exception message
-            panel.add(new JLabel(lastResult), CONTENT_COMPONENT_IDX);
+            // node is null -> show loading state or exception message
+            panel.add(new JLabel(isLoading ? LOADING_STR : lastResult), CONTENT_COMPONENT_IDX);
         }
         panel.add(Box.createVerticalStrut(10));
-        panel.add(refreshBtn);
+        if (propCtx.isObservable()) {
+            panel.add(new JLabel("Observable Property (live)"));
+            startWatching();
+        } else {
+            panel.add(refreshBtn);
+            panel.add(autoRefreshCheckBox);
+            if (autoRefreshCheckBox.isSelected()) {
+                startWatching();
+            }
+        }
         return panel;
     }
 
     /**
-     * Request the current SiLA Property data form the server and updates the internal
-     * <code>SilaNode</code>.
+     * Checks if the SiLA Property is observable.
+     *
+     * @return <code>true</code> if observable, otherwise <code>false</code>.
      */
-    public void requestPropertyData() {
-        final FeatureContext featCtx = propCtx.getFeatureCtx();
-        final Feature.Property property = propCtx.getProperty();
-        final SiLACall.Type callType = property.getObservable().equalsIgnoreCase("yes")
-                ? SiLACall.Type.OBSERVABLE_PROPERTY
-                : SiLACall.Type.UNOBSERVABLE_PROPERTY;
-        final SiLACall.Builder callBuilder = new SiLACall.Builder(
-                featCtx.getServerUuid(),
-                featCtx.getFullyQualifiedIdentifier(),
-                property.getIdentifier(),
-                callType
-        );
-
-        boolean wasSuccessful = false;
-        try {
-            final ExecutableServerCall executableServerCall = ExecutableServerCall.newBuilder(callBuilder.build()).build();
-            final Future<String> futureCallResult = ServerManager.getInstance().getServerCallManager().runAsync(executableServerCall);
-            lastResult = futureCallResult.get(MAX_SERVER_RESPONSE_TIME_IN_SEC, TimeUnit.SECONDS);
-            wasSuccessful = true;
-        } catch (final TimeoutException ex) {
-            final String msg = "Timeout: Server did not responde within " + MAX_SERVER_RESPONSE_TIME_IN_SEC + " sec.";
-            log.error(msg);
-            lastResult = msg;
-        } catch (final ExecutionException ex) {
-            final String msg;
-            if (ex.getCause() instanceof SiLAErrorException) {
-                msg = SilaBasicTypeUtils.formatSilaErrorToMsgString(((SiLAErrorException) ex.getCause()).getSiLAError());
-            } else {
-                msg = ex.getMessage();
+    public boolean isObservable() {
+        return propCtx.isObservable();
+    }
+
+    public PropertyContext getPropertyCtx() {
+        return propCtx;
+    }
+
+    /**
+     * Starts the live updates of the property, if not already done. Observable properties get
+     * subscribed, unobservable properties get polled periodically.
+     */
+    public void startWatching() {
+        if (isWatching) {
+            return;
+        }
+        isWatching = true;
+        if (propCtx.isObservable()) {
+            PropertySubscriptionManager.getInstance().subscribe(propCtx, this);
+        } else {
+            PropertyPoller.getInstance().watch(propCtx, PropertyPoller.DEFAULT_POLL_INTERVAL_IN_MS, this);
+        }
+    }
+
+    /**
+     * Stops the live updates of the property (e.g. when the node gets deselected).
+     */
+    public void stopWatching() {
+        if (!isWatching) {
+            return;
+        }
+        isWatching = false;
+        if (propCtx.isObservable()) {
+            PropertySubscriptionManager.getInstance().unsubscribe(propCtx, this);
+        } else {
+            PropertyPoller.getInstance().unwatch(propCtx, this);
+        }
+    }
+
+    /**
+     * Requests the current SiLA Property data from the server in the background and shows a loading
+     * state in the meantime. A pending request gets canceled and its response dropped. The view is
+     * updated in the GUI thread as soon as the response arrived. Has to be called in the GUI
+     * thread.
+     */
+    public void requestPropertyDataAsync() {
+        cancelPendingRequest();
+        final int generation = requestGeneration;
+        isLoading = true;
+        updateContentComponent();
+        pendingRequest = requestExecutor.submit(() -> {
+            String result;
+            boolean wasSuccessful;
+            try {
+                result = PropertyReader.read(propCtx, MAX_SERVER_RESPONSE_TIME_IN_SEC, TimeUnit.SECONDS);
+                wasSuccessful = true;
+            } catch (final InterruptedException ex) {
+                // request was canceled
+                return;
+            } catch (final Exception ex) {
+                result = PropertyReader.formatErrorMsg(ex, MAX_SERVER_RESPONSE_TIME_IN_SEC);
+                wasSuccessful = false;
+                log.error(result);
             }
-            log.error(msg);
-            lastResult = msg;
-        } catch (final Exception ex) {
-            log.error(ex.getMessage());
-            lastResult = ex.getMessage();
+            final String response = result;
+            final boolean isResponseValid = wasSuccessful;
+            SwingUtilities.invokeLater(() -> applyResponse(generation, response, isResponseValid));
+        });
+    }
+
+    /**
+     * Cancels the pending request (e.g. when the node gets deselected). A response which arrives
+     * afterwards gets dropped. Has to be called in the GUI thread.
+     */
+    public void cancelPendingRequest() {
+        requestGeneration++;
+        isLoading = false;
+        if (pendingRequest != null) {
+            pendingRequest.cancel(true);
+            pendingRequest = null;
         }
+    }
 
-        if (!wasSuccessful) {
-            node = null;
+    /**
+     * Applies the response of a background request, if it is not stale.
+     *
+     * @param generation The generation of the request.
+     * @param response The JSON response or the error message.
+     * @param wasSuccessful Whether the request was successful.
+     */
+    private void applyResponse(int generation, final String response, boolean wasSuccessful) {
+        if (generation != requestGeneration) {
+            // a newer request was started or the request was canceled
             return;
         }
+        pendingRequest = null;
+        isLoading = false;
+        lastResult = response;
+        if (wasSuccessful) {
+            updateNodeFromResult();
+        } else {
+            node = null;
+        }
+        updateContentComponent();
+    }
 
+    /**
+     * Creates a new <code>SilaNode</code> from the last received server response.
+     */
+    private void updateNodeFromResult() {
         final JsonNode rootNode;
         try {
             rootNode = jsonMapper.readTree(lastResult);
@@ -144,13 +251,34 @@ public void requestPropertyData() {
             return;
         }
 
+        final Feature.Property property = propCtx.getProperty();
         node = NodeFactory.createFromJson(
-                featCtx,
+                propCtx.getFeatureCtx(),
                 property.getDataType(),
                 rootNode.get(property.getIdentifier()),
                 false);
     }
 
+    @Override
+    public void onPropertyValue(final PropertyContext ctx, final String jsonValue) {
+        if (!isWatching) {
+            return;
+        }
+        lastResult = jsonValue;
+        updateNodeFromResult();
+        updateContentComponent();
+    }
+
+    @Override
+    public void onPropertyError(final PropertyContext ctx, final String errorMsg) {
+        if (!isWatching) {
+            return;
+        }
+        lastResult = errorMsg;
+        node = null;
+        updateContentComponent();
+    }
+
     @Override
     public String toString() {
         return this.propCtx.getProperty().getDisplayName();
@@ -161,9 +289,20 @@ public String toString() {
      * GUI components. The internal panel has to be constructed before using this function.
      */
     private void refreshBtnActionPerformed() {
-        requestPropertyData();
+        requestPropertyDataAsync();
+    }
+
+    /**
+     * Replaces the content of the panel with the current node or the last error message.
+     */
+    private void updateContentComponent() {
+        if (panel == null) {
+            return;
+        }
         panel.remove(CONTENT_COMPONENT_IDX);
-        if (node != null) {
+        if (isLoading) {
+            panel.add(new JLabel(LOADING_STR), CONTENT_COMPONENT_IDX);
+        } else if (node != null) {
             panel.add(node.getComponent(), CONTENT_COMPONENT_IDX);
         } else {
             panel.add(new JLabel(lastResult), CONTENT_COMPONENT_IDX);
@@ -171,9 +310,4 @@ private void refreshBtnActionPerformed() {
         panel.revalidate();
         panel.repaint();
     }
-
-    public SilaNode getCurrentSilaNode() {
-        requestPropertyData();
-        return node;
-    }
 }
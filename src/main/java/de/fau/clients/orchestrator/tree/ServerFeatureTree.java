@@ -10,6 +10,7 @@
 import de.fau.clients.orchestrator.utils.SilaDescriptionToolTip;
 import java.awt.Point;
 import java.awt.event.MouseEvent;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.UUID;
@@ -17,9 +18,14 @@
 import javax.swing.JPanel;
 import javax.swing.JToolTip;
 import javax.swing.JTree;
+import javax.swing.SwingUtilities;
 import javax.swing.ToolTipManager;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeSelectionEvent;
+import javax.swing.event.TreeWillExpandListener;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 import lombok.NonNull;
 import sila_java.library.core.models.Feature;
@@ -32,6 +38,10 @@ public final class ServerFeatureTree extends JTree implements Presentable, Conne
 
     private static final String NO_SERVER_STR = "No Server Available";
     private final HashMap<UUID, ServerTreeNode> serverMap = new HashMap<>();
+    /**
+     * Server nodes which were added since the last view update and still need to be expanded.
+     */
+    private final List<ServerTreeNode> unexpandedServerNodes = new ArrayList<>();
 
     /**
      * Constructor.
@@ -48,13 +58,41 @@ public ServerFeatureTree() {
         this.setEnabled(false);
         this.setBorder(BorderFactory.createEmptyBorder(5, 5, 5, 0));
         ToolTipManager.sharedInstance().registerComponent(this);
+        this.addTreeWillExpandListener(new TreeWillExpandListener() {
+            @Override
+            public void treeWillExpand(TreeExpansionEvent evt) {
+                final Object node = evt.getPath().getLastPathComponent();
+                if (node instanceof FeatureInfoTreeNode) {
+                    final FeatureInfoTreeNode featureNode = (FeatureInfoTreeNode) node;
+                    if (populateFeatureNode(featureNode)) {
+                        ((DefaultTreeModel) treeModel).nodeStructureChanged(featureNode);
+                    }
+                }
+            }
+
+            @Override
+            public void treeWillCollapse(TreeExpansionEvent evt) {
+                // nothing to do
+            }
+        });
+        this.addTreeSelectionListener((TreeSelectionEvent evt) -> {
+            // stop the subscriptions and pending requests of deselected properties
+            for (final TreePath path : evt.getPaths()) {
+                if (!evt.isAddedPath(path) && path.getLastPathComponent() instanceof PropertyTreeNode) {
+                    final PropertyTreeNode propNode = (PropertyTreeNode) path.getLastPathComponent();
+                    propNode.stopWatching();
+                    propNode.cancelPendingRequest();
+                }
+            }
+        });
     }
 
     /**
      * Adds the given server and all its features to the server tree. If the server is already in
-     * the tree, the label gets updated. The model has to be reloaded after this operation to take
-     * effect in the visual representation. This can be achieved with the following command:
-     * <code>((DefaultTreeModel) myTree.getModel()).reload();</code>
+     * the tree, the label gets updated. The tree model gets notified incrementally about the
+     * inserted or changed nodes, so no reload of the entire model is needed. The properties and
+     * commands of a feature are only populated on the first expansion of the feature node. This
+     * function shall only be called in the GUI thread.
      *
      * @param serverCtx The server to add to the tree.
      */
@@ -66,6 +104,7 @@ public void putServerToTree(@NonNull final ServerContext serverCtx) {
             final ServerTreeNode stn = serverMap.get(serverUuid);
             final TreeNodeType tnt = (TreeNodeType) stn.getUserObject();
             tnt.setDisplayName(stn.getServerLabel());
+            model.nodeChanged(stn);
             return;
         }
 
@@ -73,63 +112,92 @@ public void putServerToTree(@NonNull final ServerContext serverCtx) {
         serverMap.put(serverUuid, serverNode);
         serverNode.setUserObject(new TreeNodeType(serverNode));
 
-        final DefaultMutableTreeNode rootNode = (DefaultMutableTreeNode) model.getRoot();
-        rootNode.add(serverNode);
-
         for (final FeatureContext featCtx : serverCtx.getFeatureCtxSortedList()) {
             final Feature feature = featCtx.getFeature();
             final FeatureInfoTreeNode featureNode = new FeatureInfoTreeNode(featCtx);
             featureNode.setUserObject(new TreeNodeType(feature, featCtx.isCoreFeature()));
             serverNode.add(featureNode);
-
-            final List<PropertyContext> propCtxList = featCtx.getPropertyCtxSortedList();
-            if (!propCtxList.isEmpty()) {
-                final DefaultMutableTreeNode propertyNode = new DefaultMutableTreeNode("Properties");
-                featureNode.add(propertyNode);
-                for (final PropertyContext propCtx : propCtxList) {
-                    final PropertyTreeNode ptn = new PropertyTreeNode(propCtx);
-                    ptn.setUserObject(new TreeNodeType(propCtx.getProperty()));
-                    propertyNode.add(ptn);
-                }
-            }
-
-            final List<CommandContext> cmdCtxList = featCtx.getCommandCtxSortedList();
-            if (!cmdCtxList.isEmpty()) {
-                final DefaultMutableTreeNode commandNode = new DefaultMutableTreeNode("Commands");
-                featureNode.add(commandNode);
-                for (final CommandContext cmdCtx : cmdCtxList) {
-                    final CommandTreeNode ctn = new CommandTreeNode(cmdCtx);
-                    ctn.setUserObject(new TreeNodeType(cmdCtx.getCommand()));
-                    commandNode.add(ctn);
-                }
-            }
         }
+
+        final DefaultMutableTreeNode rootNode = (DefaultMutableTreeNode) model.getRoot();
+        rootNode.add(serverNode);
+        model.nodesWereInserted(rootNode, new int[]{rootNode.getIndex(serverNode)});
+        unexpandedServerNodes.add(serverNode);
     }
 
     /**
-     * Removes the given server from the server tree.
+     * Removes the given server from the server tree. The tree model gets notified about the removed
+     * node. This function shall only be called in the GUI thread.
      *
      * @param serverCtx The context of the server to remove.
      */
     public void removeServerFromTree(@NonNull final ServerContext serverCtx) {
         final ServerTreeNode stn = serverMap.remove(serverCtx.getServerUuid());
-        final DefaultTreeModel model = (DefaultTreeModel) this.treeModel;
-        model.removeNodeFromParent(stn);
+        if (stn == null) {
+            return;
+        }
+        unexpandedServerNodes.remove(stn);
+        ((DefaultTreeModel) this.treeModel).removeNodeFromParent(stn);
     }
 
     /**
-     * Refreshes the view of the tree elements. This function shall only be called in the GUI
-     * thread.
+     * Adds the property and command nodes to the given feature node, if not already done.
+     *
+     * @param featureNode The feature node to populate.
+     * @return <code>true</code> if new child nodes were added, otherwise <code>false</code>.
+     */
+    private boolean populateFeatureNode(@NonNull final FeatureInfoTreeNode featureNode) {
+        final FeatureContext featCtx = featureNode.getFeatureCtx();
+        if (featureNode.isPopulated() || featCtx == null) {
+            return false;
+        }
+
+        final List<PropertyContext> propCtxList = featCtx.getPropertyCtxSortedList();
+        if (!propCtxList.isEmpty()) {
+            final DefaultMutableTreeNode propertyNode = new DefaultMutableTreeNode("Properties");
+            featureNode.add(propertyNode);
+            for (final PropertyContext propCtx : propCtxList) {
+                final PropertyTreeNode ptn = new PropertyTreeNode(propCtx);
+                ptn.setUserObject(new TreeNodeType(propCtx.getProperty()));
+                propertyNode.add(ptn);
+            }
+        }
+
+        final List<CommandContext> cmdCtxList = featCtx.getCommandCtxSortedList();
+        if (!cmdCtxList.isEmpty()) {
+            final DefaultMutableTreeNode commandNode = new DefaultMutableTreeNode("Commands");
+            featureNode.add(commandNode);
+            for (final CommandContext cmdCtx : cmdCtxList) {
+                final CommandTreeNode ctn = new CommandTreeNode(cmdCtx);
+                ctn.setUserObject(new TreeNodeType(cmdCtx.getCommand()));
+                commandNode.add(ctn);
+            }
+        }
+        featureNode.setPopulated(true);
+        return (featureNode.getChildCount() > 0);
+    }
+
+    /**
+     * Refreshes the view of the tree elements. Only newly added server nodes get expanded, the
+     * expansion state of the remaining nodes is kept. This function shall only be called in the
+     * GUI thread.
      */
     public void updateTreeView() {
-        ((DefaultTreeModel) this.treeModel).reload();
         final boolean isTreeRootVisible = serverMap.isEmpty();
         setRootVisible(isTreeRootVisible);
         setEnabled(!isTreeRootVisible);
-        // Expand all nodes in the tree.
-        for (int i = 0; i < getRowCount(); i++) {
-            expandRow(i);
+        if (isTreeRootVisible) {
+            return;
         }
+
+        final DefaultMutableTreeNode rootNode = (DefaultMutableTreeNode) treeModel.getRoot();
+        expandPath(new TreePath(rootNode));
+        for (final ServerTreeNode serverNode : unexpandedServerNodes) {
+            if (serverNode.getParent() != null) {
+                expandPath(new TreePath(serverNode.getPath()));
+            }
+        }
+        unexpandedServerNodes.clear();
     }
 
     /**
@@ -149,8 +217,10 @@ public JPanel getPresenter() {
             presenter = CommandTreeNode.COMMAND_USAGE_PANEL;
         } else if (node instanceof PropertyTreeNode) {
             final PropertyTreeNode propNode = (PropertyTreeNode) node;
-            propNode.requestPropertyData();
             presenter = propNode.getPresenter();
+            if (!propNode.isObservable()) {
+                propNode.requestPropertyDataAsync();
+            }
         } else if (node instanceof FeatureInfoTreeNode) {
             final FeatureInfoTreeNode featNode = (FeatureInfoTreeNode) node;
             presenter = featNode.getPresenter();
@@ -162,25 +232,32 @@ public JPanel getPresenter() {
     }
 
     /**
-     * Listener for adding a server to the tree render symbols.
+     * Listener for adding a server to the tree render symbols. The tree gets updated in the GUI
+     * thread.
      *
      * @param serverCtx The context of the added server instance.
      */
     @Override
     public void onServerConnectionAdded(final ServerContext serverCtx) {
-        putServerToTree(serverCtx);
+        runInGuiThread(() -> {
+            putServerToTree(serverCtx);
+            updateTreeView();
+        });
     }
 
     /**
      * Listener for server status (online/offline) which changes the server tree render symbols
-     * accordingly.
+     * accordingly. Only the affected server node gets updated.
      *
      * @param serverCtx The context of the changing server instance.
      */
     @Override
     public void onServerConnectionChanged(final ServerContext serverCtx) {
-        final ServerTreeNode serverNode = serverMap.get(serverCtx.getServerUuid());
-        if (serverNode != null) {
+        runInGuiThread(() -> {
+            final ServerTreeNode serverNode = serverMap.get(serverCtx.getServerUuid());
+            if (serverNode == null) {
+                return;
+            }
             final Object obj = serverNode.getUserObject();
             if (!(obj instanceof TreeNodeType)) {
                 return;
@@ -192,7 +269,21 @@ public void onServerConnectionChanged(final ServerContext serverCtx) {
                 ftt.setTreeRenderSymbol(TreeRenderSymbol.SERVER_OFFLINE);
             }
             ftt.setDescription(serverNode.getDescription());
-            this.repaint();
+            ((DefaultTreeModel) this.treeModel).nodeChanged(serverNode);
+        });
+    }
+
+    /**
+     * Runs the given action directly when already called from the GUI thread, otherwise the action
+     * gets queued into the GUI thread.
+     *
+     * @param action The action to run.
+     */
+    private static void runInGuiThread(final Runnable action) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            action.run();
+        } else {
+            SwingUtilities.invokeLater(action);
         }
     }
 
@@ -43,6 +43,7 @@ public class ServerTreeNode extends DefaultMutableTreeNode implements Presentabl
     private JTextField statusTextField = null;
     private JTextField joinedTextField = null;
     private JTextField negoTypeTextField = null;
+    private JTextField healthTextField = null;
 
     public ServerTreeNode(@NonNull final ServerContext serverCtx) {
         this.serverCtx = serverCtx;
@@ -178,6 +179,14 @@ public void changedUpdate(DocumentEvent de) {
             panel.add(negoTypeTextField);
             panel.add(Box.createVerticalStrut(10));
 
+            panel.add(new JLabel("Health"));
+            healthTextField = new JTextField(serverCtx.getHealth().getSummary());
+            healthTextField.setAlignmentX(JComponent.LEFT_ALIGNMENT);
+            healthTextField.setMaximumSize(MAX_DIM);
+            healthTextField.setEditable(false);
+            panel.add(healthTextField);
+            panel.add(Box.createVerticalStrut(10));
+
             X509Certificate cert = null;
             try {
                 cert = readCertificate(server.getCertificateAuthority());
@@ -230,6 +239,7 @@ public void changedUpdate(DocumentEvent de) {
             statusTextField.setText((server.getStatus() == Status.ONLINE) ? "Online" : "Offline");
             joinedTextField.setText(server.getJoined().toInstant().toString());
             negoTypeTextField.setText(server.getNegotiationType().toString());
+            healthTextField.setText(serverCtx.getHealth().getSummary());
         }
         return panel;
     }
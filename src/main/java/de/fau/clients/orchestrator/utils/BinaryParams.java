@@ -0,0 +1,371 @@
+package de.fau.clients.orchestrator.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BinaryNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.binary.BinaryUploader;
+import de.fau.clients.orchestrator.binary.BlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Utility class for file-backed binary parameters. Instead of the Base64 encoded content, a binary
+ * parameter in a task may reference a file (e.g. <code>{"file": "/opt/protocols/run.bin"}</code>).
+ * The file is only read when the parameters are sent to the server and is then encoded chunk-wise
+ * straight into the JSON output, so the content is never held as a separate byte array or Base64
+ * string.
+ * <p>
+ * Since SiLA identifiers always start with an upper case letter, the lower case field name
+ * <code>file</code> can not be confused with a parameter or structure element. Binaries exceeding
+ * the inline limit of the SiLA 2 standard are sent using the binary transfer instead, if an
+ * uploader is given.
+ * </p>
+ * <p>
+ * Binaries in the local <code>BlobStore</code> are referenced by their hash instead (e.g.
+ * <code>{"blob": "41304ad9..."}</code>), so the same content used in several tasks of a bundle is
+ * only stored once.
+ * </p>
+ *
+ * @see BlobStore
+ */
+@Slf4j
+public final class BinaryParams {
+
+    public static final String FIELD_FILE = "file";
+    /**
+     * The field of a binary value referencing a blob in the <code>BlobStore</code> by its hash.
+     */
+    public static final String FIELD_BLOB = "blob";
+    /**
+     * The field of a binary value transferred by the SiLA binary transfer.
+     */
+    public static final String FIELD_TRANSFER_UUID = "binaryTransferUUID";
+    /**
+     * The maximum size of binaries which are allowed to be sent inline by the SiLA 2 standard.
+     * Larger binaries have to be sent using the binary transfer.
+     */
+    public static final long MAX_INLINE_BINARY_SIZE = 2L * 1024 * 1024;
+    /**
+     * The minimum size of binaries which are moved into the <code>BlobStore</code> on saving a
+     * bundle. Smaller binaries are kept inline, since the reference would hardly be shorter.
+     */
+    public static final int MIN_BLOB_SIZE = 1024;
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private BinaryParams() {
+        throw new UnsupportedOperationException("Instantiation not allowed.");
+    }
+
+    /**
+     * Creates the JSON node of a binary value referencing the given file. Files inside the
+     * <code>BlobStore</code> are referenced by their hash instead of their path.
+     *
+     * @param file The path of the file with the binary content.
+     * @return The JSON node with the absolute path of the file or the blob hash.
+     */
+    public static JsonNode fileAsJsonNode(@NonNull final Path file) {
+        final String hash = BlobStore.getInstance().getHashOf(file);
+        if (hash != null) {
+            return blobAsJsonNode(hash);
+        }
+        final ObjectNode fileNode = jsonMapper.createObjectNode();
+        fileNode.put(FIELD_FILE, file.toAbsolutePath().toString());
+        return fileNode;
+    }
+
+    /**
+     * Creates the JSON node of a binary value referencing a blob in the <code>BlobStore</code>.
+     *
+     * @param hash The SHA-256 hash of the blob.
+     * @return The JSON node with the blob hash.
+     */
+    public static JsonNode blobAsJsonNode(@NonNull final String hash) {
+        final ObjectNode blobNode = jsonMapper.createObjectNode();
+        blobNode.put(FIELD_BLOB, hash);
+        return blobNode;
+    }
+
+    /**
+     * Gets the hash of the blob referenced by the given binary value.
+     *
+     * @param jsonNode The JSON node of the binary value.
+     * @return The SHA-256 hash of the blob or <code>null</code> if the value does not reference a
+     * blob.
+     */
+    public static String getBlobReference(final JsonNode jsonNode) {
+        if (jsonNode == null || !jsonNode.isObject() || jsonNode.has(SilaBasicTypeUtils.FIELD_VALUE)) {
+            return null;
+        }
+        final JsonNode blobNode = jsonNode.get(FIELD_BLOB);
+        if (blobNode == null || !blobNode.isTextual() || !BlobStore.isHash(blobNode.asText())) {
+            return null;
+        }
+        return blobNode.asText();
+    }
+
+    /**
+     * Gets the file referenced by the given binary value. For blob references, this is the path of
+     * the blob in the <code>BlobStore</code>.
+     *
+     * @param jsonNode The JSON node of the binary value.
+     * @return The path of the referenced file or <code>null</code> if the value does not reference
+     * a file.
+     */
+    public static Path getFileReference(final JsonNode jsonNode) {
+        if (jsonNode == null || !jsonNode.isObject()) {
+            return null;
+        }
+        final String hash = getBlobReference(jsonNode);
+        if (hash != null) {
+            return BlobStore.getInstance().getPath(hash);
+        }
+        final JsonNode fileNode = jsonNode.get(FIELD_FILE);
+        if (fileNode == null || !fileNode.isTextual() || jsonNode.has(SilaBasicTypeUtils.FIELD_VALUE)) {
+            return null;
+        }
+        return Paths.get(fileNode.asText());
+    }
+
+    /**
+     * Moves all inline binaries of at least <code>MIN_BLOB_SIZE</code> bytes into the given store
+     * and replaces them by blob references. The given node is not modified.
+     *
+     * @param params The JSON parameters, which may contain binary values.
+     * @param store The store to add the binaries to.
+     * @return The JSON parameters with blob references or the given node itself if it does not
+     * contain any binaries to move.
+     * @throws IOException if a binary could not be added to the store.
+     */
+    public static JsonNode toBlobReferences(
+            @NonNull final JsonNode params,
+            @NonNull final BlobStore store
+    ) throws IOException {
+        return replaceBinaries(params, node -> {
+            if (isBinaryNode(node, MIN_BLOB_SIZE)) {
+                return blobAsJsonNode(store.putBytes(node.get(SilaBasicTypeUtils.FIELD_VALUE).binaryValue()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Replaces all blob references by the inline Base64 value of the blob, which is the inverse of
+     * <code>toBlobReferences</code>. References to other files are kept. The given node is not
+     * modified.
+     *
+     * @param params The JSON parameters, which may contain blob references.
+     * @param store The store holding the blobs.
+     * @return The JSON parameters with inline binaries or the given node itself if it does not
+     * reference any blob.
+     * @throws IOException if a referenced blob could not be read.
+     */
+    public static JsonNode toInlineBinaries(
+            @NonNull final JsonNode params,
+            @NonNull final BlobStore store
+    ) throws IOException {
+        return replaceBinaries(params, node -> {
+            final String hash = getBlobReference(node);
+            if (hash != null) {
+                final ObjectNode valueNode = jsonMapper.createObjectNode();
+                valueNode.put(SilaBasicTypeUtils.FIELD_VALUE, Files.readAllBytes(store.getPath(hash)));
+                return valueNode;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Applies the given replacement to all nodes of the given tree. Only the nodes on the path to
+     * a replaced node are copied.
+     */
+    private static JsonNode replaceBinaries(
+            final JsonNode params,
+            final NodeReplacer replacer
+    ) throws IOException {
+        final JsonNode replaced = replacer.replace(params);
+        if (replaced != null) {
+            return replaced;
+        } else if (params.isObject()) {
+            ObjectNode copy = null;
+            final Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                final JsonNode newChild = replaceBinaries(field.getValue(), replacer);
+                if (newChild != field.getValue()) {
+                    if (copy == null) {
+                        copy = (ObjectNode) params.deepCopy();
+                    }
+                    copy.set(field.getKey(), newChild);
+                }
+            }
+            if (copy != null) {
+                return copy;
+            }
+        } else if (params.isArray()) {
+            ArrayNode copy = null;
+            for (int i = 0; i < params.size(); i++) {
+                final JsonNode newChild = replaceBinaries(params.get(i), replacer);
+                if (newChild != params.get(i)) {
+                    if (copy == null) {
+                        copy = (ArrayNode) params.deepCopy();
+                    }
+                    copy.set(i, newChild);
+                }
+            }
+            if (copy != null) {
+                return copy;
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Collects the hashes of all blobs referenced in the given parameters.
+     *
+     * @param params The JSON parameters, which may contain blob references.
+     * @param hashes The collection to add the hashes to.
+     */
+    public static void collectBlobReferences(
+            @NonNull final JsonNode params,
+            @NonNull final Collection<String> hashes
+    ) {
+        final String hash = getBlobReference(params);
+        if (hash != null) {
+            hashes.add(hash);
+            return;
+        }
+        for (final JsonNode child : params) {
+            collectBlobReferences(child, hashes);
+        }
+    }
+
+    /**
+     * Serializes the given parameters into a JSON string as expected by the server. All file
+     * references are replaced by the Base64 encoded file content, which is streamed chunk-wise
+     * from the file into the output.
+     *
+     * @param params The JSON parameters, which may contain file references.
+     * @return The JSON string with all binary values inlined.
+     * @throws UncheckedIOException if a referenced file could not be read.
+     */
+    public static String toJsonString(@NonNull final JsonNode params) {
+        return toJsonString(params, null);
+    }
+
+    /**
+     * Serializes the given parameters into a JSON string as expected by the server. Binaries
+     * exceeding <code>MAX_INLINE_BINARY_SIZE</code> are uploaded with the given uploader and
+     * replaced by their binary transfer UUID. All other file references are replaced by the Base64
+     * encoded file content, which is streamed chunk-wise from the file into the output.
+     *
+     * @param params The JSON parameters, which may contain file references.
+     * @param uploader The uploader for large binaries or <code>null</code> to inline all binaries.
+     * @return The JSON string with all binary values inlined or uploaded.
+     * @throws UncheckedIOException if a referenced file could not be read or an upload failed.
+     */
+    public static String toJsonString(@NonNull final JsonNode params, final BinaryUploader uploader) {
+        final StringWriter writer = new StringWriter();
+        try (final JsonGenerator gen = jsonMapper.getFactory().createGenerator(writer)) {
+            if (params.isObject() && getFileReference(params) == null) {
+                // the fields of the root object are the parameters of the command
+                gen.writeStartObject();
+                final Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    final Map.Entry<String, JsonNode> field = fields.next();
+                    gen.writeFieldName(field.getKey());
+                    writeResolved(gen, field.getValue(), field.getKey(), uploader);
+                }
+                gen.writeEndObject();
+            } else {
+                writeResolved(gen, params, null, uploader);
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return writer.toString();
+    }
+
+    private static void writeResolved(
+            final JsonGenerator gen,
+            final JsonNode node,
+            final String parameterId,
+            final BinaryUploader uploader
+    ) throws IOException {
+        final Path file = getFileReference(node);
+        if (file != null) {
+            final long size = Files.size(file);
+            if (size > MAX_INLINE_BINARY_SIZE) {
+                if (uploader != null && parameterId != null) {
+                    writeTransferUuid(gen, uploader.upload(parameterId, file));
+                    return;
+                }
+                log.warn("Binary file " + file + " exceeds the inline limit of "
+                        + MAX_INLINE_BINARY_SIZE + " bytes (" + size + " bytes).");
+            }
+            gen.writeStartObject();
+            gen.writeFieldName(SilaBasicTypeUtils.FIELD_VALUE);
+            try (final InputStream in = Files.newInputStream(file)) {
+                gen.writeBinary(in, -1);
+            }
+            gen.writeEndObject();
+        } else if (isBinaryNode(node, MAX_INLINE_BINARY_SIZE + 1) && uploader != null && parameterId != null) {
+            final byte[] data = node.get(SilaBasicTypeUtils.FIELD_VALUE).binaryValue();
+            writeTransferUuid(gen, uploader.upload(parameterId, data));
+        } else if (node.isObject()) {
+            gen.writeStartObject();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                gen.writeFieldName(field.getKey());
+                writeResolved(gen, field.getValue(), parameterId, uploader);
+            }
+            gen.writeEndObject();
+        } else if (node.isArray()) {
+            gen.writeStartArray();
+            for (final JsonNode element : node) {
+                writeResolved(gen, element, parameterId, uploader);
+            }
+            gen.writeEndArray();
+        } else {
+            // binary nodes are encoded directly into the output buffer
+            gen.writeTree(node);
+        }
+    }
+
+    private static boolean isBinaryNode(final JsonNode node, final long minSize) {
+        if (!node.isObject() || node.size() != 1) {
+            return false;
+        }
+        final JsonNode valueNode = node.get(SilaBasicTypeUtils.FIELD_VALUE);
+        return valueNode != null && valueNode.isBinary()
+                && ((BinaryNode) valueNode).binaryValue().length >= minSize;
+    }
+
+    private static void writeTransferUuid(final JsonGenerator gen, final String uuid) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField(FIELD_TRANSFER_UUID, uuid);
+        gen.writeEndObject();
+    }
+
+    @FunctionalInterface
+    private interface NodeReplacer {
+
+        /**
+         * Gets the replacement of the given node or <code>null</code> to keep the node.
+         */
+        JsonNode replace(JsonNode node) throws IOException;
+    }
+}
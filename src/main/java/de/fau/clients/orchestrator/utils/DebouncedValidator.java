@@ -0,0 +1,83 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import lombok.NonNull;
+
+/**
+ * Validates user input in the background once the input stopped changing for a short delay. This
+ * keeps the Event Dispatch Thread (EDT) responsive while typing into fields with expensive checks
+ * (e.g. large XML documents validated against a schema).
+ * <p>
+ * The input is read and the result is published on the EDT, whereas the check itself runs on a
+ * shared background thread. Results of outdated inputs are discarded.
+ * </p>
+ */
+public final class DebouncedValidator {
+
+    public static final int DEFAULT_DELAY_IN_MS = 300;
+    private static final ExecutorService validationExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "input-validator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Supplier<String> inputSupplier;
+    private final Predicate<String> check;
+    private final Consumer<Boolean> resultConsumer;
+    private final Timer timer;
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param inputSupplier Reads the current input. Called on the EDT.
+     * @param check The validation of the input. Called on a background thread.
+     * @param resultConsumer Receives the validation result (e.g. to update a status icon). Called
+     * on the EDT.
+     * @param delayInMs The time the input has to stay unchanged before it gets validated.
+     */
+    public DebouncedValidator(
+            @NonNull final Supplier<String> inputSupplier,
+            @NonNull final Predicate<String> check,
+            @NonNull final Consumer<Boolean> resultConsumer,
+            int delayInMs
+    ) {
+        this.inputSupplier = inputSupplier;
+        this.check = check;
+        this.resultConsumer = resultConsumer;
+        this.timer = new Timer(delayInMs, evt -> validateNow());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Signals a changed input. The validation starts after the delay, unless the input changes
+     * again in the meantime.
+     */
+    public void trigger() {
+        timer.restart();
+    }
+
+    /**
+     * Starts the validation of the current input immediately (e.g. after an import or a lost
+     * focus). Has to be called on the EDT.
+     */
+    public void validateNow() {
+        timer.stop();
+        final String input = inputSupplier.get();
+        final long currentGeneration = generation.incrementAndGet();
+        validationExecutor.execute(() -> {
+            final boolean isValid = check.test(input);
+            SwingUtilities.invokeLater(() -> {
+                if (currentGeneration == generation.get()) {
+                    resultConsumer.accept(isValid);
+                }
+            });
+        });
+    }
+}
@@ -2,6 +2,7 @@
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
@@ -10,14 +11,18 @@
 
 /**
  * A <code>JPanel</code> which views the contained image. The size of this component is determined
- * by the provided <code>BufferedImage</code>.
+ * by the provided <code>BufferedImage</code>. Until an image is set, a placeholder with a short
+ * message (e.g. "Loading...") is shown.
  *
  * @see BufferedImage
+ * @see ImageThumbnailCache
  */
 @SuppressWarnings("serial")
 public class ImagePanel extends JPanel {
 
-    private final BufferedImage img;
+    private static final Dimension PLACEHOLDER_DIM = new Dimension(160, 120);
+    private BufferedImage img = null;
+    private String message;
 
     /**
      * Constructor.
@@ -25,17 +30,60 @@ public class ImagePanel extends JPanel {
      * @param img The image to show.
      */
     public ImagePanel(final BufferedImage img) {
+        this.setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        setImage(img);
+    }
+
+    /**
+     * Creates a placeholder panel showing the given message until an image is set.
+     *
+     * @param message The message to show.
+     */
+    public ImagePanel(final String message) {
+        this.setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        setMessage(message);
+    }
+
+    /**
+     * Sets the image to show and resizes the panel accordingly.
+     *
+     * @param img The image to show.
+     */
+    public void setImage(final BufferedImage img) {
         this.img = img;
-        final Dimension dim = new Dimension(img.getWidth() + 1, img.getHeight() + 1);
+        this.message = null;
+        setDimension(new Dimension(img.getWidth() + 1, img.getHeight() + 1));
+    }
+
+    /**
+     * Removes the image and shows the given message instead (e.g. an error message).
+     *
+     * @param message The message to show.
+     */
+    public void setMessage(final String message) {
+        this.img = null;
+        this.message = message;
+        setDimension(PLACEHOLDER_DIM);
+    }
+
+    private void setDimension(final Dimension dim) {
         this.setMaximumSize(dim);
         this.setPreferredSize(dim);
-        this.setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        revalidate();
+        repaint();
     }
 
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
         final Graphics2D g2d = (Graphics2D) g;
-        g2d.drawImage(img, null, 0, 0);
+        if (img != null) {
+            g2d.drawImage(img, null, 0, 0);
+        } else if (message != null) {
+            final FontMetrics fm = g2d.getFontMetrics();
+            g2d.drawString(message,
+                    Math.max(2, (getWidth() - fm.stringWidth(message)) / 2),
+                    (getHeight() + fm.getAscent()) / 2);
+        }
     }
 }
@@ -0,0 +1,257 @@
+package de.fau.clients.orchestrator.utils;
+
+import de.fau.clients.orchestrator.binary.BlobStore;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.SwingUtilities;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decodes images to thumbnails of the display size and caches them. Large images (e.g. frames of a
+ * microscope camera) are subsampled while decoding, so the full resolution image is never held in
+ * memory. Decoding runs on a shared background thread and the decoded thumbnails are kept in a
+ * cache, whose least recently used entries get evicted once the memory limit is exceeded.
+ * <p>
+ * Images given as byte array are keyed by the SHA-256 hash of their content, blobs of the
+ * <code>BlobStore</code> by their hash and other files by their path, size and modification time.
+ * </p>
+ */
+@Slf4j
+public final class ImageThumbnailCache {
+
+    public static final int MAX_THUMBNAIL_WIDTH = 800;
+    public static final int MAX_THUMBNAIL_HEIGHT = 600;
+    /**
+     * The default memory limit of the cache in bytes.
+     */
+    public static final long DEFAULT_CAPACITY = 64L * 1024 * 1024;
+    private static final ExecutorService decodeExecutor = Executors.newFixedThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "image-decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long capacity;
+    private final LinkedHashMap<String, BufferedImage> thumbnailMap = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+
+    ImageThumbnailCache(long capacity) {
+        this.capacity = capacity;
+    }
+
+    public static ImageThumbnailCache getInstance() {
+        return ImageThumbnailCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Gets the cached thumbnail with the given key.
+     *
+     * @param key The key of the image.
+     * @return The thumbnail or <code>null</code> if the image is not cached.
+     */
+    public synchronized BufferedImage get(@NonNull final String key) {
+        return thumbnailMap.get(key);
+    }
+
+    /**
+     * Adds the given thumbnail to the cache. The least recently used thumbnails are evicted until
+     * the cache fits into its memory limit again.
+     *
+     * @param key The key of the image.
+     * @param thumbnail The decoded thumbnail.
+     */
+    public synchronized void put(@NonNull final String key, @NonNull final BufferedImage thumbnail) {
+        final BufferedImage prev = thumbnailMap.put(key, thumbnail);
+        if (prev != null) {
+            usedBytes -= getSizeInBytes(prev);
+        }
+        usedBytes += getSizeInBytes(thumbnail);
+        final Iterator<Map.Entry<String, BufferedImage>> iter = thumbnailMap.entrySet().iterator();
+        // the latest thumbnail is always kept, even if it exceeds the limit on its own
+        while (usedBytes > capacity && thumbnailMap.size() > 1) {
+            final Map.Entry<String, BufferedImage> eldest = iter.next();
+            usedBytes -= getSizeInBytes(eldest.getValue());
+            iter.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return thumbnailMap.size();
+    }
+
+    /**
+     * Loads the thumbnail of the given image data in the background.
+     *
+     * @param data The encoded image (e.g. a PNG or JPEG file).
+     * @param onLoaded Receives the thumbnail. Called on the EDT.
+     * @param onError Receives the error message if the image could not be decoded. Called on the
+     * EDT.
+     */
+    public void loadAsync(
+            @NonNull final byte[] data,
+            @NonNull final Consumer<BufferedImage> onLoaded,
+            @NonNull final Consumer<String> onError
+    ) {
+        decodeExecutor.execute(() -> load(() -> "sha256:" + SilaBasicTypeUtils.sha256Hex(data),
+                () -> new ByteArrayInputStream(data),
+                onLoaded,
+                onError));
+    }
+
+    /**
+     * Loads the thumbnail of the given image file in the background.
+     *
+     * @param file The image file.
+     * @param onLoaded Receives the thumbnail. Called on the EDT.
+     * @param onError Receives the error message if the image could not be read. Called on the EDT.
+     */
+    public void loadAsync(
+            @NonNull final Path file,
+            @NonNull final Consumer<BufferedImage> onLoaded,
+            @NonNull final Consumer<String> onError
+    ) {
+        decodeExecutor.execute(() -> load(() -> getFileKey(file),
+                () -> Files.newInputStream(file),
+                onLoaded,
+                onError));
+    }
+
+    private void load(
+            final IOSupplier<String> keySupplier,
+            final IOSupplier<InputStream> streamSupplier,
+            final Consumer<BufferedImage> onLoaded,
+            final Consumer<String> onError
+    ) {
+        try {
+            final String key = keySupplier.get();
+            BufferedImage thumbnail = get(key);
+            if (thumbnail == null) {
+                try (final InputStream in = streamSupplier.get();
+                        final ImageInputStream iis = ImageIO.createImageInputStream(in)) {
+                    thumbnail = decode(iis, MAX_THUMBNAIL_WIDTH, MAX_THUMBNAIL_HEIGHT);
+                }
+                put(key, thumbnail);
+            }
+            final BufferedImage result = thumbnail;
+            SwingUtilities.invokeLater(() -> onLoaded.accept(result));
+        } catch (final IOException | RuntimeException ex) {
+            log.warn("Could not decode image: " + ex.getMessage());
+            SwingUtilities.invokeLater(() -> onError.accept(ex.getMessage()));
+        }
+    }
+
+    /**
+     * Decodes the given image into a thumbnail fitting into the given bounds. Images exceeding the
+     * bounds are subsampled while reading, so only about every n-th pixel is decoded. The aspect
+     * ratio is kept.
+     *
+     * @param iis The stream of the encoded image.
+     * @param maxWidth The maximum width of the thumbnail.
+     * @param maxHeight The maximum height of the thumbnail.
+     * @return The decoded thumbnail.
+     * @throws IOException if the image format is not supported or the image could not be read.
+     */
+    public static BufferedImage decode(
+            final ImageInputStream iis,
+            int maxWidth,
+            int maxHeight
+    ) throws IOException {
+        if (iis == null) {
+            throw new IOException("Could not open image stream.");
+        }
+        final Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+        if (!readers.hasNext()) {
+            throw new IOException("Unsupported image format.");
+        }
+        final ImageReader reader = readers.next();
+        try {
+            reader.setInput(iis, true, true);
+            final int subsampling = getSubsampling(reader.getWidth(0), reader.getHeight(0), maxWidth, maxHeight);
+            final ImageReadParam param = reader.getDefaultReadParam();
+            if (subsampling > 1) {
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            }
+            return scaleToFit(reader.read(0, param), maxWidth, maxHeight);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * Gets the largest subsampling factor which keeps the image at least as large as the bounds,
+     * so the remaining down-scaling is less than a factor of two.
+     *
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param maxWidth The maximum width of the thumbnail.
+     * @param maxHeight The maximum height of the thumbnail.
+     * @return The subsampling factor (1 for images fitting into the bounds).
+     */
+    static int getSubsampling(int width, int height, int maxWidth, int maxHeight) {
+        final double scale = Math.max((double) width / maxWidth, (double) height / maxHeight);
+        return Math.max(1, (int) Math.floor(scale));
+    }
+
+    private static BufferedImage scaleToFit(final BufferedImage img, int maxWidth, int maxHeight) {
+        final double scale = Math.min((double) maxWidth / img.getWidth(), (double) maxHeight / img.getHeight());
+        if (scale >= 1.0) {
+            return img;
+        }
+        final int width = Math.max(1, (int) Math.round(img.getWidth() * scale));
+        final int height = Math.max(1, (int) Math.round(img.getHeight() * scale));
+        final BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D g2d = scaled.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.drawImage(img, 0, 0, width, height, null);
+        } finally {
+            g2d.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Gets the approximated memory usage of the given image in bytes.
+     *
+     * @param img The image.
+     * @return The size in bytes, assuming 4 bytes per pixel.
+     */
+    static long getSizeInBytes(final BufferedImage img) {
+        return 4L * img.getWidth() * img.getHeight();
+    }
+
+    private static String getFileKey(final Path file) throws IOException {
+        final String hash = BlobStore.getInstance().getHashOf(file);
+        if (hash != null) {
+            return "sha256:" + hash;
+        }
+        return "file:" + file.toAbsolutePath() + ":" + Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    @FunctionalInterface
+    private interface IOSupplier<T> {
+
+        T get() throws IOException;
+    }
+
+    private static class ImageThumbnailCacheHolder {
+
+        private static final ImageThumbnailCache INSTANCE = new ImageThumbnailCache(DEFAULT_CAPACITY);
+    }
+}
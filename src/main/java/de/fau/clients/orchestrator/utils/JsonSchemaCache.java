@@ -0,0 +1,199 @@
+package de.fau.clients.orchestrator.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaException;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import sila_java.library.core.models.Constraints;
+
+/**
+ * Thread-safe cache of compiled JSON schemas, the JSON counterpart of the
+ * <code>XmlSchemaCache</code>. Schemas given by URL are keyed by their URL, inline schemas by the
+ * SHA-256 hash of their content. Compiled <code>JsonSchema</code> objects are shared between
+ * threads. Schemas which failed to load from their URL are remembered for a short time (see
+ * {@link #DEFAULT_FAILURE_TTL_IN_MS}), so an unreachable schema URL does not block every validation
+ * with another network timeout.
+ * <p>
+ * The draft version is taken from the <code>$schema</code> keyword of the schema. Schemas without
+ * this keyword are treated as draft-07.
+ * </p>
+ *
+ * @see XmlSchemaCache
+ */
+public final class JsonSchemaCache {
+
+    /**
+     * The default time in milliseconds a failed schema URL is not requested again.
+     */
+    public static final long DEFAULT_FAILURE_TTL_IN_MS = 60_000;
+    private static final String URL_KEY_PREFIX = "url:";
+    private static final String INLINE_KEY_PREFIX = "inline:";
+    private static final SpecVersion.VersionFlag DEFAULT_VERSION = SpecVersion.VersionFlag.V7;
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ConcurrentHashMap<String, JsonSchema> schemaMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Failure> failureMap = new ConcurrentHashMap<>();
+    private final long failureTtlInMs;
+
+    JsonSchemaCache() {
+        this(DEFAULT_FAILURE_TTL_IN_MS);
+    }
+
+    JsonSchemaCache(long failureTtlInMs) {
+        this.failureTtlInMs = failureTtlInMs;
+    }
+
+    public static JsonSchemaCache getInstance() {
+        return JsonSchemaCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Gets the compiled schema of the given schema constraint.
+     *
+     * @param schema The schema constraint with an URL or an inline schema.
+     * @return The compiled schema or <code>null</code> if the constraint has neither an URL nor an
+     * inline schema.
+     * @throws IllegalArgumentException if the schema could not be loaded or compiled.
+     */
+    public JsonSchema getSchema(@NonNull final Constraints.Schema schema) {
+        if (schema.getUrl() != null) {
+            return getSchemaFromUrl(schema.getUrl());
+        } else if (schema.getInline() != null) {
+            return getInlineSchema(schema.getInline());
+        }
+        return null;
+    }
+
+    /**
+     * Gets the compiled schema located at the given URL. A failed load is rethrown for all
+     * requests of the same URL within the failure TTL.
+     *
+     * @param url The URL of the JSON schema.
+     * @return The compiled schema.
+     * @throws IllegalArgumentException if the schema could not be loaded or compiled.
+     */
+    public JsonSchema getSchemaFromUrl(@NonNull final String url) {
+        final String key = URL_KEY_PREFIX + url;
+        final JsonSchema cached = schemaMap.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Failure failure = failureMap.get(key);
+        if (failure != null) {
+            if (System.currentTimeMillis() < failure.expiresAt) {
+                throw failure.cause;
+            }
+            failureMap.remove(key, failure);
+        }
+        final JsonSchema schema;
+        try {
+            // the schema is loaded first to detect its draft, the URI resolves relative references
+            final URI uri = new URI(url);
+            final JsonNode schemaNode = jsonMapper.readTree(uri.toURL());
+            schema = JsonSchemaFactory.getInstance(detectVersion(schemaNode)).getSchema(uri, schemaNode);
+        } catch (final URISyntaxException | IOException | IllegalArgumentException | JsonSchemaException ex) {
+            final IllegalArgumentException cause = new IllegalArgumentException(
+                    "Could not load JSON schema from " + url + ": " + ex.getMessage(), ex);
+            if (failureTtlInMs > 0) {
+                failureMap.put(key, new Failure(cause, System.currentTimeMillis() + failureTtlInMs));
+            }
+            throw cause;
+        }
+        return cache(key, schema);
+    }
+
+    /**
+     * Gets the compiled schema of the given inline JSON schema.
+     *
+     * @param schemaStr The content of the JSON schema.
+     * @return The compiled schema.
+     * @throws IllegalArgumentException if the schema could not be compiled.
+     */
+    public JsonSchema getInlineSchema(@NonNull final String schemaStr) {
+        final String key = INLINE_KEY_PREFIX + SilaBasicTypeUtils.sha256Hex(schemaStr);
+        final JsonSchema cached = schemaMap.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final JsonSchema schema;
+        try {
+            final JsonNode schemaNode = jsonMapper.readTree(schemaStr);
+            schema = JsonSchemaFactory.getInstance(detectVersion(schemaNode)).getSchema(schemaNode);
+        } catch (final JsonProcessingException | JsonSchemaException ex) {
+            throw new IllegalArgumentException("Invalid JSON schema: " + ex.getMessage(), ex);
+        }
+        return cache(key, schema);
+    }
+
+    /**
+     * Gets the number of cached schemas. Remembered failures are not counted.
+     *
+     * @return The number of schemas.
+     */
+    public int size() {
+        return schemaMap.size();
+    }
+
+    /**
+     * Discards all cached schemas and remembered failures.
+     */
+    public void clear() {
+        schemaMap.clear();
+        failureMap.clear();
+    }
+
+    private JsonSchema cache(final String key, final JsonSchema schema) {
+        final JsonSchema existing = schemaMap.putIfAbsent(key, schema);
+        return (existing != null) ? existing : schema;
+    }
+
+    /**
+     * Detects the draft version of the given schema by its <code>$schema</code> keyword.
+     *
+     * @param schemaNode The root node of the schema.
+     * @return The draft version or draft-07 if unknown.
+     */
+    static SpecVersion.VersionFlag detectVersion(final JsonNode schemaNode) {
+        final JsonNode versionNode = schemaNode.get("$schema");
+        if (versionNode == null || !versionNode.isTextual()) {
+            return DEFAULT_VERSION;
+        }
+        final String version = versionNode.asText();
+        if (version.contains("draft-04")) {
+            return SpecVersion.VersionFlag.V4;
+        } else if (version.contains("draft-06")) {
+            return SpecVersion.VersionFlag.V6;
+        } else if (version.contains("2019-09")) {
+            return SpecVersion.VersionFlag.V201909;
+        } else if (version.contains("2020-12")) {
+            return SpecVersion.VersionFlag.V202012;
+        }
+        return DEFAULT_VERSION;
+    }
+
+    /**
+     * A failed schema load and the time it gets retried.
+     */
+    private static class Failure {
+
+        private final IllegalArgumentException cause;
+        private final long expiresAt;
+
+        private Failure(final IllegalArgumentException cause, long expiresAt) {
+            this.cause = cause;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class JsonSchemaCacheHolder {
+
+        private static final JsonSchemaCache INSTANCE = new JsonSchemaCache();
+    }
+}
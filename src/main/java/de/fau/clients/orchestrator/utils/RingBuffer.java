@@ -0,0 +1,103 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-safe buffer with a fixed capacity. When the buffer is full, each added element overwrites
+ * the oldest one, so the memory consumption stays constant regardless of how many elements are
+ * added over time.
+ *
+ * @param <T> The type of the buffered elements.
+ */
+public final class RingBuffer<T> {
+
+    private final Object[] elements;
+    private int head = 0;
+    private int size = 0;
+    private long totalCount = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The maximum number of buffered elements.
+     */
+    public RingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than zero.");
+        }
+        this.elements = new Object[capacity];
+    }
+
+    /**
+     * Adds the given element and drops the oldest element if the buffer is full.
+     *
+     * @param element The element to add.
+     */
+    public synchronized void add(final T element) {
+        elements[(head + size) % elements.length] = element;
+        if (size < elements.length) {
+            size++;
+        } else {
+            head = (head + 1) % elements.length;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Gets the most recently added element.
+     *
+     * @return The last element or <code>null</code> if the buffer is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T getLast() {
+        if (size == 0) {
+            return null;
+        }
+        return (T) elements[(head + size - 1) % elements.length];
+    }
+
+    /**
+     * Gets a snapshot of the buffered elements.
+     *
+     * @return A list of the elements ordered from the oldest to the newest.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> toList() {
+        final List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add((T) elements[(head + i) % elements.length]);
+        }
+        return list;
+    }
+
+    /**
+     * Removes all elements and resets the total count.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = null;
+        }
+        head = 0;
+        size = 0;
+        totalCount = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return elements.length;
+    }
+
+    /**
+     * Gets the number of all elements added since creation or the last clear, including the
+     * dropped ones.
+     *
+     * @return The total number of added elements.
+     */
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+}
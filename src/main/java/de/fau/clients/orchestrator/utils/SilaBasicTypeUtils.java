@@ -3,11 +3,17 @@
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.OffsetTime;
 import java.time.ZoneOffset;
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import sila2.org.silastandard.SiLAFramework;
 
@@ -200,17 +206,64 @@ public static ZoneOffset zoneOffsetFromJsonNode(final JsonNode jsonNode) {
      * Converts hexadecimal byte values to a string.
      *
      * @param hexValues The hex values to represent as string.
-     * @return A the hex values as String.
+     * @return A the hex values as String with two characters per byte.
      */
     public static String toHexString(byte[] hexValues) {
         final BigInteger number = new BigInteger(1, hexValues);
         final StringBuilder hexString = new StringBuilder(number.toString(16));
-        while (hexString.length() < 32) {
+        while (hexString.length() < hexValues.length * 2) {
             hexString.insert(0, '0');
         }
         return hexString.toString();
     }
 
+    /**
+     * Computes the SHA-256 hash of the given data.
+     *
+     * @param data The data to hash.
+     * @return The hash as lower case hex string with 64 characters.
+     */
+    public static String sha256Hex(@NonNull final byte[] data) {
+        return toHexString(createSha256Digest().digest(data));
+    }
+
+    /**
+     * Computes the SHA-256 hash of the UTF-8 encoding of the given string.
+     *
+     * @param text The string to hash.
+     * @return The hash as lower case hex string with 64 characters.
+     */
+    public static String sha256Hex(@NonNull final String text) {
+        return sha256Hex(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the SHA-256 hash of the remaining content of the given stream without holding the
+     * content in memory.
+     *
+     * @param in The stream to hash. The stream is not closed.
+     * @return The hash as lower case hex string with 64 characters.
+     * @throws IOException if the stream could not be read.
+     */
+    public static String sha256Hex(@NonNull final InputStream in) throws IOException {
+        final MessageDigest md = createSha256Digest();
+        final byte[] buffer = new byte[64 * 1024];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            md.update(buffer, 0, len);
+        }
+        return toHexString(md.digest());
+    }
+
+    private static MessageDigest createSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException ex) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
     /**
      * Extracts the contents from a `SiLAError`-type and formats it to a human readable error
      * message.
@@ -4,11 +4,12 @@
 import javax.swing.filechooser.FileFilter;
 
 /**
- * A file filter used in file selection dialogues to load/save only *.silo-files.
+ * A file filter used in file selection dialogues to load/save only *.silo-files and *.siloz-bundles.
  */
 public final class SiloFileFilter extends FileFilter {
 
     private final static String SILO_SUFFIX = "silo";
+    private final static String BUNDLE_SUFFIX = "siloz";
 
     /*
      * Get the extension of a file.
@@ -25,7 +26,7 @@ private static String getExtension(final File file) {
     }
 
     /**
-     * Accept all directories and all *.silo files.
+     * Accept all directories and all *.silo and *.siloz files.
      *
      * @param file The file to check.
      * @return <code>true</code> if file filter matches, otherwise <code>false</code>.
@@ -38,7 +39,7 @@ public boolean accept(File file) {
 
         final String ext = getExtension(file);
         if (ext != null) {
-            if (ext.equals(SILO_SUFFIX)) {
+            if (ext.equals(SILO_SUFFIX) || ext.equals(BUNDLE_SUFFIX)) {
                 return true;
             }
         }
@@ -51,6 +52,6 @@ public boolean accept(File file) {
      */
     @Override
     public String getDescription() {
-        return "SiLA Orchestrator File (*.silo)";
+        return "SiLA Orchestrator File (*.silo, *.siloz)";
     }
 }
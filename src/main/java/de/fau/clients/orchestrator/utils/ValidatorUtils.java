@@ -1,28 +1,50 @@
 package de.fau.clients.orchestrator.utils;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.ValidationMessage;
 import de.fau.clients.orchestrator.ctx.CommandContext;
 import de.fau.clients.orchestrator.ctx.FeatureContext;
 import de.fau.clients.orchestrator.ctx.PropertyContext;
 import de.fau.clients.orchestrator.ctx.ServerContext;
 import de.fau.clients.orchestrator.nodes.FullyQualifiedIdentifier;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
-import java.nio.charset.CharacterCodingException;
+import java.nio.CharBuffer;
 import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.Schema;
 import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
+import lombok.NonNull;
 import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+import sila_java.library.core.models.Constraints;
 import sila_java.library.core.sila.utils.FullyQualifiedIdentifierUtils;
 
 /**
@@ -42,6 +64,56 @@ public final class ValidatorUtils {
             FullyQualifiedIdentifier.METADATA_IDENTIFIER, FullyQualifiedIdentifierUtils.FullyQualifiedMetadataIdentifierPattern
     );
 
+    /**
+     * The maximum number of compiled constraint patterns kept in the cache.
+     */
+    public static final int PATTERN_CACHE_CAPACITY = 256;
+    /**
+     * Compiled pattern constraints by their regular expression. The least recently used pattern
+     * gets evicted if the capacity is exceeded.
+     */
+    private static final Map<String, Pattern> patternCache = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+            return size() > PATTERN_CACHE_CAPACITY;
+        }
+    });
+
+    private static final int UTF8_CHECK_BUFFER_SIZE = 8192;
+    /**
+     * Shared JSON factory and reader. Both are thread-safe and expensive to create, so they are
+     * created only once instead of on each check.
+     */
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final ObjectReader jsonReader = new ObjectMapper(jsonFactory).reader();
+
+    /**
+     * Reusable SAX parsers, one per thread, since parsers are not thread-safe and creating a new
+     * factory and parser on each check is expensive.
+     */
+    private static final ThreadLocal<SAXParser> saxParserPool = ThreadLocal.withInitial(() -> {
+        final SAXParserFactory factory = SAXParserFactory.newInstance();
+        factory.setValidating(false);
+        factory.setNamespaceAware(true);
+        try {
+            return factory.newSAXParser();
+        } catch (ParserConfigurationException | SAXException ex) {
+            return null;
+        }
+    });
+    /**
+     * Handler which treats every error as fatal and suppresses the error prints of the parser.
+     */
+    private static final DefaultHandler silentHandler = new DefaultHandler() {
+        @Override
+        public void error(final SAXParseException ex) throws SAXException {
+            throw ex;
+        }
+    };
+
     private ValidatorUtils() {
         throw new UnsupportedOperationException("Instantiation not allowed.");
     }
@@ -79,12 +151,11 @@ public static boolean isFullyQualifiedIdentifierValid(
             return false;
         }
         final CommandContext commandCtx = (callId != null) ? featureCtx.getCommandCtx(callId) : null;
-        final PropertyContext propertyCtx = (callId != null) ? featureCtx.getPropertyCtx(callId) : null;
         if (fqiType.equals(FullyQualifiedIdentifier.FEATURE_IDENTIFIER)) {
             return featureCtx.getFullyQualifiedIdentifier().equals(fqiUri);
         }
         if (fqiType.equals(FullyQualifiedIdentifier.COMMAND_IDENTIFIER)) {
-            return commandCtx != null;
+            return (serverCtx.getCtxByFqi(fqiUri) instanceof CommandContext);
         }
         if (fqiType.equals(FullyQualifiedIdentifier.COMMAND_PARAMETER_IDENTIFIER)) {
             return (
@@ -118,7 +189,7 @@ public static boolean isFullyQualifiedIdentifierValid(
             );
         }
         if (fqiType.equals(FullyQualifiedIdentifier.PROPERTY_IDENTIFIER)) {
-            return propertyCtx != null;
+            return (serverCtx.getCtxByFqi(fqiUri) instanceof PropertyContext);
         }
         if (fqiType.equals(FullyQualifiedIdentifier.TYPE_IDENTIFIER)) {
             return (
@@ -137,6 +208,99 @@ public static boolean isFullyQualifiedIdentifierValid(
         return false;
     }
 
+    /**
+     * Gets the compiled pattern of the given regular expression. Patterns are compiled only once and
+     * are kept in a bounded cache shared by all constraint validations.
+     *
+     * @param regex The regular expression of the pattern constraint.
+     * @return The compiled pattern.
+     * @throws PatternSyntaxException if the expression is invalid.
+     */
+    public static Pattern getConstraintPattern(final String regex) throws PatternSyntaxException {
+        return patternCache.computeIfAbsent(regex, Pattern::compile);
+    }
+
+    /**
+     * Checks if the given value matches the whole regular expression of a pattern constraint.
+     *
+     * @param value The value to check.
+     * @param regex The regular expression of the pattern constraint.
+     * @return <code>true</code> if the value matches, <code>false</code> if not or if the
+     * expression is invalid.
+     */
+    public static boolean isPatternMatching(final String value, final String regex) {
+        if (value == null || regex == null) {
+            return false;
+        }
+        try {
+            return getConstraintPattern(regex).matcher(value).matches();
+        } catch (final PatternSyntaxException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks if the given string value satisfies the set, pattern and length constraints. All
+     * given constraints have to be satisfied. Since no view is involved, this check can be used to
+     * validate whole task queues before execution.
+     * <p>
+     * Constraints requiring a server or feature context (e.g. fully qualified identifiers) or a
+     * schema are not checked here and are considered as satisfied.
+     * </p>
+     *
+     * @param value The string value to check.
+     * @param constraints The constraints of the string type.
+     * @return <code>true</code> if all checked constraints are satisfied, otherwise
+     * <code>false</code>.
+     * @see #getStringConstraintViolation(String, Constraints)
+     */
+    public static boolean isStringConstraintSatisfied(final String value, final Constraints constraints) {
+        return (getStringConstraintViolation(value, constraints) == null);
+    }
+
+    /**
+     * Checks the given string value against the set, pattern and length constraints and describes
+     * the first violated constraint.
+     *
+     * @param value The string value to check.
+     * @param constraints The constraints of the string type.
+     * @return A description of the violation or <code>null</code> if all checked constraints are
+     * satisfied.
+     * @see #isStringConstraintSatisfied(String, Constraints)
+     */
+    public static String getStringConstraintViolation(final String value, final Constraints constraints) {
+        if (value == null) {
+            return "Value is missing.";
+        }
+        if (constraints == null) {
+            return null;
+        }
+        final Constraints.Set conSet = constraints.getSet();
+        if (conSet != null) {
+            final List<String> items = conSet.getValue();
+            if (items == null || !items.contains(value)) {
+                return "'" + value + "' is not in the set of allowed values.";
+            }
+        }
+        if (constraints.getPattern() != null && !isPatternMatching(value, constraints.getPattern())) {
+            return "'" + value + "' does not match " + constraints.getPattern() + ".";
+        }
+        final int len = value.length();
+        final BigInteger exactLen = constraints.getLength();
+        if (exactLen != null && len != exactLen.intValue()) {
+            return "Length " + len + " is not " + exactLen + ".";
+        }
+        final BigInteger minLen = constraints.getMinimalLength();
+        if (minLen != null && len < minLen.intValue()) {
+            return "Length " + len + " is less than " + minLen + ".";
+        }
+        final BigInteger maxLen = constraints.getMaximalLength();
+        if (maxLen != null && len > maxLen.intValue()) {
+            return "Length " + len + " is greater than " + maxLen + ".";
+        }
+        return null;
+    }
+
     /**
      * Checks if the given XML input contains correct, well-formed XML syntax. To validate against a
      * schema, please see <code> isXmlValid()</code>.
@@ -147,15 +311,39 @@ public static boolean isFullyQualifiedIdentifierValid(
      * @see #isXmlValid
      */
     public static boolean isXmlWellFormed(final InputStream xml) {
-        final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setValidating(false);
-        factory.setNamespaceAware(true);
+        final SAXParser parser = saxParserPool.get();
+        if (parser == null) {
+            return false;
+        }
         try {
-            final DocumentBuilder builder = factory.newDocumentBuilder();
-            builder.setErrorHandler(null); // suppress error prints
-            builder.parse(xml);
+            // a SAX parser does not build a document tree, which matters on large documents
+            parser.parse(xml, silentHandler);
             return true;
-        } catch (IOException | ParserConfigurationException | SAXException ex) {
+        } catch (IOException | SAXException ex) {
+            return false;
+        } finally {
+            parser.reset();
+        }
+    }
+
+    /**
+     * Validates the given XML input against a compiled schema. The input is checked for
+     * well-formedness as well. Compiled schemas can be obtained from the
+     * <code>XmlSchemaCache</code>.
+     *
+     * @param xml The XML input to validate.
+     * @param schema The compiled schema to validate against.
+     * @return <code>true</code> if valid, otherwise <code>false</code>.
+     *
+     * @see XmlSchemaCache
+     */
+    public static boolean isXmlValid(final InputStream xml, final Schema schema) {
+        final Validator validator = schema.newValidator();
+        validator.setErrorHandler(silentHandler);
+        try {
+            validator.validate(new StreamSource(xml));
+            return true;
+        } catch (IOException | SAXException ex) {
             return false;
         }
     }
@@ -196,24 +384,121 @@ public static boolean isXmlValid(final Source xml, final Source xsd) {
     }
 
     /**
-     * Checks if the given JSON string is valid.
+     * Checks if the given string contains well-formed JSON syntax. The input is only tokenized by a
+     * streaming parser, so no document tree is built, which matters on large documents. To
+     * validate against a schema, please see <code>getJsonSchemaViolations()</code>.
      *
-     * @deprecated A proper schema validation is not done yet. This may change in the future when
-     * the standardization of JSON-schema is final. A library to do this can be found here:
-     * https://github.com/networknt/json-schema-validator (2020-09-05, florian.bauer.dev@gmail.com)
-     *
-     * @param jsonStr The JSON string to validate.
+     * @param jsonStr The JSON string to check.
      * @return <code>true</code> if valid, otherwise <code>false</code>.
+     *
+     * @see #getJsonSchemaViolations
      */
-    @Deprecated
     public static boolean isJsonValid(final String jsonStr) {
+        if (jsonStr == null) {
+            return false;
+        }
+        try (final JsonParser parser = jsonFactory.createParser(jsonStr)) {
+            if (parser.nextToken() == null) {
+                // empty input
+                return false;
+            }
+            parser.skipChildren();
+            // no trailing content after the root value is allowed
+            return (parser.nextToken() == null);
+        } catch (final IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Validates the given JSON string against a compiled schema and describes all violations.
+     * Compiled schemas can be obtained from the <code>JsonSchemaCache</code>.
+     *
+     * @param jsonStr The JSON string to validate.
+     * @param schema The compiled schema to validate against.
+     * @return The descriptions of all violations, which is an empty list if the string is valid.
+     *
+     * @see JsonSchemaCache
+     */
+    public static List<String> getJsonSchemaViolations(
+            @NonNull final String jsonStr,
+            @NonNull final JsonSchema schema
+    ) {
+        final JsonNode jsonNode;
         try {
-            final ObjectMapper mapper = new ObjectMapper();
-            mapper.readTree(jsonStr);
-            return true;
-        } catch (IOException ex) {
+            jsonNode = jsonReader.readTree(jsonStr);
+        } catch (final JsonProcessingException ex) {
+            return List.of("Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (jsonNode == null || jsonNode.isMissingNode()) {
+            return List.of("Malformed JSON: No content.");
+        }
+        final Set<ValidationMessage> messages = schema.validate(jsonNode);
+        final List<String> violations = new ArrayList<>(messages.size());
+        for (final ValidationMessage msg : messages) {
+            violations.add(msg.getMessage());
+        }
+        return violations;
+    }
+
+    /**
+     * Validates the given JSON string against a compiled schema.
+     *
+     * @param jsonStr The JSON string to validate.
+     * @param schema The compiled schema to validate against.
+     * @return <code>true</code> if valid, otherwise <code>false</code>.
+     *
+     * @see #getJsonSchemaViolations
+     */
+    public static boolean isJsonValid(final String jsonStr, @NonNull final JsonSchema schema) {
+        if (jsonStr == null) {
             return false;
         }
+        return getJsonSchemaViolations(jsonStr, schema).isEmpty();
+    }
+
+    /**
+     * Checks the given text against a schema constraint (XML or JSON) and describes the violation.
+     * Compiled schemas are taken from the shared <code>XmlSchemaCache</code> and
+     * <code>JsonSchemaCache</code>. If the schema can not be loaded (e.g. because the URL is not
+     * reachable) or the constraint has neither an URL nor an inline schema, only the
+     * well-formedness of the text is checked.
+     *
+     * @param text The text to check.
+     * @param schema The schema constraint.
+     * @return A description of the violation or <code>null</code> if the text is valid.
+     */
+    public static String getSchemaViolation(final String text, @NonNull final Constraints.Schema schema) {
+        if (text == null) {
+            return "Value is missing.";
+        }
+        final String schemaType = schema.getType();
+        if ("Xml".equalsIgnoreCase(schemaType)) {
+            final byte[] xml = text.getBytes(StandardCharsets.UTF_8);
+            Schema xsd;
+            try {
+                xsd = XmlSchemaCache.getInstance().getSchema(schema);
+            } catch (final SAXException ex) {
+                xsd = null;
+            }
+            if (xsd == null) {
+                return isXmlWellFormed(new ByteArrayInputStream(xml)) ? null : "Malformed XML.";
+            }
+            return isXmlValid(new ByteArrayInputStream(xml), xsd) ? null : "Not valid against the XML schema.";
+        } else if ("Json".equalsIgnoreCase(schemaType)) {
+            JsonSchema jsonSchema;
+            try {
+                jsonSchema = JsonSchemaCache.getInstance().getSchema(schema);
+            } catch (final IllegalArgumentException ex) {
+                jsonSchema = null;
+            }
+            if (jsonSchema == null) {
+                return isJsonValid(text) ? null : "Malformed JSON.";
+            }
+            final List<String> violations = getJsonSchemaViolations(text, jsonSchema);
+            return violations.isEmpty() ? null : String.join(" ", violations);
+        }
+        return "Unknown schema type '" + schemaType + "'.";
     }
 
     /**
@@ -224,11 +509,18 @@ public static boolean isJsonValid(final String jsonStr) {
      */
     public static boolean isValidUtf8(byte[] input) {
         final CharsetDecoder cs = StandardCharsets.UTF_8.newDecoder();
-        try {
-            cs.decode(ByteBuffer.wrap(input));
-        } catch (final CharacterCodingException ex) {
-            return false;
-        }
-        return true;
+        final ByteBuffer in = ByteBuffer.wrap(input);
+        // decode chunk-wise into a small buffer instead of copying the whole input into a string
+        final CharBuffer out = CharBuffer.allocate(UTF8_CHECK_BUFFER_SIZE);
+        CoderResult result;
+        do {
+            out.clear();
+            result = cs.decode(in, out, true);
+            if (result.isError()) {
+                return false;
+            }
+        } while (result.isOverflow());
+        out.clear();
+        return !cs.flush(out).isError();
     }
 }
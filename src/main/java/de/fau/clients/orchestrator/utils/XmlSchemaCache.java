@@ -0,0 +1,222 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.xml.XMLConstants;
+import javax.xml.catalog.CatalogFeatures;
+import javax.xml.catalog.CatalogManager;
+import javax.xml.catalog.CatalogResolver;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import sila_java.library.core.models.Constraints;
+
+/**
+ * Thread-safe cache of compiled XML schemas. Compiling a schema is expensive, so every schema is
+ * compiled only once and then shared, since compiled <code>Schema</code> objects are immutable.
+ * Schemas given by URL are keyed by their URL, inline schemas by the SHA-256 hash of their
+ * content. Schemas which failed to load or compile are remembered for a short time (see
+ * {@link #DEFAULT_FAILURE_TTL_IN_MS}), so an unreachable schema URL does not block every validation
+ * with another network timeout.
+ * <p>
+ * Optionally, an XML catalog (OASIS format) can be set to load schemas and their imports from
+ * local files instead of the network. The catalog is read from the file given by the system
+ * property <code>orchestrator.xmlCatalog</code> (e.g.
+ * <code>-Dorchestrator.xmlCatalog=/opt/schemas/catalog.xml</code>).
+ * </p>
+ */
+@Slf4j
+public final class XmlSchemaCache {
+
+    /**
+     * System property with the path of the XML catalog file.
+     */
+    public static final String CATALOG_PROPERTY = "orchestrator.xmlCatalog";
+    /**
+     * The default time in milliseconds a failed schema is not requested again.
+     */
+    public static final long DEFAULT_FAILURE_TTL_IN_MS = 60_000;
+    private static final String URL_KEY_PREFIX = "url:";
+    private static final String INLINE_KEY_PREFIX = "inline:";
+    private final ConcurrentHashMap<String, Schema> schemaMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Failure> failureMap = new ConcurrentHashMap<>();
+    private final long failureTtlInMs;
+    private volatile CatalogResolver catalogResolver = null;
+
+    XmlSchemaCache() {
+        this(DEFAULT_FAILURE_TTL_IN_MS);
+    }
+
+    XmlSchemaCache(long failureTtlInMs) {
+        this.failureTtlInMs = failureTtlInMs;
+        final String catalogFile = System.getProperty(CATALOG_PROPERTY);
+        if (catalogFile != null) {
+            try {
+                setCatalog(Paths.get(catalogFile));
+            } catch (final RuntimeException ex) {
+                log.warn("Could not load XML catalog '" + catalogFile + "': " + ex.getMessage());
+            }
+        }
+    }
+
+    public static XmlSchemaCache getInstance() {
+        return XmlSchemaCacheHolder.INSTANCE;
+    }
+
+    /**
+     * Sets the XML catalog used to resolve schema URLs to local files. URLs not found in the
+     * catalog are still loaded from their origin. Already cached schemas are discarded.
+     *
+     * @param catalogFile The path of the catalog file or <code>null</code> to disable the catalog.
+     * @throws IllegalArgumentException if the catalog file does not exist.
+     */
+    public void setCatalog(final Path catalogFile) {
+        if (catalogFile == null) {
+            catalogResolver = null;
+        } else {
+            if (!Files.isRegularFile(catalogFile)) {
+                throw new IllegalArgumentException("Catalog file " + catalogFile + " not found.");
+            }
+            final CatalogFeatures features = CatalogFeatures.builder()
+                    .with(CatalogFeatures.Feature.RESOLVE, "continue")
+                    .build();
+            catalogResolver = CatalogManager.catalogResolver(features, catalogFile.toUri());
+        }
+        clear();
+    }
+
+    /**
+     * Gets the compiled schema of the given schema constraint.
+     *
+     * @param schema The schema constraint with an URL or an inline schema.
+     * @return The compiled schema or <code>null</code> if the constraint has neither an URL nor an
+     * inline schema.
+     * @throws SAXException if the schema could not be loaded or compiled.
+     */
+    public Schema getSchema(@NonNull final Constraints.Schema schema) throws SAXException {
+        if (schema.getUrl() != null) {
+            return getSchemaFromUrl(schema.getUrl());
+        } else if (schema.getInline() != null) {
+            return getInlineSchema(schema.getInline());
+        }
+        return null;
+    }
+
+    /**
+     * Gets the compiled schema located at the given URL. The URL is resolved by the catalog first,
+     * if set.
+     *
+     * @param url The URL of the XSD.
+     * @return The compiled schema.
+     * @throws SAXException if the schema could not be loaded or compiled.
+     */
+    public Schema getSchemaFromUrl(@NonNull final String url) throws SAXException {
+        final String key = URL_KEY_PREFIX + url;
+        final Schema cached = schemaMap.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String systemId = url;
+        final CatalogResolver resolver = catalogResolver;
+        if (resolver != null) {
+            final InputSource resolved = resolver.resolveEntity(null, url);
+            if (resolved != null && resolved.getSystemId() != null) {
+                systemId = resolved.getSystemId();
+            }
+        }
+        return compileAndCache(key, new StreamSource(systemId));
+    }
+
+    /**
+     * Gets the compiled schema of the given inline XSD.
+     *
+     * @param xsd The XSD content.
+     * @return The compiled schema.
+     * @throws SAXException if the schema could not be compiled.
+     */
+    public Schema getInlineSchema(@NonNull final String xsd) throws SAXException {
+        final String key = INLINE_KEY_PREFIX + SilaBasicTypeUtils.sha256Hex(xsd);
+        final Schema cached = schemaMap.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return compileAndCache(key, new StreamSource(new StringReader(xsd)));
+    }
+
+    /**
+     * Gets the number of cached schemas. Remembered failures are not counted.
+     *
+     * @return The number of schemas.
+     */
+    public int size() {
+        return schemaMap.size();
+    }
+
+    /**
+     * Discards all cached schemas and remembered failures.
+     */
+    public void clear() {
+        schemaMap.clear();
+        failureMap.clear();
+    }
+
+    /**
+     * Compiles the given schema and stores it in the cache. The compilation is done outside of any
+     * lock, so compiling a large schema does not block the lookup of other schemas. If two threads
+     * compile the same schema at once, the first stored one wins. Failed compilations are not
+     * cached as schema, but the exception is rethrown for all requests within the failure TTL.
+     */
+    private Schema compileAndCache(final String key, final Source xsd) throws SAXException {
+        final Failure failure = failureMap.get(key);
+        if (failure != null) {
+            if (System.currentTimeMillis() < failure.expiresAt) {
+                throw failure.cause;
+            }
+            failureMap.remove(key, failure);
+        }
+        // schema factories are not thread-safe, but cheap compared to the compilation
+        final SchemaFactory schemaFactory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        final CatalogResolver resolver = catalogResolver;
+        if (resolver != null) {
+            schemaFactory.setResourceResolver(resolver);
+        }
+        final Schema schema;
+        try {
+            schema = schemaFactory.newSchema(xsd);
+        } catch (final SAXException ex) {
+            if (failureTtlInMs > 0) {
+                failureMap.put(key, new Failure(ex, System.currentTimeMillis() + failureTtlInMs));
+            }
+            throw ex;
+        }
+        final Schema existing = schemaMap.putIfAbsent(key, schema);
+        return (existing != null) ? existing : schema;
+    }
+
+    /**
+     * A failed schema compilation and the time it gets retried.
+     */
+    private static class Failure {
+
+        private final SAXException cause;
+        private final long expiresAt;
+
+        private Failure(final SAXException cause, long expiresAt) {
+            this.cause = cause;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class XmlSchemaCacheHolder {
+
+        private static final XmlSchemaCache INSTANCE = new XmlSchemaCache();
+    }
+}
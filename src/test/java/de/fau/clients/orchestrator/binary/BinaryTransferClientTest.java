@@ -0,0 +1,146 @@
+package de.fau.clients.orchestrator.binary;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.mock.MockBinaryTransfer;
+import de.fau.clients.orchestrator.mock.MockSilaServer;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import de.fau.clients.orchestrator.utils.SilaBasicTypeUtils;
+import io.grpc.ManagedChannel;
+import io.grpc.ManagedChannelBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryTransferClientTest {
+
+    private static final String PARAMETER_ID = MockSilaServer.FEATURE_ID + "/Command/GetBlob/Parameter/Data";
+    private static final int CHUNK_SIZE = 1024;
+    private static MockSilaServer mockServer;
+    private static MockBinaryTransfer transfer;
+    private static ManagedChannel channel;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setUpClass() throws IOException {
+        mockServer = MockSilaServer.start();
+        transfer = mockServer.getBinaryTransfer();
+        channel = ManagedChannelBuilder.forAddress(MockSilaServer.LOCALHOST, mockServer.getPort())
+                .usePlaintext()
+                .build();
+    }
+
+    @AfterAll
+    public static void tearDownClass() throws InterruptedException {
+        channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        mockServer.close();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transfer.setChunkFailures(-1, 0);
+    }
+
+    private static byte[] createData(int size) {
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private BinaryTransferClient createClient(int parallelism) {
+        return new BinaryTransferClient(channel, new BlobStore(tempDir), CHUNK_SIZE, parallelism);
+    }
+
+    @Test
+    public void uploadAndDownload() throws IOException {
+        final BinaryTransferClient client = createClient(BinaryTransferClient.DEFAULT_PARALLELISM);
+        final byte[] data = createData(10 * CHUNK_SIZE + 7);
+        assertEquals(11, client.getChunkCount(data.length));
+
+        final String uuid = client.upload(PARAMETER_ID, data);
+        assertArrayEquals(data, transfer.getBinary(uuid));
+
+        final String hash = client.download(uuid);
+        assertEquals(SilaBasicTypeUtils.sha256Hex(data), hash);
+        assertArrayEquals(data, Files.readAllBytes(new BlobStore(tempDir).getPath(hash)));
+        // downloaded binaries are deleted on the server
+        assertFalse(transfer.hasBinary(uuid));
+    }
+
+    @Test
+    public void uploadFile() throws IOException {
+        final BinaryTransferClient client = createClient(2);
+        final byte[] data = createData(3 * CHUNK_SIZE);
+        final Path file = tempDir.resolve("upload.bin");
+        Files.write(file, data);
+        assertArrayEquals(data, transfer.getBinary(client.upload(PARAMETER_ID, file)));
+
+        final byte[] small = createData(100);
+        assertEquals(1, client.getChunkCount(small.length));
+        assertArrayEquals(small, transfer.getBinary(client.upload(PARAMETER_ID, small)));
+    }
+
+    @Test
+    public void downloadReferences() throws IOException {
+        final BinaryTransferClient client = createClient(2);
+        final byte[] data = createData(2 * CHUNK_SIZE + 1);
+        final String uuid = transfer.putBinary(data);
+        final String result = "{\"Blob\":{\"" + BinaryParams.FIELD_TRANSFER_UUID + "\":\"" + uuid + "\"}}";
+
+        final String replaced = client.downloadReferences(result);
+        final Path file = BinaryParams.getFileReference(new ObjectMapper().readTree(replaced).get("Blob"));
+        assertArrayEquals(data, Files.readAllBytes(file));
+        assertEquals("{\"Name\":{\"value\":\"A1\"}}", client.downloadReferences("{\"Name\":{\"value\":\"A1\"}}"));
+    }
+
+    @Test
+    public void download_invalidUuid() {
+        final BinaryTransferClient client = createClient(2);
+        assertThrows(IOException.class, () -> client.download("00000000-0000-0000-0000-000000000000"));
+
+        final String uuid = transfer.putBinary(createData(2 * CHUNK_SIZE));
+        transfer.expireBinaries();
+        assertThrows(IOException.class, () -> client.download(uuid));
+    }
+
+    @Test
+    public void upload_resumeAfterChunkFailure() throws IOException {
+        // with a single stream, the failing chunk also breaks the transfer of all following chunks
+        final BinaryTransferClient client = createClient(1);
+        final byte[] data = createData(5 * CHUNK_SIZE);
+        transfer.setChunkFailures(2, 1);
+        assertArrayEquals(data, transfer.getBinary(client.upload(PARAMETER_ID, data)));
+
+        // a chunk failing on every attempt aborts the transfer
+        transfer.setChunkFailures(2, 3);
+        assertThrows(IOException.class, () -> client.upload(PARAMETER_ID, data));
+    }
+
+    @Test
+    public void download_resumeAfterChunkFailure() throws IOException {
+        final BinaryTransferClient client = createClient(1);
+        final byte[] data = createData(5 * CHUNK_SIZE);
+        transfer.setChunkFailures(1, 1);
+        final String hash = client.download(transfer.putBinary(data));
+        assertArrayEquals(data, Files.readAllBytes(new BlobStore(tempDir).getPath(hash)));
+
+        transfer.setChunkFailures(1, 3);
+        final String uuid = transfer.putBinary(data);
+        assertThrows(IOException.class, () -> client.download(uuid));
+        // the failed download is not added to the store and the binary is kept on the server
+        assertEquals(1, Files.list(tempDir.resolve(hash.substring(0, 2))).count());
+        assertArrayEquals(data, transfer.getBinary(uuid));
+    }
+}
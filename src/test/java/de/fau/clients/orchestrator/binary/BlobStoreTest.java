@@ -0,0 +1,90 @@
+package de.fau.clients.orchestrator.binary;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BlobStoreTest {
+
+    // SHA-256 of "SiLA"
+    private static final String SILA_HASH = "41304ad99d73a334cac619e2ce3d6e0c39a95198ac758eb2bbbc8333cb1f6cfd";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void putFile() throws Exception {
+        final BlobStore store = new BlobStore(tempDir);
+        final byte[] content = "SiLA".getBytes(StandardCharsets.UTF_8);
+
+        final Path first = store.createTempFile();
+        Files.write(first, content);
+        final String hash = store.putFile(first);
+        assertEquals(SILA_HASH, hash);
+        assertEquals(hash, BlobStore.hash(store.getPath(hash)));
+        assertTrue(store.contains(hash));
+        assertFalse(Files.exists(first));
+        assertArrayEquals(content, Files.readAllBytes(store.getPath(hash)));
+        assertEquals(tempDir.resolve(hash.substring(0, 2)).resolve(hash), store.getPath(hash));
+
+        // the same content is stored only once
+        final Path second = store.createTempFile();
+        Files.write(second, content);
+        assertEquals(hash, store.putFile(second));
+        assertFalse(Files.exists(second));
+
+        assertFalse(store.contains(SILA_HASH.replace('4', '5')));
+        assertFalse(store.contains("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.getPath("abc"));
+    }
+
+    @Test
+    public void putBytes() throws Exception {
+        final BlobStore store = new BlobStore(tempDir);
+        final byte[] content = "SiLA".getBytes(StandardCharsets.UTF_8);
+        assertEquals(SILA_HASH, store.putBytes(content));
+        assertEquals(SILA_HASH, store.putBytes(content));
+        assertEquals(SILA_HASH, store.putStream(new ByteArrayInputStream(content)));
+        assertArrayEquals(content, Files.readAllBytes(store.getPath(SILA_HASH)));
+
+        assertEquals(SILA_HASH, store.getHashOf(store.getPath(SILA_HASH)));
+        assertEquals(SILA_HASH, store.getHashOf(tempDir.resolve("x").resolve("..")
+                .resolve(SILA_HASH.substring(0, 2)).resolve(SILA_HASH)));
+        assertNull(store.getHashOf(tempDir.resolve(SILA_HASH)));
+        assertNull(store.getHashOf(tempDir.resolve("protocol.bin")));
+    }
+
+    @Test
+    public void prune() throws Exception {
+        final BlobStore store = new BlobStore(tempDir);
+        assertEquals(0, new BlobStore(tempDir.resolve("missing")).prune(Duration.ZERO));
+        final String oldHash = store.putBytes("old".getBytes(StandardCharsets.UTF_8));
+        final String usedHash = store.putBytes("used".getBytes(StandardCharsets.UTF_8));
+        final Path tempFile = store.createTempFile();
+        final FileTime lastMonth = FileTime.from(Instant.now().minus(Duration.ofDays(31)));
+        Files.setLastModifiedTime(store.getPath(oldHash), lastMonth);
+        Files.setLastModifiedTime(store.getPath(usedHash), lastMonth);
+        Files.setLastModifiedTime(tempFile, lastMonth);
+        // adding the same content again marks the blob as used
+        store.putBytes("used".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(1, store.prune(BlobStore.DEFAULT_MAX_AGE));
+        assertFalse(store.contains(oldHash));
+        assertFalse(Files.exists(store.getPath(oldHash).getParent()));
+        assertFalse(Files.exists(tempFile));
+        assertTrue(store.contains(usedHash));
+        assertEquals(0, store.prune(BlobStore.DEFAULT_MAX_AGE));
+    }
+}
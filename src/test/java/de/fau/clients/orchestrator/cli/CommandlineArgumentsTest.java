@@ -16,6 +16,7 @@ public void testDefaultConstructor() {
         assertFalse(result.isAboutInfoToPrint);
         assertFalse(result.isHelpToPrint);
         assertFalse(result.isServerListToPrint);
+        assertFalse(result.isServerHealthToPrint);
         assertFalse(result.isVersionToPrint);
         assertFalse(result.isSiloFileToCheck());
         assertFalse(result.isSiloFileToExecute());
@@ -36,6 +37,7 @@ public void createFromArgs_noFlags() {
         assertFalse(result.isAboutInfoToPrint);
         assertFalse(result.isHelpToPrint);
         assertFalse(result.isServerListToPrint);
+        assertFalse(result.isServerHealthToPrint);
         assertFalse(result.isVersionToPrint);
         assertFalse(result.isSiloFileToCheck());
         assertFalse(result.isSiloFileToExecute());
@@ -54,6 +56,7 @@ public void createFromArgs_checkAllLongFlags() {
             "--add-server", "127.0.0.1:50052",
             "--add-server", "127.0.0.1:50053",
             "--list-server",
+            "--probe-server",
             "--check-tasks", "fileA.silo",
             "--execute", "fileB.silo"
         };
@@ -64,6 +67,7 @@ public void createFromArgs_checkAllLongFlags() {
         assertEquals("127.0.0.1:50052", result.serverToAdd.get(0));
         assertEquals("127.0.0.1:50053", result.serverToAdd.get(1));
         assertTrue(result.isServerListToPrint);
+        assertTrue(result.isServerHealthToPrint);
         assertTrue(result.isSiloFileToCheck());
         assertEquals("fileA.silo", result.siloFilePathForCheck);
         assertTrue(result.isSiloFileToExecute());
@@ -78,6 +82,7 @@ public void createFromArgs_checkAllShortFlags() {
             "-a", "127.0.0.1:50052",
             "-a", "127.0.0.1:50053",
             "-l",
+            "-p",
             "-c", "fileA.silo",
             "-x", "fileB.silo"
         };
@@ -87,6 +92,7 @@ public void createFromArgs_checkAllShortFlags() {
         assertEquals("127.0.0.1:50052", result.serverToAdd.get(0));
         assertEquals("127.0.0.1:50053", result.serverToAdd.get(1));
         assertTrue(result.isServerListToPrint);
+        assertTrue(result.isServerHealthToPrint);
         assertTrue(result.isSiloFileToCheck());
         assertEquals("fileA.silo", result.siloFilePathForCheck);
         assertTrue(result.isSiloFileToExecute());
@@ -106,6 +112,22 @@ public void createFromArgs_checkChainedShortFlags() {
         assertTrue(result.isServerListToPrint);
     }
 
+    @Test
+    public void createFromArgs_checkChainedShortFlagsWithProbe() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(new String[]{"-hvl"});
+        assertFalse(result.isServerHealthToPrint);
+
+        result = CommandlineArguments.createFromArgs(new String[]{"-lp"});
+        assertTrue(result.isServerListToPrint);
+        assertTrue(result.isServerHealthToPrint);
+
+        result = CommandlineArguments.createFromArgs(new String[]{"-LHVP"});
+        assertTrue(result.isHelpToPrint);
+        assertTrue(result.isVersionToPrint);
+        assertTrue(result.isServerListToPrint);
+        assertTrue(result.isServerHealthToPrint);
+    }
+
     @Test
     public void createFromArgs_unknownArg() {
         Throwable exception = assertThrows(
@@ -187,6 +209,76 @@ public void createFromArgs_executeMissingOption() {
         assertEquals(CommandlineArguments.ERROR_SILO_FILE_ARG_MSG, exception.getMessage());
     }
 
+    @Test
+    public void createFromArgs_metrics() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(new String[]{"-x", "fileB.silo"});
+        assertFalse(result.isMetricsFileToWrite());
+        assertFalse(result.isMetricsEndpointToStart());
+
+        result = CommandlineArguments.createFromArgs(new String[]{
+            "-x", "fileB.silo",
+            "--metrics-file", "metrics.txt",
+            "--metrics-port", "9464"
+        });
+        assertTrue(result.isMetricsFileToWrite());
+        assertEquals("metrics.txt", result.metricsFilePath);
+        assertTrue(result.isMetricsEndpointToStart());
+        assertEquals(9464, result.metricsPort);
+    }
+
+    @Test
+    public void createFromArgs_metricsInvalidOption() {
+        Throwable exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--metrics-file"})
+        );
+        assertEquals(CommandlineArguments.ERROR_METRICS_FILE_ARG_MSG, exception.getMessage());
+
+        exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--metrics-port", "70000"})
+        );
+        assertEquals(CommandlineArguments.ERROR_METRICS_PORT_ARG_MSG, exception.getMessage());
+
+        exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--metrics-port"})
+        );
+        assertEquals(CommandlineArguments.ERROR_METRICS_PORT_ARG_MSG, exception.getMessage());
+    }
+
+    @Test
+    public void createFromArgs_traceFile() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(new String[]{"-x", "fileB.silo"});
+        assertFalse(result.isTraceFileToWrite());
+
+        result = CommandlineArguments.createFromArgs(new String[]{"-x", "fileB.silo", "--trace-file", "trace.json"});
+        assertTrue(result.isTraceFileToWrite());
+        assertEquals("trace.json", result.traceFilePath);
+
+        final Throwable exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--trace-file"})
+        );
+        assertEquals(CommandlineArguments.ERROR_TRACE_FILE_ARG_MSG, exception.getMessage());
+    }
+
+    @Test
+    public void createFromArgs_journalFile() {
+        CommandlineArguments result = CommandlineArguments.createFromArgs(new String[]{"-x", "fileB.silo"});
+        assertFalse(result.isJournalFileToWrite());
+
+        result = CommandlineArguments.createFromArgs(new String[]{"-x", "fileB.silo", "--journal-file", "runs.jsonl"});
+        assertTrue(result.isJournalFileToWrite());
+        assertEquals("runs.jsonl", result.journalFilePath);
+
+        final Throwable exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> CommandlineArguments.createFromArgs(new String[]{"--journal-file"})
+        );
+        assertEquals(CommandlineArguments.ERROR_JOURNAL_FILE_ARG_MSG, exception.getMessage());
+    }
+
     @Test
     public void isHostAndPortStrValid_valid() {
         assertTrue(isHostAndPortStrValid("localhost:2048"));
@@ -0,0 +1,29 @@
+package de.fau.clients.orchestrator.ctx;
+
+import static de.fau.clients.orchestrator.ctx.PropertyPoller.MAX_INTERVAL_FACTOR;
+import static de.fau.clients.orchestrator.ctx.PropertyPoller.adaptInterval;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+public class PropertyPollerTest {
+
+    @Test
+    public void adaptInterval_unchangedValues() {
+        long interval = 1000;
+        interval = adaptInterval(interval, 1000, false);
+        assertEquals(2000, interval);
+        interval = adaptInterval(interval, 1000, false);
+        assertEquals(4000, interval);
+        for (int i = 0; i < 10; i++) {
+            interval = adaptInterval(interval, 1000, false);
+        }
+        assertEquals(1000 * MAX_INTERVAL_FACTOR, interval);
+    }
+
+    @Test
+    public void adaptInterval_changedValue() {
+        assertEquals(1000, adaptInterval(1000, 1000, true));
+        assertEquals(1000, adaptInterval(8000, 1000, true));
+        assertEquals(250, adaptInterval(4000, 250, true));
+    }
+}
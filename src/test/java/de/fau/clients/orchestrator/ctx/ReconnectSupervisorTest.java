@@ -0,0 +1,34 @@
+package de.fau.clients.orchestrator.ctx;
+
+import static de.fau.clients.orchestrator.ctx.ReconnectSupervisor.computeBackoffDelay;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ReconnectSupervisorTest {
+
+    @Test
+    public void computeBackoffDelay_exponentialGrowth() {
+        assertEquals(500, computeBackoffDelay(0, 1000, 60000, 0.0));
+        assertEquals(1000, computeBackoffDelay(1, 1000, 60000, 0.0));
+        assertEquals(2000, computeBackoffDelay(2, 1000, 60000, 0.0));
+        assertEquals(16000, computeBackoffDelay(5, 1000, 60000, 0.0));
+        assertEquals(500, computeBackoffDelay(-1, 1000, 60000, 0.0));
+    }
+
+    @Test
+    public void computeBackoffDelay_cappedByMax() {
+        assertEquals(30000, computeBackoffDelay(6, 1000, 60000, 0.0));
+        assertEquals(30000, computeBackoffDelay(100, 1000, 60000, 0.0));
+        assertEquals(30000, computeBackoffDelay(Integer.MAX_VALUE, 1000, 60000, 0.0));
+        assertTrue(computeBackoffDelay(Integer.MAX_VALUE, 1000, 60000, 0.999) <= 60000);
+    }
+
+    @Test
+    public void computeBackoffDelay_jitterRange() {
+        for (double rnd = 0.0; rnd < 1.0; rnd += 0.05) {
+            final long delay = computeBackoffDelay(3, 1000, 60000, rnd);
+            assertTrue(delay >= 4000 && delay < 8000);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package de.fau.clients.orchestrator.ctx;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class ServerHealthTest {
+
+    @Test
+    public void testDefaultConstructor() {
+        final ServerHealth health = new ServerHealth();
+        assertEquals(0, health.getSampleCount());
+        assertEquals(0.0, health.getErrorRate());
+        assertEquals(-1, health.getRttPercentile(50));
+        assertFalse(health.isDegraded());
+        assertNull(health.getLastProbeTimeStamp());
+        assertThrows(IllegalArgumentException.class, () -> new ServerHealth(0));
+    }
+
+    @Test
+    public void rttPercentile() {
+        final ServerHealth health = new ServerHealth(10);
+        for (int i = 1; i <= 10; i++) {
+            health.recordSuccess(i * 10);
+        }
+        assertEquals(10, health.getSampleCount());
+        assertEquals(10, health.getRttPercentile(0));
+        assertEquals(50, health.getRttPercentile(50));
+        assertEquals(100, health.getRttPercentile(95));
+        assertEquals(100, health.getRttPercentile(100));
+        assertNotNull(health.getLastProbeTimeStamp());
+    }
+
+    @Test
+    public void rollingWindow() {
+        final ServerHealth health = new ServerHealth(4);
+        health.recordFailure();
+        health.recordFailure();
+        health.recordSuccess(1000);
+        health.recordSuccess(1000);
+        assertEquals(0.5, health.getErrorRate());
+        assertTrue(health.isDegraded());
+
+        // the failures drop out of the window
+        health.recordSuccess(3);
+        health.recordSuccess(3);
+        assertEquals(4, health.getSampleCount());
+        assertEquals(0.0, health.getErrorRate());
+        assertFalse(health.isDegraded());
+        assertEquals(3, health.getRttPercentile(50));
+        assertEquals(1000, health.getRttPercentile(100));
+    }
+
+    @Test
+    public void rttHistogram() {
+        final ServerHealth health = new ServerHealth(8);
+        health.recordSuccess(0);
+        health.recordSuccess(5);
+        health.recordSuccess(6);
+        health.recordSuccess(5000);
+        health.recordSuccess(5001);
+        health.recordFailure();
+        final int[] expected = new int[ServerHealth.RTT_BUCKET_BOUNDS_IN_MS.length + 1];
+        expected[0] = 2;
+        expected[1] = 1;
+        expected[ServerHealth.RTT_BUCKET_BOUNDS_IN_MS.length - 1] = 1;
+        expected[ServerHealth.RTT_BUCKET_BOUNDS_IN_MS.length] = 1;
+        assertArrayEquals(expected, health.getRttHistogram());
+    }
+}
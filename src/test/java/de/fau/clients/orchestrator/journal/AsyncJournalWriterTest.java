@@ -0,0 +1,58 @@
+package de.fau.clients.orchestrator.journal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AsyncJournalWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void appendAndClose() throws Exception {
+        final Path file = tempDir.resolve("journal.jsonl");
+        final AsyncJournalWriter writer = new AsyncJournalWriter(file, 1024, 4);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(writer.append("line " + i));
+        }
+        writer.close();
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(100, lines.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("line " + i, lines.get(i));
+        }
+        assertEquals(100, writer.getWrittenCount());
+        assertEquals(0, writer.getDroppedCount());
+
+        // closed writers drop further lines
+        assertFalse(writer.append("late"));
+        assertEquals(1, writer.getDroppedCount());
+        writer.close();
+    }
+
+    @Test
+    public void appendToExistingFile() throws Exception {
+        final Path file = tempDir.resolve("journal.jsonl");
+        Files.write(file, "first\n".getBytes(StandardCharsets.UTF_8));
+        try (final AsyncJournalWriter writer = new AsyncJournalWriter(file, 16, 16)) {
+            writer.append("second");
+        }
+        assertEquals(List.of("first", "second"), Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void invalidArgs() {
+        final Path file = tempDir.resolve("journal.jsonl");
+        assertThrows(IllegalArgumentException.class, () -> new AsyncJournalWriter(file, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new AsyncJournalWriter(file, 1, 0));
+    }
+}
@@ -0,0 +1,79 @@
+package de.fau.clients.orchestrator.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.tasks.DelayTask;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RunJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void disabled() {
+        final RunJournal journal = new RunJournal();
+        assertFalse(journal.isEnabled());
+        final String runId = journal.runStarted("test.silo", 1);
+        assertNotNull(runId);
+        journal.taskStarted(runId, 1, new DelayTask(0));
+        journal.runFinished(runId, RunJournal.OUTCOME_SUCCESS, 0);
+        journal.close();
+    }
+
+    @Test
+    public void writeRun() throws Exception {
+        final Path file = tempDir.resolve("runs.jsonl");
+        final RunJournal journal = new RunJournal();
+        journal.open(file);
+        assertTrue(journal.isEnabled());
+
+        final DelayTask task = new DelayTask(1);
+        final String runId = journal.runStarted("test.silo", 1);
+        journal.taskStarted(runId, 7, task);
+        task.run();
+        journal.taskFinished(runId, 7, task);
+        journal.runFinished(runId, RunJournal.OUTCOME_SUCCESS, 2_000_000L);
+        journal.close();
+        assertFalse(journal.isEnabled());
+
+        final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        final ObjectMapper mapper = new ObjectMapper();
+        final JsonNode runStarted = mapper.readTree(lines.get(0));
+        assertEquals(RunJournal.EVENT_RUN_STARTED, runStarted.get("event").asText());
+        assertEquals(runId, runStarted.get("runId").asText());
+        assertEquals("test.silo", runStarted.get("source").asText());
+        assertEquals(1, runStarted.get("taskCount").asInt());
+
+        final JsonNode taskStarted = mapper.readTree(lines.get(1));
+        assertEquals(RunJournal.EVENT_TASK_STARTED, taskStarted.get("event").asText());
+        assertEquals(7, taskStarted.get("taskId").asInt());
+        assertEquals("DelayTask", taskStarted.get("taskType").asText());
+        assertTrue(taskStarted.get("command").isNull());
+
+        final JsonNode taskFinished = mapper.readTree(lines.get(2));
+        assertEquals(RunJournal.EVENT_TASK_FINISHED, taskFinished.get("event").asText());
+        assertEquals(runId, taskFinished.get("runId").asText());
+        assertEquals(TaskState.FINISHED_SUCCESS.name(), taskFinished.get("state").asText());
+        assertFalse(taskFinished.get("startTime").isNull());
+        assertFalse(taskFinished.get("endTime").isNull());
+        assertTrue(taskFinished.get("durationMs").asLong() >= 0);
+        assertTrue(taskFinished.has("resultSize"));
+
+        final JsonNode runFinished = mapper.readTree(lines.get(3));
+        assertEquals(RunJournal.EVENT_RUN_FINISHED, runFinished.get("event").asText());
+        assertEquals(RunJournal.OUTCOME_SUCCESS, runFinished.get("outcome").asText());
+        assertEquals(2, runFinished.get("durationMs").asLong());
+    }
+}
@@ -0,0 +1,63 @@
+package de.fau.clients.orchestrator.metrics;
+
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void register() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final Counter counter = registry.counter("test_calls", "Calls.", "server");
+        assertSame(counter, registry.counter("test_calls", "Calls.", "server"));
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("test_calls", "Calls."));
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("1invalid", "Invalid."));
+        assertThrows(IllegalArgumentException.class, () -> counter.labels("a", "b"));
+        assertThrows(IllegalArgumentException.class, () -> counter.labels("a").inc(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> registry.histogram("test_hist", "Hist.", new double[]{1, 1}));
+    }
+
+    @Test
+    public void toOpenMetrics() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        final Counter counter = registry.counter("test_calls", "Calls.", "server");
+        counter.labels("b").inc();
+        counter.labels("a\"\\").inc(3);
+        registry.gauge("test_active", "Active.").labels().set(2);
+        final Histogram.Child hist = registry.histogram("test_duration_seconds", "Durations.",
+                new double[]{0.1, 1}).labels();
+        hist.observe(0.05);
+        hist.observe(0.5);
+        hist.observe(5);
+
+        final String expected = "# TYPE test_active gauge\n"
+                + "# HELP test_active Active.\n"
+                + "test_active 2\n"
+                + "# TYPE test_calls counter\n"
+                + "# HELP test_calls Calls.\n"
+                + "test_calls_total{server=\"a\\\"\\\\\"} 3\n"
+                + "test_calls_total{server=\"b\"} 1\n"
+                + "# TYPE test_duration_seconds histogram\n"
+                + "# HELP test_duration_seconds Durations.\n"
+                + "test_duration_seconds_bucket{le=\"0.1\"} 1\n"
+                + "test_duration_seconds_bucket{le=\"1.0\"} 2\n"
+                + "test_duration_seconds_bucket{le=\"+Inf\"} 3\n"
+                + "test_duration_seconds_count 3\n"
+                + "test_duration_seconds_sum 5.55\n"
+                + "# EOF\n";
+        assertEquals(expected, registry.toOpenMetrics());
+    }
+
+    @Test
+    public void utf8Length() {
+        assertEquals(0, OrchestratorMetrics.utf8Length(null));
+        assertEquals(3, OrchestratorMetrics.utf8Length("abc"));
+        for (final String str : new String[]{"äöü", "€", "😀", "aé€😀"}) {
+            assertEquals(str.getBytes(StandardCharsets.UTF_8).length, OrchestratorMetrics.utf8Length(str));
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package de.fau.clients.orchestrator.mock;
+
+import com.google.protobuf.ByteString;
+import io.grpc.BindableService;
+import io.grpc.stub.StreamObserver;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import sila2.org.silastandard.BinaryDownloadGrpc;
+import sila2.org.silastandard.BinaryUploadGrpc;
+import sila2.org.silastandard.SiLABinaryTransfer.BinaryTransferError.ErrorType;
+import sila2.org.silastandard.SiLABinaryTransfer.CreateBinaryRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.CreateBinaryResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.DeleteBinaryRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.DeleteBinaryResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.GetBinaryInfoRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.GetBinaryInfoResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.GetChunkRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.GetChunkResponse;
+import sila2.org.silastandard.SiLABinaryTransfer.UploadChunkRequest;
+import sila2.org.silastandard.SiLABinaryTransfer.UploadChunkResponse;
+import sila2.org.silastandard.SiLAFramework;
+import sila_java.library.core.sila.binary_transfer.BinaryTransferErrorHandler;
+
+/**
+ * In-memory implementation of the SiLA binary transfer services (<code>BinaryUpload</code> and
+ * <code>BinaryDownload</code>) of the {@link MockSilaServer}. Binaries never expire on their own,
+ * but all stored binaries can be dropped at once to simulate an elapsed lifetime. Failures of
+ * single chunk requests can be injected to break a transfer in the middle of a stream.
+ */
+public final class MockBinaryTransfer {
+
+    private static final SiLAFramework.Duration LIFETIME = SiLAFramework.Duration.newBuilder()
+            .setSeconds(60)
+            .build();
+    private final Map<String, StoredBinary> binaryMap = new ConcurrentHashMap<>();
+    private final AtomicInteger failingChunkIndex = new AtomicInteger(-1);
+    private final AtomicInteger chunkFailureCount = new AtomicInteger();
+
+    MockBinaryTransfer() {
+    }
+
+    /**
+     * Stores the given data as downloadable binary.
+     *
+     * @param data The content of the binary.
+     * @return The binary transfer UUID.
+     */
+    public String putBinary(final byte[] data) {
+        final String uuid = UUID.randomUUID().toString();
+        binaryMap.put(uuid, new StoredBinary(data));
+        return uuid;
+    }
+
+    /**
+     * Gets the content of a stored binary.
+     *
+     * @param binaryTransferUuid The binary transfer UUID.
+     * @return The content or <code>null</code> if the binary is unknown or its upload is not
+     * complete.
+     */
+    public byte[] getBinary(final String binaryTransferUuid) {
+        final StoredBinary binary = binaryMap.get(binaryTransferUuid);
+        return (binary != null) ? binary.getData() : null;
+    }
+
+    /**
+     * Checks if a binary with the given UUID is stored.
+     *
+     * @param binaryTransferUuid The binary transfer UUID.
+     * @return <code>true</code> if the binary is stored, otherwise <code>false</code>.
+     */
+    public boolean hasBinary(final String binaryTransferUuid) {
+        return binaryMap.containsKey(binaryTransferUuid);
+    }
+
+    /**
+     * Drops all stored binaries, as if their lifetime had elapsed.
+     */
+    public void expireBinaries() {
+        binaryMap.clear();
+    }
+
+    /**
+     * Lets the next requests of the chunk with the given index fail. The failing request ends the
+     * stream it was sent on, so all following chunks of that stream are not transferred either.
+     *
+     * @param chunkIndex The index of the chunk to fail.
+     * @param count The number of requests to fail or 0 to disable the error injection.
+     */
+    public void setChunkFailures(int chunkIndex, int count) {
+        failingChunkIndex.set(chunkIndex);
+        chunkFailureCount.set(Math.max(0, count));
+    }
+
+    BindableService createUploadService() {
+        return new BinaryUploadGrpc.BinaryUploadImplBase() {
+            @Override
+            public void createBinary(
+                    final CreateBinaryRequest request,
+                    final StreamObserver<CreateBinaryResponse> observer
+            ) {
+                if (request.getChunkCount() <= 0 || request.getParameterIdentifier().isEmpty()) {
+                    observer.onError(BinaryTransferErrorHandler.generateBinaryTransferError(
+                            ErrorType.BINARY_UPLOAD_FAILED, "Invalid binary."));
+                    return;
+                }
+                final String uuid = UUID.randomUUID().toString();
+                binaryMap.put(uuid, new StoredBinary(request.getBinarySize(), request.getChunkCount()));
+                observer.onNext(CreateBinaryResponse.newBuilder()
+                        .setBinaryTransferUUID(uuid)
+                        .setLifetimeOfBinary(LIFETIME)
+                        .build());
+                observer.onCompleted();
+            }
+
+            @Override
+            public StreamObserver<UploadChunkRequest> uploadChunk(
+                    final StreamObserver<UploadChunkResponse> observer
+            ) {
+                return new ChunkStream<UploadChunkRequest>(observer) {
+                    @Override
+                    void onChunk(final UploadChunkRequest request) {
+                        final int index = request.getChunkIndex();
+                        if (isFailureInjected(index)) {
+                            fail(ErrorType.BINARY_UPLOAD_FAILED, "Injected error on chunk " + index + ".");
+                            return;
+                        }
+                        final StoredBinary binary = binaryMap.get(request.getBinaryTransferUUID());
+                        if (binary == null) {
+                            fail(ErrorType.INVALID_BINARY_TRANSFER_UUID,
+                                    "Unknown binary " + request.getBinaryTransferUUID() + ".");
+                            return;
+                        }
+                        if (!binary.putChunk(index, request.getPayload())) {
+                            fail(ErrorType.BINARY_UPLOAD_FAILED, "Invalid chunk index " + index + ".");
+                            return;
+                        }
+                        observer.onNext(UploadChunkResponse.newBuilder()
+                                .setBinaryTransferUUID(request.getBinaryTransferUUID())
+                                .setChunkIndex(index)
+                                .setLifetimeOfBinary(LIFETIME)
+                                .build());
+                    }
+                };
+            }
+
+            @Override
+            public void deleteBinary(
+                    final DeleteBinaryRequest request,
+                    final StreamObserver<DeleteBinaryResponse> observer
+            ) {
+                onDeleteBinary(request, observer);
+            }
+        };
+    }
+
+    BindableService createDownloadService() {
+        return new BinaryDownloadGrpc.BinaryDownloadImplBase() {
+            @Override
+            public void getBinaryInfo(
+                    final GetBinaryInfoRequest request,
+                    final StreamObserver<GetBinaryInfoResponse> observer
+            ) {
+                final byte[] data = getBinary(request.getBinaryTransferUUID());
+                if (data == null) {
+                    observer.onError(BinaryTransferErrorHandler.generateBinaryTransferError(
+                            ErrorType.INVALID_BINARY_TRANSFER_UUID,
+                            "Unknown binary " + request.getBinaryTransferUUID() + "."));
+                    return;
+                }
+                observer.onNext(GetBinaryInfoResponse.newBuilder()
+                        .setBinarySize(data.length)
+                        .setLifetimeOfBinary(LIFETIME)
+                        .build());
+                observer.onCompleted();
+            }
+
+            @Override
+            public StreamObserver<GetChunkRequest> getChunk(
+                    final StreamObserver<GetChunkResponse> observer
+            ) {
+                return new ChunkStream<GetChunkRequest>(observer) {
+                    @Override
+                    void onChunk(final GetChunkRequest request) {
+                        final long offset = request.getOffset();
+                        final int length = request.getLength();
+                        // the chunk index is only known by the requested length of the chunks
+                        if (length > 0 && isFailureInjected((int) (offset / length))) {
+                            fail(ErrorType.BINARY_DOWNLOAD_FAILED, "Injected error at offset " + offset + ".");
+                            return;
+                        }
+                        final byte[] data = getBinary(request.getBinaryTransferUUID());
+                        if (data == null) {
+                            fail(ErrorType.INVALID_BINARY_TRANSFER_UUID,
+                                    "Unknown binary " + request.getBinaryTransferUUID() + ".");
+                            return;
+                        }
+                        if (offset < 0 || length < 0 || offset + length > data.length) {
+                            fail(ErrorType.BINARY_DOWNLOAD_FAILED, "Invalid chunk at offset " + offset + ".");
+                            return;
+                        }
+                        observer.onNext(GetChunkResponse.newBuilder()
+                                .setBinaryTransferUUID(request.getBinaryTransferUUID())
+                                .setOffset(offset)
+                                .setPayload(ByteString.copyFrom(data, (int) offset, length))
+                                .setLifetimeOfBinary(LIFETIME)
+                                .build());
+                    }
+                };
+            }
+
+            @Override
+            public void deleteBinary(
+                    final DeleteBinaryRequest request,
+                    final StreamObserver<DeleteBinaryResponse> observer
+            ) {
+                onDeleteBinary(request, observer);
+            }
+        };
+    }
+
+    private void onDeleteBinary(
+            final DeleteBinaryRequest request,
+            final StreamObserver<DeleteBinaryResponse> observer
+    ) {
+        if (binaryMap.remove(request.getBinaryTransferUUID()) == null) {
+            observer.onError(BinaryTransferErrorHandler.generateBinaryTransferError(
+                    ErrorType.INVALID_BINARY_TRANSFER_UUID,
+                    "Unknown binary " + request.getBinaryTransferUUID() + "."));
+            return;
+        }
+        observer.onNext(DeleteBinaryResponse.getDefaultInstance());
+        observer.onCompleted();
+    }
+
+    private boolean isFailureInjected(int chunkIndex) {
+        return failingChunkIndex.get() == chunkIndex
+                && chunkFailureCount.getAndUpdate(count -> Math.max(0, count - 1)) > 0;
+    }
+
+    /**
+     * Request stream of chunks, which gets closed on the first failed chunk.
+     */
+    private abstract static class ChunkStream<T> implements StreamObserver<T> {
+
+        private final StreamObserver<?> responseObserver;
+        private boolean isClosed = false;
+
+        ChunkStream(final StreamObserver<?> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        abstract void onChunk(final T request);
+
+        void fail(final ErrorType errorType, final String msg) {
+            isClosed = true;
+            responseObserver.onError(BinaryTransferErrorHandler.generateBinaryTransferError(errorType, msg));
+        }
+
+        @Override
+        public synchronized void onNext(final T request) {
+            if (!isClosed) {
+                onChunk(request);
+            }
+        }
+
+        @Override
+        public synchronized void onError(final Throwable t) {
+            isClosed = true;
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            if (!isClosed) {
+                isClosed = true;
+                responseObserver.onCompleted();
+            }
+        }
+    }
+
+    /**
+     * A binary which is either complete or still being uploaded chunk-wise.
+     */
+    private static final class StoredBinary {
+
+        private final long size;
+        private final ByteString[] chunks;
+        private byte[] data;
+
+        private StoredBinary(final byte[] data) {
+            this.size = data.length;
+            this.chunks = null;
+            this.data = data;
+        }
+
+        private StoredBinary(long size, int chunkCount) {
+            this.size = size;
+            this.chunks = new ByteString[chunkCount];
+            this.data = null;
+        }
+
+        private synchronized boolean putChunk(int index, final ByteString payload) {
+            if (chunks == null || index < 0 || index >= chunks.length) {
+                return false;
+            }
+            chunks[index] = payload;
+            return true;
+        }
+
+        private synchronized byte[] getData() {
+            if (data == null) {
+                ByteString content = ByteString.EMPTY;
+                for (final ByteString chunk : chunks) {
+                    if (chunk == null) {
+                        // upload not complete yet
+                        return null;
+                    }
+                    content = content.concat(chunk);
+                }
+                if (content.size() != size) {
+                    return null;
+                }
+                data = content.toByteArray();
+            }
+            return data;
+        }
+    }
+}
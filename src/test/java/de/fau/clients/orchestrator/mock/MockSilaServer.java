@@ -0,0 +1,524 @@
+package de.fau.clients.orchestrator.mock;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import io.grpc.BindableService;
+import io.grpc.MethodDescriptor;
+import io.grpc.ServerServiceDefinition;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.ServerCalls;
+import io.grpc.stub.StreamObserver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+import lombok.extern.slf4j.Slf4j;
+import sila2.org.silastandard.SiLAFramework;
+import sila_java.library.core.sila.errors.SiLAErrors;
+import sila_java.library.server_base.SiLAServer;
+import sila_java.library.server_base.identification.ServerInformation;
+
+/**
+ * In-process SiLA server for deterministic tests and benchmarks without any network besides the
+ * loopback interface. The server implements the feature <code>MockService</code> (see
+ * <code>/mock/MockService.sila.xml</code>) with an unobservable command (<code>Wait</code>), an
+ * observable command with progress and intermediate responses (<code>LongRun</code>), a command
+ * returning a binary of configurable size (<code>GetBlob</code>), a command returning the size of
+ * a received binary (<code>PutBlob</code>), an unobservable property (<code>Counter</code>) and an
+ * observable property (<code>Temperature</code>). Latency, injected errors, the payload size and
+ * the number of progress steps can be changed at any time.
+ * <p>
+ * The feature is served by a hand-written gRPC service with raw byte marshallers, so no generated
+ * stubs are needed. The SiLA Service feature and the server hosting are provided by the
+ * <code>server_base</code> library of sila_java. The binary transfer services are provided by
+ * {@link MockBinaryTransfer}.
+ * </p>
+ */
+@Slf4j
+public final class MockSilaServer implements AutoCloseable {
+
+    /**
+     * The fully qualified identifier of the mock feature.
+     */
+    public static final String FEATURE_ID = "org.silastandard/test/MockService/v1";
+    public static final String SERVER_TYPE = "MockServer";
+    public static final String LOCALHOST = "127.0.0.1";
+    private static final String SERVICE_NAME = "sila2.org.silastandard.test.mockservice.v1.MockService";
+    private static final String FEATURE_RESOURCE = "/mock/MockService.sila.xml";
+    private static final long TEMPERATURE_INTERVAL_IN_MS = 100;
+    /**
+     * The maximum size of binaries sent inline, larger binaries are sent by the binary transfer.
+     */
+    private static final int MAX_INLINE_BINARY_SIZE = 2 * 1024 * 1024;
+    private static final MethodDescriptor.Marshaller<byte[]> BYTES_MARSHALLER = new BytesMarshaller();
+    private static final byte[] EMPTY_MESSAGE = new byte[0];
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        final Thread thread = new Thread(runnable, "mock-sila-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Execution> executionMap = new ConcurrentHashMap<>();
+    private final AtomicLong callCount = new AtomicLong();
+    private final AtomicInteger subscriptionCount = new AtomicInteger();
+    private final MockBinaryTransfer binaryTransfer = new MockBinaryTransfer();
+    private final int port;
+    private final SiLAServer server;
+    private volatile long latencyInMs = 0;
+    private volatile int failEvery = 0;
+    private volatile int binarySize = 1024;
+    private volatile int progressSteps = 10;
+
+    private MockSilaServer(int port) throws IOException {
+        this.port = port;
+        final ServerInformation serverInfo = new ServerInformation(
+                SERVER_TYPE,
+                "In-process mock server for tests",
+                "https://gitlab.com/FlorianBauer/sila-orchestrator",
+                "0.1"
+        );
+        final String featureXml = readFeatureXml();
+        // server_base only hosts services of features, so the binary transfer services are added
+        // along with the mock feature, whose description gets registered only once
+        this.server = SiLAServer.Builder.newBuilder(serverInfo)
+                .withPort(port)
+                .withHost(LOCALHOST)
+                .withoutDiscovery()
+                .withUnsafeCommunication(true)
+                .addFeature(featureXml, createService())
+                .addFeature(featureXml, binaryTransfer.createUploadService())
+                .addFeature(featureXml, binaryTransfer.createDownloadService())
+                .start();
+        log.info("Mock SiLA server started on port {}", port);
+    }
+
+    /**
+     * Starts a new mock server on a free port of the loopback interface.
+     *
+     * @return The running server.
+     * @throws IOException if the server could not be started.
+     */
+    public static MockSilaServer start() throws IOException {
+        final int freePort;
+        try (final ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            freePort = socket.getLocalPort();
+        }
+        // the probing socket has to be closed before the server binds the port
+        return start(freePort);
+    }
+
+    /**
+     * Starts a new mock server on the given port.
+     *
+     * @param port The port to listen on.
+     * @return The running server.
+     * @throws IOException if the server could not be started.
+     */
+    public static MockSilaServer start(int port) throws IOException {
+        return new MockSilaServer(port);
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Gets the binary transfer services of this server, e.g. to inspect uploaded binaries or to
+     * inject transfer errors.
+     *
+     * @return The binary transfer services.
+     */
+    public MockBinaryTransfer getBinaryTransfer() {
+        return binaryTransfer;
+    }
+
+    /**
+     * Sets the time each command takes until it returns its result.
+     *
+     * @param latencyInMs The latency in milliseconds.
+     */
+    public void setLatency(long latencyInMs) {
+        this.latencyInMs = Math.max(0, latencyInMs);
+    }
+
+    /**
+     * Lets every n-th command call fail with an undefined execution error.
+     *
+     * @param failEvery The interval of the failing calls or 0 to disable the error injection.
+     */
+    public void setFailEvery(int failEvery) {
+        this.failEvery = Math.max(0, failEvery);
+    }
+
+    /**
+     * Sets the size of the binary returned by <code>GetBlob</code>. Binaries larger than 2 MB are
+     * sent by the binary transfer, smaller ones inline.
+     *
+     * @param binarySize The size in bytes.
+     */
+    public void setBinarySize(int binarySize) {
+        this.binarySize = Math.max(0, binarySize);
+    }
+
+    /**
+     * Sets the number of progress updates and intermediate responses sent by
+     * <code>LongRun</code>.
+     *
+     * @param progressSteps The number of steps (at least 1).
+     */
+    public void setProgressSteps(int progressSteps) {
+        this.progressSteps = Math.max(1, progressSteps);
+    }
+
+    /**
+     * Gets the number of command calls received so far.
+     *
+     * @return The call count.
+     */
+    public long getCallCount() {
+        return callCount.get();
+    }
+
+    /**
+     * Gets the number of subscriptions of the property <code>Temperature</code> opened so far.
+     *
+     * @return The subscription count.
+     */
+    public int getSubscriptionCount() {
+        return subscriptionCount.get();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executionMap.clear();
+        binaryTransfer.expireBinaries();
+        server.close();
+        log.info("Mock SiLA server on port {} stopped", port);
+    }
+
+    private static String readFeatureXml() throws IOException {
+        try (final InputStream is = MockSilaServer.class.getResourceAsStream(FEATURE_RESOURCE)) {
+            if (is == null) {
+                throw new IOException("Missing resource " + FEATURE_RESOURCE);
+            }
+            return new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private BindableService createService() {
+        final ServerServiceDefinition serviceDef = ServerServiceDefinition.builder(SERVICE_NAME)
+                .addMethod(unary("Wait"), ServerCalls.asyncUnaryCall(this::onWait))
+                .addMethod(unary("GetBlob"), ServerCalls.asyncUnaryCall(this::onGetBlob))
+                .addMethod(unary("PutBlob"), ServerCalls.asyncUnaryCall(this::onPutBlob))
+                .addMethod(unary("LongRun"), ServerCalls.asyncUnaryCall(this::onLongRun))
+                .addMethod(serverStreaming("LongRun_Info"), ServerCalls.asyncServerStreamingCall(this::onLongRunInfo))
+                .addMethod(serverStreaming("LongRun_Intermediate"), ServerCalls.asyncServerStreamingCall(this::onLongRunIntermediate))
+                .addMethod(unary("LongRun_Result"), ServerCalls.asyncUnaryCall(this::onLongRunResult))
+                .addMethod(unary("Get_Counter"), ServerCalls.asyncUnaryCall(this::onGetCounter))
+                .addMethod(serverStreaming("Subscribe_Temperature"), ServerCalls.asyncServerStreamingCall(this::onSubscribeTemperature))
+                .build();
+        return () -> serviceDef;
+    }
+
+    private static MethodDescriptor<byte[], byte[]> unary(final String methodName) {
+        return createMethod(methodName, MethodDescriptor.MethodType.UNARY);
+    }
+
+    private static MethodDescriptor<byte[], byte[]> serverStreaming(final String methodName) {
+        return createMethod(methodName, MethodDescriptor.MethodType.SERVER_STREAMING);
+    }
+
+    private static MethodDescriptor<byte[], byte[]> createMethod(
+            final String methodName,
+            final MethodDescriptor.MethodType type
+    ) {
+        return MethodDescriptor.<byte[], byte[]>newBuilder()
+                .setType(type)
+                .setFullMethodName(MethodDescriptor.generateFullMethodName(SERVICE_NAME, methodName))
+                .setRequestMarshaller(BYTES_MARSHALLER)
+                .setResponseMarshaller(BYTES_MARSHALLER)
+                .build();
+    }
+
+    /**
+     * Wraps the given SiLA type as first (and only) field of a message, which is the wire format
+     * of all feature specific parameter and response messages with a single element.
+     *
+     * @param value The value of the field.
+     * @return The serialized message.
+     */
+    private static byte[] singleFieldMessage(final MessageLite value) {
+        final ByteString.Output out = ByteString.newOutput();
+        final CodedOutputStream cos = CodedOutputStream.newInstance(out);
+        try {
+            cos.writeMessage(1, value);
+            cos.flush();
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteString().toByteArray();
+    }
+
+    /**
+     * Counts the call and checks if the call has to fail according to the error injection.
+     *
+     * @return <code>true</code> if an error has to be returned.
+     */
+    private boolean countCallAndCheckFailure() {
+        final long count = callCount.incrementAndGet();
+        final int every = failEvery;
+        return every > 0 && count % every == 0;
+    }
+
+    private void respondDelayed(final StreamObserver<byte[]> observer, final byte[] response) {
+        final boolean fail = countCallAndCheckFailure();
+        scheduler.schedule(() -> {
+            if (fail) {
+                observer.onError(SiLAErrors.generateUndefinedExecutionError("Injected error."));
+            } else {
+                observer.onNext(response);
+                observer.onCompleted();
+            }
+        }, latencyInMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void onWait(final byte[] request, final StreamObserver<byte[]> observer) {
+        respondDelayed(observer, EMPTY_MESSAGE);
+    }
+
+    private void onGetBlob(final byte[] request, final StreamObserver<byte[]> observer) {
+        final byte[] payload = new byte[binarySize];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) i;
+        }
+        final SiLAFramework.Binary.Builder binary = SiLAFramework.Binary.newBuilder();
+        if (payload.length > MAX_INLINE_BINARY_SIZE) {
+            binary.setBinaryTransferUUID(binaryTransfer.putBinary(payload));
+        } else {
+            binary.setValue(ByteString.copyFrom(payload));
+        }
+        respondDelayed(observer, singleFieldMessage(binary.build()));
+    }
+
+    private void onPutBlob(final byte[] request, final StreamObserver<byte[]> observer) {
+        final SiLAFramework.Binary binary;
+        try {
+            final CodedInputStream cis = CodedInputStream.newInstance(request);
+            cis.readTag();
+            binary = SiLAFramework.Binary.parseFrom(cis.readBytes());
+        } catch (final IOException ex) {
+            observer.onError(SiLAErrors.generateUndefinedExecutionError(ex.getMessage()));
+            return;
+        }
+        final long size;
+        if (binary.hasBinaryTransferUUID()) {
+            final byte[] data = binaryTransfer.getBinary(binary.getBinaryTransferUUID());
+            if (data == null) {
+                observer.onError(SiLAErrors.generateUndefinedExecutionError(
+                        "Unknown binary " + binary.getBinaryTransferUUID() + "."));
+                return;
+            }
+            size = data.length;
+        } else {
+            size = binary.getValue().size();
+        }
+        respondDelayed(observer, singleFieldMessage(SiLAFramework.Integer.newBuilder()
+                .setValue(size)
+                .build()));
+    }
+
+    private void onLongRun(final byte[] request, final StreamObserver<byte[]> observer) {
+        final String uuid = UUID.randomUUID().toString();
+        final Execution exec = new Execution(progressSteps, countCallAndCheckFailure());
+        executionMap.put(uuid, exec);
+        final long stepIntervalInMs = Math.max(1, latencyInMs / exec.steps);
+        final AtomicReference<ScheduledFuture<?>> stepTask = new AtomicReference<>();
+        stepTask.set(scheduler.scheduleAtFixedRate(() -> {
+            final int finished = exec.finishedSteps.incrementAndGet();
+            if (finished >= exec.steps) {
+                exec.done.complete(null);
+                stepTask.get().cancel(false);
+            }
+        }, stepIntervalInMs, stepIntervalInMs, TimeUnit.MILLISECONDS));
+
+        observer.onNext(SiLAFramework.CommandConfirmation.newBuilder()
+                .setCommandExecutionUUID(SiLAFramework.CommandExecutionUUID.newBuilder().setValue(uuid))
+                .build()
+                .toByteArray());
+        observer.onCompleted();
+    }
+
+    private Execution findExecution(final byte[] request, final StreamObserver<byte[]> observer) {
+        try {
+            final String uuid = SiLAFramework.CommandExecutionUUID.parseFrom(request).getValue();
+            final Execution exec = executionMap.get(uuid);
+            if (exec == null) {
+                observer.onError(SiLAErrors.generateUndefinedExecutionError("Unknown execution " + uuid));
+            }
+            return exec;
+        } catch (final InvalidProtocolBufferException ex) {
+            observer.onError(SiLAErrors.generateUndefinedExecutionError(ex.getMessage()));
+            return null;
+        }
+    }
+
+    private void onLongRunInfo(final byte[] request, final StreamObserver<byte[]> observer) {
+        final Execution exec = findExecution(request, observer);
+        if (exec == null) {
+            return;
+        }
+        streamSteps(exec, observer, step -> {
+            final SiLAFramework.ExecutionInfo.CommandStatus status;
+            if (!exec.done.isDone()) {
+                status = SiLAFramework.ExecutionInfo.CommandStatus.running;
+            } else if (exec.failed) {
+                status = SiLAFramework.ExecutionInfo.CommandStatus.finishedWithError;
+            } else {
+                status = SiLAFramework.ExecutionInfo.CommandStatus.finishedSuccessfully;
+            }
+            final long remainingMs = latencyInMs * (exec.steps - step) / exec.steps;
+            return SiLAFramework.ExecutionInfo.newBuilder()
+                    .setCommandStatus(status)
+                    .setProgressInfo(SiLAFramework.Real.newBuilder().setValue((double) step / exec.steps))
+                    .setEstimatedRemainingTime(SiLAFramework.Duration.newBuilder()
+                            .setSeconds(remainingMs / 1000)
+                            .setNanos((int) (remainingMs % 1000) * 1_000_000))
+                    .build()
+                    .toByteArray();
+        });
+    }
+
+    private void onLongRunIntermediate(final byte[] request, final StreamObserver<byte[]> observer) {
+        final Execution exec = findExecution(request, observer);
+        if (exec == null) {
+            return;
+        }
+        streamSteps(exec, observer, step -> singleFieldMessage(SiLAFramework.Integer.newBuilder()
+                .setValue(step)
+                .build()));
+    }
+
+    /**
+     * Sends a message for every finished step of the given execution until it is done or the
+     * client cancelled the stream.
+     */
+    private void streamSteps(
+            final Execution exec,
+            final StreamObserver<byte[]> observer,
+            final IntFunction<byte[]> messageFactory
+    ) {
+        final ServerCallStreamObserver<byte[]> callObserver = (ServerCallStreamObserver<byte[]>) observer;
+        final long pollIntervalInMs = Math.max(1, latencyInMs / exec.steps / 2);
+        final int[] lastSentStep = {-1};
+        final AtomicReference<ScheduledFuture<?>> pollTask = new AtomicReference<>();
+        pollTask.set(scheduler.scheduleAtFixedRate(() -> {
+            if (callObserver.isCancelled()) {
+                pollTask.get().cancel(false);
+                return;
+            }
+            final int step = Math.min(exec.finishedSteps.get(), exec.steps);
+            if (step != lastSentStep[0]) {
+                lastSentStep[0] = step;
+                callObserver.onNext(messageFactory.apply(step));
+            }
+            if (exec.done.isDone()) {
+                callObserver.onCompleted();
+                pollTask.get().cancel(false);
+            }
+        }, 0, pollIntervalInMs, TimeUnit.MILLISECONDS));
+    }
+
+    private void onLongRunResult(final byte[] request, final StreamObserver<byte[]> observer) {
+        final Execution exec = findExecution(request, observer);
+        if (exec == null) {
+            return;
+        }
+        exec.done.thenRun(() -> {
+            if (exec.failed) {
+                observer.onError(SiLAErrors.generateUndefinedExecutionError("Injected error."));
+            } else {
+                observer.onNext(EMPTY_MESSAGE);
+                observer.onCompleted();
+            }
+        });
+    }
+
+    private void onGetCounter(final byte[] request, final StreamObserver<byte[]> observer) {
+        observer.onNext(singleFieldMessage(SiLAFramework.Integer.newBuilder()
+                .setValue(callCount.get())
+                .build()));
+        observer.onCompleted();
+    }
+
+    private void onSubscribeTemperature(final byte[] request, final StreamObserver<byte[]> observer) {
+        subscriptionCount.incrementAndGet();
+        final ServerCallStreamObserver<byte[]> callObserver = (ServerCallStreamObserver<byte[]>) observer;
+        final AtomicLong tick = new AtomicLong();
+        final AtomicReference<ScheduledFuture<?>> pollTask = new AtomicReference<>();
+        pollTask.set(scheduler.scheduleAtFixedRate(() -> {
+            if (callObserver.isCancelled()) {
+                pollTask.get().cancel(false);
+                return;
+            }
+            // deterministic saw tooth between 20 and 30 °C
+            final double temperature = 20.0 + (tick.getAndIncrement() % 100) / 10.0;
+            callObserver.onNext(singleFieldMessage(SiLAFramework.Real.newBuilder()
+                    .setValue(temperature)
+                    .build()));
+        }, 0, TEMPERATURE_INTERVAL_IN_MS, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * State of a running <code>LongRun</code> execution.
+     */
+    private static final class Execution {
+
+        private final int steps;
+        private final boolean failed;
+        private final AtomicInteger finishedSteps = new AtomicInteger();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Execution(int steps, boolean failed) {
+            this.steps = steps;
+            this.failed = failed;
+        }
+    }
+
+    /**
+     * Marshaller which passes the serialized messages through unchanged.
+     */
+    private static final class BytesMarshaller implements MethodDescriptor.Marshaller<byte[]> {
+
+        @Override
+        public InputStream stream(final byte[] value) {
+            return new ByteArrayInputStream(value);
+        }
+
+        @Override
+        public byte[] parse(final InputStream stream) {
+            try {
+                return stream.readAllBytes();
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package de.fau.clients.orchestrator.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.fau.clients.orchestrator.cli.CommandlineArguments;
+import de.fau.clients.orchestrator.cli.CommandlineControls;
+import de.fau.clients.orchestrator.ctx.ConnectionManager;
+import de.fau.clients.orchestrator.ctx.FeatureContext;
+import de.fau.clients.orchestrator.ctx.PropertyContext;
+import de.fau.clients.orchestrator.ctx.PropertyReader;
+import de.fau.clients.orchestrator.ctx.PropertySubscriptionManager;
+import de.fau.clients.orchestrator.ctx.PropertyValueListener;
+import de.fau.clients.orchestrator.metrics.OrchestratorMetrics;
+import de.fau.clients.orchestrator.queue.TaskQueueData;
+import de.fau.clients.orchestrator.tasks.CommandTask;
+import de.fau.clients.orchestrator.tasks.CommandTaskModel;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.QueueTask;
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import de.fau.clients.orchestrator.tasks.TaskProgress;
+import de.fau.clients.orchestrator.tasks.TaskState;
+import de.fau.clients.orchestrator.tree.PropertyTreeNode;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import java.awt.Component;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sila_java.library.manager.ServerManager;
+
+/**
+ * End-to-end tests against the in-process {@link MockSilaServer} on the loopback interface.
+ */
+public class MockSilaServerTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static MockSilaServer mockServer;
+    private static UUID serverUuid;
+    private static FeatureContext featCtx;
+
+    @BeforeAll
+    public static void setUp() throws Exception {
+        ServerManager.getInstance().setAllowUnsecureConnection(true);
+        mockServer = MockSilaServer.start();
+        serverUuid = ConnectionManager.getInstance().addServer(MockSilaServer.LOCALHOST, mockServer.getPort());
+        featCtx = ConnectionManager.getInstance().getServerCtx(serverUuid).getFeatureCtx(MockSilaServer.FEATURE_ID);
+        assertNotNull(featCtx);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (serverUuid != null) {
+            ConnectionManager.getInstance().removeServer(serverUuid);
+        }
+        if (mockServer != null) {
+            mockServer.close();
+        }
+    }
+
+    @BeforeEach
+    public void resetServer() {
+        mockServer.setLatency(0);
+        mockServer.setFailEvery(0);
+        mockServer.setProgressSteps(10);
+    }
+
+    @Test
+    public void fqiIndex() throws Exception {
+        final ConnectionManager conManager = ConnectionManager.getInstance();
+        final String commandFqi = MockSilaServer.FEATURE_ID + "/Command/Wait";
+        assertEquals(List.of(featCtx), conManager.getCtxListByFqi(MockSilaServer.FEATURE_ID));
+        assertEquals(featCtx.getCommandCtx("Wait"), conManager.getCtxByFqi(serverUuid, commandFqi));
+
+        // the entries of a removed server are pruned and replaced on a reconnect
+        conManager.removeServer(serverUuid);
+        assertTrue(conManager.getCtxListByFqi(commandFqi).isEmpty());
+        assertEquals(serverUuid, conManager.addServer(MockSilaServer.LOCALHOST, mockServer.getPort()));
+        assertEquals(1, conManager.getCtxListByFqi(commandFqi).size());
+        assertEquals(featCtx.getCommandCtx("Wait"), conManager.getCtxByFqi(serverUuid, commandFqi));
+    }
+
+    @Test
+    public void unobservableCommand() {
+        mockServer.setLatency(200);
+        final CommandTask task = new CommandTask(featCtx.getCommandCtx("Wait"));
+        task.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+        assertTrue(task.getElapsedTime().toMillis() >= 200);
+    }
+
+    @Test
+    public void injectedError() {
+        mockServer.setFailEvery(1);
+        final CommandTask task = new CommandTask(featCtx.getCommandCtx("Wait"));
+        task.run();
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertTrue(task.getLastExecResult().contains("Injected error."));
+    }
+
+    @Test
+    public void metricsOfFailedTasks() {
+        // tasks failing before the server gets called are counted as well
+        final CommandTaskModel model = new CommandTaskModel(UUID.randomUUID(), MockSilaServer.FEATURE_ID, "Wait");
+        final CommandTask task = new CommandTask(model);
+        final String commandId = task.getFullyQualifiedCommandId();
+        final long errorCount = OrchestratorMetrics.TASKS.labels(commandId, TaskState.FINISHED_ERROR.name()).get();
+        final long durationCount = OrchestratorMetrics.TASK_DURATION.labels(commandId).getCount();
+        task.run();
+        assertEquals(TaskState.FINISHED_ERROR, task.getState());
+        assertEquals(errorCount + 1, OrchestratorMetrics.TASKS.labels(commandId, TaskState.FINISHED_ERROR.name()).get());
+        assertEquals(durationCount + 1, OrchestratorMetrics.TASK_DURATION.labels(commandId).getCount());
+    }
+
+    @Test
+    public void observableCommand() {
+        mockServer.setLatency(1000);
+        mockServer.setProgressSteps(5);
+        final CommandTask task = new CommandTask(featCtx.getCommandCtx("LongRun"));
+        final List<Double> progressList = new CopyOnWriteArrayList<>();
+        task.addStatusChangeListener(evt -> {
+            if (QueueTask.TASK_PROGRESS_PROPERTY.equals(evt.getPropertyName())) {
+                progressList.add(((TaskProgress) evt.getNewValue()).getProgress());
+            }
+        });
+        task.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+        assertEquals(1.0, task.getProgress().getProgress());
+        // the progress reported by the server gets published while the command is running
+        assertTrue(progressList.stream().anyMatch(progress -> progress > 0.0 && progress < 1.0));
+        assertTrue(task.getIntermediateResponseCount() > 0);
+        final List<String> responses = task.getIntermediateResponses();
+        assertTrue(responses.get(responses.size() - 1).contains("Step"));
+    }
+
+    @Test
+    public void binaryResponse() {
+        mockServer.setBinarySize(64 * 1024);
+        final CommandTask task = new CommandTask(featCtx.getCommandCtx("GetBlob"));
+        task.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, task.getState());
+        assertTrue(task.getLastExecResult().contains("Blob"));
+    }
+
+    @Test
+    public void binaryTransfer(@TempDir final Path tempDir) throws IOException {
+        // binaries above the inline limit are sent and received by the binary transfer
+        final int size = (int) BinaryParams.MAX_INLINE_BINARY_SIZE + 1024;
+        final byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        final Path file = tempDir.resolve("upload.bin");
+        Files.write(file, data);
+        final CommandTaskModel model = new CommandTaskModel(serverUuid, MockSilaServer.FEATURE_ID, "PutBlob");
+        model.setCommandParams(mapper.createObjectNode().set("Data", BinaryParams.fileAsJsonNode(file)));
+        final CommandTask upload = new CommandTask(model);
+        upload.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, upload.getState(), upload.getLastExecResult());
+        assertEquals(size, mapper.readTree(upload.getLastExecResult()).get("Size").get("value").asLong());
+
+        mockServer.setBinarySize(size);
+        final CommandTask download = new CommandTask(featCtx.getCommandCtx("GetBlob"));
+        download.run();
+        assertEquals(TaskState.FINISHED_SUCCESS, download.getState(), download.getLastExecResult());
+        final Path blobFile = BinaryParams.getFileReference(
+                mapper.readTree(download.getLastExecResult()).get("Blob"));
+        assertNotNull(blobFile);
+        final byte[] blob = Files.readAllBytes(blobFile);
+        assertEquals(size, blob.length);
+        for (int i = 0; i < blob.length; i++) {
+            assertEquals((byte) i, blob[i]);
+        }
+    }
+
+    @Test
+    public void subscribeProperty() throws InterruptedException {
+        final PropertyContext propCtx = featCtx.getPropertyCtx("Temperature");
+        final int subscriptionCount = mockServer.getSubscriptionCount();
+        final BlockingQueue<String> values = new LinkedBlockingQueue<>();
+        final PropertyValueListener listener = new PropertyValueListener() {
+            @Override
+            public void onPropertyValue(final PropertyContext propCtx, final String jsonValue) {
+                values.add(jsonValue);
+            }
+
+            @Override
+            public void onPropertyError(final PropertyContext propCtx, final String errorMsg) {
+                values.add(errorMsg);
+            }
+        };
+        final PropertySubscriptionManager subManager = PropertySubscriptionManager.getInstance();
+        subManager.subscribe(propCtx, listener);
+        try {
+            for (int i = 0; i < 3; i++) {
+                final String value = values.poll(5, TimeUnit.SECONDS);
+                assertNotNull(value);
+                assertTrue(value.contains("Temperature"), value);
+            }
+        } finally {
+            subManager.unsubscribe(propCtx, listener);
+        }
+        // all values were pushed over a single subscription call
+        assertEquals(subscriptionCount + 1, mockServer.getSubscriptionCount());
+        assertEquals(0, subManager.getSubscriptionCount());
+    }
+
+    @Test
+    public void readProperties() throws Exception {
+        final long callCount = mockServer.getCallCount();
+        final String counter = PropertyReader.read(featCtx.getPropertyCtx("Counter"), 5, TimeUnit.SECONDS);
+        assertEquals(callCount, mapper.readTree(counter).get("Counter").get("value").asLong(), counter);
+
+        final String temperature = PropertyReader.read(featCtx.getPropertyCtx("Temperature"), 5, TimeUnit.SECONDS);
+        assertTrue(temperature.contains("Temperature"));
+    }
+
+    @Test
+    public void propertyTreeNode() throws Exception {
+        // unobservable properties are requested on demand
+        final long callCount = mockServer.getCallCount();
+        final PropertyTreeNode counterNode = new PropertyTreeNode(featCtx.getPropertyCtx("Counter"));
+        final JPanel[] counterPanel = new JPanel[1];
+        SwingUtilities.invokeAndWait(() -> {
+            counterPanel[0] = counterNode.getPresenter();
+            counterNode.requestPropertyDataAsync();
+        });
+        assertEquals(Long.toString(callCount), awaitValueField(counterPanel[0]).getText());
+
+        // observable properties are subscribed while the node is presented
+        final PropertyTreeNode temperatureNode = new PropertyTreeNode(featCtx.getPropertyCtx("Temperature"));
+        final JPanel[] temperaturePanel = new JPanel[1];
+        SwingUtilities.invokeAndWait(() -> temperaturePanel[0] = temperatureNode.getPresenter());
+        try {
+            Double.parseDouble(awaitValueField(temperaturePanel[0]).getText());
+        } finally {
+            SwingUtilities.invokeAndWait(temperatureNode::stopWatching);
+        }
+        assertEquals(0, PropertySubscriptionManager.getInstance().getSubscriptionCount());
+    }
+
+    @Test
+    public void commandlineControls(@TempDir final Path tempDir) throws Exception {
+        final CommandlineControls controls = new CommandlineControls(new Properties(), ConnectionManager.getInstance());
+        final Path validQueue = tempDir.resolve("valid.silo");
+        writeQueue(validQueue, new CommandTaskModel(serverUuid, MockSilaServer.FEATURE_ID, "Wait"),
+                new CommandTaskModel(serverUuid, MockSilaServer.FEATURE_ID, "Wait"));
+        assertEquals(0, controls.processArgs(CommandlineArguments.createFromArgs(
+                new String[]{"-c", validQueue.toString()})));
+
+        final long callCount = mockServer.getCallCount();
+        assertEquals(0, controls.processArgs(CommandlineArguments.createFromArgs(
+                new String[]{"-x", validQueue.toString()})));
+        assertEquals(callCount + 2, mockServer.getCallCount());
+
+        // the run halts at the first failed task
+        mockServer.setFailEvery(1);
+        assertEquals(1, controls.processArgs(CommandlineArguments.createFromArgs(
+                new String[]{"-x", validQueue.toString()})));
+
+        // the check reports the row of the task with the invalid parameter
+        final CommandTaskModel invalidModel = new CommandTaskModel(serverUuid, MockSilaServer.FEATURE_ID, "PutBlob");
+        invalidModel.setCommandParams(mapper.createObjectNode()
+                .set("Data", mapper.createObjectNode().put("value", "not base64!")));
+        final Path invalidQueue = tempDir.resolve("invalid.silo");
+        writeQueue(invalidQueue, new CommandTaskModel(serverUuid, MockSilaServer.FEATURE_ID, "Wait"), invalidModel);
+        assertEquals(2, controls.processArgs(CommandlineArguments.createFromArgs(
+                new String[]{"-c", invalidQueue.toString()})));
+    }
+
+    private static void writeQueue(final Path siloFile, final CommandTaskModel... models) throws IOException {
+        final ArrayList<TaskEntry> tasks = new ArrayList<>();
+        for (int i = 0; i < models.length; i++) {
+            tasks.add(new TaskEntry(i + 1, models[i], ExecPolicy.HALT_AFTER_ERROR));
+        }
+        final TaskQueueData data = new TaskQueueData();
+        data.setTasks(tasks);
+        TaskQueueData.writeToFile(siloFile, data);
+    }
+
+    /**
+     * Waits until the given property panel shows a received value.
+     */
+    private static JTextField awaitValueField(final JPanel panel) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        final Component[] content = new Component[1];
+        do {
+            SwingUtilities.invokeAndWait(() -> content[0] = panel.getComponent(0));
+            if (content[0] instanceof JTextField) {
+                return (JTextField) content[0];
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        fail("No value received, showing " + content[0]);
+        return null;
+    }
+}
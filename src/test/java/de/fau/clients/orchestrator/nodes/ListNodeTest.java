@@ -3,11 +3,14 @@
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import java.math.BigInteger;
 import javax.swing.Box;
 import javax.swing.JButton;
 import javax.swing.JComponent;
+import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JScrollPane;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -160,4 +163,63 @@ public void createWithConstraint() throws JsonProcessingException {
             assertTrue(comp.getComponent(1).isEnabled());
         }
     }
+
+    @Test
+    public void createFromJsonVirtualized() throws JsonProcessingException {
+        final DataTypeType dtt = new DataTypeType();
+        dtt.setBasic(BasicType.INTEGER);
+        final ListType listType = new ListType();
+        listType.setDataType(dtt);
+
+        final ArrayNode arrayNode = mapper.createArrayNode();
+        for (int i = 0; i < 10_000; i++) {
+            arrayNode.add(mapper.createObjectNode().put("value", Integer.toString(i)));
+        }
+        ListNode act = ListNode.createFromJson(null, listType, arrayNode, false);
+        assertFalse(act.isEditable());
+        assertEquals(10_000, act.getListSize());
+        assertEquals(arrayNode, act.toJson());
+        // the elements are shown in a single list instead of one component per element
+        final JScrollPane scrollPane = (JScrollPane) act.getComponent().getComponent(1);
+        final JList<?> list = (JList<?>) scrollPane.getViewport().getView();
+        assertEquals(10_000, list.getModel().getSize());
+        assertEquals("9999", list.getModel().getElementAt(9999));
+
+        // small numeric lists are built from nodes, which keep the formatting of the single values
+        final JsonNode smallNode = mapper.readTree("[{\"value\":\"1\"},{\"value\":\"2\"}]");
+        act = ListNode.createFromJson(null, listType, smallNode, false);
+        assertEquals(2, act.getListSize());
+        assertEquals(2, act.getComponent().getComponentCount());
+        assertEquals(smallNode, act.toJson());
+
+        // small lists of other types are built from nodes as well
+        dtt.setBasic(BasicType.STRING);
+        final JsonNode smallStrNode = mapper.readTree("[{\"value\":\"a\"},{\"value\":\"b\"}]");
+        act = ListNode.createFromJson(null, listType, smallStrNode, false);
+        assertEquals(2, act.getListSize());
+        assertEquals(2, act.getComponent().getComponentCount());
+        assertEquals(smallStrNode, act.toJson());
+    }
+
+    @Test
+    public void createFromValues() {
+        final DataTypeType dtt = new DataTypeType();
+        dtt.setBasic(BasicType.REAL);
+        final ListType listType = new ListType();
+        listType.setDataType(dtt);
+
+        final double[] values = new double[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 1e-7;
+        }
+        final ListNode act = ListNode.createFromValues(
+                null, listType, new ListValues.RealValues(values));
+        assertFalse(act.isEditable());
+        assertEquals(10_000, act.getListSize());
+        assertEquals(1e-7, act.toJson().get(1).get("value").asDouble());
+        final JScrollPane scrollPane = (JScrollPane) act.getComponent().getComponent(1);
+        final JList<?> list = (JList<?>) scrollPane.getViewport().getView();
+        assertEquals(10_000, list.getModel().getSize());
+        assertEquals("1.0E-7", list.getModel().getElementAt(1));
+    }
 }
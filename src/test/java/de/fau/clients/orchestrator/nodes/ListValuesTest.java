@@ -0,0 +1,101 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import sila_java.library.core.models.BasicType;
+import sila_java.library.core.models.DataTypeType;
+
+public class ListValuesTest {
+
+    static final ObjectMapper mapper = new ObjectMapper();
+
+    private static List<JsonNode> readElements(final String jsonStr) throws Exception {
+        final List<JsonNode> elements = new ArrayList<>();
+        mapper.readTree(jsonStr).elements().forEachRemaining(elements::add);
+        return elements;
+    }
+
+    @Test
+    public void create() throws Exception {
+        final DataTypeType dtt = new DataTypeType();
+        dtt.setBasic(BasicType.REAL);
+        ListValues act = ListValues.create(dtt, readElements("[{\"value\":\"1.5\"},{\"value\":-2}]"));
+        assertTrue(act.isNumeric());
+        assertEquals(2, act.getSize());
+        assertEquals("-2.0", act.getElementAt(1));
+        assertEquals("[{\"value\":\"1.5\"},{\"value\":\"-2.0\"}]", act.toJson().toString());
+
+        // malformed numbers are kept as received instead of being read as zero
+        act = ListValues.create(dtt, readElements("[{\"value\":\"1.5\"},{\"value\":\"abc\"}]"));
+        assertFalse(act.isNumeric());
+        assertEquals("abc", act.getElementAt(1));
+        dtt.setBasic(BasicType.INTEGER);
+        act = ListValues.create(dtt, readElements("[{\"value\":\"7\"},{\"value\":1.5},{}]"));
+        assertFalse(act.isNumeric());
+        assertEquals("1.5", act.getElementAt(1));
+        assertEquals("{}", act.getElementAt(2));
+        act = ListValues.create(dtt, readElements("[{\"value\":\" 7\"},{\"value\":-3}]"));
+        assertTrue(act.isNumeric());
+        assertEquals("7", act.getElementAt(0));
+        assertEquals("-3", act.getElementAt(1));
+
+        dtt.setBasic(BasicType.STRING);
+        final String longText = "x".repeat(ListValues.MAX_TEXT_LENGTH + 1);
+        act = ListValues.create(dtt, readElements("[{\"value\":\"abc\"},{\"value\":\"" + longText + "\"}]"));
+        assertFalse(act.isNumeric());
+        assertEquals("abc", act.getElementAt(0));
+        assertEquals(ListValues.MAX_TEXT_LENGTH + 1, act.getElementAt(1).length());
+        assertEquals("{\"value\":\"abc\"}", act.getJson(0).toString());
+
+        // structures are shown by their JSON
+        final DataTypeType structType = new DataTypeType();
+        act = ListValues.create(structType, readElements("[{\"Well\":{\"value\":\"A1\"}}]"));
+        assertEquals("{\"Well\":{\"value\":\"A1\"}}", act.getElementAt(0));
+    }
+
+    private static ListValues readNumeric(final String jsonStr, final BasicType type) throws IOException {
+        try (final JsonParser parser = mapper.getFactory().createParser(jsonStr)) {
+            parser.nextToken();
+            return ListValues.readNumeric(parser, type);
+        }
+    }
+
+    @Test
+    public void readNumeric() throws Exception {
+        ListValues act = readNumeric("[{\"value\":\"1\"},{\"value\":-2},{\"unit\":\"nm\",\"value\":3}]",
+                BasicType.INTEGER);
+        assertTrue(act.isNumeric());
+        assertEquals(3, act.getSize());
+        assertEquals("-2", act.getElementAt(1));
+        assertEquals(3.0, act.getDouble(2));
+
+        // grows beyond the initial capacity
+        final StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 1000; i++) {
+            sb.append((i > 0) ? "," : "").append("{\"value\":\"").append(i * 0.5).append("\"}");
+        }
+        act = readNumeric(sb.append("]").toString(), BasicType.REAL);
+        assertEquals(1000, act.getSize());
+        assertEquals(499.5, act.getDouble(999));
+        assertEquals("[]", readNumeric("[]", BasicType.REAL).toJson().toString());
+
+        assertThrows(IOException.class, () -> readNumeric("[{\"value\":\"abc\"}]", BasicType.REAL));
+        assertThrows(IOException.class, () -> readNumeric("[{\"unit\":\"nm\"}]", BasicType.REAL));
+        assertThrows(IOException.class, () -> readNumeric("{\"value\":\"1\"}", BasicType.REAL));
+        assertThrows(IllegalArgumentException.class, () -> readNumeric("[]", BasicType.STRING));
+
+        final DataTypeType dtt = new DataTypeType();
+        dtt.setBasic(BasicType.STRING);
+        final ListValues strValues = ListValues.create(dtt, readElements("[{\"value\":\"abc\"}]"));
+        assertThrows(UnsupportedOperationException.class, () -> strValues.getDouble(0));
+    }
+}
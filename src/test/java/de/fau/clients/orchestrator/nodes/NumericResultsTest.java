@@ -0,0 +1,73 @@
+package de.fau.clients.orchestrator.nodes;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import sila_java.library.core.models.BasicType;
+import sila_java.library.core.models.DataTypeType;
+import sila_java.library.core.models.ListType;
+import sila_java.library.core.models.SiLAElement;
+
+public class NumericResultsTest {
+
+    private static SiLAElement createElement(final String id, final DataTypeType type) {
+        final SiLAElement elem = new SiLAElement();
+        elem.setIdentifier(id);
+        elem.setDataType(type);
+        return elem;
+    }
+
+    private static DataTypeType createBasic(final BasicType basic) {
+        final DataTypeType type = new DataTypeType();
+        type.setBasic(basic);
+        return type;
+    }
+
+    private static DataTypeType createList(final DataTypeType elementType) {
+        final ListType listType = new ListType();
+        listType.setDataType(elementType);
+        final DataTypeType type = new DataTypeType();
+        type.setList(listType);
+        return type;
+    }
+
+    @Test
+    public void extract() throws IOException {
+        final List<SiLAElement> responses = List.of(
+                createElement("Wavelengths", createList(createBasic(BasicType.INTEGER))),
+                createElement("Name", createBasic(BasicType.STRING)),
+                createElement("Absorbance", createList(createBasic(BasicType.REAL))),
+                createElement("Wells", createList(createBasic(BasicType.STRING))));
+        final String result = "{\"Name\":{\"value\":\"Spectrum\"},"
+                + "\"Wells\":[{\"value\":\"A1\"},{\"value\":\"A2\"}],"
+                + "\"Absorbance\":{\"value\":[{\"value\":\"0.25\"},{\"value\":\"0.5\"}]},"
+                + "\"Wavelengths\":[{\"value\":\"400\"},{\"value\":\"410\"}]}";
+
+        final Map<String, ListValues> act = NumericResults.extract(result, responses);
+        assertEquals(List.of("Absorbance", "Wavelengths"), List.copyOf(act.keySet()));
+        assertEquals(0.5, act.get("Absorbance").getDouble(1));
+        assertEquals("410", act.get("Wavelengths").getElementAt(1));
+
+        assertTrue(NumericResults.extract("{}", responses).isEmpty());
+        assertTrue(NumericResults.extract(result, List.of(responses.get(1))).isEmpty());
+        assertThrows(IOException.class, () -> NumericResults.extract("Error: Timeout", responses));
+    }
+
+    @Test
+    public void appendAsCsv() {
+        final Map<String, ListValues> columns = new LinkedHashMap<>();
+        columns.put("1:Wavelengths", new ListValues.IntegerValues(new long[]{400, 410, 420}));
+        columns.put("2:Absorbance", new ListValues.RealValues(new double[]{0.25, 0.5}));
+        final StringBuilder sb = new StringBuilder();
+        NumericResults.appendAsCsv(sb, columns);
+        assertEquals("Index;1:Wavelengths;2:Absorbance\n"
+                + "0;400;0.25\n"
+                + "1;410;0.5\n"
+                + "2;420;\n", sb.toString());
+    }
+}
@@ -0,0 +1,181 @@
+package de.fau.clients.orchestrator.nodes;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import javax.imageio.ImageIO;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import sila_java.library.core.models.BasicType;
+import sila_java.library.core.models.ConstrainedType;
+import sila_java.library.core.models.Constraints;
+import sila_java.library.core.models.DataTypeType;
+import sila_java.library.core.models.ListType;
+import sila_java.library.core.models.SiLAElement;
+
+public class ParameterValidatorTest {
+
+    private static final ObjectMapper jsonMapper = new ObjectMapper();
+
+    private static SiLAElement createElement(final String id, final DataTypeType type) {
+        final SiLAElement elem = new SiLAElement();
+        elem.setIdentifier(id);
+        elem.setDataType(type);
+        return elem;
+    }
+
+    private static DataTypeType createBasic(final BasicType basic) {
+        final DataTypeType type = new DataTypeType();
+        type.setBasic(basic);
+        return type;
+    }
+
+    private static DataTypeType createConstrained(final DataTypeType baseType, final Constraints con) {
+        final ConstrainedType conType = new ConstrainedType();
+        conType.setDataType(baseType);
+        conType.setConstraints(con);
+        final DataTypeType type = new DataTypeType();
+        type.setConstrained(conType);
+        return type;
+    }
+
+    private static DataTypeType createList(final DataTypeType elemType) {
+        final ListType listType = new ListType();
+        listType.setDataType(elemType);
+        final DataTypeType type = new DataTypeType();
+        type.setList(listType);
+        return type;
+    }
+
+    @Test
+    public void validate_basic() throws Exception {
+        final List<SiLAElement> elements = List.of(
+                createElement("Name", createBasic(BasicType.STRING)),
+                createElement("Count", createBasic(BasicType.INTEGER)),
+                createElement("Factor", createBasic(BasicType.REAL)));
+
+        JsonNode params = jsonMapper.readTree(
+                "{\"Name\":{\"value\":\"abc\"},\"Count\":{\"value\":3},\"Factor\":{\"value\":\"0.5\"}}");
+        assertTrue(ParameterValidator.validate(null, elements, params).isEmpty());
+
+        params = jsonMapper.readTree("{\"Name\":{\"value\":\"abc\"},\"Count\":{\"value\":3.5}}");
+        final List<ParameterViolation> violations = ParameterValidator.validate(null, elements, params);
+        assertEquals(2, violations.size());
+        assertEquals("$.Count.value", violations.get(0).getPath());
+        assertEquals("$.Factor", violations.get(1).getPath());
+
+        assertEquals("$", ParameterValidator.validate(null, elements, null).get(0).getPath());
+        assertTrue(ParameterValidator.validate(null, List.of(), null).isEmpty());
+    }
+
+    @Test
+    public void validate_constrained() throws Exception {
+        final Constraints strCon = new Constraints();
+        strCon.setPattern("[A-Z]{2}\\d{4}");
+        final Constraints intCon = new Constraints();
+        intCon.setMinimalInclusive("1");
+        intCon.setMaximalExclusive("96");
+        final Constraints binCon = new Constraints();
+        binCon.setMaximalLength(BigInteger.valueOf(2));
+        final List<SiLAElement> elements = List.of(
+                createElement("Barcode", createConstrained(createBasic(BasicType.STRING), strCon)),
+                createElement("Well", createConstrained(createBasic(BasicType.INTEGER), intCon)),
+                createElement("Blob", createConstrained(createBasic(BasicType.BINARY), binCon)));
+
+        JsonNode params = jsonMapper.readTree(
+                "{\"Barcode\":{\"value\":\"AB1234\"},\"Well\":{\"value\":95},\"Blob\":{\"value\":\"AAE=\"}}");
+        assertTrue(ParameterValidator.validate(null, elements, params).isEmpty());
+
+        params = jsonMapper.readTree(
+                "{\"Barcode\":{\"value\":\"ab1234\"},\"Well\":{\"value\":96},\"Blob\":{\"value\":\"AAEC\"}}");
+        final List<ParameterViolation> violations = ParameterValidator.validate(null, elements, params);
+        assertEquals(3, violations.size());
+        assertEquals("$.Barcode.value", violations.get(0).getPath());
+        assertEquals("$.Well.value", violations.get(1).getPath());
+        assertEquals("96 is not less than 96.", violations.get(1).getMessage());
+        assertEquals("$.Blob.value", violations.get(2).getPath());
+    }
+
+    @Test
+    public void validate_list() throws Exception {
+        final Constraints elemCon = new Constraints();
+        elemCon.setSet(new Constraints.Set());
+        elemCon.getSet().getValue().add("1.5");
+        elemCon.getSet().getValue().add("3");
+        final Constraints listCon = new Constraints();
+        listCon.setMaximalElementCount(BigInteger.valueOf(3));
+        final DataTypeType elemType = createConstrained(createBasic(BasicType.REAL), elemCon);
+        final DataTypeType listType = createList(elemType);
+        final List<SiLAElement> elements = List.of(
+                createElement("Volumes", createConstrained(listType, listCon)));
+
+        JsonNode params = jsonMapper.readTree("{\"Volumes\":[{\"value\":1.50},{\"value\":3}]}");
+        assertTrue(ParameterValidator.validate(null, elements, params).isEmpty());
+
+        params = jsonMapper.readTree("{\"Volumes\":[{\"value\":1.5},{\"value\":2},{\"value\":3},{\"value\":3}]}");
+        final List<ParameterViolation> violations = ParameterValidator.validate(null, elements, params);
+        assertEquals(2, violations.size());
+        assertEquals("$.Volumes", violations.get(0).getPath());
+        assertEquals("$.Volumes[1].value", violations.get(1).getPath());
+    }
+
+    @Test
+    public void validate_schema() throws Exception {
+        final Constraints.Schema schema = new Constraints.Schema();
+        schema.setType("Json");
+        schema.setInline("{\"type\": \"object\", \"required\": [\"wells\"]}");
+        final Constraints strCon = new Constraints();
+        strCon.setSchema(schema);
+        final List<SiLAElement> elements = List.of(
+                createElement("Layout", createConstrained(createBasic(BasicType.STRING), strCon)));
+
+        JsonNode params = jsonMapper.readTree("{\"Layout\":{\"value\":\"{\\\"wells\\\": 96}\"}}");
+        assertTrue(ParameterValidator.validate(null, elements, params).isEmpty());
+
+        params = jsonMapper.readTree("{\"Layout\":{\"value\":\"{\\\"rows\\\": 8}\"}}");
+        final List<ParameterViolation> violations = ParameterValidator.validate(null, elements, params);
+        assertEquals(1, violations.size());
+        assertEquals("$.Layout.value", violations.get(0).getPath());
+    }
+
+    @Test
+    public void validate_contentType() throws Exception {
+        final Constraints.ContentType xmlType = new Constraints.ContentType();
+        xmlType.setType("text");
+        xmlType.setSubtype("xml");
+        final Constraints xmlCon = new Constraints();
+        xmlCon.setContentType(xmlType);
+        final Constraints.ContentType pngType = new Constraints.ContentType();
+        pngType.setType("image");
+        pngType.setSubtype("png");
+        final Constraints pngCon = new Constraints();
+        pngCon.setContentType(pngType);
+        final List<SiLAElement> elements = List.of(
+                createElement("Protocol", createConstrained(createBasic(BasicType.BINARY), xmlCon)),
+                createElement("Picture", createConstrained(createBasic(BasicType.BINARY), pngCon)));
+
+        final ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB), "png", png);
+        final String pngBase64 = Base64.getEncoder().encodeToString(png.toByteArray());
+        final String xmlBase64 = Base64.getEncoder().encodeToString(
+                "<protocol/>".getBytes(StandardCharsets.UTF_8));
+        JsonNode params = jsonMapper.readTree("{\"Protocol\":{\"value\":\"" + xmlBase64 + "\"},"
+                + "\"Picture\":{\"value\":\"" + pngBase64 + "\"}}");
+        assertTrue(ParameterValidator.validate(null, elements, params).isEmpty());
+
+        params = jsonMapper.readTree("{\"Protocol\":{\"value\":\"" + pngBase64 + "\"},"
+                + "\"Picture\":{\"value\":\"" + xmlBase64 + "\"}}");
+        final List<ParameterViolation> violations = ParameterValidator.validate(null, elements, params);
+        assertEquals(2, violations.size());
+        assertEquals("$.Protocol.value", violations.get(0).getPath());
+        assertEquals("Not a well-formed XML document.", violations.get(0).getMessage());
+        assertEquals("$.Picture.value", violations.get(1).getPath());
+        assertEquals("Not a supported image format.", violations.get(1).getMessage());
+    }
+}
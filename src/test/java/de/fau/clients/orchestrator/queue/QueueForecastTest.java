@@ -0,0 +1,49 @@
+package de.fau.clients.orchestrator.queue;
+
+import de.fau.clients.orchestrator.tasks.TaskState;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class QueueForecastTest {
+
+    @Test
+    public void estimateRemainingTime() {
+        assertEquals(0, QueueForecast.estimateRemainingTime(1000, 0, TaskState.FINISHED_SUCCESS));
+        assertEquals(0, QueueForecast.estimateRemainingTime(-1, 0, TaskState.FINISHED_ERROR));
+        assertEquals(600, QueueForecast.estimateRemainingTime(1000, 400, TaskState.RUNNING));
+        assertEquals(0, QueueForecast.estimateRemainingTime(1000, 1400, TaskState.RUNNING));
+        assertEquals(-1, QueueForecast.estimateRemainingTime(-1, 400, TaskState.RUNNING));
+        assertEquals(1000, QueueForecast.estimateRemainingTime(1000, 0, TaskState.NEUTRAL));
+    }
+
+    @Test
+    public void findCriticalPath() {
+        assertEquals(List.of(), QueueForecast.findCriticalPath(new long[0], new int[0][]));
+
+        // sequential queue
+        final int[][] chain = {{}, {0}, {1}};
+        assertEquals(List.of(0, 1, 2), QueueForecast.findCriticalPath(new long[]{1, -1, 3}, chain));
+
+        // two parallel lanes (0 -> 1 -> 3 and 0 -> 2 -> 3)
+        final int[][] lanes = {{}, {0}, {0}, {1, 2}};
+        assertEquals(List.of(0, 2, 3), QueueForecast.findCriticalPath(new long[]{1, 5, 10, 1}, lanes));
+        assertEquals(List.of(0, 1, 3), QueueForecast.findCriticalPath(new long[]{1, 20, 10, 1}, lanes));
+
+        // independent lanes without a common end
+        final int[][] independent = {{}, {}, {1}};
+        assertEquals(List.of(0), QueueForecast.findCriticalPath(new long[]{10, 2, 3}, independent));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> QueueForecast.findCriticalPath(new long[]{1, 1}, new int[][]{{1}, {}}));
+        assertThrows(IllegalArgumentException.class,
+                () -> QueueForecast.findCriticalPath(new long[]{1}, new int[][]{{}, {}}));
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("ETA 0:01:05", new QueueForecast(65000, 0, List.of()).toString());
+        assertEquals("ETA 0:00:00 (+2 unknown)", new QueueForecast(0, 2, List.of()).toString());
+    }
+}
@@ -0,0 +1,112 @@
+package de.fau.clients.orchestrator.queue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.binary.BlobStore;
+import de.fau.clients.orchestrator.tasks.CommandTaskModel;
+import de.fau.clients.orchestrator.tasks.DelayTaskModel;
+import de.fau.clients.orchestrator.tasks.ExecPolicy;
+import de.fau.clients.orchestrator.tasks.TaskEntry;
+import de.fau.clients.orchestrator.utils.BinaryParams;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskQueueDataTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    private static TaskQueueData createQueueData(final byte[] firmware) {
+        final ArrayList<TaskEntry> tasks = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            final CommandTaskModel ctm = new CommandTaskModel(UUID.randomUUID(),
+                    "org.silastandard/examples/Firmware/v1", "Flash");
+            final ObjectNode params = mapper.createObjectNode();
+            params.set("Firmware", mapper.createObjectNode().put("value", firmware));
+            ctm.setCommandParams(params);
+            tasks.add(new TaskEntry(i + 1, ctm, ExecPolicy.HALT_AFTER_ERROR));
+        }
+        tasks.add(new TaskEntry(3, new DelayTaskModel(), ExecPolicy.HALT_AFTER_ERROR));
+        final TaskQueueData data = new TaskQueueData();
+        data.setTasks(tasks);
+        return data;
+    }
+
+    private static JsonNode getFirmwareParam(final TaskQueueData data, int idx) {
+        return ((CommandTaskModel) data.getTasks().get(idx).getTaskModel())
+                .getCommandParams()
+                .get("Firmware");
+    }
+
+    @Test
+    public void writeToFile() throws Exception {
+        final byte[] firmware = new byte[8 * 1024];
+        new Random(42).nextBytes(firmware);
+        final BlobStore store = new BlobStore(tempDir.resolve("store"));
+        final Path siloFile = tempDir.resolve("queue.silo");
+        final TaskQueueData data = createQueueData(firmware);
+        final JsonNode firmwareParam = getFirmwareParam(data, 0);
+        TaskQueueData.writeToFile(siloFile, data, store);
+
+        // the binaries are written inline and the task models are left untouched
+        assertTrue(Files.size(siloFile) > 2 * firmware.length);
+        assertFalse(Files.exists(store.getRoot()));
+        assertSame(firmwareParam, getFirmwareParam(data, 0));
+        final TaskQueueData loaded = TaskQueueData.createFromFile(siloFile.toString(), store);
+        assertArrayEquals(firmware, getFirmwareParam(loaded, 0).get("value").binaryValue());
+        assertArrayEquals(firmware, getFirmwareParam(loaded, 1).get("value").binaryValue());
+        assertEquals(3, loaded.getTasks().size());
+    }
+
+    @Test
+    public void writeToFile_fromBundle() throws Exception {
+        final byte[] firmware = new byte[8 * 1024];
+        new Random(7).nextBytes(firmware);
+        final BlobStore store = new BlobStore(tempDir.resolve("store"));
+        final Path bundleFile = tempDir.resolve("queue" + TaskQueueData.BUNDLE_SUFFIX);
+        TaskQueueData.writeToFile(bundleFile, createQueueData(firmware), store);
+        final TaskQueueData bundleData = TaskQueueData.createFromFile(bundleFile.toString(), store);
+        assertNotNull(BinaryParams.getBlobReference(getFirmwareParam(bundleData, 0)));
+
+        // blob references are resolved, so the file does not depend on the local store
+        final Path siloFile = tempDir.resolve("queue.silo");
+        TaskQueueData.writeToFile(siloFile, bundleData, store);
+        final TaskQueueData loaded = TaskQueueData.createFromFile(siloFile.toString(), store);
+        assertNull(BinaryParams.getBlobReference(getFirmwareParam(loaded, 1)));
+        assertArrayEquals(firmware, getFirmwareParam(loaded, 1).get("value").binaryValue());
+    }
+
+    @Test
+    public void writeToBundle() throws Exception {
+        final byte[] firmware = new byte[8 * 1024];
+        new Random(42).nextBytes(firmware);
+        final BlobStore store = new BlobStore(tempDir.resolve("store"));
+        final Path bundleFile = tempDir.resolve("queue" + TaskQueueData.BUNDLE_SUFFIX);
+        final TaskQueueData data = createQueueData(firmware);
+        TaskQueueData.writeToFile(bundleFile, data, store);
+        assertTrue(getFirmwareParam(data, 0).get("value").isBinary());
+
+        // the blobs are imported into the store of the other machine
+        final BlobStore otherStore = new BlobStore(tempDir.resolve("otherStore"));
+        final TaskQueueData loaded = TaskQueueData.createFromFile(bundleFile.toString(), otherStore);
+        final String hash = BinaryParams.getBlobReference(getFirmwareParam(loaded, 0));
+        assertTrue(otherStore.contains(hash));
+        assertArrayEquals(firmware, Files.readAllBytes(otherStore.getPath(hash)));
+        assertEquals(3, loaded.getTasks().size());
+    }
+}
@@ -0,0 +1,50 @@
+package de.fau.clients.orchestrator.queue;
+
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TaskQueueTableModelTest {
+
+    private static Object[] createRow(final Object serverUuid) {
+        final Object[] row = new Object[Column.size()];
+        row[Column.SERVER_UUID.ordinal()] = serverUuid;
+        return row;
+    }
+
+    @Test
+    void getRowsByServerUuid() {
+        final UUID uuidA = UUID.randomUUID();
+        final UUID uuidB = UUID.randomUUID();
+        final TaskQueueTableModel model = new TaskQueueTableModel();
+        assertTrue(model.getRowsByServerUuid(uuidA).isEmpty());
+
+        model.addRow(createRow(uuidA));
+        model.addRow(createRow(""));
+        model.addRow(createRow(uuidB));
+        model.addRow(createRow(uuidA));
+        assertEquals(List.of(0, 3), model.getRowsByServerUuid(uuidA));
+        assertEquals(List.of(2), model.getRowsByServerUuid(uuidB));
+
+        // structural changes have to be reflected
+        model.removeRow(0);
+        assertEquals(List.of(2), model.getRowsByServerUuid(uuidA));
+        model.moveRow(2, 2, 0);
+        assertEquals(List.of(0), model.getRowsByServerUuid(uuidA));
+        assertEquals(List.of(2), model.getRowsByServerUuid(uuidB));
+        model.insertRow(0, createRow(uuidB));
+        assertEquals(List.of(1), model.getRowsByServerUuid(uuidA));
+        assertEquals(List.of(0, 3), model.getRowsByServerUuid(uuidB));
+
+        // re-assigning a server UUID has to be reflected
+        model.setValueAt(uuidA, 3, Column.SERVER_UUID);
+        assertEquals(List.of(1, 3), model.getRowsByServerUuid(uuidA));
+        assertEquals(List.of(0), model.getRowsByServerUuid(uuidB));
+
+        // other updates keep the index
+        model.setValueAt("state", 1, Column.STATE);
+        assertEquals(List.of(1, 3), model.getRowsByServerUuid(uuidA));
+    }
+}
@@ -0,0 +1,46 @@
+package de.fau.clients.orchestrator.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class TaskDurationStatsTest {
+
+    private static final String CMD_ID = "org.silastandard/examples/GreetingProvider/v1/Command/SayHello";
+
+    @Test
+    public void hashParams() {
+        assertEquals("", TaskDurationStats.hashParams(null));
+        assertEquals("", TaskDurationStats.hashParams(""));
+        final String hash = TaskDurationStats.hashParams("{\"Name\":{\"value\":\"A\"}}");
+        assertEquals(16, hash.length());
+        assertEquals(hash, TaskDurationStats.hashParams("{\"Name\":{\"value\":\"A\"}}"));
+        assertNotEquals(hash, TaskDurationStats.hashParams("{\"Name\":{\"value\":\"B\"}}"));
+    }
+
+    @Test
+    public void percentiles() {
+        assertThrows(IllegalArgumentException.class, () -> new TaskDurationStats(0));
+        final TaskDurationStats stats = new TaskDurationStats(4);
+        assertEquals(-1, stats.getPercentile(CMD_ID, "a", 50));
+        assertEquals("", stats.getSummary(CMD_ID, "a"));
+
+        stats.record(CMD_ID, "a", 100);
+        stats.record(CMD_ID, "a", 300);
+        stats.record(CMD_ID, "b", 1000);
+        assertEquals(100, stats.getPercentile(CMD_ID, "a", 50));
+        assertEquals(300, stats.getPercentile(CMD_ID, "a", 95));
+        assertEquals(1000, stats.getPercentile(CMD_ID, "b", 50));
+        // unknown parameters fall back to the command-wide statistic
+        assertEquals(300, stats.getPercentile(CMD_ID, "c", 50));
+        assertEquals(300, stats.getPercentile(CMD_ID, null, 50));
+
+        // the oldest durations drop out of the window
+        for (int i = 0; i < 4; i++) {
+            stats.record(CMD_ID, "a", 50);
+        }
+        assertEquals(50, stats.getPercentile(CMD_ID, "a", 100));
+        assertEquals("Duration p50: 0:00:00, p95: 0:00:00", stats.getSummary(CMD_ID, "a"));
+    }
+}
@@ -0,0 +1,34 @@
+package de.fau.clients.orchestrator.tasks;
+
+import java.time.Duration;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TaskProgressTest {
+
+    @Test
+    public void of() {
+        assertFalse(TaskProgress.NONE.isProgressKnown());
+        assertNull(TaskProgress.NONE.getRemainingTime());
+        assertEquals("-", TaskProgress.NONE.toString());
+
+        TaskProgress progress = TaskProgress.of(1.5, Duration.ofSeconds(-3), null);
+        assertTrue(progress.isProgressKnown());
+        assertEquals(1.0, progress.getProgress());
+        assertEquals(Duration.ZERO, progress.getRemainingTime());
+        progress = TaskProgress.of(-0.5, null, null);
+        assertEquals(0.0, progress.getProgress());
+    }
+
+    @Test
+    public void testToString() {
+        assertEquals("42 % (ETA 0:01:05)",
+                TaskProgress.of(0.42, Duration.ofSeconds(65), Duration.ofSeconds(10)).toString());
+        assertEquals("100 %", TaskProgress.of(1.0, null, Duration.ofSeconds(10)).toString());
+        assertEquals("(ETA 26:00:00)", TaskProgress.of(Double.NaN, Duration.ofHours(26), null).toString());
+        assertEquals("0:00:12 elapsed", TaskProgress.of(Double.NaN, null, Duration.ofSeconds(12)).toString());
+    }
+}
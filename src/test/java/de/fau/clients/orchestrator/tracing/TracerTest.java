@@ -0,0 +1,81 @@
+package de.fau.clients.orchestrator.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TracerTest {
+
+    @Test
+    public void disabled() {
+        final Tracer tracer = new Tracer();
+        assertFalse(tracer.isEnabled());
+        try (final Span span = tracer.startSpan("phase", Tracer.CATEGORY_PHASE)) {
+            assertSame(Span.NOOP, span);
+            span.setArg("key", "value");
+        }
+        assertTrue(tracer.getSpans().isEmpty());
+        assertTrue(Span.NOOP.getArgs().isEmpty());
+    }
+
+    @Test
+    public void recordSpans() {
+        final Tracer tracer = new Tracer();
+        tracer.enable(2);
+        try (final Span outer = tracer.startSpan("outer", Tracer.CATEGORY_TASK)) {
+            try (final Span inner = tracer.startSpan("inner", Tracer.CATEGORY_PHASE)) {
+                inner.setArg("length", 42);
+            }
+            outer.setArg("state", "done");
+        }
+        List<Span> spans = tracer.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals("inner", spans.get(0).getName());
+        assertEquals("42", spans.get(0).getArgs().get("length"));
+        assertEquals("outer", spans.get(1).getName());
+        assertTrue(spans.get(1).getDurationNanos() >= spans.get(0).getDurationNanos());
+
+        // the oldest span gets dropped
+        tracer.startSpan("third", Tracer.CATEGORY_TASK).close();
+        spans = tracer.getSpans();
+        assertEquals(2, spans.size());
+        assertEquals("outer", spans.get(0).getName());
+
+        // spans are kept after disabling
+        tracer.disable();
+        tracer.startSpan("ignored", Tracer.CATEGORY_TASK).close();
+        assertEquals(2, tracer.getSpans().size());
+        tracer.enable(2);
+        assertTrue(tracer.getSpans().isEmpty());
+    }
+
+    @Test
+    public void writeChromeTrace() throws Exception {
+        final Tracer tracer = new Tracer();
+        tracer.enable(Tracer.DEFAULT_CAPACITY);
+        try (final Span span = tracer.startSpan("CommandTask.run", Tracer.CATEGORY_TASK)) {
+            span.setArg("command", "org.silastandard/test/\"Quoted\"/v1");
+        }
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        tracer.writeChromeTrace(os);
+
+        final JsonNode root = new ObjectMapper().readTree(os.toByteArray());
+        final JsonNode events = root.get("traceEvents");
+        assertEquals(2, events.size());
+        assertEquals("M", events.get(0).get("ph").asText());
+        assertEquals(Thread.currentThread().getName(), events.get(0).get("args").get("name").asText());
+        final JsonNode event = events.get(1);
+        assertEquals("CommandTask.run", event.get("name").asText());
+        assertEquals(Tracer.CATEGORY_TASK, event.get("cat").asText());
+        assertEquals("X", event.get("ph").asText());
+        assertTrue(event.get("ts").asDouble() >= 0);
+        assertTrue(event.get("dur").asDouble() >= 0);
+        assertEquals("org.silastandard/test/\"Quoted\"/v1", event.get("args").get("command").asText());
+    }
+}
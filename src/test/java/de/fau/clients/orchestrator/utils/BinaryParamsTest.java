@@ -0,0 +1,149 @@
+package de.fau.clients.orchestrator.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import de.fau.clients.orchestrator.binary.BinaryUploader;
+import de.fau.clients.orchestrator.binary.BlobStore;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryParamsTest {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void getFileReference() throws Exception {
+        final Path file = tempDir.resolve("protocol.bin");
+        final JsonNode fileNode = BinaryParams.fileAsJsonNode(file);
+        assertEquals(file.toAbsolutePath(), BinaryParams.getFileReference(fileNode));
+        assertNull(BinaryParams.getFileReference(mapper.readTree("{\"value\":\"AAE=\"}")));
+        assertNull(BinaryParams.getFileReference(mapper.readTree("{\"file\":1}")));
+        assertNull(BinaryParams.getFileReference(null));
+
+        final String hash = "41304ad99d73a334cac619e2ce3d6e0c39a95198ac758eb2bbbc8333cb1f6cfd";
+        final JsonNode blobNode = BinaryParams.blobAsJsonNode(hash);
+        assertEquals(hash, BinaryParams.getBlobReference(blobNode));
+        assertEquals(BlobStore.getInstance().getPath(hash), BinaryParams.getFileReference(blobNode));
+        assertEquals(blobNode, BinaryParams.fileAsJsonNode(BlobStore.getInstance().getPath(hash)));
+        assertNull(BinaryParams.getBlobReference(mapper.readTree("{\"blob\":\"abc\"}")));
+        assertNull(BinaryParams.getBlobReference(fileNode));
+    }
+
+    @Test
+    public void toJsonString() throws Exception {
+        // larger than the internal buffers of the encoder
+        final byte[] content = new byte[100_003];
+        new Random(42).nextBytes(content);
+        final Path file = tempDir.resolve("protocol.bin");
+        Files.write(file, content);
+
+        final String paramsStr = "{\"Protocol\":{\"file\":" + mapper.writeValueAsString(file.toString()) + "},"
+                + "\"Blobs\":[{\"value\":\"AAE=\"},{\"file\":" + mapper.writeValueAsString(file.toString()) + "}],"
+                + "\"Name\":{\"value\":\"run\"}}";
+        final JsonNode resolved = mapper.readTree(BinaryParams.toJsonString(mapper.readTree(paramsStr)));
+        final String expected = Base64.getEncoder().encodeToString(content);
+        assertEquals(expected, resolved.get("Protocol").get("value").asText());
+        assertEquals("AAE=", resolved.get("Blobs").get(0).get("value").asText());
+        assertEquals(expected, resolved.get("Blobs").get(1).get("value").asText());
+        assertEquals("run", resolved.get("Name").get("value").asText());
+
+        final JsonNode binaryNode = mapper.createObjectNode().put("value", new byte[]{0, 1});
+        assertEquals("{\"value\":\"AAE=\"}", BinaryParams.toJsonString(binaryNode));
+
+        assertThrows(UncheckedIOException.class, () -> BinaryParams.toJsonString(
+                BinaryParams.fileAsJsonNode(tempDir.resolve("missing.bin"))));
+    }
+
+    @Test
+    public void toJsonStringWithUploader() throws Exception {
+        final Path largeFile = tempDir.resolve("large.bin");
+        Files.write(largeFile, new byte[(int) BinaryParams.MAX_INLINE_BINARY_SIZE + 1]);
+        final Path smallFile = tempDir.resolve("small.bin");
+        Files.write(smallFile, new byte[]{0, 1});
+        final List<String> uploads = new ArrayList<>();
+        final BinaryUploader uploader = new BinaryUploader() {
+            @Override
+            public String upload(final String parameterId, final Path file) {
+                uploads.add(parameterId + ":" + file.getFileName());
+                return "uuid-" + uploads.size();
+            }
+
+            @Override
+            public String upload(final String parameterId, final byte[] data) {
+                uploads.add(parameterId + ":" + data.length);
+                return "uuid-" + uploads.size();
+            }
+        };
+
+        final ObjectNode params = mapper.createObjectNode();
+        params.set("Protocol", BinaryParams.fileAsJsonNode(largeFile));
+        params.set("Header", BinaryParams.fileAsJsonNode(smallFile));
+        params.set("Blobs", mapper.createArrayNode().add(mapper.createObjectNode()
+                .put("value", new byte[(int) BinaryParams.MAX_INLINE_BINARY_SIZE + 2])));
+        final JsonNode resolved = mapper.readTree(BinaryParams.toJsonString(params, uploader));
+        assertEquals(List.of("Protocol:large.bin", "Blobs:" + (BinaryParams.MAX_INLINE_BINARY_SIZE + 2)), uploads);
+        assertEquals("uuid-1", resolved.get("Protocol").get(BinaryParams.FIELD_TRANSFER_UUID).asText());
+        assertEquals("AAE=", resolved.get("Header").get("value").asText());
+        assertEquals("uuid-2", resolved.get("Blobs").get(0).get(BinaryParams.FIELD_TRANSFER_UUID).asText());
+    }
+
+    @Test
+    public void toBlobReferences() throws Exception {
+        final BlobStore store = new BlobStore(tempDir.resolve("store"));
+        final byte[] content = new byte[BinaryParams.MIN_BLOB_SIZE];
+        new Random(42).nextBytes(content);
+
+        final ObjectNode params = mapper.createObjectNode();
+        params.set("Firmware", mapper.createObjectNode().put("value", content));
+        params.set("Header", mapper.createObjectNode().put("value", new byte[]{0, 1}));
+        params.set("Blobs", mapper.createArrayNode().add(mapper.createObjectNode().put("value", content)));
+        final JsonNode paramsCopy = params.deepCopy();
+
+        final JsonNode result = BinaryParams.toBlobReferences(params, store);
+        assertEquals(paramsCopy, params);
+        final String hash = BinaryParams.getBlobReference(result.get("Firmware"));
+        assertEquals(content.length, Files.size(store.getPath(hash)));
+        assertEquals(hash, BinaryParams.getBlobReference(result.get("Blobs").get(0)));
+        assertEquals(params.get("Header"), result.get("Header"));
+
+        final LinkedHashSet<String> hashes = new LinkedHashSet<>();
+        BinaryParams.collectBlobReferences(result, hashes);
+        assertEquals(List.of(hash), new ArrayList<>(hashes));
+
+        final JsonNode plain = mapper.readTree("{\"Name\":{\"value\":\"run\"}}");
+        assertSame(plain, BinaryParams.toBlobReferences(plain, store));
+    }
+
+    @Test
+    public void toInlineBinaries() throws Exception {
+        final BlobStore store = new BlobStore(tempDir.resolve("store"));
+        final byte[] content = new byte[BinaryParams.MIN_BLOB_SIZE];
+        new Random(42).nextBytes(content);
+        final ObjectNode params = mapper.createObjectNode();
+        params.set("Firmware", mapper.createObjectNode().put("value", content));
+        params.set("Protocol", BinaryParams.fileAsJsonNode(tempDir.resolve("run.bin")));
+
+        final JsonNode withBlobs = BinaryParams.toBlobReferences(params, store);
+        final JsonNode withBlobsCopy = withBlobs.deepCopy();
+        final JsonNode result = BinaryParams.toInlineBinaries(withBlobs, store);
+        assertEquals(withBlobsCopy, withBlobs);
+        assertEquals(params, result);
+        assertSame(params, BinaryParams.toInlineBinaries(params, store));
+    }
+}
@@ -0,0 +1,65 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+public class ImageThumbnailCacheTest {
+
+    private static ImageInputStream encodePng(int width, int height) throws Exception {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", os);
+        return ImageIO.createImageInputStream(new ByteArrayInputStream(os.toByteArray()));
+    }
+
+    @Test
+    public void getSubsampling() {
+        assertEquals(1, ImageThumbnailCache.getSubsampling(100, 100, 800, 600));
+        assertEquals(1, ImageThumbnailCache.getSubsampling(1000, 600, 800, 600));
+        assertEquals(2, ImageThumbnailCache.getSubsampling(1600, 600, 800, 600));
+        assertEquals(12, ImageThumbnailCache.getSubsampling(7728, 5152, 640, 480));
+    }
+
+    @Test
+    public void decode() throws Exception {
+        BufferedImage thumbnail = ImageThumbnailCache.decode(encodePng(1000, 500), 100, 100);
+        assertEquals(100, thumbnail.getWidth());
+        assertEquals(50, thumbnail.getHeight());
+
+        // small images are not scaled up
+        thumbnail = ImageThumbnailCache.decode(encodePng(30, 20), 100, 100);
+        assertEquals(30, thumbnail.getWidth());
+        assertEquals(20, thumbnail.getHeight());
+
+        final ImageInputStream noImage = ImageIO.createImageInputStream(
+                new ByteArrayInputStream("SiLA".getBytes()));
+        assertThrows(java.io.IOException.class, () -> ImageThumbnailCache.decode(noImage, 100, 100));
+    }
+
+    @Test
+    public void put() {
+        final BufferedImage img = new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB);
+        final ImageThumbnailCache cache = new ImageThumbnailCache(3 * ImageThumbnailCache.getSizeInBytes(img));
+        cache.put("a", img);
+        cache.put("b", img);
+        cache.put("c", img);
+        assertNotNull(cache.get("a"));
+        // "b" is the least recently used entry now
+        cache.put("d", img);
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+
+        // an image exceeding the capacity on its own is still kept
+        cache.put("large", new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB));
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get("large"));
+    }
+}
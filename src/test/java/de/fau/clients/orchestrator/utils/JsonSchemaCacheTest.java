@@ -0,0 +1,100 @@
+package de.fau.clients.orchestrator.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.SpecVersion;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JsonSchemaCacheTest {
+
+    private static final String SCHEMA = "{\"type\": \"object\","
+            + "\"properties\": {\"wells\": {\"type\": \"integer\", \"minimum\": 1}},"
+            + "\"required\": [\"wells\"]}";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void getInlineSchema() {
+        final JsonSchemaCache cache = new JsonSchemaCache();
+        final JsonSchema schema = cache.getInlineSchema(SCHEMA);
+        assertSame(schema, cache.getInlineSchema(SCHEMA));
+        assertNotSame(schema, cache.getInlineSchema(SCHEMA.replace("wells", "rows")));
+        assertEquals(2, cache.size());
+
+        assertTrue(ValidatorUtils.isJsonValid("{\"wells\": 96}", schema));
+        assertFalse(ValidatorUtils.isJsonValid("{\"wells\": \"many\"}", schema));
+        assertFalse(ValidatorUtils.isJsonValid("{\"wells\": 0}", schema));
+        assertFalse(ValidatorUtils.isJsonValid("{}", schema));
+        assertFalse(ValidatorUtils.isJsonValid("{\"wells\": 96", schema));
+        assertFalse(ValidatorUtils.isJsonValid(null, schema));
+        assertEquals(1, ValidatorUtils.getJsonSchemaViolations("{\"wells\": 0}", schema).size());
+
+        assertThrows(IllegalArgumentException.class, () -> cache.getInlineSchema("{\"type\": "));
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void getSchemaFromUrl() throws Exception {
+        // the boolean form of "exclusiveMinimum" only exists in draft-04
+        final Path schemaFile = tempDir.resolve("wells.json");
+        Files.write(schemaFile, ("{\"$schema\": \"http://json-schema.org/draft-04/schema#\","
+                + "\"type\": \"integer\", \"minimum\": 1, \"exclusiveMinimum\": true}")
+                .getBytes(StandardCharsets.UTF_8));
+        final JsonSchemaCache cache = new JsonSchemaCache();
+        final JsonSchema schema = cache.getSchemaFromUrl(schemaFile.toUri().toString());
+        assertSame(schema, cache.getSchemaFromUrl(schemaFile.toUri().toString()));
+        assertTrue(ValidatorUtils.isJsonValid("2", schema));
+        assertFalse(ValidatorUtils.isJsonValid("1", schema));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> cache.getSchemaFromUrl(tempDir.resolve("missing.json").toUri().toString()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void getSchemaFromUrl_failure() throws Exception {
+        final Path schemaFile = tempDir.resolve("late.json");
+        final String url = schemaFile.toUri().toString();
+
+        final JsonSchemaCache cache = new JsonSchemaCache();
+        final IllegalArgumentException first = assertThrows(IllegalArgumentException.class,
+                () -> cache.getSchemaFromUrl(url));
+        Files.write(schemaFile, SCHEMA.getBytes(StandardCharsets.UTF_8));
+        // the failure is remembered, so the now existing file is not read yet
+        assertSame(first, assertThrows(IllegalArgumentException.class, () -> cache.getSchemaFromUrl(url)));
+        assertEquals(0, cache.size());
+        cache.clear();
+        assertTrue(ValidatorUtils.isJsonValid("{\"wells\": 24}", cache.getSchemaFromUrl(url)));
+
+        final JsonSchemaCache noTtlCache = new JsonSchemaCache(0);
+        final Path missingFile = tempDir.resolve("missing.json");
+        assertThrows(IllegalArgumentException.class,
+                () -> noTtlCache.getSchemaFromUrl(missingFile.toUri().toString()));
+        Files.write(missingFile, SCHEMA.getBytes(StandardCharsets.UTF_8));
+        assertTrue(ValidatorUtils.isJsonValid("{\"wells\": 48}",
+                noTtlCache.getSchemaFromUrl(missingFile.toUri().toString())));
+    }
+
+    @Test
+    public void detectVersion() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        assertEquals(SpecVersion.VersionFlag.V7, JsonSchemaCache.detectVersion(mapper.readTree(SCHEMA)));
+        assertEquals(SpecVersion.VersionFlag.V4, JsonSchemaCache.detectVersion(mapper.readTree(
+                "{\"$schema\": \"http://json-schema.org/draft-04/schema#\"}")));
+        assertEquals(SpecVersion.VersionFlag.V202012, JsonSchemaCache.detectVersion(mapper.readTree(
+                "{\"$schema\": \"https://json-schema.org/draft/2020-12/schema\"}")));
+    }
+}
@@ -0,0 +1,44 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class RingBufferTest {
+
+    @Test
+    public void testConstructor() {
+        final RingBuffer<String> buffer = new RingBuffer<>(3);
+        assertEquals(3, buffer.getCapacity());
+        assertEquals(0, buffer.size());
+        assertNull(buffer.getLast());
+        assertTrue(buffer.toList().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<>(0));
+    }
+
+    @Test
+    public void overwriteOldest() {
+        final RingBuffer<Integer> buffer = new RingBuffer<>(3);
+        buffer.add(1);
+        buffer.add(2);
+        assertEquals(List.of(1, 2), buffer.toList());
+        assertEquals(2, buffer.getLast());
+
+        for (int i = 3; i <= 1000; i++) {
+            buffer.add(i);
+        }
+        assertEquals(3, buffer.size());
+        assertEquals(1000, buffer.getTotalCount());
+        assertEquals(List.of(998, 999, 1000), buffer.toList());
+        assertEquals(1000, buffer.getLast());
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getTotalCount());
+        buffer.add(5);
+        assertEquals(List.of(5), buffer.toList());
+    }
+}
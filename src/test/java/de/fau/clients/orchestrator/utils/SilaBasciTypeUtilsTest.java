@@ -7,6 +7,7 @@
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.util.JsonFormat;
 import static de.fau.clients.orchestrator.utils.SilaBasicTypeUtils.*;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
@@ -211,4 +212,22 @@ public void zoneOffsetFromJsonNode() throws JsonProcessingException {
         act = SilaBasicTypeUtils.zoneOffsetFromJsonNode(node);
         assertEquals(exp, act);
     }
+
+    @Test
+    public void toHexString() {
+        assertEquals("00ff10", SilaBasicTypeUtils.toHexString(new byte[]{0, (byte) 0xff, 0x10}));
+        final byte[] digest = new byte[32];
+        digest[31] = 1;
+        assertEquals(64, SilaBasicTypeUtils.toHexString(digest).length());
+    }
+
+    @Test
+    public void sha256Hex() throws IOException {
+        final String abcHash = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+        assertEquals(abcHash, SilaBasicTypeUtils.sha256Hex("abc"));
+        assertEquals(abcHash, SilaBasicTypeUtils.sha256Hex(new byte[]{'a', 'b', 'c'}));
+        assertEquals(abcHash, SilaBasicTypeUtils.sha256Hex(new ByteArrayInputStream(new byte[]{'a', 'b', 'c'})));
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855",
+                SilaBasicTypeUtils.sha256Hex(new byte[0]));
+    }
 }
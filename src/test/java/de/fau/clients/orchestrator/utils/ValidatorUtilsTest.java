@@ -0,0 +1,94 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import sila_java.library.core.models.Constraints;
+
+public class ValidatorUtilsTest {
+
+    @Test
+    public void getConstraintPattern() {
+        final Pattern pattern = ValidatorUtils.getConstraintPattern("[0-9]{8}");
+        assertSame(pattern, ValidatorUtils.getConstraintPattern("[0-9]{8}"));
+
+        // the least recently used pattern gets evicted and compiled again
+        final Pattern recent = ValidatorUtils.getConstraintPattern("[a-z]+");
+        for (int i = 0; i < ValidatorUtils.PATTERN_CACHE_CAPACITY; i++) {
+            ValidatorUtils.getConstraintPattern("x{" + i + "}");
+            assertSame(recent, ValidatorUtils.getConstraintPattern("[a-z]+"));
+        }
+        final Pattern recompiled = ValidatorUtils.getConstraintPattern("[0-9]{8}");
+        assertNotSame(pattern, recompiled);
+        assertTrue(recompiled.matcher("12345678").matches());
+        assertSame(recent, ValidatorUtils.getConstraintPattern("[a-z]+"));
+    }
+
+    @Test
+    public void isPatternMatching() {
+        assertTrue(ValidatorUtils.isPatternMatching("AB-1234", "[A-Z]{2}-\\d{4}"));
+        assertFalse(ValidatorUtils.isPatternMatching("AB-1234 ", "[A-Z]{2}-\\d{4}"));
+        assertFalse(ValidatorUtils.isPatternMatching("xAB-1234", "[A-Z]{2}-\\d{4}"));
+        assertFalse(ValidatorUtils.isPatternMatching("abc", "[a-"));
+        assertFalse(ValidatorUtils.isPatternMatching(null, ".*"));
+        assertFalse(ValidatorUtils.isPatternMatching("abc", null));
+    }
+
+    @Test
+    public void isStringConstraintSatisfied() {
+        assertTrue(ValidatorUtils.isStringConstraintSatisfied("", null));
+        assertFalse(ValidatorUtils.isStringConstraintSatisfied(null, new Constraints()));
+
+        Constraints con = new Constraints();
+        con.setPattern("[0-9]+");
+        con.setMaximalLength(BigInteger.valueOf(4));
+        assertTrue(ValidatorUtils.isStringConstraintSatisfied("1234", con));
+        assertFalse(ValidatorUtils.isStringConstraintSatisfied("12345", con));
+        assertFalse(ValidatorUtils.isStringConstraintSatisfied("12a", con));
+
+        con = new Constraints();
+        con.setLength(BigInteger.valueOf(3));
+        assertTrue(ValidatorUtils.isStringConstraintSatisfied("abc", con));
+        assertFalse(ValidatorUtils.isStringConstraintSatisfied("ab", con));
+
+        con = new Constraints();
+        con.setMinimalLength(BigInteger.valueOf(2));
+        assertTrue(ValidatorUtils.isStringConstraintSatisfied("ab", con));
+        assertFalse(ValidatorUtils.isStringConstraintSatisfied("a", con));
+
+        con = new Constraints();
+        final Constraints.Set conSet = new Constraints.Set();
+        conSet.getValue().addAll(List.of("red", "green"));
+        con.setSet(conSet);
+        assertTrue(ValidatorUtils.isStringConstraintSatisfied("green", con));
+        assertFalse(ValidatorUtils.isStringConstraintSatisfied("blue", con));
+    }
+
+    @Test
+    public void isXmlWellFormed() {
+        assertTrue(ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(
+                "<a><b/></a>".getBytes(StandardCharsets.UTF_8))));
+        assertFalse(ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(
+                "<a><b></a>".getBytes(StandardCharsets.UTF_8))));
+        // the pooled parser is reusable after a failure
+        assertTrue(ValidatorUtils.isXmlWellFormed(new ByteArrayInputStream(
+                "<a/>".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void isJsonValid() {
+        assertTrue(ValidatorUtils.isJsonValid("{\"a\": [1, 2, {\"b\": null}]}"));
+        assertTrue(ValidatorUtils.isJsonValid("42"));
+        assertFalse(ValidatorUtils.isJsonValid("{\"a\": [1, 2}"));
+        assertFalse(ValidatorUtils.isJsonValid("{} {}"));
+        assertFalse(ValidatorUtils.isJsonValid(""));
+        assertFalse(ValidatorUtils.isJsonValid(null));
+    }
+}
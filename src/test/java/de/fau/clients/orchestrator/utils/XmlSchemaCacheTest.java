@@ -0,0 +1,90 @@
+package de.fau.clients.orchestrator.utils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.xml.validation.Schema;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xml.sax.SAXException;
+
+public class XmlSchemaCacheTest {
+
+    private static final String XSD = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\">"
+            + "<xs:element name=\"Plate\">"
+            + "<xs:complexType><xs:attribute name=\"wells\" type=\"xs:int\" use=\"required\"/></xs:complexType>"
+            + "</xs:element>"
+            + "</xs:schema>";
+
+    @TempDir
+    Path tempDir;
+
+    private static boolean isValid(final String xml, final Schema schema) {
+        return ValidatorUtils.isXmlValid(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), schema);
+    }
+
+    @Test
+    public void getInlineSchema() throws Exception {
+        final XmlSchemaCache cache = new XmlSchemaCache();
+        final Schema schema = cache.getInlineSchema(XSD);
+        assertSame(schema, cache.getInlineSchema(XSD));
+        assertNotSame(schema, cache.getInlineSchema(XSD.replace("wells", "rows")));
+        assertEquals(2, cache.size());
+
+        assertTrue(isValid("<Plate wells=\"96\"/>", schema));
+        assertFalse(isValid("<Plate wells=\"many\"/>", schema));
+        assertFalse(isValid("<Plate>", schema));
+
+        assertThrows(SAXException.class, () -> cache.getInlineSchema("<xs:schema"));
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void getSchemaFromCatalog() throws Exception {
+        final Path xsdFile = tempDir.resolve("plate.xsd");
+        Files.write(xsdFile, XSD.getBytes(StandardCharsets.UTF_8));
+        final Path catalogFile = tempDir.resolve("catalog.xml");
+        final String catalog = "<catalog xmlns=\"urn:oasis:names:tc:entity:xmlns:xml:catalog\">"
+                + "<system systemId=\"http://example.invalid/plate.xsd\" uri=\"" + xsdFile.toUri() + "\"/>"
+                + "</catalog>";
+        Files.write(catalogFile, catalog.getBytes(StandardCharsets.UTF_8));
+
+        final XmlSchemaCache cache = new XmlSchemaCache();
+        cache.setCatalog(catalogFile);
+        final Schema schema = cache.getSchemaFromUrl("http://example.invalid/plate.xsd");
+        assertSame(schema, cache.getSchemaFromUrl("http://example.invalid/plate.xsd"));
+        assertTrue(isValid("<Plate wells=\"384\"/>", schema));
+
+        assertThrows(IllegalArgumentException.class, () -> cache.setCatalog(tempDir.resolve("missing.xml")));
+    }
+
+    @Test
+    public void getSchemaFromUrl_failure() throws Exception {
+        final Path xsdFile = tempDir.resolve("late.xsd");
+        final String url = xsdFile.toUri().toString();
+
+        final XmlSchemaCache cache = new XmlSchemaCache();
+        final SAXException first = assertThrows(SAXException.class, () -> cache.getSchemaFromUrl(url));
+        Files.write(xsdFile, XSD.getBytes(StandardCharsets.UTF_8));
+        // the failure is remembered, so the now existing file is not read yet
+        assertSame(first, assertThrows(SAXException.class, () -> cache.getSchemaFromUrl(url)));
+        assertEquals(0, cache.size());
+        cache.clear();
+        assertTrue(isValid("<Plate wells=\"24\"/>", cache.getSchemaFromUrl(url)));
+
+        final XmlSchemaCache noTtlCache = new XmlSchemaCache(0);
+        final Path missingFile = tempDir.resolve("missing.xsd");
+        assertThrows(SAXException.class, () -> noTtlCache.getSchemaFromUrl(missingFile.toUri().toString()));
+        Files.write(missingFile, XSD.getBytes(StandardCharsets.UTF_8));
+        assertTrue(isValid("<Plate wells=\"48\"/>", noTtlCache.getSchemaFromUrl(missingFile.toUri().toString())));
+    }
+}